@@ -3,6 +3,24 @@
 ALTER TABLE ACT_RU_METER_LOG
   ADD REPORTER_ nvarchar(255);
 
+ALTER TABLE ACT_RU_METER_LOG
+  ADD TAG_ nvarchar(255);
+
+create table ACT_RU_HISTOGRAM_LOG (
+  ID_ nvarchar(64) not null,
+  NAME_ nvarchar(64) not null,
+  REPORTER_ nvarchar(255),
+  COUNT_ numeric(19,0),
+  P50_ numeric(19,0),
+  P95_ numeric(19,0),
+  P99_ numeric(19,0),
+  MAX_ numeric(19,0),
+  TIMESTAMP_ datetime2 not null,
+  primary key (ID_)
+);
+
+create index ACT_IDX_HISTOGRAM_LOG on ACT_RU_HISTOGRAM_LOG(NAME_,TIMESTAMP_);
+
 -- job prioritization --
   
 ALTER TABLE ACT_RU_JOB
@@ -159,6 +177,9 @@ ALTER TABLE ACT_RE_DEPLOYMENT
 
 ALTER TABLE ACT_HI_OP_LOG
   ADD DEPLOYMENT_ID_ nvarchar(64);
+
+ALTER TABLE ACT_GE_BYTEARRAY
+  ADD HASH_ nvarchar(64);
   
 -- job suspension state
 
@@ -2,6 +2,24 @@
 
 ALTER TABLE ACT_RU_METER_LOG
   ADD REPORTER_ varchar(255);
+
+ALTER TABLE ACT_RU_METER_LOG
+  ADD TAG_ varchar(255);
+
+create table ACT_RU_HISTOGRAM_LOG (
+  ID_ varchar(64) not null,
+  NAME_ varchar(64) not null,
+  REPORTER_ varchar(255),
+  COUNT_ bigint,
+  P50_ bigint,
+  P95_ bigint,
+  P99_ bigint,
+  MAX_ bigint,
+  TIMESTAMP_ timestamp not null,
+  primary key (ID_)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8 COLLATE utf8_bin;
+
+create index ACT_IDX_HISTOGRAM_LOG on ACT_RU_HISTOGRAM_LOG(NAME_,TIMESTAMP_);
   
 -- job prioritization --
   
@@ -159,6 +177,9 @@ ALTER TABLE ACT_RE_DEPLOYMENT
 
 ALTER TABLE ACT_HI_OP_LOG
   ADD DEPLOYMENT_ID_ varchar(64);
+
+ALTER TABLE ACT_GE_BYTEARRAY
+  ADD HASH_ varchar(64);
   
 -- job suspension state
 
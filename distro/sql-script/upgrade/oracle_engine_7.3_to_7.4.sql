@@ -3,6 +3,24 @@
 ALTER TABLE ACT_RU_METER_LOG
   ADD REPORTER_ NVARCHAR2(255);
 
+ALTER TABLE ACT_RU_METER_LOG
+  ADD TAG_ NVARCHAR2(255);
+
+create table ACT_RU_HISTOGRAM_LOG (
+  ID_ NVARCHAR2(64) not null,
+  NAME_ NVARCHAR2(64) not null,
+  REPORTER_ NVARCHAR2(255),
+  COUNT_ NUMBER(19,0),
+  P50_ NUMBER(19,0),
+  P95_ NUMBER(19,0),
+  P99_ NUMBER(19,0),
+  MAX_ NUMBER(19,0),
+  TIMESTAMP_ TIMESTAMP(6) not null,
+  primary key (ID_)
+);
+
+create index ACT_IDX_HISTOGRAM_LOG on ACT_RU_HISTOGRAM_LOG(NAME_,TIMESTAMP_);
+
 -- job prioritization --
   
 ALTER TABLE ACT_RU_JOB
@@ -155,6 +173,9 @@ ALTER TABLE ACT_RE_DEPLOYMENT
 
 ALTER TABLE ACT_HI_OP_LOG
   ADD DEPLOYMENT_ID_ NVARCHAR2(64);
+
+ALTER TABLE ACT_GE_BYTEARRAY
+  ADD HASH_ NVARCHAR2(64);
   
 -- job suspension state
 
@@ -61,6 +61,12 @@ public class LdapConfiguration {
   protected boolean usePosixGroups = false;
   protected boolean allowAnonymousLogin = false;
 
+  protected boolean useConnectionPool = true;
+  protected int pageSize = 0;
+
+  protected long cacheTimeToLive = 0;
+  protected int cacheMaxSize = 1000;
+
   // getters / setters //////////////////////////////////////
 
   public String getInitialContextFactory() {
@@ -269,4 +275,49 @@ public class LdapConfiguration {
   public void setAllowAnonymousLogin(boolean allowAnonymousLogin) {
     this.allowAnonymousLogin = allowAnonymousLogin;
   }
+
+  /**
+   * @return true if the connections of the manager DN are taken from the connection pool
+   * of the JNDI LDAP provider. The pool is configured using the system properties
+   * <code>com.sun.jndi.ldap.connect.pool.*</code>, e.g. <code>maxsize</code>, <code>timeout</code>
+   * and <code>protocol</code> (which must include <code>ssl</code> to pool SSL connections).
+   */
+  public boolean isUseConnectionPool() {
+    return useConnectionPool;
+  }
+
+  public void setUseConnectionPool(boolean useConnectionPool) {
+    this.useConnectionPool = useConnectionPool;
+  }
+
+  /**
+   * @return the number of entries requested per page using the paged results control,
+   * or 0 if searches are not paged
+   */
+  public int getPageSize() {
+    return pageSize;
+  }
+
+  public void setPageSize(int pageSize) {
+    this.pageSize = pageSize;
+  }
+
+  /**
+   * @return the number of milliseconds search results are cached, or 0 if results are not cached
+   */
+  public long getCacheTimeToLive() {
+    return cacheTimeToLive;
+  }
+
+  public void setCacheTimeToLive(long cacheTimeToLive) {
+    this.cacheTimeToLive = cacheTimeToLive;
+  }
+
+  public int getCacheMaxSize() {
+    return cacheMaxSize;
+  }
+
+  public void setCacheMaxSize(int cacheMaxSize) {
+    this.cacheMaxSize = cacheMaxSize;
+  }
 }
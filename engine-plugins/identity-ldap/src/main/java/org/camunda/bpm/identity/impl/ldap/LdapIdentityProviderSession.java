@@ -33,6 +33,7 @@ import javax.naming.NamingEnumeration;
 import javax.naming.NamingException;
 import javax.naming.directory.Attribute;
 import javax.naming.directory.Attributes;
+import javax.naming.directory.SearchControls;
 import javax.naming.directory.SearchResult;
 import javax.naming.ldap.Control;
 import javax.naming.ldap.InitialLdapContext;
@@ -40,6 +41,7 @@ import javax.naming.ldap.LdapContext;
 import javax.naming.ldap.SortControl;
 import java.io.StringWriter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
@@ -60,11 +62,19 @@ public class LdapIdentityProviderSession implements ReadOnlyIdentityProvider {
 
   private final static Logger LOG = Logger.getLogger(LdapIdentityProviderSession.class.getName());
 
+  protected static final String CONNECTION_POOL_PROPERTY = "com.sun.jndi.ldap.connect.pool";
+
   protected LdapConfiguration ldapConfiguration;
+  protected LdapSearchCache searchCache;
   protected LdapContext initialContext;
 
   public LdapIdentityProviderSession(LdapConfiguration ldapConfiguration) {
+    this(ldapConfiguration, null);
+  }
+
+  public LdapIdentityProviderSession(LdapConfiguration ldapConfiguration, LdapSearchCache searchCache) {
     this.ldapConfiguration = ldapConfiguration;
+    this.searchCache = searchCache;
   }
 
   // Session Lifecycle //////////////////////////////////
@@ -81,10 +91,19 @@ public class LdapIdentityProviderSession implements ReadOnlyIdentityProvider {
         // ignore
         LOG.log(Level.FINE, "exception while closing LDAP DIR CTX", e);
       }
+      initialContext = null;
     }
   }
 
   protected InitialLdapContext openContext(String userDn, String password) {
+    return openContext(userDn, password, false);
+  }
+
+  /**
+   * @param pooled true if the connection is taken from the connection pool of the JNDI LDAP provider.
+   *   Connections are only pooled for the manager DN since the pool keeps the connections open.
+   */
+  protected InitialLdapContext openContext(String userDn, String password, boolean pooled) {
     Hashtable<String, String> env = new Hashtable<String, String>();
     env.put(Context.INITIAL_CONTEXT_FACTORY, ldapConfiguration.getInitialContextFactory());
     env.put(Context.SECURITY_AUTHENTICATION, ldapConfiguration.getSecurityAuthentication());
@@ -101,6 +120,10 @@ public class LdapIdentityProviderSession implements ReadOnlyIdentityProvider {
       env.put(Context.SECURITY_PROTOCOL, "ssl");
     }
 
+    if(pooled) {
+      env.put(CONNECTION_POOL_PROPERTY, "true");
+    }
+
     // add additional properties
     Map<String, String> contextProperties = ldapConfiguration.getContextProperties();
     if(contextProperties != null) {
@@ -121,7 +144,7 @@ public class LdapIdentityProviderSession implements ReadOnlyIdentityProvider {
 
   protected void ensureContextInitialized() {
     if(initialContext == null) {
-      initialContext = openContext(ldapConfiguration.getManagerDn(), ldapConfiguration.getManagerPassword());
+      initialContext = openContext(ldapConfiguration.getManagerDn(), ldapConfiguration.getManagerPassword(), ldapConfiguration.isUseConnectionPool());
     }
   }
 
@@ -143,7 +166,12 @@ public class LdapIdentityProviderSession implements ReadOnlyIdentityProvider {
 
   public long findUserCountByQueryCriteria(LdapUserQueryImpl query) {
     ensureContextInitialized();
-    return findUserByQueryCriteria(query).size();
+    if(query.getGroupId() != null) {
+      return findUsersByGroupId(query).size();
+    } else {
+      String userBaseDn = composeDn(ldapConfiguration.getUserSearchBase(), ldapConfiguration.getBaseDn());
+      return countUsersWithoutGroupId(query, userBaseDn);
+    }
   }
 
   public List<User> findUserByQueryCriteria(LdapUserQueryImpl query) {
@@ -165,7 +193,7 @@ public class LdapIdentityProviderSession implements ReadOnlyIdentityProvider {
 
     NamingEnumeration<SearchResult> enumeration = null;
     try {
-      enumeration = initialContext.search(baseDn, groupSearchFilter, ldapConfiguration.getSearchControls());
+      enumeration = search(baseDn, groupSearchFilter, ldapConfiguration.getSearchControls(), query, true);
 
       List<String> groupMemberList = new ArrayList<String>();
 
@@ -221,7 +249,7 @@ public class LdapIdentityProviderSession implements ReadOnlyIdentityProvider {
     try {
 
       String filter = getUserSearchFilter(query);
-      enumeration = initialContext.search(userBaseDn, filter, ldapConfiguration.getSearchControls());
+      enumeration = search(userBaseDn, filter, ldapConfiguration.getSearchControls(), query, isCacheable(query));
 
       // perform client-side paging
       int resultCount = 0;
@@ -255,6 +283,43 @@ public class LdapIdentityProviderSession implements ReadOnlyIdentityProvider {
     }
   }
 
+  protected long countUsersWithoutGroupId(LdapUserQueryImpl query, String userBaseDn) {
+    // only the id is needed to check the authorizations
+    SearchControls searchControls = ldapConfiguration.getSearchControls();
+    searchControls.setReturningAttributes(new String[] { ldapConfiguration.getUserIdAttribute() });
+
+    NamingEnumeration<SearchResult> enumeration = null;
+    try {
+
+      String filter = getUserSearchFilter(query);
+      enumeration = search(userBaseDn, filter, searchControls, query, isCacheable(query));
+
+      long count = 0;
+      while (enumeration.hasMoreElements()) {
+        SearchResult result = enumeration.nextElement();
+
+        String userId = getStringAttributeValue(ldapConfiguration.getUserIdAttribute(), result.getAttributes());
+        if(isAuthenticatedUserId(userId) || isAuthorized(READ, USER, userId)) {
+          count ++;
+        }
+      }
+
+      return count;
+
+    } catch (NamingException e) {
+      throw new IdentityProviderException("Could not query for users", e);
+
+    } finally {
+      try {
+        if (enumeration != null) {
+          enumeration.close();
+        }
+      } catch (Exception e) {
+        // ignore silently
+      }
+    }
+  }
+
   public boolean checkPassword(String userId, String password) {
 
     // prevent a null password
@@ -286,7 +351,12 @@ public class LdapIdentityProviderSession implements ReadOnlyIdentityProvider {
 
       try {
         // bind authenticate for user + supplied password
-        openContext(user.getDn(), password);
+        InitialLdapContext userContext = openContext(user.getDn(), password);
+        try {
+          userContext.close();
+        } catch (Exception e) {
+          LOG.log(Level.FINE, "exception while closing LDAP DIR CTX", e);
+        }
         return true;
 
       } catch(LdapAuthenticationException e) {
@@ -358,9 +428,45 @@ public class LdapIdentityProviderSession implements ReadOnlyIdentityProvider {
     return new LdapGroupQuery();
   }
 
-  public long findGroupCountByQueryCriteria(LdapGroupQuery ldapGroupQuery) {
+  public long findGroupCountByQueryCriteria(LdapGroupQuery query) {
     ensureContextInitialized();
-    return findGroupByQueryCriteria(ldapGroupQuery).size();
+
+    String groupBaseDn = composeDn(ldapConfiguration.getGroupSearchBase(),ldapConfiguration.getBaseDn());
+
+    // only the id is needed to check the authorizations
+    SearchControls searchControls = ldapConfiguration.getSearchControls();
+    searchControls.setReturningAttributes(new String[] { ldapConfiguration.getGroupIdAttribute() });
+
+    NamingEnumeration<SearchResult> enumeration = null;
+    try {
+
+      String filter = getGroupSearchFilter(query);
+      enumeration = search(groupBaseDn, filter, searchControls, query, isCacheable(query));
+
+      long count = 0;
+      while (enumeration.hasMoreElements()) {
+        SearchResult result = enumeration.nextElement();
+
+        String groupId = getStringAttributeValue(ldapConfiguration.getGroupIdAttribute(), result.getAttributes());
+        if(isAuthorized(READ, GROUP, groupId)) {
+          count ++;
+        }
+      }
+
+      return count;
+
+    } catch (NamingException e) {
+      throw new IdentityProviderException("Could not query for groups", e);
+
+    } finally {
+      try {
+        if (enumeration != null) {
+          enumeration.close();
+        }
+      } catch (Exception e) {
+        // ignore silently
+      }
+    }
   }
 
   public List<Group> findGroupByQueryCriteria(LdapGroupQuery query) {
@@ -376,7 +482,7 @@ public class LdapIdentityProviderSession implements ReadOnlyIdentityProvider {
     try {
 
       String filter = getGroupSearchFilter(query);
-      enumeration = initialContext.search(groupBaseDn, filter, ldapConfiguration.getSearchControls());
+      enumeration = search(groupBaseDn, filter, ldapConfiguration.getSearchControls(), query, isCacheable(query));
 
       // perform client-side paging
       int resultCount = 0;
@@ -442,6 +548,85 @@ public class LdapIdentityProviderSession implements ReadOnlyIdentityProvider {
     return search.toString();
   }
 
+  // Search ///////////////////////////////////////////
+
+  /**
+   * Searches the LDAP server. If the configured page size is greater than 0, the results are
+   * fetched in pages. The results of cacheable searches are taken from the search cache if present.
+   *
+   * @param cacheable true if the search looks up specific entries, e.g. a user by id or the groups
+   *   of a user, such that the results are small enough to be cached
+   */
+  @SuppressWarnings("rawtypes")
+  protected NamingEnumeration<SearchResult> search(String baseDn, String filter, SearchControls searchControls, AbstractQuery query, boolean cacheable) throws NamingException {
+    if(!cacheable || searchCache == null) {
+      return search(baseDn, filter, searchControls, getPageSize(query));
+    }
+
+    String cacheKey = getCacheKey(baseDn, filter, searchControls, query);
+    List<SearchResult> results = searchCache.get(cacheKey);
+
+    if(results == null) {
+      results = new ArrayList<SearchResult>();
+      NamingEnumeration<SearchResult> enumeration = search(baseDn, filter, searchControls, ldapConfiguration.getPageSize());
+      try {
+        while (enumeration.hasMoreElements()) {
+          results.add(enumeration.nextElement());
+        }
+      } finally {
+        enumeration.close();
+      }
+      searchCache.put(cacheKey, results);
+    }
+
+    return new LdapSearchCache.CachedSearchResults(results);
+  }
+
+  protected NamingEnumeration<SearchResult> search(String baseDn, String filter, SearchControls searchControls, int pageSize) throws NamingException {
+    if(pageSize > 0) {
+      return new PagedSearchResults(initialContext, baseDn, filter, searchControls, pageSize);
+    } else {
+      return initialContext.search(baseDn, filter, searchControls);
+    }
+  }
+
+  /**
+   * @return the configured page size, reduced to the number of results required by the query
+   */
+  @SuppressWarnings("rawtypes")
+  protected int getPageSize(AbstractQuery query) {
+    int pageSize = ldapConfiguration.getPageSize();
+    long requiredResults = (long) query.getFirstResult() + query.getMaxResults();
+    if(pageSize > 0 && requiredResults > 0 && requiredResults < pageSize) {
+      pageSize = (int) requiredResults;
+    }
+    return pageSize;
+  }
+
+  @SuppressWarnings("rawtypes")
+  protected String getCacheKey(String baseDn, String filter, SearchControls searchControls, AbstractQuery query) {
+    StringBuilder key = new StringBuilder();
+    key.append(baseDn).append('|').append(filter);
+
+    String[] returningAttributes = searchControls.getReturningAttributes();
+    if(returningAttributes != null) {
+      key.append('|').append(Arrays.toString(returningAttributes));
+    }
+    if(ldapConfiguration.isSortControlSupported() && query.getOrderBy() != null) {
+      key.append('|').append(query.getOrderBy());
+    }
+
+    return key.toString();
+  }
+
+  protected boolean isCacheable(LdapUserQueryImpl query) {
+    return query.getId() != null || query.getIds() != null || query.getGroupId() != null;
+  }
+
+  protected boolean isCacheable(LdapGroupQuery query) {
+    return query.getId() != null || query.getUserId() != null;
+  }
+
   // Utils ////////////////////////////////////////////
 
   protected String getDnForUser(String userId) {
@@ -561,10 +746,17 @@ public class LdapIdentityProviderSession implements ReadOnlyIdentityProvider {
    * @return true if the passed-in user is currently authenticated
    */
   protected boolean isAuthenticatedUser(UserEntity user) {
-    if(user.getId() == null) {
+    return isAuthenticatedUserId(user.getId());
+  }
+
+  /**
+   * @return true if the user with the passed-in id is currently authenticated
+   */
+  protected boolean isAuthenticatedUserId(String userId) {
+    if(userId == null) {
       return false;
     }
-    return user.getId().equals(org.camunda.bpm.engine.impl.context.Context.getCommandContext().getAuthenticatedUserId());
+    return userId.equals(org.camunda.bpm.engine.impl.context.Context.getCommandContext().getAuthenticatedUserId());
   }
 
   protected boolean isAuthorized(Permission permission, Resource resource, String resourceId) {
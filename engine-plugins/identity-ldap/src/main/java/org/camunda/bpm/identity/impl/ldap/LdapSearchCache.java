@@ -0,0 +1,179 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.identity.impl.ldap;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.naming.NamingEnumeration;
+import javax.naming.directory.SearchResult;
+
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+
+/**
+ * <p>Bounded cache of LDAP search results which is shared by all sessions of a
+ * {@link LdapIdentityProviderFactory}. Results expire after the configured time to live.
+ * If the cache is full, the least recently used results are evicted.</p>
+ *
+ * <p>The cached results are not filtered by authorizations, so the session must check the
+ * authorizations of the current user for each result it returns.</p>
+ */
+public class LdapSearchCache {
+
+  public static final String METRIC_CACHE_HIT = "ldap-cache-hit";
+  public static final String METRIC_CACHE_MISS = "ldap-cache-miss";
+
+  protected final long timeToLive;
+  protected final Map<String, CacheEntry> entries;
+
+  protected AtomicLong hitCount = new AtomicLong();
+  protected AtomicLong missCount = new AtomicLong();
+
+  protected MetricsRegistry metricsRegistry;
+
+  public LdapSearchCache(final int maxSize, long timeToLive) {
+    this.timeToLive = timeToLive;
+    this.entries = new LinkedHashMap<String, CacheEntry>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+      protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+        return size() > maxSize;
+      }
+    };
+  }
+
+  /**
+   * @return the cached results or null if no unexpired results are cached for the key
+   */
+  public List<SearchResult> get(String key) {
+    CacheEntry entry;
+    synchronized (entries) {
+      entry = entries.get(key);
+      if (entry != null && entry.expiresAt <= ClockUtil.getCurrentTime().getTime()) {
+        entries.remove(key);
+        entry = null;
+      }
+    }
+
+    if (entry != null) {
+      hitCount.incrementAndGet();
+      markOccurrence(METRIC_CACHE_HIT);
+      return entry.results;
+    }
+    else {
+      missCount.incrementAndGet();
+      markOccurrence(METRIC_CACHE_MISS);
+      return null;
+    }
+  }
+
+  public void put(String key, List<SearchResult> results) {
+    CacheEntry entry = new CacheEntry(results, ClockUtil.getCurrentTime().getTime() + timeToLive);
+    synchronized (entries) {
+      entries.put(key, entry);
+    }
+  }
+
+  public void clear() {
+    synchronized (entries) {
+      entries.clear();
+    }
+  }
+
+  public int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  public MetricsRegistry getMetricsRegistry() {
+    return metricsRegistry;
+  }
+
+  /**
+   * Sets the registry which is notified about cache hits and misses. The meters
+   * {@link #METRIC_CACHE_HIT} and {@link #METRIC_CACHE_MISS} are created in the registry.
+   */
+  public void setMetricsRegistry(MetricsRegistry metricsRegistry) {
+    this.metricsRegistry = metricsRegistry;
+    if (metricsRegistry != null) {
+      metricsRegistry.createMeter(METRIC_CACHE_HIT);
+      metricsRegistry.createMeter(METRIC_CACHE_MISS);
+    }
+  }
+
+  protected void markOccurrence(String name) {
+    if (metricsRegistry != null) {
+      metricsRegistry.markOccurrence(name);
+    }
+  }
+
+  protected static class CacheEntry {
+
+    protected final List<SearchResult> results;
+    protected final long expiresAt;
+
+    public CacheEntry(List<SearchResult> results, long expiresAt) {
+      this.results = results;
+      this.expiresAt = expiresAt;
+    }
+  }
+
+  /**
+   * Enumerates cached search results.
+   */
+  public static class CachedSearchResults implements NamingEnumeration<SearchResult> {
+
+    protected Iterator<SearchResult> iterator;
+
+    public CachedSearchResults(List<SearchResult> results) {
+      this.iterator = results.iterator();
+    }
+
+    public boolean hasMore() {
+      return iterator.hasNext();
+    }
+
+    public SearchResult next() {
+      return nextElement();
+    }
+
+    public boolean hasMoreElements() {
+      return iterator.hasNext();
+    }
+
+    public SearchResult nextElement() {
+      if (!iterator.hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return iterator.next();
+    }
+
+    public void close() {
+      // nothing to do
+    }
+  }
+
+}
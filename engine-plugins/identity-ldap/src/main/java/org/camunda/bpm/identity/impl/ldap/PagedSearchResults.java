@@ -0,0 +1,148 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.identity.impl.ldap;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+
+import javax.naming.NamingEnumeration;
+import javax.naming.NamingException;
+import javax.naming.directory.SearchControls;
+import javax.naming.directory.SearchResult;
+import javax.naming.ldap.Control;
+import javax.naming.ldap.LdapContext;
+import javax.naming.ldap.PagedResultsControl;
+import javax.naming.ldap.PagedResultsResponseControl;
+
+import org.camunda.bpm.engine.impl.identity.IdentityProviderException;
+
+/**
+ * <p>Enumerates the results of a search using the paged results control (RFC 2696).
+ * The next page is requested from the LDAP server when the results of the current page
+ * are consumed, so the server never has to return more entries at once than the
+ * page size.</p>
+ *
+ * <p>The request controls which are set on the context when the search starts
+ * (e.g. a sort control) are sent with each page and restored when the enumeration
+ * is closed.</p>
+ */
+public class PagedSearchResults implements NamingEnumeration<SearchResult> {
+
+  protected LdapContext context;
+  protected String baseDn;
+  protected String filter;
+  protected SearchControls searchControls;
+  protected int pageSize;
+
+  protected Control[] requestControls;
+  protected NamingEnumeration<SearchResult> currentPage;
+  protected boolean lastPage = false;
+
+  public PagedSearchResults(LdapContext context, String baseDn, String filter, SearchControls searchControls, int pageSize) throws NamingException {
+    this.context = context;
+    this.baseDn = baseDn;
+    this.filter = filter;
+    this.searchControls = searchControls;
+    this.pageSize = pageSize;
+    this.requestControls = context.getRequestControls();
+
+    searchPage(null);
+  }
+
+  protected void searchPage(byte[] cookie) throws NamingException {
+    int numberOfControls = requestControls != null ? requestControls.length : 0;
+    Control[] controls = new Control[numberOfControls + 1];
+    if (numberOfControls > 0) {
+      System.arraycopy(requestControls, 0, controls, 0, numberOfControls);
+    }
+
+    try {
+      controls[numberOfControls] = new PagedResultsControl(pageSize, cookie, Control.NONCRITICAL);
+    }
+    catch (IOException e) {
+      throw new IdentityProviderException("Could not create paged results control", e);
+    }
+
+    context.setRequestControls(controls);
+    currentPage = context.search(baseDn, filter, searchControls);
+  }
+
+  /**
+   * @return the cookie of the next page or null if the current page is the last page
+   */
+  protected byte[] getNextPageCookie() throws NamingException {
+    Control[] responseControls = context.getResponseControls();
+    if (responseControls != null) {
+      for (Control control : responseControls) {
+        if (control instanceof PagedResultsResponseControl) {
+          byte[] cookie = ((PagedResultsResponseControl) control).getCookie();
+          if (cookie != null && cookie.length > 0) {
+            return cookie;
+          }
+        }
+      }
+    }
+    return null;
+  }
+
+  public boolean hasMore() throws NamingException {
+    while (!lastPage && !currentPage.hasMore()) {
+      // the response controls are available once the page is consumed
+      byte[] cookie = getNextPageCookie();
+      currentPage.close();
+
+      if (cookie == null) {
+        lastPage = true;
+      }
+      else {
+        searchPage(cookie);
+      }
+    }
+    return !lastPage;
+  }
+
+  public SearchResult next() throws NamingException {
+    if (!hasMore()) {
+      throw new NoSuchElementException();
+    }
+    return currentPage.next();
+  }
+
+  public boolean hasMoreElements() {
+    try {
+      return hasMore();
+    }
+    catch (NamingException e) {
+      throw new IdentityProviderException("Could not fetch next page of search results", e);
+    }
+  }
+
+  public SearchResult nextElement() {
+    try {
+      return next();
+    }
+    catch (NamingException e) {
+      throw new IdentityProviderException("Could not fetch next page of search results", e);
+    }
+  }
+
+  public void close() throws NamingException {
+    try {
+      currentPage.close();
+    }
+    finally {
+      context.setRequestControls(requestControls);
+    }
+  }
+
+}
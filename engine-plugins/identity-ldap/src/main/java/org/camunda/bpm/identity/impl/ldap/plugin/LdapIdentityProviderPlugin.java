@@ -20,6 +20,7 @@ import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.cfg.ProcessEnginePlugin;
 import org.camunda.bpm.identity.impl.ldap.LdapConfiguration;
 import org.camunda.bpm.identity.impl.ldap.LdapIdentityProviderFactory;
+import org.camunda.bpm.identity.impl.ldap.LdapSearchCache;
 import org.camunda.bpm.identity.impl.ldap.util.CertificateHelper;
 
 /**
@@ -38,6 +39,8 @@ public class LdapIdentityProviderPlugin extends LdapConfiguration implements Pro
 
   protected boolean acceptUntrustedCertificates = false;
 
+  protected LdapSearchCache searchCache;
+
   public void preInit(ProcessEngineConfigurationImpl processEngineConfiguration) {
     
     LOG.log(Level.INFO, "PLUGIN {0} activated on process engine {1}", new String[]{getClass().getSimpleName(), processEngineConfiguration.getProcessEngineName()});
@@ -49,12 +52,19 @@ public class LdapIdentityProviderPlugin extends LdapConfiguration implements Pro
     
     LdapIdentityProviderFactory ldapIdentityProviderFactory = new LdapIdentityProviderFactory();
     ldapIdentityProviderFactory.setLdapConfiguration(this);
+
+    if(cacheTimeToLive > 0) {
+      searchCache = new LdapSearchCache(cacheMaxSize, cacheTimeToLive);
+      ldapIdentityProviderFactory.setSearchCache(searchCache);
+    }
     processEngineConfiguration.setIdentityProviderSessionFactory(ldapIdentityProviderFactory);
     
   }
 
   public void postInit(ProcessEngineConfigurationImpl processEngineConfiguration) {
-    // nothing to do    
+    if(searchCache != null && processEngineConfiguration.isMetricsEnabled()) {
+      searchCache.setMetricsRegistry(processEngineConfiguration.getMetricsRegistry());
+    }
   }
   
   public void postProcessEngineBuild(ProcessEngine processEngine) {
@@ -69,4 +79,8 @@ public class LdapIdentityProviderPlugin extends LdapConfiguration implements Pro
     return acceptUntrustedCertificates;
   }
 
+  public LdapSearchCache getSearchCache() {
+    return searchCache;
+  }
+
 }
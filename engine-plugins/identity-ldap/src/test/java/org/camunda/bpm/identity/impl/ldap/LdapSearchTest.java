@@ -0,0 +1,103 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.identity.impl.ldap;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.identity.Group;
+import org.camunda.bpm.engine.identity.User;
+
+/**
+ * Tests paged searches and the search cache of the LDAP identity provider.
+ */
+public class LdapSearchTest extends LdapIdentityProviderTest {
+
+  protected LdapIdentityProviderFactory identityProviderFactory;
+  protected LdapConfiguration ldapConfiguration;
+
+  protected void setUp() throws Exception {
+    super.setUp();
+    identityProviderFactory = (LdapIdentityProviderFactory) processEngineConfiguration.getIdentityProviderSessionFactory();
+    ldapConfiguration = identityProviderFactory.getLdapConfiguration();
+  }
+
+  protected void tearDown() throws Exception {
+    ldapConfiguration.setPageSize(0);
+    identityProviderFactory.setSearchCache(null);
+    super.tearDown();
+  }
+
+  public void testPagedQuery() {
+    ldapConfiguration.setPageSize(3);
+
+    List<User> users = identityService.createUserQuery().list();
+    assertEquals(8, users.size());
+    assertEquals(8, identityService.createUserQuery().count());
+
+    users = identityService.createUserQuery().listPage(2, 4);
+    assertEquals(4, users.size());
+
+    List<Group> groups = identityService.createGroupQuery().list();
+    assertEquals(identityService.createGroupQuery().count(), groups.size());
+  }
+
+  public void testCachedQuery() {
+    LdapSearchCache searchCache = new LdapSearchCache(100, 60000);
+    identityProviderFactory.setSearchCache(searchCache);
+
+    User user = identityService.createUserQuery().userId("oscar").singleResult();
+    assertEquals("oscar", user.getId());
+    assertEquals(0, searchCache.getHitCount());
+    assertEquals(1, searchCache.getMissCount());
+
+    user = identityService.createUserQuery().userId("oscar").singleResult();
+    assertEquals("Oscar", user.getFirstName());
+    assertEquals(1, searchCache.getHitCount());
+    assertEquals(1, searchCache.getMissCount());
+
+    // a query which does not look up specific entries is not cached
+    identityService.createUserQuery().list();
+    assertEquals(1, searchCache.getHitCount());
+    assertEquals(1, searchCache.getMissCount());
+
+    // the groups of a user are cached
+    long groupCount = identityService.createGroupQuery().groupMember("oscar").count();
+    assertEquals(groupCount, identityService.createGroupQuery().groupMember("oscar").list().size());
+    long hits = searchCache.getHitCount();
+    assertEquals(groupCount, identityService.createGroupQuery().groupMember("oscar").list().size());
+    assertTrue(searchCache.getHitCount() > hits);
+  }
+
+  public void testCacheExpiry() {
+    LdapSearchCache searchCache = new LdapSearchCache(100, 0);
+    identityProviderFactory.setSearchCache(searchCache);
+
+    assertNotNull(identityService.createUserQuery().userId("oscar").singleResult());
+    assertNotNull(identityService.createUserQuery().userId("oscar").singleResult());
+
+    assertEquals(0, searchCache.getHitCount());
+    assertEquals(2, searchCache.getMissCount());
+  }
+
+  public void testCacheMaxSize() {
+    LdapSearchCache searchCache = new LdapSearchCache(2, 60000);
+    identityProviderFactory.setSearchCache(searchCache);
+
+    identityService.createUserQuery().userId("oscar").singleResult();
+    identityService.createUserQuery().userId("monster").singleResult();
+    identityService.createUserQuery().userId("daniel").singleResult();
+
+    assertEquals(2, searchCache.size());
+  }
+
+}
@@ -22,6 +22,7 @@ import javax.ws.rs.*;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Request;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 import java.util.List;
 
@@ -38,6 +39,18 @@ public interface TaskRestService {
   Object getTasks(@Context Request request, @Context UriInfo uriInfo,
                   @QueryParam("firstResult") Integer firstResult, @QueryParam("maxResults") Integer maxResults);
 
+  /**
+   * Expects the same parameters as {@link TaskRestService#getTasks(Request, UriInfo, Integer, Integer)}
+   * and writes the tasks while they are read from the database.
+   *
+   * @see org.camunda.bpm.engine.rest.util.QueryResultStreamingOutput
+   */
+  @GET
+  @Path("/stream")
+  @Produces(MediaType.APPLICATION_JSON)
+  StreamingOutput streamTasks(@Context UriInfo uriInfo,
+      @QueryParam("firstResult") Integer firstResult, @QueryParam("maxResults") Integer maxResults);
+
   /**
    * Expects the same parameters as {@link TaskRestService#getTasks(UriInfo, Integer, Integer)} (as
    * JSON message body) and allows more than one variable check.
@@ -22,6 +22,7 @@ import org.camunda.bpm.engine.runtime.VariableInstanceQuery;
 import javax.ws.rs.*;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 import java.util.List;
 
@@ -51,6 +52,21 @@ public interface VariableInstanceRestService {
       @QueryParam("maxResults") Integer maxResults,
       @QueryParam(VariableResource.DESERIALIZE_VALUES_QUERY_PARAM) @DefaultValue("true") boolean deserializeObjectValues);
 
+  /**
+   * Expects the same parameters as
+   * {@link VariableInstanceRestService#getVariableInstances(UriInfo, Integer, Integer, boolean)}
+   * and writes the variable instances while they are read from the database.
+   *
+   * @see org.camunda.bpm.engine.rest.util.QueryResultStreamingOutput
+   */
+  @GET
+  @Path("/stream")
+  @Produces(MediaType.APPLICATION_JSON)
+  StreamingOutput streamVariableInstances(@Context UriInfo uriInfo,
+      @QueryParam("firstResult") Integer firstResult,
+      @QueryParam("maxResults") Integer maxResults,
+      @QueryParam(VariableResource.DESERIALIZE_VALUES_QUERY_PARAM) @DefaultValue("true") boolean deserializeObjectValues);
+
   /**
    * Expects the same parameters as
    * {@link VariableInstanceRestService#getVariableInstances(UriInfo, Integer, Integer)} (as a JSON message body)
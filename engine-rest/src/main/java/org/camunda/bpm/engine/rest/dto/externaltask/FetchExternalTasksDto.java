@@ -23,6 +23,7 @@ public class FetchExternalTasksDto {
   protected int maxTasks;
   protected String workerId;
   protected List<FetchExternalTaskTopicDto> topics;
+  protected Long asyncResponseTimeout;
 
   public int getMaxTasks() {
     return maxTasks;
@@ -42,6 +43,12 @@ public class FetchExternalTasksDto {
   public void setTopics(List<FetchExternalTaskTopicDto> topics) {
     this.topics = topics;
   }
+  public Long getAsyncResponseTimeout() {
+    return asyncResponseTimeout;
+  }
+  public void setAsyncResponseTimeout(Long asyncResponseTimeout) {
+    this.asyncResponseTimeout = asyncResponseTimeout;
+  }
 
   public static class FetchExternalTaskTopicDto {
     protected String topicName;
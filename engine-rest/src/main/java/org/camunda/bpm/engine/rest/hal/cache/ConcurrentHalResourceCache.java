@@ -0,0 +1,317 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.hal.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.rest.cache.Cache;
+
+/**
+ * <p>Thread-safe {@link Cache} for HAL relations which can be used concurrently by REST requests.</p>
+ *
+ * <p>If the capacity is exceeded, the least recently used entry is evicted in constant time.
+ * The recency order is kept in a linked list guarded by a lock. Reads only move an entry to the
+ * front of the list if the lock is not held by another thread, so under contention the eviction
+ * order is an approximation of the access order.</p>
+ *
+ * <p>Entries expire after {@link #getSecondsToLive()} seconds. Expired entries are removed when
+ * they are read and by a background task which runs every {@link #getCleanupIntervalSeconds()}
+ * seconds.</p>
+ */
+public class ConcurrentHalResourceCache implements Cache {
+
+  protected int capacity;
+  protected long secondsToLive;
+  protected long cleanupIntervalSeconds = 60;
+
+  protected ConcurrentMap<String, Node> entries = new ConcurrentHashMap<String, Node>();
+
+  /** sentinel of the recency list, head.next is the most and head.prev the least recently used entry */
+  protected final Node head = new Node(null, null, 0);
+  protected final ReentrantLock lock = new ReentrantLock();
+
+  protected AtomicLong hitCount = new AtomicLong();
+  protected AtomicLong missCount = new AtomicLong();
+  protected AtomicLong evictionCount = new AtomicLong();
+  protected AtomicLong expirationCount = new AtomicLong();
+
+  protected volatile ScheduledExecutorService cleanupExecutor;
+
+  public ConcurrentHalResourceCache() {
+    this(100, 100);
+  }
+
+  public ConcurrentHalResourceCache(int capacity, long secondsToLive) {
+    this.capacity = capacity;
+    this.secondsToLive = secondsToLive;
+    head.previous = head;
+    head.next = head;
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public void setCapacity(int capacity) {
+    this.capacity = capacity;
+  }
+
+  public long getSecondsToLive() {
+    return secondsToLive;
+  }
+
+  public void setSecondsToLive(long secondsToLive) {
+    this.secondsToLive = secondsToLive;
+  }
+
+  public long getCleanupIntervalSeconds() {
+    return cleanupIntervalSeconds;
+  }
+
+  /**
+   * @param cleanupIntervalSeconds the interval of the background removal of expired entries,
+   *   0 disables the background removal
+   */
+  public void setCleanupIntervalSeconds(long cleanupIntervalSeconds) {
+    this.cleanupIntervalSeconds = cleanupIntervalSeconds;
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  public void put(String id, Object resource) {
+    if (id == null || resource == null) {
+      return;
+    }
+
+    Node node = new Node(id, resource, ClockUtil.getCurrentTime().getTime());
+
+    lock.lock();
+    try {
+      Node previousNode = entries.put(id, node);
+      if (previousNode != null) {
+        unlink(previousNode);
+      }
+      linkFirst(node);
+
+      while (entries.size() > capacity && head.previous != head) {
+        Node eldest = head.previous;
+        unlink(eldest);
+        entries.remove(eldest.id, eldest);
+        evictionCount.incrementAndGet();
+      }
+    }
+    finally {
+      lock.unlock();
+    }
+
+    ensureCleanupScheduled();
+  }
+
+  public Object get(String id) {
+    Node node = id != null ? entries.get(id) : null;
+
+    if (node == null) {
+      missCount.incrementAndGet();
+      return null;
+    }
+
+    if (expired(node)) {
+      if (remove(node)) {
+        expirationCount.incrementAndGet();
+      }
+      missCount.incrementAndGet();
+      return null;
+    }
+
+    hitCount.incrementAndGet();
+
+    // reorder only if no other thread holds the lock, reads must not wait for each other
+    if (lock.tryLock()) {
+      try {
+        if (node.isLinked()) {
+          unlink(node);
+          linkFirst(node);
+        }
+      }
+      finally {
+        lock.unlock();
+      }
+    }
+
+    return node.resource;
+  }
+
+  public void remove(String id) {
+    Node node = entries.get(id);
+    if (node != null) {
+      remove(node);
+    }
+  }
+
+  /**
+   * Removes all expired entries.
+   */
+  public void removeExpired() {
+    lock.lock();
+    try {
+      Node node = head.next;
+      while (node != head) {
+        Node next = node.next;
+        if (expired(node)) {
+          unlink(node);
+          entries.remove(node.id, node);
+          expirationCount.incrementAndGet();
+        }
+        node = next;
+      }
+    }
+    finally {
+      lock.unlock();
+    }
+  }
+
+  public void destroy() {
+    ScheduledExecutorService executor = cleanupExecutor;
+    if (executor != null) {
+      executor.shutdownNow();
+      cleanupExecutor = null;
+    }
+
+    lock.lock();
+    try {
+      entries.clear();
+      head.previous = head;
+      head.next = head;
+    }
+    finally {
+      lock.unlock();
+    }
+  }
+
+  // statistics ////////////////////////////////////////
+
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  /**
+   * @return the number of entries which were removed because the capacity was exceeded
+   */
+  public long getEvictionCount() {
+    return evictionCount.get();
+  }
+
+  /**
+   * @return the number of entries which were removed because their time to live expired
+   */
+  public long getExpirationCount() {
+    return expirationCount.get();
+  }
+
+  // internal //////////////////////////////////////////
+
+  protected boolean remove(Node node) {
+    lock.lock();
+    try {
+      if (entries.remove(node.id, node)) {
+        unlink(node);
+        return true;
+      }
+      else {
+        return false;
+      }
+    }
+    finally {
+      lock.unlock();
+    }
+  }
+
+  protected boolean expired(Node node) {
+    return node.created + secondsToLive * 1000 < ClockUtil.getCurrentTime().getTime();
+  }
+
+  protected void linkFirst(Node node) {
+    node.previous = head;
+    node.next = head.next;
+    head.next.previous = node;
+    head.next = node;
+  }
+
+  protected void unlink(Node node) {
+    if (node.isLinked()) {
+      node.previous.next = node.next;
+      node.next.previous = node.previous;
+      node.previous = null;
+      node.next = null;
+    }
+  }
+
+  protected void ensureCleanupScheduled() {
+    if (cleanupExecutor == null && cleanupIntervalSeconds > 0) {
+      synchronized (this) {
+        if (cleanupExecutor == null) {
+          ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            public Thread newThread(Runnable runnable) {
+              Thread thread = new Thread(runnable, "hal-resource-cache-cleanup");
+              thread.setDaemon(true);
+              return thread;
+            }
+          });
+
+          executor.scheduleWithFixedDelay(new Runnable() {
+            public void run() {
+              removeExpired();
+            }
+          }, cleanupIntervalSeconds, cleanupIntervalSeconds, TimeUnit.SECONDS);
+
+          cleanupExecutor = executor;
+        }
+      }
+    }
+  }
+
+  protected static class Node {
+
+    protected final String id;
+    protected final Object resource;
+    protected final long created;
+
+    protected Node previous;
+    protected Node next;
+
+    public Node(String id, Object resource, long created) {
+      this.id = id;
+      this.resource = resource;
+      this.created = created;
+    }
+
+    protected boolean isLinked() {
+      return previous != null;
+    }
+  }
+
+}
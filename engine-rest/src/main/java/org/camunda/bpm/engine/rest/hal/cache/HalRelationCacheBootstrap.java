@@ -50,8 +50,8 @@ public class HalRelationCacheBootstrap implements ServletContextListener {
   }
 
   public void configureCaches(HalRelationCacheConfiguration configuration) {
-    Class<? extends Cache> cacheClass = configuration.getCacheImplementationClass();
     for (Map.Entry<Class<?>, Map<String, Object>> cacheConfiguration : configuration.getCacheConfigurations().entrySet()) {
+      Class<? extends Cache> cacheClass = configuration.getCacheImplementationClass(cacheConfiguration.getKey());
       Cache cache = createCache(cacheClass, cacheConfiguration.getValue());
       registerCache(cacheConfiguration.getKey(), cache);
     }
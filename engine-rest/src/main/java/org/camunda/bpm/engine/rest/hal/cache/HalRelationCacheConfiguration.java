@@ -33,9 +33,11 @@ public class HalRelationCacheConfiguration {
 
   protected ObjectMapper objectMapper = new ObjectMapper();
   protected Class<? extends Cache> cacheImplementationClass;
+  protected Map<Class<?>, Class<? extends Cache>> cacheImplementationClasses;
   protected Map<Class<?>, Map<String, Object>> cacheConfigurations;
 
   public HalRelationCacheConfiguration() {
+    cacheImplementationClasses = new HashMap<Class<?>, Class<? extends Cache>>();
     cacheConfigurations = new HashMap<Class<?>, Map<String, Object>>();
   }
 
@@ -48,10 +50,36 @@ public class HalRelationCacheConfiguration {
     return cacheImplementationClass;
   }
 
-  @SuppressWarnings("unchecked")
   public void setCacheImplementationClass(Class<?> cacheImplementationClass) {
+    this.cacheImplementationClass = checkCacheImplementationClass(cacheImplementationClass);
+  }
+
+  /**
+   * @return the cache implementation class of the HAL resource, which is the default
+   * cache implementation class if no specific class was configured for the resource
+   */
+  public Class<? extends Cache> getCacheImplementationClass(Class<?> halResourceClass) {
+    Class<? extends Cache> halResourceCacheImplementationClass = cacheImplementationClasses.get(halResourceClass);
+    if (halResourceCacheImplementationClass != null) {
+      return halResourceCacheImplementationClass;
+    }
+    else {
+      return cacheImplementationClass;
+    }
+  }
+
+  /**
+   * Sets the cache implementation class of a HAL resource which overrides the default
+   * cache implementation class.
+   */
+  public void setCacheImplementationClass(Class<?> halResourceClass, Class<?> cacheImplementationClass) {
+    cacheImplementationClasses.put(halResourceClass, checkCacheImplementationClass(cacheImplementationClass));
+  }
+
+  @SuppressWarnings("unchecked")
+  protected Class<? extends Cache> checkCacheImplementationClass(Class<?> cacheImplementationClass) {
     if (Cache.class.isAssignableFrom(cacheImplementationClass)) {
-      this.cacheImplementationClass = (Class<? extends Cache>) cacheImplementationClass;
+      return (Class<? extends Cache>) cacheImplementationClass;
     }
     else {
       throw new HalRelationCacheConfigurationException("Cache implementation class " + cacheImplementationClass.getName() + " does not implement the interface " + Cache.class.getName());
@@ -112,6 +140,13 @@ public class HalRelationCacheConfiguration {
     try {
       Class<?> halResourceClass = loadClass(halResourceClassName);
       Map<String, Object> configuration = objectMapper.treeToValue(jsonConfiguration, Map.class);
+
+      // a HAL resource can use a different cache implementation than the default one
+      Object cacheImplementationClassName = configuration.remove(CONFIG_CACHE_IMPLEMENTATION);
+      if (cacheImplementationClassName != null) {
+        setCacheImplementationClass(halResourceClass, loadClass(cacheImplementationClassName.toString()));
+      }
+
       addCacheConfiguration(halResourceClass, configuration);
     } catch (IOException e) {
       throw new HalRelationCacheConfigurationException("Unable to parse cache configuration for HAL resource " + halResourceClassName);
@@ -21,6 +21,7 @@ import org.camunda.bpm.engine.rest.sub.history.HistoricProcessInstanceResource;
 import javax.ws.rs.*;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 import java.util.List;
 
@@ -47,6 +48,18 @@ public interface HistoricProcessInstanceRestService {
   List<HistoricProcessInstanceDto> getHistoricProcessInstances(@Context UriInfo uriInfo, @QueryParam("firstResult") Integer firstResult,
       @QueryParam("maxResults") Integer maxResults);
 
+  /**
+   * Expects the same parameters as {@link HistoricProcessInstanceRestService#getHistoricProcessInstances(UriInfo, Integer, Integer)}
+   * and writes the historic process instances while they are read from the database.
+   *
+   * @see org.camunda.bpm.engine.rest.util.QueryResultStreamingOutput
+   */
+  @GET
+  @Path("/stream")
+  @Produces(MediaType.APPLICATION_JSON)
+  StreamingOutput streamHistoricProcessInstances(@Context UriInfo uriInfo, @QueryParam("firstResult") Integer firstResult,
+      @QueryParam("maxResults") Integer maxResults);
+
   /**
    * @param query
    * @param firstResult
@@ -15,6 +15,7 @@ package org.camunda.bpm.engine.rest.impl;
 import java.util.ArrayList;
 import java.util.List;
 
+import javax.ws.rs.core.Response.Status;
 import javax.ws.rs.core.UriInfo;
 
 import org.camunda.bpm.engine.ProcessEngine;
@@ -30,6 +31,7 @@ import org.camunda.bpm.engine.rest.dto.externaltask.ExternalTaskQueryDto;
 import org.camunda.bpm.engine.rest.dto.externaltask.FetchExternalTasksDto;
 import org.camunda.bpm.engine.rest.dto.externaltask.FetchExternalTasksDto.FetchExternalTaskTopicDto;
 import org.camunda.bpm.engine.rest.dto.externaltask.LockedExternalTaskDto;
+import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
 import org.camunda.bpm.engine.rest.sub.externaltask.ExternalTaskResource;
 import org.camunda.bpm.engine.rest.sub.externaltask.impl.ExternalTaskResourceImpl;
 
@@ -119,7 +121,24 @@ public class ExternalTaskRestServiceImpl extends AbstractRestProcessEngineAware
       }
     }
 
-    List<LockedExternalTask> tasks = fetchBuilder.execute();
+    // JAX-RS 1.1 has no asynchronous responses, so the request thread is held
+    // while waiting for tasks; the engine therefore bounds the timeout and the
+    // number of waiting requests, further requests return without waiting
+    List<LockedExternalTask> tasks;
+    Long asyncResponseTimeout = fetchingDto.getAsyncResponseTimeout();
+    if (asyncResponseTimeout != null) {
+      if (asyncResponseTimeout < 0) {
+        throw new InvalidRequestException(Status.BAD_REQUEST, "The asynchronous response timeout cannot be negative");
+      }
+      if (asyncResponseTimeout > ExternalTaskQueryBuilder.MAX_ASYNC_RESPONSE_TIMEOUT) {
+        throw new InvalidRequestException(Status.BAD_REQUEST, "The asynchronous response timeout cannot be greater than "
+            + ExternalTaskQueryBuilder.MAX_ASYNC_RESPONSE_TIMEOUT + " milliseconds");
+      }
+      tasks = fetchBuilder.execute(asyncResponseTimeout);
+    }
+    else {
+      tasks = fetchBuilder.execute();
+    }
 
     return LockedExternalTaskDto.fromLockedExternalTasks(tasks);
   }
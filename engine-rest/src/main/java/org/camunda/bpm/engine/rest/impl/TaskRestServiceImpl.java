@@ -19,6 +19,7 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 import javax.ws.rs.core.Variant;
 
@@ -34,6 +35,7 @@ import org.camunda.bpm.engine.rest.hal.Hal;
 import org.camunda.bpm.engine.rest.hal.task.HalTaskList;
 import org.camunda.bpm.engine.rest.sub.task.TaskResource;
 import org.camunda.bpm.engine.rest.sub.task.impl.TaskResourceImpl;
+import org.camunda.bpm.engine.rest.util.QueryResultStreamingOutput;
 import org.camunda.bpm.engine.task.Task;
 import org.camunda.bpm.engine.task.TaskQuery;
 
@@ -65,6 +67,20 @@ public class TaskRestServiceImpl extends AbstractRestProcessEngineAware implemen
     return queryTasks(queryDto, firstResult, maxResults);
   }
 
+  public StreamingOutput streamTasks(UriInfo uriInfo, Integer firstResult, Integer maxResults) {
+    TaskQueryDto queryDto = new TaskQueryDto(getObjectMapper(), uriInfo.getQueryParameters());
+    TaskQuery query = queryDto.toQuery(getProcessEngine());
+
+    // enable initialization of form key:
+    query.initializeFormKeys();
+
+    return new QueryResultStreamingOutput<Task>(getObjectMapper(), query, firstResult, maxResults) {
+      protected Object toDto(Task task) {
+        return TaskDto.fromEntity(task);
+      }
+    };
+  }
+
   public HalTaskList getHalTasks(UriInfo uriInfo, Integer firstResult, Integer maxResults) {
     TaskQueryDto queryDto = new TaskQueryDto(getObjectMapper(), uriInfo.getQueryParameters());
 
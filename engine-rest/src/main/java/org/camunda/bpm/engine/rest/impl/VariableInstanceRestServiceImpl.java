@@ -20,9 +20,11 @@ import org.camunda.bpm.engine.rest.dto.runtime.VariableInstanceDto;
 import org.camunda.bpm.engine.rest.dto.runtime.VariableInstanceQueryDto;
 import org.camunda.bpm.engine.rest.sub.runtime.VariableInstanceResource;
 import org.camunda.bpm.engine.rest.sub.runtime.impl.VariableInstanceResourceImpl;
+import org.camunda.bpm.engine.rest.util.QueryResultStreamingOutput;
 import org.camunda.bpm.engine.runtime.VariableInstance;
 import org.camunda.bpm.engine.runtime.VariableInstanceQuery;
 
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 import java.util.ArrayList;
 import java.util.List;
@@ -44,6 +46,25 @@ public class VariableInstanceRestServiceImpl extends AbstractRestProcessEngineAw
     return queryVariableInstances(queryDto, firstResult, maxResults, deserializeObjectValues);
   }
 
+  @Override
+  public StreamingOutput streamVariableInstances(UriInfo uriInfo, Integer firstResult, Integer maxResults, boolean deserializeObjectValues) {
+    VariableInstanceQueryDto queryDto = new VariableInstanceQueryDto(getObjectMapper(), uriInfo.getQueryParameters());
+    VariableInstanceQuery query = queryDto.toQuery(getProcessEngine());
+
+    // disable binary fetching by default.
+    query.disableBinaryFetching();
+
+    if (!deserializeObjectValues) {
+      query.disableCustomObjectDeserialization();
+    }
+
+    return new QueryResultStreamingOutput<VariableInstance>(getObjectMapper(), query, firstResult, maxResults) {
+      protected Object toDto(VariableInstance variableInstance) {
+        return VariableInstanceDto.fromVariableInstance(variableInstance);
+      }
+    };
+  }
+
   @Override
   public List<VariableInstanceDto> queryVariableInstances(VariableInstanceQueryDto queryDto, Integer firstResult, Integer maxResults, boolean deserializeObjectValues) {
     ProcessEngine engine = getProcessEngine();
@@ -22,7 +22,9 @@ import org.camunda.bpm.engine.rest.dto.history.HistoricProcessInstanceQueryDto;
 import org.camunda.bpm.engine.rest.history.HistoricProcessInstanceRestService;
 import org.camunda.bpm.engine.rest.sub.history.HistoricProcessInstanceResource;
 import org.camunda.bpm.engine.rest.sub.history.impl.HistoricProcessInstanceResourceImpl;
+import org.camunda.bpm.engine.rest.util.QueryResultStreamingOutput;
 
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 import java.util.ArrayList;
 import java.util.List;
@@ -48,6 +50,18 @@ public class HistoricProcessInstanceRestServiceImpl implements HistoricProcessIn
     return queryHistoricProcessInstances(queryHistoriProcessInstanceDto, firstResult, maxResults);
   }
 
+  @Override
+  public StreamingOutput streamHistoricProcessInstances(UriInfo uriInfo, Integer firstResult, Integer maxResults) {
+    HistoricProcessInstanceQueryDto queryDto = new HistoricProcessInstanceQueryDto(objectMapper, uriInfo.getQueryParameters());
+    HistoricProcessInstanceQuery query = queryDto.toQuery(processEngine);
+
+    return new QueryResultStreamingOutput<HistoricProcessInstance>(objectMapper, query, firstResult, maxResults) {
+      protected Object toDto(HistoricProcessInstance historicProcessInstance) {
+        return HistoricProcessInstanceDto.fromHistoricProcessInstance(historicProcessInstance);
+      }
+    };
+  }
+
   @Override
   public List<HistoricProcessInstanceDto> queryHistoricProcessInstances(HistoricProcessInstanceQueryDto queryDto, Integer firstResult, Integer maxResults) {
     queryDto.setObjectMapper(objectMapper);
@@ -13,6 +13,7 @@
 package org.camunda.bpm.engine.rest.sub;
 
 import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
@@ -85,18 +86,37 @@ public abstract class AbstractResourceProvider<T extends Query<?, U>, U, DTO> {
     if (fileValue.getEncoding() != null) {
       type += "; charset=" + fileValue.getEncoding();
     }
-    return Response.ok(fileValue.getValue(), type).header("Content-Disposition", "attachment; filename=" + fileValue.getFilename()).build();
+    InputStream content = openBinaryStream();
+    if (content == null) {
+      content = fileValue.getValue();
+    }
+    return Response.ok(content, type).header("Content-Disposition", "attachment; filename=" + fileValue.getFilename()).build();
   }
 
   /**
    * Creates a response for a variable of type {@link ValueType#BYTES}.
    */
   protected Response responseForByteVariable(TypedValue variableInstance) {
-    byte[] valueBytes = (byte[]) variableInstance.getValue();
-    if (valueBytes == null) {
-      valueBytes = new byte[0];
+    InputStream content = openBinaryStream();
+    if (content == null) {
+      byte[] valueBytes = (byte[]) variableInstance.getValue();
+      if (valueBytes == null) {
+        valueBytes = new byte[0];
+      }
+      content = new ByteArrayInputStream(valueBytes);
     }
-    return Response.ok(new ByteArrayInputStream(valueBytes), MediaType.APPLICATION_OCTET_STREAM).build();
+    return Response.ok(content, MediaType.APPLICATION_OCTET_STREAM).build();
+  }
+
+  /**
+   * Opens a stream on the binary content of the variable. Subclasses which
+   * stream the content instead of fetching it with the query have to disable
+   * binary fetching in {@link #baseQueryForBinaryVariable()}.
+   *
+   * @return the content or null if the content is taken from the query result
+   */
+  protected InputStream openBinaryStream() {
+    return null;
   }
 
   protected String getId() {
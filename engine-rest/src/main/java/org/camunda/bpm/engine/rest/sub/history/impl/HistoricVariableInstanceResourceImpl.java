@@ -12,6 +12,9 @@
  */
 package org.camunda.bpm.engine.rest.sub.history.impl;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
 import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.history.HistoricVariableInstance;
 import org.camunda.bpm.engine.history.HistoricVariableInstanceQuery;
@@ -39,7 +42,19 @@ public class HistoricVariableInstanceResourceImpl extends
 
   @Override
   protected Query<HistoricVariableInstanceQuery, HistoricVariableInstance> baseQueryForBinaryVariable() {
-    return baseQuery().disableCustomObjectDeserialization();
+    // the content is streamed, see openBinaryStream()
+    return baseQuery()
+      .disableBinaryFetching()
+      .disableCustomObjectDeserialization();
+  }
+
+  @Override
+  protected InputStream openBinaryStream() {
+    InputStream content = getEngine().getHistoryService().getHistoricVariableInstanceBinaryStream(getId());
+    if (content == null) {
+      content = new ByteArrayInputStream(new byte[0]);
+    }
+    return content;
   }
 
   @Override
@@ -12,6 +12,9 @@
  */
 package org.camunda.bpm.engine.rest.sub.runtime.impl;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
 import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.query.Query;
 import org.camunda.bpm.engine.rest.dto.runtime.VariableInstanceDto;
@@ -39,7 +42,19 @@ public class VariableInstanceResourceImpl extends AbstractResourceProvider<Varia
 
   @Override
   protected Query<VariableInstanceQuery, VariableInstance> baseQueryForBinaryVariable() {
-    return baseQuery().disableCustomObjectDeserialization();
+    // the content is streamed, see openBinaryStream()
+    return baseQuery()
+      .disableBinaryFetching()
+      .disableCustomObjectDeserialization();
+  }
+
+  @Override
+  protected InputStream openBinaryStream() {
+    InputStream content = getEngine().getRuntimeService().getVariableInstanceBinaryStream(getId());
+    if (content == null) {
+      content = new ByteArrayInputStream(new byte[0]);
+    }
+    return content;
   }
 
   @Override
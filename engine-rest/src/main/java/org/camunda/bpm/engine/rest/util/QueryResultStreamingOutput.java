@@ -0,0 +1,104 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import javax.ws.rs.core.StreamingOutput;
+
+import org.camunda.bpm.engine.impl.QueryResultHandler;
+import org.camunda.bpm.engine.impl.StreamingQuery;
+import org.camunda.bpm.engine.query.Query;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * <p>Writes the results of a query as JSON array while they are
+ * {@link StreamingQuery#streamPage(int, int, QueryResultHandler) streamed} from the database.
+ * Every result is converted to its DTO and written before the next result is read,
+ * so the memory consumption does not grow with the number of results.</p>
+ *
+ * <p>The query is executed when the response is written. An error which occurs at
+ * this time cannot be reported by an error status and results in an incomplete response.</p>
+ *
+ * <p>The query holds its transaction and database connection until the whole response is
+ * written, i.e. for as long as the client takes to read it. A client which reads slowly or
+ * stops reading keeps the connection from the pool until the write timeout of the server
+ * aborts the response. Use <code>maxResults</code> to bound the size of a response.</p>
+ */
+public abstract class QueryResultStreamingOutput<T> implements StreamingOutput {
+
+  protected ObjectMapper objectMapper;
+  protected StreamingQuery<T> query;
+  protected int firstResult;
+  protected int maxResults;
+
+  /**
+   * @param query a query of the process engine, which implements {@link StreamingQuery}
+   */
+  @SuppressWarnings("unchecked")
+  public QueryResultStreamingOutput(ObjectMapper objectMapper, Query<?, T> query, Integer firstResult, Integer maxResults) {
+    this.objectMapper = objectMapper;
+    this.query = (StreamingQuery<T>) query;
+    this.firstResult = firstResult != null ? firstResult : 0;
+    this.maxResults = maxResults != null ? maxResults : Integer.MAX_VALUE;
+  }
+
+  public void write(OutputStream outputStream) throws IOException {
+    final JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8);
+    final ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+    generator.writeStartArray();
+    try {
+      query.streamPage(firstResult, maxResults, new QueryResultHandler<T>() {
+        public void handleResult(T result) {
+          try {
+            writer.writeValue(generator, toDto(result));
+          }
+          catch (IOException e) {
+            throw new WriteException(e);
+          }
+        }
+      });
+    }
+    catch (WriteException e) {
+      throw e.getCause();
+    }
+    generator.writeEndArray();
+    generator.flush();
+  }
+
+  /**
+   * @return the DTO which is written for the result
+   */
+  protected abstract Object toDto(T result);
+
+  protected static class WriteException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public WriteException(IOException cause) {
+      super(cause);
+    }
+
+    public IOException getCause() {
+      return (IOException) super.getCause();
+    }
+  }
+
+}
@@ -26,6 +26,7 @@ import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -43,8 +44,10 @@ import org.camunda.bpm.engine.ExternalTaskService;
 import org.camunda.bpm.engine.exception.NotFoundException;
 import org.camunda.bpm.engine.externaltask.ExternalTask;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQuery;
+import org.camunda.bpm.engine.externaltask.ExternalTaskQueryBuilder;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQueryTopicBuilder;
 import org.camunda.bpm.engine.externaltask.LockedExternalTask;
+import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
 import org.camunda.bpm.engine.rest.exception.RestException;
 import org.camunda.bpm.engine.rest.helper.EqualsVariableMap;
 import org.camunda.bpm.engine.rest.helper.MockProvider;
@@ -185,6 +188,80 @@ public abstract class AbstractExternalTaskRestServiceInteractionTest extends Abs
     verifyNoMoreInteractions(fetchBuilder, externalTaskService);
   }
 
+  @Test
+  public void testFetchAndLockWithAsyncResponseTimeout() {
+    // given
+    when(fetchBuilder.execute(anyLong())).thenReturn(Arrays.asList(lockedExternalTaskMock));
+
+    // when
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("maxTasks", 5);
+    parameters.put("workerId", "aWorkerId");
+    parameters.put("asyncResponseTimeout", 10000L);
+
+    Map<String, Object> topicParameter = new HashMap<String, Object>();
+    topicParameter.put("topicName", "aTopicName");
+    topicParameter.put("lockDuration", 12354L);
+    parameters.put("topics", Arrays.asList(topicParameter));
+
+    given()
+      .contentType(POST_JSON_CONTENT_TYPE)
+      .body(parameters)
+      .header("accept", MediaType.APPLICATION_JSON)
+    .then()
+      .expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("[0].id", equalTo(MockProvider.EXTERNAL_TASK_ID))
+    .when()
+      .post(FETCH_EXTERNAL_TASK_URL);
+
+    InOrder inOrder = inOrder(fetchBuilder, externalTaskService);
+    inOrder.verify(externalTaskService).fetchAndLock(5, "aWorkerId");
+    inOrder.verify(fetchBuilder).topic("aTopicName", 12354L);
+    inOrder.verify(fetchBuilder).execute(10000L);
+    verifyNoMoreInteractions(fetchBuilder, externalTaskService);
+  }
+
+  @Test
+  public void testFetchAndLockWithNegativeAsyncResponseTimeout() {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("maxTasks", 5);
+    parameters.put("workerId", "aWorkerId");
+    parameters.put("asyncResponseTimeout", -1L);
+
+    given()
+      .contentType(POST_JSON_CONTENT_TYPE)
+      .body(parameters)
+      .header("accept", MediaType.APPLICATION_JSON)
+    .then()
+      .expect()
+      .statusCode(Status.BAD_REQUEST.getStatusCode())
+      .body("type", equalTo(InvalidRequestException.class.getSimpleName()))
+    .when()
+      .post(FETCH_EXTERNAL_TASK_URL);
+  }
+
+  @Test
+  public void testFetchAndLockWithExceedingAsyncResponseTimeout() {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("maxTasks", 5);
+    parameters.put("workerId", "aWorkerId");
+    parameters.put("asyncResponseTimeout", ExternalTaskQueryBuilder.MAX_ASYNC_RESPONSE_TIMEOUT + 1);
+
+    given()
+      .contentType(POST_JSON_CONTENT_TYPE)
+      .body(parameters)
+      .header("accept", MediaType.APPLICATION_JSON)
+    .then()
+      .expect()
+      .statusCode(Status.BAD_REQUEST.getStatusCode())
+      .body("type", equalTo(InvalidRequestException.class.getSimpleName()))
+    .when()
+      .post(FETCH_EXTERNAL_TASK_URL);
+
+    verify(fetchBuilder, never()).execute(anyLong());
+  }
+
   @Test
   public void testComplete() {
     Map<String, String> parameters = new HashMap<String, String>();
@@ -7,14 +7,17 @@ import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.argThat;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -25,6 +28,8 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response.Status;
 import javax.xml.registry.InvalidRequestException;
 
+import org.camunda.bpm.engine.impl.QueryResultHandler;
+import org.camunda.bpm.engine.impl.StreamingQuery;
 import org.camunda.bpm.engine.rest.helper.MockProvider;
 import org.camunda.bpm.engine.rest.helper.MockVariableInstanceBuilder;
 import org.camunda.bpm.engine.rest.helper.VariableTypeHelper;
@@ -37,6 +42,8 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.InOrder;
 import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
 import com.jayway.restassured.http.ContentType;
 import com.jayway.restassured.response.Response;
@@ -45,6 +52,7 @@ public abstract class AbstractVariableInstanceRestServiceQueryTest extends Abstr
 
   protected static final String VARIABLE_INSTANCE_QUERY_URL = TEST_RESOURCE_ROOT_PATH + "/variable-instance";
   protected static final String VARIABLE_INSTANCE_COUNT_QUERY_URL = VARIABLE_INSTANCE_QUERY_URL + "/count";
+  protected static final String VARIABLE_INSTANCE_STREAM_QUERY_URL = VARIABLE_INSTANCE_QUERY_URL + "/stream";
 
   protected VariableInstanceQuery mockedQuery;
   protected VariableInstance mockInstance;
@@ -59,7 +67,7 @@ public abstract class AbstractVariableInstanceRestServiceQueryTest extends Abstr
   }
 
   private VariableInstanceQuery setUpMockVariableInstanceQuery(List<VariableInstance> mockedInstances) {
-    VariableInstanceQuery sampleInstanceQuery = mock(VariableInstanceQuery.class);
+    VariableInstanceQuery sampleInstanceQuery = mock(VariableInstanceQuery.class, withSettings().extraInterfaces(StreamingQuery.class));
 
     when(sampleInstanceQuery.list()).thenReturn(mockedInstances);
     when(sampleInstanceQuery.count()).thenReturn((long) mockedInstances.size());
@@ -231,6 +239,34 @@ public abstract class AbstractVariableInstanceRestServiceQueryTest extends Abstr
     verify(mockedQuery, never()).disableCustomObjectDeserialization();
   }
 
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testStreamedQuery() {
+    doAnswer(new Answer<Void>() {
+      public Void answer(InvocationOnMock invocation) {
+        QueryResultHandler<VariableInstance> handler = (QueryResultHandler<VariableInstance>) invocation.getArguments()[2];
+        handler.handleResult(mockInstance);
+        handler.handleResult(mockInstance);
+        return null;
+      }
+    }).when((StreamingQuery<VariableInstance>) mockedQuery).streamPage(eq(5), eq(Integer.MAX_VALUE), any(QueryResultHandler.class));
+
+    given()
+      .queryParam("firstResult", 5)
+    .then().expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("size()", is(2))
+      .body("[1].id", equalTo(mockInstanceBuilder.getId()))
+      .body("[1].name", equalTo(mockInstanceBuilder.getName()))
+      .body("[1].value", equalTo(mockInstanceBuilder.getValue()))
+    .when().get(VARIABLE_INSTANCE_STREAM_QUERY_URL);
+
+    verify(mockedQuery).disableBinaryFetching();
+    verify((StreamingQuery<VariableInstance>) mockedQuery).streamPage(eq(5), eq(Integer.MAX_VALUE), any(QueryResultHandler.class));
+    verify(mockedQuery, never()).list();
+    verify(mockedQuery, never()).listPage(Mockito.anyInt(), Mockito.anyInt());
+  }
+
   /**
    * If parameter "firstResult" is missing, we expect 0 as default.
    */
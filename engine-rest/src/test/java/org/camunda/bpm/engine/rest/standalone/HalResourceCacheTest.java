@@ -44,10 +44,12 @@ import org.camunda.bpm.engine.rest.cache.Cache;
 import org.camunda.bpm.engine.rest.hal.Hal;
 import org.camunda.bpm.engine.rest.hal.HalLinkResolver;
 import org.camunda.bpm.engine.rest.hal.HalResource;
+import org.camunda.bpm.engine.rest.hal.cache.ConcurrentHalResourceCache;
 import org.camunda.bpm.engine.rest.hal.cache.DefaultHalResourceCache;
 import org.camunda.bpm.engine.rest.hal.cache.HalRelationCacheBootstrap;
 import org.camunda.bpm.engine.rest.hal.cache.HalRelationCacheConfiguration;
 import org.camunda.bpm.engine.rest.hal.cache.HalRelationCacheConfigurationException;
+import org.camunda.bpm.engine.rest.hal.group.HalGroup;
 import org.camunda.bpm.engine.rest.hal.identitylink.HalIdentityLink;
 import org.camunda.bpm.engine.rest.hal.user.HalUser;
 import org.camunda.bpm.engine.task.IdentityLink;
@@ -282,6 +284,121 @@ public class HalResourceCacheTest extends AbstractRestServiceTest {
     assertEquals(halIdentityLinks, cache.get(taskIds[0]));
   }
 
+  @Test
+  public void testConcurrentCacheLeastRecentlyUsedEviction() {
+    ConcurrentHalResourceCache cache = new ConcurrentHalResourceCache(3, 100);
+
+    cache.put("a", "a");
+    cache.put("b", "b");
+    cache.put("c", "c");
+
+    // access a so b is the least recently used entry
+    assertEquals("a", cache.get("a"));
+
+    cache.put("d", "d");
+
+    assertEquals(3, cache.size());
+    assertEquals(1, cache.getEvictionCount());
+    assertNull(cache.get("b"));
+    assertEquals("a", cache.get("a"));
+    assertEquals("c", cache.get("c"));
+    assertEquals("d", cache.get("d"));
+
+    cache.destroy();
+  }
+
+  @Test
+  public void testConcurrentCacheEntryExpiration() {
+    ConcurrentHalResourceCache cache = new ConcurrentHalResourceCache(100, 100);
+    cache.put("a", "a");
+    cache.put("b", "b");
+
+    forwardTime(cache.getSecondsToLive() + 1);
+    cache.put("c", "c");
+
+    // expired entries are removed when they are read
+    assertNull(cache.get("a"));
+    assertEquals(2, cache.size());
+
+    // and by the background removal
+    cache.removeExpired();
+    assertEquals(1, cache.size());
+    assertEquals("c", cache.get("c"));
+    assertEquals(2, cache.getExpirationCount());
+
+    cache.destroy();
+  }
+
+  @Test
+  public void testConcurrentCacheStatistics() {
+    ConcurrentHalResourceCache cache = new ConcurrentHalResourceCache(100, 100);
+    cache.put("hello", "world");
+
+    assertEquals("world", cache.get("hello"));
+    assertEquals("world", cache.get("hello"));
+    assertNull(cache.get("unknown"));
+    assertNull(cache.get(null));
+
+    assertEquals(2, cache.getHitCount());
+    assertEquals(2, cache.getMissCount());
+
+    cache.destroy();
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testConcurrentCacheConcurrentAccess() throws Exception {
+    final ConcurrentHalResourceCache cache = new ConcurrentHalResourceCache(50, 100);
+
+    Thread[] threads = new Thread[4];
+    for (int i = 0; i < threads.length; i++) {
+      final int threadNumber = i;
+      threads[i] = new Thread() {
+        public void run() {
+          for (int j = 0; j < 1000; j++) {
+            String id = "id" + ((threadNumber * 1000 + j) % 200);
+            cache.put(id, id);
+            cache.get("id" + (j % 200));
+          }
+        }
+      };
+      threads[i].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertTrue(cache.size() <= cache.getCapacity());
+    assertEquals(4000, cache.getHitCount() + cache.getMissCount());
+
+    cache.destroy();
+  }
+
+  @Test
+  public void testCacheImplementationPerRelation() {
+    String contextParameter = "{" +
+        "\"" + CONFIG_CACHE_IMPLEMENTATION + "\": \"" + DefaultHalResourceCache.class.getName() + "\"," +
+        "\"" + CONFIG_CACHES + "\": {" +
+          "\"" + HalUser.class.getName() + "\": {" +
+            "\"" + CONFIG_CACHE_IMPLEMENTATION + "\": \"" + ConcurrentHalResourceCache.class.getName() + "\"," +
+            "\"capacity\": 123, \"secondsToLive\": 123, \"cleanupIntervalSeconds\": 10" +
+          "}," +
+          "\"" + HalGroup.class.getName() + "\": {" +
+            "\"capacity\": 123, \"secondsToLive\": 123" +
+          "}" +
+        "}" +
+      "}";
+
+    contextListener.configureCaches(contextParameter);
+
+    ConcurrentHalResourceCache userCache = (ConcurrentHalResourceCache) Hal.getInstance().getHalRelationCache(HalUser.class);
+    assertEquals(123, userCache.getCapacity());
+    assertEquals(123, userCache.getSecondsToLive());
+    assertEquals(10, userCache.getCleanupIntervalSeconds());
+
+    assertTrue(Hal.getInstance().getHalRelationCache(HalGroup.class) instanceof DefaultHalResourceCache);
+  }
+
   protected void forwardTime(long seconds) {
     Date later = new Date(ClockUtil.getCurrentTime().getTime() + seconds * 1000);
     ClockUtil.setCurrentTime(later);
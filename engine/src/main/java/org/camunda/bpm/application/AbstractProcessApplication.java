@@ -187,6 +187,13 @@ public abstract class AbstractProcessApplication implements ProcessApplicationIn
     return getProcessApplicationScriptEnvironment().getScriptEngineForName(name, cache);
   }
 
+  /**
+   * see {@link ProcessApplicationScriptEnvironment#releaseScriptEngine(String, ScriptEngine)}
+   */
+  public boolean releaseScriptEngine(String name, ScriptEngine scriptEngine) {
+    return getProcessApplicationScriptEnvironment().releaseScriptEngine(name, scriptEngine);
+  }
+
   /**
    * see {@link ProcessApplicationScriptEnvironment#getEnvironmentScripts()}
    */
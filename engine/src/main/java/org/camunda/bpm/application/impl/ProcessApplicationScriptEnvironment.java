@@ -61,6 +61,17 @@ public class ProcessApplicationScriptEnvironment {
     return processApplicationScriptEngineResolver.getScriptEngine(scriptEngineName, cache);
   }
 
+  /**
+   * <p>Returns a {@link ScriptEngine} which was returned by {@link #getScriptEngineForName(String, boolean)}
+   * to the pool of the script engine, if the script engine is not thread-safe.</p>
+   *
+   * @return true if the engine was returned to the pool
+   */
+  public boolean releaseScriptEngine(String scriptEngineName, ScriptEngine scriptEngine) {
+    return processApplicationScriptEngineResolver != null
+        && processApplicationScriptEngineResolver.releaseScriptEngine(scriptEngineName, scriptEngine);
+  }
+
   /**
    * Returns a map of cached environment scripts per script language.
    */
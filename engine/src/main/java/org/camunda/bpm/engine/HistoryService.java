@@ -14,6 +14,8 @@
 
 package org.camunda.bpm.engine;
 
+import java.io.InputStream;
+
 import org.camunda.bpm.engine.authorization.Permissions;
 import org.camunda.bpm.engine.authorization.Resources;
 import org.camunda.bpm.engine.history.HistoricActivityInstance;
@@ -197,4 +199,18 @@ public interface HistoryService {
    */
   String getHistoricJobLogExceptionStacktrace(String historicJobLogId);
 
+  /**
+   * Returns the binary value of a historic variable instance of type bytes, file or serialized
+   * object as a stream. The value is not loaded into memory as a whole, so this method is suited
+   * for large values. The returned stream must be closed.
+   *
+   * @param historicVariableInstanceId id of the historic variable instance, cannot be null.
+   * @return the stream or null if the variable has no binary value
+   *
+   * @throws ProcessEngineException when no historic variable instance exists with the given id.
+   * @throws AuthorizationException
+   *          If the user has no {@link Permissions#READ_HISTORY} permission on {@link Resources#PROCESS_DEFINITION}.
+   */
+  InputStream getHistoricVariableInstanceBinaryStream(String historicVariableInstanceId);
+
 }
@@ -12,6 +12,7 @@
  */
 package org.camunda.bpm.engine;
 
+import java.io.InputStream;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -1168,6 +1169,22 @@ public interface RuntimeService {
    */
   VariableInstanceQuery createVariableInstanceQuery();
 
+  /**
+   * Returns the binary value of a variable instance of type bytes, file or serialized object
+   * as a stream. The value is not loaded into memory as a whole, so this method is suited
+   * for large values. The returned stream must be closed.
+   *
+   * @param variableInstanceId id of the variable instance, cannot be null.
+   * @return the stream or null if the variable has no binary value
+   *
+   * @throws ProcessEngineException when no variable instance exists with the given id
+   *          or the process instance, case instance or task of the variable does not exist.
+   * @throws AuthorizationException
+   *          If the user has no {@link Permissions#READ} permission on the {@link Resources#PROCESS_INSTANCE}
+   *          or the standalone {@link Resources#TASK} of the variable.
+   */
+  InputStream getVariableInstanceBinaryStream(String variableInstanceId);
+
   // Process instance state //////////////////////////////////////////
 
   /**
@@ -1350,6 +1367,25 @@ public interface RuntimeService {
    */
   void signalEventReceived(String signalName, Map<String, Object> processVariables);
 
+  /**
+   * Notifies the process engine that a signal event of name 'signalName' has
+   * been received. Delivers the signal asynchronously to all executions waiting on
+   * the signal and to all process definitions that can started by this signal. <p/>
+   *
+   * The signal is delivered by jobs which process the subscriptions in chunks, each
+   * in its own transaction. The size of the chunks is configured by the
+   * <code>signalBroadcastChunkSize</code> of the process engine configuration.
+   * Only subscriptions which exist when this method is called receive the signal. <p/>
+   *
+   * The authorizations are checked for the current user and the groups the user is
+   * a member of when the jobs are executed. A job which fails to deliver the signal to
+   * its chunk is retried, without delaying the delivery to the other chunks.
+   *
+   * @param signalName
+   *          the name of the signal event
+   */
+  void signalEventReceivedAsync(String signalName);
+
   /**
    * Notifies the process engine that a signal event of name 'signalName' has
    * been received. This method delivers the signal to a single execution, being the
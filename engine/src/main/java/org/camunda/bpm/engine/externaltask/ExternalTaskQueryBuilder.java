@@ -20,6 +20,12 @@ import java.util.List;
  */
 public interface ExternalTaskQueryBuilder {
 
+  /**
+   * The maximum time in milliseconds {@link #execute(long)} waits for tasks: 1 minute.
+   * Kept short since the calling thread is blocked while waiting.
+   */
+  long MAX_ASYNC_RESPONSE_TIMEOUT = 60 * 1000;
+
   /**
    * Specifies that tasks of a topic should be fetched and locked for
    * a certain amount of time
@@ -39,4 +45,22 @@ public interface ExternalTaskQueryBuilder {
    *   successfully locked
    */
   List<LockedExternalTask> execute();
+
+  /**
+   * Performs the fetching like {@link #execute()}. If no task can be locked,
+   * waits until a task of one of the topics becomes available in this process
+   * engine and fetches again, until tasks are locked or the timeout expires.
+   * Tasks which become available on other process engines or by an expired lock
+   * are found once the timeout expires at the latest.
+   *
+   * The calling thread is blocked while waiting. The number of concurrently
+   * waiting callers is limited by the process engine; if the limit is reached,
+   * the fetching is performed once without waiting like {@link #execute()}.
+   *
+   * @param asyncResponseTimeout the maximum time in milliseconds to wait for tasks;
+   *   must not be greater than {@link #MAX_ASYNC_RESPONSE_TIMEOUT}
+   * @return fetched external tasks that match the topic and that can be
+   *   successfully locked; empty if no task could be locked until the timeout expired
+   */
+  List<LockedExternalTask> execute(long asyncResponseTimeout);
 }
@@ -19,6 +19,10 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.logging.Logger;
 
 import org.camunda.bpm.engine.ProcessEngineException;
@@ -44,6 +48,10 @@ public abstract class AbstractDefinitionDeployer<DefinitionEntity extends Resour
 
   protected IdGenerator idGenerator;
 
+  /** executor used to transform the resources of a deployment in parallel;
+   * if not set, the resources are transformed one after another */
+  protected ExecutorService parseExecutor;
+
   public IdGenerator getIdGenerator() {
     return idGenerator;
   }
@@ -52,6 +60,14 @@ public abstract class AbstractDefinitionDeployer<DefinitionEntity extends Resour
     this.idGenerator = idGenerator;
   }
 
+  public ExecutorService getParseExecutor() {
+    return parseExecutor;
+  }
+
+  public void setParseExecutor(ExecutorService parseExecutor) {
+    this.parseExecutor = parseExecutor;
+  }
+
   public void deploy(DeploymentEntity deployment) {
     LOG.fine("Processing deployment " + deployment.getName());
     List<DefinitionEntity> definitions = parseDefinitionResources(deployment);
@@ -60,16 +76,107 @@ public abstract class AbstractDefinitionDeployer<DefinitionEntity extends Resour
   }
 
   protected List<DefinitionEntity> parseDefinitionResources(DeploymentEntity deployment) {
-    List<DefinitionEntity> definitions = new ArrayList<DefinitionEntity>();
+    List<ResourceEntity> resources = new ArrayList<ResourceEntity>();
     for (ResourceEntity resource : deployment.getResources().values()) {
-      LOG.fine("Processing resource " + resource.getName());
       if (isResourceHandled(resource)) {
-        definitions.addAll(transformResource(deployment, resource));
+        resources.add(resource);
       }
     }
+
+    if (parseExecutor != null && resources.size() > 1) {
+      return parseDefinitionResourcesInParallel(deployment, resources);
+    }
+
+    List<DefinitionEntity> definitions = new ArrayList<DefinitionEntity>();
+    for (ResourceEntity resource : resources) {
+      LOG.fine("Processing resource " + resource.getName());
+      definitions.addAll(transformResource(deployment, resource));
+    }
     return definitions;
   }
 
+  /**
+   * Transforms the resources on the {@link #parseExecutor}. Only {@link #transformDefinitions(DeploymentEntity, ResourceEntity)}
+   * is invoked in parallel, the transformed definitions are processed afterwards in the order of the resources
+   * on the deploying thread. The workers have no command context, so everything which accesses the
+   * command context or the database happens after all transformations are completed.
+   */
+  protected List<DefinitionEntity> parseDefinitionResourcesInParallel(DeploymentEntity deployment, List<ResourceEntity> resources) {
+    List<Future<List<DefinitionEntity>>> transformations = new ArrayList<Future<List<DefinitionEntity>>>();
+
+    try {
+      for (ResourceEntity resource : resources) {
+        LOG.fine("Processing resource " + resource.getName());
+        transformations.add(parseExecutor.submit(createTransformation(deployment, resource)));
+      }
+
+      List<List<DefinitionEntity>> transformedDefinitions = new ArrayList<List<DefinitionEntity>>();
+      for (int i = 0; i < resources.size(); i++) {
+        transformedDefinitions.add(getTransformedDefinitions(resources.get(i), transformations.get(i)));
+      }
+
+      List<DefinitionEntity> definitions = new ArrayList<DefinitionEntity>();
+      for (int i = 0; i < resources.size(); i++) {
+        definitions.addAll(initDefinitions(deployment, resources.get(i), transformedDefinitions.get(i)));
+      }
+      return definitions;
+    }
+    finally {
+      // stop pending transformations if a resource could not be transformed
+      for (Future<List<DefinitionEntity>> transformation : transformations) {
+        transformation.cancel(true);
+      }
+    }
+  }
+
+  /**
+   * The transformation gets the process engine configuration and the context class loader of the
+   * deploying thread. The command context is not shared, since it is not thread-safe.
+   */
+  protected Callable<List<DefinitionEntity>> createTransformation(final DeploymentEntity deployment, final ResourceEntity resource) {
+    final ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+
+    return new Callable<List<DefinitionEntity>>() {
+      public List<DefinitionEntity> call() throws Exception {
+        Thread thread = Thread.currentThread();
+        ClassLoader previousClassLoader = thread.getContextClassLoader();
+
+        thread.setContextClassLoader(classLoader);
+        Context.setProcessEngineConfiguration(processEngineConfiguration);
+        try {
+          return transformDefinitions(deployment, resource);
+        }
+        finally {
+          Context.removeProcessEngineConfiguration();
+          thread.setContextClassLoader(previousClassLoader);
+        }
+      }
+    };
+  }
+
+  protected List<DefinitionEntity> getTransformedDefinitions(ResourceEntity resource, Future<List<DefinitionEntity>> transformation) {
+    try {
+      return transformation.get();
+    }
+    catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      else if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      else {
+        throw new ProcessEngineException("Unable to transform resource '" + resource.getName() + "'", cause);
+      }
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ProcessEngineException("Interrupted while transforming resource '" + resource.getName() + "'", e);
+    }
+  }
+
   protected boolean isResourceHandled(ResourceEntity resource) {
     String resourceName = resource.getName();
 
@@ -88,8 +195,12 @@ public abstract class AbstractDefinitionDeployer<DefinitionEntity extends Resour
   protected abstract String[] getResourcesSuffixes();
 
   protected Collection<DefinitionEntity> transformResource(DeploymentEntity deployment, ResourceEntity resource) {
-    String resourceName = resource.getName();
     List<DefinitionEntity> definitions = transformDefinitions(deployment, resource);
+    return initDefinitions(deployment, resource, definitions);
+  }
+
+  protected Collection<DefinitionEntity> initDefinitions(DeploymentEntity deployment, ResourceEntity resource, List<DefinitionEntity> definitions) {
+    String resourceName = resource.getName();
 
     for (DefinitionEntity definition : definitions) {
       definition.setResourceName(resourceName);
@@ -106,7 +217,8 @@ public abstract class AbstractDefinitionDeployer<DefinitionEntity extends Resour
 
 
   /**
-   * Transform the resource entity into definition entities.
+   * Transform the resource entity into definition entities. If a {@link #parseExecutor} is set,
+   * the resources of a deployment are transformed concurrently without a command context.
    *
    * @param deployment the deployment the resources belongs to
    * @param resource the resource to transform
@@ -29,7 +29,9 @@ import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.exception.NotValidException;
 import org.camunda.bpm.engine.impl.QueryValidators.AdhocQueryValidator;
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
+import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
@@ -43,20 +45,27 @@ import org.joda.time.DateTime;
  *
  * @author Joram Barrez
  */
-public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryParameterObject implements Command<Object>, Query<T,U>, Serializable {
+public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryParameterObject implements Command<Object>, Query<T,U>, StreamingQuery<U>, Serializable {
 
   private static final long serialVersionUID = 1L;
 
   public static final String SORTORDER_ASC = "asc";
   public static final String SORTORDER_DESC = "desc";
 
+  /** the number of results which are read at once by {@link #executeListInPages(CommandContext, QueryResultHandler)} */
+  public static final int STREAMING_PAGE_SIZE = 100;
+
+  protected static final QueryProperty ID_PROPERTY = new QueryPropertyImpl("ID_");
+
   private static enum ResultType {
-    LIST, LIST_PAGE, SINGLE_RESULT, COUNT
+    LIST, LIST_PAGE, STREAM_PAGE, SINGLE_RESULT, COUNT
   }
   protected transient CommandExecutor commandExecutor;
 
   protected ResultType resultType;
 
+  protected transient QueryResultHandler<U> resultHandler;
+
   protected List<QueryOrderingProperty> orderingProperties = new ArrayList<QueryOrderingProperty>();
 
   protected Map<String, String> expressions = new HashMap<String, String>();
@@ -152,6 +161,18 @@ public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryPa
     return evaluateExpressionsAndExecuteList(Context.getCommandContext(), new Page(firstResult, maxResults));
   }
 
+  public void streamPage(int firstResult, int maxResults, QueryResultHandler<U> handler) {
+    this.firstResult = firstResult;
+    this.maxResults = maxResults;
+    this.resultType = ResultType.STREAM_PAGE;
+    this.resultHandler = handler;
+    if (commandExecutor!=null) {
+      commandExecutor.execute(this);
+    } else {
+      evaluateExpressionsAndStreamList(Context.getCommandContext(), handler);
+    }
+  }
+
   public long count() {
     this.resultType = ResultType.COUNT;
     if (commandExecutor!=null) {
@@ -167,6 +188,9 @@ public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryPa
       return executeSingleResult(commandContext);
     } else if (resultType==ResultType.LIST_PAGE) {
       return evaluateExpressionsAndExecuteList(commandContext, null);
+    } else if (resultType==ResultType.STREAM_PAGE) {
+      evaluateExpressionsAndStreamList(commandContext, resultHandler);
+      return null;
     } else {
       return evaluateExpressionsAndExecuteCount(commandContext);
     }
@@ -186,6 +210,14 @@ public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryPa
     return !hasExcludingConditions() ? executeList(commandContext, page) : new ArrayList<U>();
   }
 
+  public void evaluateExpressionsAndStreamList(CommandContext commandContext, QueryResultHandler<U> handler) {
+    validate();
+    evaluateExpressions();
+    if (!hasExcludingConditions()) {
+      executeStreamingList(commandContext, handler);
+    }
+  }
+
   /**
    * Whether or not the query has excluding conditions. If the query has excluding conditions,
    * (e.g. task due date before and after are excluding), the SQL query is avoided and a default result is
@@ -203,6 +235,78 @@ public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryPa
    */
   public abstract List<U> executeList(CommandContext commandContext, Page page);
 
+  /**
+   * Executes the actual query and passes the results to the handler. Queries which read
+   * their results with a single list statement override this method to pass the results
+   * while they are read. By default, the results are read into a list first.
+   */
+  public void executeStreamingList(CommandContext commandContext, QueryResultHandler<U> handler) {
+    for (U result : executeList(commandContext, null)) {
+      handler.handleResult(result);
+    }
+  }
+
+  /**
+   * Executes the actual query page by page and passes the results to the handler. In contrast to a
+   * streamed list statement, no result set is open while the results are handled, so the handling may
+   * execute further statements, e.g. to load the value of a variable. The results are ordered by id in
+   * addition, so that the pages do not overlap. The unmodified entities which are loaded for a page are
+   * evicted from the cache before the next page is read.
+   */
+  protected void executeListInPages(CommandContext commandContext, QueryResultHandler<U> handler) {
+    DbEntityManager dbEntityManager = commandContext.getDbEntityManager();
+
+    int firstResult = this.firstResult;
+    int maxResults = this.maxResults;
+    List<QueryOrderingProperty> orderingProperties = this.orderingProperties;
+    this.orderingProperties = addIdOrdering(orderingProperties);
+
+    try {
+      int handledResults = 0;
+      boolean isLastPage = false;
+
+      while (!isLastPage && handledResults < maxResults) {
+        int pageSize = Math.min(STREAMING_PAGE_SIZE, maxResults - handledResults);
+        this.firstResult = firstResult + handledResults;
+        this.maxResults = pageSize;
+
+        List<DbEntity> trackedEntities = dbEntityManager.trackLoadedEntities();
+        try {
+          List<U> results = executeList(commandContext, null);
+          for (U result : results) {
+            handler.handleResult(result);
+          }
+          handledResults += results.size();
+          isLastPage = results.size() < pageSize;
+        }
+        finally {
+          dbEntityManager.evictTrackedEntities(trackedEntities);
+        }
+      }
+    }
+    finally {
+      this.firstResult = firstResult;
+      this.maxResults = maxResults;
+      this.orderingProperties = orderingProperties;
+    }
+  }
+
+  protected List<QueryOrderingProperty> addIdOrdering(List<QueryOrderingProperty> orderingProperties) {
+    for (QueryOrderingProperty orderingProperty : orderingProperties) {
+      if (orderingProperty.isContainedProperty()
+          && ID_PROPERTY.getName().equals(orderingProperty.getQueryProperty().getName())) {
+        return orderingProperties;
+      }
+    }
+
+    QueryOrderingProperty idOrderingProperty = new QueryOrderingProperty(null, ID_PROPERTY);
+    idOrderingProperty.setDirection(Direction.ASCENDING);
+
+    List<QueryOrderingProperty> result = new ArrayList<QueryOrderingProperty>(orderingProperties);
+    result.add(idOrderingProperty);
+    return result;
+  }
+
   public U executeSingleResult(CommandContext commandContext) {
     List<U> results = evaluateExpressionsAndExecuteList(commandContext, null);
     if (results.size() == 1) {
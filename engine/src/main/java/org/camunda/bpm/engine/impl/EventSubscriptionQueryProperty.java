@@ -24,5 +24,6 @@ public interface EventSubscriptionQueryProperty {
 
   // properties used in event subscription queries:
 
+  public final static QueryProperty ID = new QueryPropertyImpl("ID_");
   public final static QueryProperty CREATED = new QueryPropertyImpl("CREATED_");
 }
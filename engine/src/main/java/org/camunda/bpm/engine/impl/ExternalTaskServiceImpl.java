@@ -21,6 +21,7 @@ import org.camunda.bpm.engine.impl.cmd.CompleteExternalTaskCmd;
 import org.camunda.bpm.engine.impl.cmd.HandleExternalTaskFailureCmd;
 import org.camunda.bpm.engine.impl.cmd.SetExternalTaskRetriesCmd;
 import org.camunda.bpm.engine.impl.cmd.UnlockExternalTaskCmd;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskNotifier;
 import org.camunda.bpm.engine.impl.externaltask.ExternalTaskQueryBuilderImpl;
 
 /**
@@ -29,8 +30,10 @@ import org.camunda.bpm.engine.impl.externaltask.ExternalTaskQueryBuilderImpl;
  */
 public class ExternalTaskServiceImpl extends ServiceImpl implements ExternalTaskService {
 
+  protected ExternalTaskNotifier externalTaskNotifier;
+
   public ExternalTaskQueryBuilder fetchAndLock(int maxTasks, String workerId) {
-    return new ExternalTaskQueryBuilderImpl(commandExecutor, workerId, maxTasks);
+    return new ExternalTaskQueryBuilderImpl(commandExecutor, externalTaskNotifier, workerId, maxTasks);
   }
 
   public void complete(String externalTaskId, String workerId) {
@@ -57,5 +60,12 @@ public class ExternalTaskServiceImpl extends ServiceImpl implements ExternalTask
     return new ExternalTaskQueryImpl(commandExecutor);
   }
 
+  public ExternalTaskNotifier getExternalTaskNotifier() {
+    return externalTaskNotifier;
+  }
+
+  public void setExternalTaskNotifier(ExternalTaskNotifier externalTaskNotifier) {
+    this.externalTaskNotifier = externalTaskNotifier;
+  }
 
 }
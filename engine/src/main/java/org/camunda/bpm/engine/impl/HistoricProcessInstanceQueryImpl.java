@@ -226,6 +226,14 @@ public class HistoricProcessInstanceQueryImpl extends AbstractVariableQueryImpl<
       .findHistoricProcessInstancesByQueryCriteria(this, page);
   }
 
+  public void executeStreamingList(CommandContext commandContext, QueryResultHandler<HistoricProcessInstance> handler) {
+    checkQueryOk();
+    ensureVariablesInitialized();
+    commandContext
+      .getHistoricProcessInstanceManager()
+      .findHistoricProcessInstancesByQueryCriteria(this, handler);
+  }
+
   public String getBusinessKey() {
     return businessKey;
   }
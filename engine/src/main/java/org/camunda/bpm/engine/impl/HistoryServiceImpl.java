@@ -14,6 +14,8 @@
 
 package org.camunda.bpm.engine.impl;
 
+import java.io.InputStream;
+
 import org.camunda.bpm.engine.HistoryService;
 import org.camunda.bpm.engine.history.HistoricActivityInstanceQuery;
 import org.camunda.bpm.engine.history.HistoricActivityStatisticsQuery;
@@ -38,6 +40,7 @@ import org.camunda.bpm.engine.impl.cmd.DeleteHistoricProcessInstanceCmd;
 import org.camunda.bpm.engine.impl.cmd.DeleteHistoricTaskInstanceCmd;
 import org.camunda.bpm.engine.impl.cmd.DeleteUserOperationLogEntryCmd;
 import org.camunda.bpm.engine.impl.cmd.GetHistoricJobLogExceptionStacktraceCmd;
+import org.camunda.bpm.engine.impl.cmd.GetHistoricVariableInstanceBinaryStreamCmd;
 import org.camunda.bpm.engine.impl.dmn.cmd.DeleteHistoricDecisionInstanceCmd;
 
 /**
@@ -143,4 +146,8 @@ public class HistoryServiceImpl extends ServiceImpl implements HistoryService {
     return commandExecutor.execute(new GetHistoricJobLogExceptionStacktraceCmd(historicJobLogId));
   }
 
+  public InputStream getHistoricVariableInstanceBinaryStream(String historicVariableInstanceId) {
+    return commandExecutor.execute(new GetHistoricVariableInstanceBinaryStreamCmd(historicVariableInstanceId));
+  }
+
 }
@@ -0,0 +1,29 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl;
+
+/**
+ * Receives the results of a query which are
+ * {@link StreamingQuery#streamPage(int, int, QueryResultHandler) streamed}.
+ *
+ * @param <U> the type of the results
+ */
+public interface QueryResultHandler<U> {
+
+  /**
+   * Handles a result of the query. Invoked while the query is executed, i.e. inside
+   * of the command which executes the query.
+   */
+  void handleResult(U result);
+
+}
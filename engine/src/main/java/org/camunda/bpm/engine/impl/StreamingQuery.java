@@ -0,0 +1,35 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl;
+
+/**
+ * A query which can pass its results to a {@link QueryResultHandler} instead of
+ * collecting them in a list. Implemented by all queries which extend {@link AbstractQuery}.
+ *
+ * @param <U> the type of the results
+ */
+public interface StreamingQuery<U> {
+
+  /**
+   * Executes the query and passes the entities of the page to the handler one by one.
+   * In contrast to {@link org.camunda.bpm.engine.query.Query#listPage(int, int)}, the entities
+   * are neither collected in a list nor kept in the cache of the command, so the memory
+   * consumption does not grow with the number of results.
+   *
+   * <p>The handler is invoked inside of the command which executes the query. The command
+   * holds its transaction and database connection until the last result is handled, so a
+   * slow handler keeps the connection from the pool for as long as it takes.</p>
+   */
+  void streamPage(int firstResult, int maxResults, QueryResultHandler<U> handler);
+
+}
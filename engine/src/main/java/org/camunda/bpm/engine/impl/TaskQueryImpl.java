@@ -23,7 +23,6 @@ import java.util.List;
 import java.util.Set;
 
 import org.camunda.bpm.engine.ProcessEngineException;
-import org.camunda.bpm.engine.identity.Group;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.PermissionCheck;
 import org.camunda.bpm.engine.impl.db.CompositePermissionCheck;
@@ -739,17 +738,10 @@ public class TaskQueryImpl extends AbstractQuery<TaskQuery, Task> implements Tas
   protected List<String> getGroupsForCandidateUser(String candidateUser) {
     // TODO: Discuss about removing this feature? Or document it properly and maybe recommend to not use it
     // and explain alternatives
-    List<Group> groups = Context
+    return Context
       .getCommandContext()
-      .getReadOnlyIdentityProvider()
-      .createGroupQuery()
-      .groupMember(candidateUser)
-      .list();
-    List<String> groupIds = new ArrayList<String>();
-    for (Group group : groups) {
-      groupIds.add(group.getId());
-    }
-    return groupIds;
+      .getAuthorizationManager()
+      .findGroupIdsOfUser(candidateUser);
   }
 
   protected void ensureVariablesInitialized() {
@@ -907,6 +899,20 @@ public class TaskQueryImpl extends AbstractQuery<TaskQuery, Task> implements Tas
     return taskList;
   }
 
+  public void executeStreamingList(CommandContext commandContext, QueryResultHandler<Task> handler) {
+    if (initializeFormKeys) {
+      // the form key initialization may have to load the process definition
+      executeListInPages(commandContext, handler);
+    }
+    else {
+      ensureVariablesInitialized();
+      checkQueryOk();
+      commandContext
+        .getTaskManager()
+        .findTasksByQueryCriteria(this, handler);
+    }
+  }
+
   public long executeCount(CommandContext commandContext) {
     ensureVariablesInitialized();
     checkQueryOk();
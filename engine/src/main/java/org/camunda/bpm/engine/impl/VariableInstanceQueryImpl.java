@@ -173,21 +173,27 @@ public class VariableInstanceQueryImpl extends AbstractVariableQueryImpl<Variabl
 
     // iterate over the result array to initialize the value and serialized value of the variable
     for (VariableInstance variableInstance : result) {
-      VariableInstanceEntity variableInstanceEntity = (VariableInstanceEntity) variableInstance;
+      fetchValue((VariableInstanceEntity) variableInstance);
+    }
 
-      if (shouldFetchValue(variableInstanceEntity)) {
-        try {
-          variableInstanceEntity.getTypedValue(isCustomObjectDeserializationEnabled);
+    return result;
+  }
 
-        } catch(Exception t) {
-          // do not fail if one of the variables fails to load
-          LOGGER.log(Level.FINE, "Exception while getting value for variable", t);
-        }
-      }
+  public void executeStreamingList(CommandContext commandContext, QueryResultHandler<VariableInstance> handler) {
+    // the values are loaded by separate statements
+    executeListInPages(commandContext, handler);
+  }
 
-    }
+  protected void fetchValue(VariableInstanceEntity variableInstanceEntity) {
+    if (shouldFetchValue(variableInstanceEntity)) {
+      try {
+        variableInstanceEntity.getTypedValue(isCustomObjectDeserializationEnabled);
 
-    return result;
+      } catch(Exception t) {
+        // do not fail if one of the variables fails to load
+        LOGGER.log(Level.FINE, "Exception while getting value for variable", t);
+      }
+    }
   }
 
   protected boolean shouldFetchValue(VariableInstanceEntity entity) {
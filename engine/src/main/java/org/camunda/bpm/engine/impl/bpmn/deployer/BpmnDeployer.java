@@ -39,6 +39,7 @@ import org.camunda.bpm.engine.impl.jobexecutor.TimerDeclarationImpl;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerStartEventJobHandler;
 import org.camunda.bpm.engine.impl.persistence.deploy.Deployer;
 import org.camunda.bpm.engine.impl.persistence.deploy.DeploymentCache;
+import org.camunda.bpm.engine.impl.persistence.deploy.ValidatedResourceCache;
 import org.camunda.bpm.engine.impl.persistence.entity.DeploymentEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.EventSubscriptionEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.EventSubscriptionManager;
@@ -76,6 +77,9 @@ public class BpmnDeployer extends AbstractDefinitionDeployer<ProcessDefinitionEn
   protected ExpressionManager expressionManager;
   protected BpmnParser bpmnParser;
 
+  /** if set, the schema validation is skipped for resources which passed it before */
+  protected ValidatedResourceCache validatedResourceCache;
+
   protected Map<String, List<JobDeclaration<?, ?>>> jobDeclarations = new HashMap<String, List<JobDeclaration<?, ?>>>();
 
   @Override
@@ -94,13 +98,25 @@ public class BpmnDeployer extends AbstractDefinitionDeployer<ProcessDefinitionEn
         .deployment(deployment)
         .name(resource.getName());
 
-    if (!deployment.isValidatingSchema()) {
+    boolean validatingSchema = deployment.isValidatingSchema();
+    if (validatingSchema && validatedResourceCache != null && validatedResourceCache.isValidated(resource.getHash())) {
+      validatingSchema = false;
+    }
+
+    if (!validatingSchema) {
       bpmnParse.setSchemaResource(null);
     }
 
     bpmnParse.execute();
 
-    jobDeclarations.putAll(bpmnParse.getJobDeclarations());
+    if (validatingSchema && validatedResourceCache != null) {
+      validatedResourceCache.addValidated(resource.getHash());
+    }
+
+    // resources may be transformed concurrently
+    synchronized (jobDeclarations) {
+      jobDeclarations.putAll(bpmnParse.getJobDeclarations());
+    }
 
     return bpmnParse.getProcessDefinitions();
   }
@@ -465,4 +481,12 @@ public class BpmnDeployer extends AbstractDefinitionDeployer<ProcessDefinitionEn
     this.bpmnParser = bpmnParser;
   }
 
+  public ValidatedResourceCache getValidatedResourceCache() {
+    return validatedResourceCache;
+  }
+
+  public void setValidatedResourceCache(ValidatedResourceCache validatedResourceCache) {
+    this.validatedResourceCache = validatedResourceCache;
+  }
+
 }
@@ -15,6 +15,7 @@ package org.camunda.bpm.engine.impl.cfg;
 
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 
+import java.io.File;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
@@ -25,12 +26,15 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -92,6 +96,7 @@ import org.camunda.bpm.engine.impl.cfg.auth.ResourceAuthorizationProvider;
 import org.camunda.bpm.engine.impl.cfg.standalone.StandaloneTransactionContextFactory;
 import org.camunda.bpm.engine.impl.cmmn.CaseServiceImpl;
 import org.camunda.bpm.engine.impl.cmmn.deployer.CmmnDeployer;
+import org.camunda.bpm.engine.impl.cmmn.entity.repository.CaseDefinitionEntity;
 import org.camunda.bpm.engine.impl.cmmn.entity.repository.CaseDefinitionManager;
 import org.camunda.bpm.engine.impl.cmmn.entity.runtime.CaseExecutionManager;
 import org.camunda.bpm.engine.impl.cmmn.entity.runtime.CaseSentryPartManager;
@@ -100,16 +105,20 @@ import org.camunda.bpm.engine.impl.cmmn.transformer.CmmnTransformFactory;
 import org.camunda.bpm.engine.impl.cmmn.transformer.CmmnTransformListener;
 import org.camunda.bpm.engine.impl.cmmn.transformer.CmmnTransformer;
 import org.camunda.bpm.engine.impl.cmmn.transformer.DefaultCmmnTransformFactory;
+import org.camunda.bpm.engine.impl.db.ConcurrentDbIdGenerator;
 import org.camunda.bpm.engine.impl.db.DbIdGenerator;
 import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManagerFactory;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCacheKeyMapping;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbSecondLevelCache;
 import org.camunda.bpm.engine.impl.db.sql.DbSqlPersistenceProviderFactory;
 import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
 import org.camunda.bpm.engine.impl.delegate.DefaultDelegateInterceptor;
 import org.camunda.bpm.engine.impl.digest.PasswordEncryptor;
 import org.camunda.bpm.engine.impl.digest.ShaHashDigest;
+import org.camunda.bpm.engine.impl.dmn.cache.DecisionResultCache;
 import org.camunda.bpm.engine.impl.dmn.configuration.ProcessEngineDmnEngineConfiguration;
 import org.camunda.bpm.engine.impl.dmn.deployer.DmnDeployer;
+import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionDefinitionEntity;
 import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionDefinitionManager;
 import org.camunda.bpm.engine.impl.el.CommandContextFunctionMapper;
 import org.camunda.bpm.engine.impl.el.DateTimeFunctionMapper;
@@ -118,6 +127,7 @@ import org.camunda.bpm.engine.impl.event.CompensationEventHandler;
 import org.camunda.bpm.engine.impl.event.EventHandler;
 import org.camunda.bpm.engine.impl.event.MessageEventHandler;
 import org.camunda.bpm.engine.impl.event.SignalEventHandler;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskNotifier;
 import org.camunda.bpm.engine.impl.form.engine.FormEngine;
 import org.camunda.bpm.engine.impl.form.engine.HtmlFormEngine;
 import org.camunda.bpm.engine.impl.form.engine.JuelFormEngine;
@@ -137,7 +147,10 @@ import org.camunda.bpm.engine.impl.form.validator.ReadOnlyValidator;
 import org.camunda.bpm.engine.impl.form.validator.RequiredValidator;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
 import org.camunda.bpm.engine.impl.history.event.HistoricDecisionInstanceManager;
+import org.camunda.bpm.engine.impl.history.handler.AsyncDbHistoryEventHandler;
 import org.camunda.bpm.engine.impl.history.handler.DbHistoryEventHandler;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventBufferFactory;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventLog;
 import org.camunda.bpm.engine.impl.history.handler.HistoryEventHandler;
 import org.camunda.bpm.engine.impl.history.parser.HistoryDecisionTableListener;
 import org.camunda.bpm.engine.impl.history.parser.HistoryParseListener;
@@ -148,6 +161,7 @@ import org.camunda.bpm.engine.impl.history.producer.DefaultDmnHistoryEventProduc
 import org.camunda.bpm.engine.impl.history.producer.DmnHistoryEventProducer;
 import org.camunda.bpm.engine.impl.history.producer.HistoryEventProducer;
 import org.camunda.bpm.engine.impl.history.transformer.CmmnHistoryTransformListener;
+import org.camunda.bpm.engine.impl.identity.GroupMembershipCache;
 import org.camunda.bpm.engine.impl.identity.ReadOnlyIdentityProvider;
 import org.camunda.bpm.engine.impl.identity.WritableIdentityProvider;
 import org.camunda.bpm.engine.impl.identity.db.DbIdentityServiceProvider;
@@ -169,6 +183,7 @@ import org.camunda.bpm.engine.impl.jobexecutor.JobHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.JobPriorityProvider;
 import org.camunda.bpm.engine.impl.jobexecutor.NotifyAcquisitionRejectedJobsHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.ProcessEventJobHandler;
+import org.camunda.bpm.engine.impl.jobexecutor.SignalEventBroadcastJobHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.RejectedJobsHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerActivateJobDefinitionHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerActivateProcessDefinitionHandler;
@@ -187,6 +202,8 @@ import org.camunda.bpm.engine.impl.metrics.reporter.DbMetricsReporter;
 import org.camunda.bpm.engine.impl.persistence.GenericManagerFactory;
 import org.camunda.bpm.engine.impl.persistence.deploy.Deployer;
 import org.camunda.bpm.engine.impl.persistence.deploy.DeploymentCache;
+import org.camunda.bpm.engine.impl.persistence.deploy.DeploymentParseThreadFactory;
+import org.camunda.bpm.engine.impl.persistence.deploy.ValidatedResourceCache;
 import org.camunda.bpm.engine.impl.persistence.entity.AttachmentManager;
 import org.camunda.bpm.engine.impl.persistence.entity.AuthorizationManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayManager;
@@ -212,6 +229,7 @@ import org.camunda.bpm.engine.impl.persistence.entity.IncidentManager;
 import org.camunda.bpm.engine.impl.persistence.entity.JobDefinitionManager;
 import org.camunda.bpm.engine.impl.persistence.entity.JobManager;
 import org.camunda.bpm.engine.impl.persistence.entity.MeterLogManager;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionManager;
 import org.camunda.bpm.engine.impl.persistence.entity.PropertyManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ResourceManager;
@@ -226,12 +244,16 @@ import org.camunda.bpm.engine.impl.scripting.ScriptFactory;
 import org.camunda.bpm.engine.impl.scripting.engine.BeansResolverFactory;
 import org.camunda.bpm.engine.impl.scripting.engine.ResolverFactory;
 import org.camunda.bpm.engine.impl.scripting.engine.ScriptBindingsFactory;
+import org.camunda.bpm.engine.impl.scripting.engine.ScriptEngineResolver;
 import org.camunda.bpm.engine.impl.scripting.engine.ScriptingEngines;
 import org.camunda.bpm.engine.impl.scripting.engine.VariableScopeResolverFactory;
 import org.camunda.bpm.engine.impl.scripting.env.ScriptEnvResolver;
 import org.camunda.bpm.engine.impl.scripting.env.ScriptingEnvironment;
 import org.camunda.bpm.engine.impl.util.IoUtil;
 import org.camunda.bpm.engine.impl.util.ReflectUtil;
+import org.camunda.bpm.engine.impl.util.cache.Cache;
+import org.camunda.bpm.engine.impl.util.cache.CacheFactory;
+import org.camunda.bpm.engine.impl.util.cache.DefaultCacheFactory;
 import org.camunda.bpm.engine.impl.variable.ValueTypeResolverImpl;
 import org.camunda.bpm.engine.impl.variable.serializer.BooleanValueSerializer;
 import org.camunda.bpm.engine.impl.variable.serializer.ByteArrayValueSerializer;
@@ -255,6 +277,9 @@ import org.camunda.bpm.engine.repository.DeploymentBuilder;
 import org.camunda.bpm.engine.runtime.Incident;
 import org.camunda.bpm.engine.variable.Variables;
 import org.camunda.bpm.engine.variable.type.ValueType;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.cmmn.CmmnModelInstance;
+import org.camunda.bpm.model.dmn.DmnModelInstance;
 
 
 /**
@@ -328,6 +353,19 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected List<Deployer> deployers;
   protected DeploymentCache deploymentCache;
 
+  /** creates the caches of the {@link #deploymentCache}; if not set, a
+   * {@link DefaultCacheFactory} with the {@link #deploymentCacheEvictionPolicy} is used */
+  protected CacheFactory deploymentCacheFactory;
+  protected String deploymentCacheEvictionPolicy = DefaultCacheFactory.LRU;
+
+  /** the maximum number of entries of the individual caches of the {@link #deploymentCache}; unbounded by default */
+  protected int processDefinitionCacheCapacity = DeploymentCache.DEFAULT_CACHE_CAPACITY;
+  protected int caseDefinitionCacheCapacity = DeploymentCache.DEFAULT_CACHE_CAPACITY;
+  protected int decisionDefinitionCacheCapacity = DeploymentCache.DEFAULT_CACHE_CAPACITY;
+  protected int bpmnModelInstanceCacheCapacity = DeploymentCache.DEFAULT_CACHE_CAPACITY;
+  protected int cmmnModelInstanceCacheCapacity = DeploymentCache.DEFAULT_CACHE_CAPACITY;
+  protected int dmnModelInstanceCacheCapacity = DeploymentCache.DEFAULT_CACHE_CAPACITY;
+
   // JOB EXECUTOR /////////////////////////////////////////////////////////////
 
   protected List<JobHandler> customJobHandlers;
@@ -347,6 +385,11 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected DataSource idGeneratorDataSource;
   protected String idGeneratorDataSourceJndiName;
 
+  /** If true, ids are generated by a {@link ConcurrentDbIdGenerator} which hands out
+   * ids from striped blocks instead of synchronizing all threads on one block.
+   */
+  protected boolean isConcurrentIdGeneratorEnabled = false;
+
   // INCIDENT HANDLER /////////////////////////////////////////////////////////
 
   protected Map<String, IncidentHandler> incidentHandlers;
@@ -378,6 +421,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected boolean autoStoreScriptVariables = false;
   protected boolean enableScriptCompilation = true;
   protected boolean enableScriptEngineCaching = true;
+  /** the number of pooled engines per language for script engines which are not threadsafe,
+   * defaults to the maximum pool size of the job executor */
+  protected int scriptEnginePoolSize = -1;
   protected boolean enableFetchScriptEngineFromProcessApplication = true;
 
   protected boolean cmmnEnabled = true;
@@ -465,8 +511,33 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected HistoryEventHandler historyEventHandler;
 
+  /** If true, history events are written asynchronously in batches by a background writer
+   * after the transaction which produced them is committed. Default setting is false.
+   */
+  protected boolean isAsyncHistoryEventHandling = false;
+
+  protected int asyncHistoryEventQueueCapacity = AsyncDbHistoryEventHandler.DEFAULT_QUEUE_CAPACITY;
+
+  protected int asyncHistoryEventBatchSize = AsyncDbHistoryEventHandler.DEFAULT_BATCH_SIZE;
+
+  /** time in milliseconds after which a transaction whose outcome was not reported to the
+   * asynchronous history event handler is considered committed
+   */
+  protected long asyncHistoryEventPreparedTimeout = AsyncDbHistoryEventHandler.DEFAULT_PREPARED_TIMEOUT;
+
+  /** directory of the log which makes queued history events durable;
+   * if not set, queued events are lost if the process engine crashes
+   * and events which cannot be written are discarded
+   */
+  protected String asyncHistoryEventLogDirectory;
+
   protected boolean isExecutionTreePrefetchEnabled = true;
 
+  /** If true, the variables of all executions of a process instance are fetched
+   * in a single query when execution tree prefetching is enabled.
+   */
+  protected boolean isVariablePrefetchEnabled = true;
+
   /** If true the process engine will attempt to acquire an exclusive lock before
    * creating a deployment.
    */
@@ -477,8 +548,92 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected boolean isDbEntityCacheReuseEnabled = false;
 
+  /** If true, read-mostly entities are kept in a second level cache which is shared
+   * by all commands of the process engine. Default setting is false.
+   */
+  protected boolean isDbSecondLevelCacheEnabled = false;
+
+  protected int dbSecondLevelCacheCapacity = 1000;
+
+  /** time in milliseconds after which entries of the second level cache expire,
+   * bounds the staleness of entities modified by other process engines of a cluster
+   */
+  protected long dbSecondLevelCacheTimeToLive = 10000;
+
+  /** list statements whose results are kept in the second level cache */
+  protected Set<String> dbSecondLevelCacheListStatements;
+
+  protected DbSecondLevelCache dbSecondLevelCache;
+
+  /** keys of the decisions whose evaluation results are cached. The results of a
+   * decision may only be cached if they depend on nothing but its input variables.
+   */
+  protected Set<String> decisionResultCacheDecisionDefinitionKeys;
+
+  protected int decisionResultCacheCapacity = 10000;
+
+  /** time in milliseconds after which cached decision results expire */
+  protected long decisionResultCacheTimeToLive = 600000;
+
+  protected DecisionResultCache decisionResultCache;
+
+  /** If true, the insert, update and delete statements of a flush are sent to the
+   * database in JDBC batches instead of one by one. The JDBC driver must report the
+   * number of rows affected by each batched statement, otherwise flushes fail.
+   */
+  protected boolean jdbcBatchProcessing = false;
+
+  /** If true, the updates of entities which track their changes only write the
+   * columns of the changed properties.
+   */
+  protected boolean partialEntityUpdates = false;
+
+  /** number of threads which transform the resources of a deployment in parallel;
+   * if less than 2, the resources are transformed one after another. Parse listeners
+   * must be thread-safe and must not access the command context if enabled.
+   */
+  protected int deploymentParseThreads = 1;
+
+  /** shut down when the process engine is closed */
+  protected ExecutorService deploymentParseExecutor;
+
+  /** directory of the cache of resources which passed the schema validation;
+   * if not set, resources are validated each time they are parsed
+   */
+  protected String validatedResourceCacheDirectory;
+
+  protected ValidatedResourceCache validatedResourceCache;
+
+  /** number of signal event subscriptions which are processed by one job of an asynchronous signal broadcast */
+  protected int signalBroadcastChunkSize = 100;
+
+  /** time in milliseconds the group memberships of a user are cached for authorization checks;
+   * if 0, the memberships are queried each time they are needed. Default setting is 0.
+   */
+  protected long groupMembershipCacheTimeToLive = 0;
+
+  protected GroupMembershipCache groupMembershipCache;
+
   protected boolean isInvokeCustomVariableListeners = true;
 
+  /** wakes up long-polling fetch and lock requests when external tasks become available */
+  protected ExternalTaskNotifier externalTaskNotifier = new ExternalTaskNotifier();
+
+  /** maximum number of long-polling fetch and lock requests which wait for external tasks
+   * concurrently; further requests fetch without waiting. Default setting is 50.
+   */
+  protected int externalTaskMaxWaitingWorkers = ExternalTaskNotifier.DEFAULT_MAX_WAITING_WORKERS;
+
+  /** If true, external tasks are fetched with a statement which locks the selected rows
+   * and skips rows locked by concurrent fetches, if supported by the database. Default setting is false.
+   */
+  protected boolean isSkipLockedExternalTaskFetching = false;
+
+  /** number of partitions of the fetchable external tasks that workers are assigned to by their
+   * worker id, used if external tasks are not fetched with skip locked. Default setting is 1.
+   */
+  protected int externalTaskFetchPartitions = 1;
+
   /**
    * The process engine created by this configuration.
    */
@@ -551,11 +706,14 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     initDeployers();
     initJobProvider();
     initJobExecutor();
+    initScriptEnginePoolSize();
     initDataSource();
     initTransactionFactory();
     initSqlSessionFactory();
     initIdentityProviderSessionFactory();
     initSessionFactories();
+    initDbSecondLevelCache();
+    initDecisionResultCache();
     initValueTypeResolver();
     initSerialization();
     initJpa();
@@ -568,6 +726,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     initPasswordDigest();
     initDeploymentRegistration();
     initResourceAuthorizationProvider();
+    initGroupMembershipCache();
     initMetrics();
 
     invokePostInit();
@@ -724,6 +883,10 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     if (service instanceof ServiceImpl) {
       ((ServiceImpl)service).setCommandExecutor(commandExecutorTxRequired);
     }
+    if (service instanceof ExternalTaskServiceImpl) {
+      externalTaskNotifier.setMaxWaitingWorkers(externalTaskMaxWaitingWorkers);
+      ((ExternalTaskServiceImpl)service).setExternalTaskNotifier(externalTaskNotifier);
+    }
   }
 
   // DataSource ///////////////////////////////////////////////////////////////
@@ -970,6 +1133,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       }
 
     }
+    if (historyEventHandler instanceof AsyncDbHistoryEventHandler) {
+      addSessionFactory(new HistoryEventBufferFactory((AsyncDbHistoryEventHandler) historyEventHandler));
+    }
     if (customSessionFactories!=null) {
       for (SessionFactory sessionFactory: customSessionFactories) {
         addSessionFactory(sessionFactory);
@@ -986,6 +1152,8 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     dbSqlSessionFactory.setDbIdentityUsed(isDbIdentityUsed);
     dbSqlSessionFactory.setDbHistoryUsed(isDbHistoryUsed);
     dbSqlSessionFactory.setCmmnEnabled(cmmnEnabled);
+    dbSqlSessionFactory.setJdbcBatchProcessing(jdbcBatchProcessing);
+    dbSqlSessionFactory.setPartialEntityUpdates(partialEntityUpdates);
     dbSqlSessionFactory.setDatabaseTablePrefix(databaseTablePrefix);
     dbSqlSessionFactory.setDatabaseSchema(databaseSchema);
     addSessionFactory(dbSqlSessionFactory);
@@ -1010,6 +1178,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   // deployers ////////////////////////////////////////////////////////////////
 
   protected void initDeployers() {
+    initDeploymentParseExecutor();
+    initValidatedResourceCache();
+
     if (this.deployers==null) {
       this.deployers = new ArrayList<Deployer>();
       if (customPreDeployers!=null) {
@@ -1032,9 +1203,39 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
       deploymentCache = new DeploymentCache();
       deploymentCache.setDeployers(deployers);
+      initDeploymentCacheCaches();
+    }
+  }
+
+  protected void initDeploymentParseExecutor() {
+    if (deploymentParseExecutor == null && deploymentParseThreads > 1) {
+      deploymentParseExecutor = Executors.newFixedThreadPool(deploymentParseThreads, new DeploymentParseThreadFactory());
+    }
+  }
+
+  protected void initValidatedResourceCache() {
+    if (validatedResourceCache == null && validatedResourceCacheDirectory != null) {
+      // resources validated by another engine build or against other schemas are validated again
+      String schemaDirectory = BpmnParser.BPMN_20_SCHEMA_LOCATION.substring(0, BpmnParser.BPMN_20_SCHEMA_LOCATION.lastIndexOf('/') + 1);
+      String validationKey = ValidatedResourceCache.createValidationKey(BpmnParser.BPMN_20_SCHEMA_LOCATION,
+          schemaDirectory + "Semantic.xsd", schemaDirectory + "BPMNDI.xsd", schemaDirectory + "DI.xsd", schemaDirectory + "DC.xsd");
+      validatedResourceCache = new ValidatedResourceCache(new File(validatedResourceCacheDirectory), validationKey);
     }
   }
 
+  protected void initDeploymentCacheCaches() {
+    if (deploymentCacheFactory == null) {
+      deploymentCacheFactory = new DefaultCacheFactory(deploymentCacheEvictionPolicy);
+    }
+
+    deploymentCache.setProcessDefinitionCache(deploymentCacheFactory.<String, ProcessDefinitionEntity>createCache(processDefinitionCacheCapacity));
+    deploymentCache.setCaseDefinitionCache(deploymentCacheFactory.<String, CaseDefinitionEntity>createCache(caseDefinitionCacheCapacity));
+    deploymentCache.setDecisionDefinitionCache(deploymentCacheFactory.<String, DecisionDefinitionEntity>createCache(decisionDefinitionCacheCapacity));
+    deploymentCache.setBpmnModelInstanceCache(deploymentCacheFactory.<String, BpmnModelInstance>createCache(bpmnModelInstanceCacheCapacity));
+    deploymentCache.setCmmnModelInstanceCache(deploymentCacheFactory.<String, CmmnModelInstance>createCache(cmmnModelInstanceCacheCapacity));
+    deploymentCache.setDmnModelInstanceCache(deploymentCacheFactory.<String, DmnModelInstance>createCache(dmnModelInstanceCacheCapacity));
+  }
+
   protected Collection< ? extends Deployer> getDefaultDeployers() {
     List<Deployer> defaultDeployers = new ArrayList<Deployer>();
 
@@ -1058,6 +1259,8 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     BpmnDeployer bpmnDeployer = new BpmnDeployer();
     bpmnDeployer.setExpressionManager(expressionManager);
     bpmnDeployer.setIdGenerator(idGenerator);
+    bpmnDeployer.setParseExecutor(deploymentParseExecutor);
+    bpmnDeployer.setValidatedResourceCache(validatedResourceCache);
 
     if (bpmnParseFactory == null) {
       bpmnParseFactory = new DefaultBpmnParseFactory();
@@ -1093,6 +1296,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     CmmnDeployer cmmnDeployer = new CmmnDeployer();
 
     cmmnDeployer.setIdGenerator(idGenerator);
+    cmmnDeployer.setParseExecutor(deploymentParseExecutor);
 
     if (cmmnTransformFactory == null) {
       cmmnTransformFactory = new DefaultCmmnTransformFactory();
@@ -1131,6 +1335,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected DmnDeployer getDmnDeployer() {
     DmnDeployer dmnDeployer = new DmnDeployer();
     dmnDeployer.setIdGenerator(idGenerator);
+    dmnDeployer.setParseExecutor(deploymentParseExecutor);
     dmnDeployer.setTransformer(dmnEngineConfiguration.getTransformer());
     return dmnDeployer;
   }
@@ -1181,6 +1386,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     TimerActivateJobDefinitionHandler activateJobDefinitionHandler = new TimerActivateJobDefinitionHandler();
     jobHandlers.put(activateJobDefinitionHandler.getType(), activateJobDefinitionHandler);
 
+    SignalEventBroadcastJobHandler signalEventBroadcastJobHandler = new SignalEventBroadcastJobHandler();
+    jobHandlers.put(signalEventBroadcastJobHandler.getType(), signalEventBroadcastJobHandler);
+
     // if we have custom job handlers, register them
     if (getCustomJobHandlers()!=null) {
       for (JobHandler customJobHandler : getCustomJobHandlers()) {
@@ -1244,6 +1452,34 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     }
   }
 
+  // second level cache //////////////////////////////////////////////////////
+
+  protected void initDbSecondLevelCache() {
+    if (isDbSecondLevelCacheEnabled && dbSecondLevelCache == null) {
+      if (dbSecondLevelCacheListStatements == null) {
+        dbSecondLevelCacheListStatements = new HashSet<String>();
+        dbSecondLevelCacheListStatements.add("selectJobDefinitionsByProcessDefinitionId");
+        dbSecondLevelCacheListStatements.add("selectProperties");
+      }
+
+      Cache<Object, DbSecondLevelCache.CacheEntry> cache = new DefaultCacheFactory().createCache(dbSecondLevelCacheCapacity);
+      dbSecondLevelCache = new DbSecondLevelCache(cache, dbSecondLevelCacheTimeToLive, dbSecondLevelCacheListStatements);
+    }
+  }
+
+  // decision result cache ///////////////////////////////////////////////////
+
+  protected void initDecisionResultCache() {
+    if (decisionResultCache == null && decisionResultCacheDecisionDefinitionKeys != null
+        && !decisionResultCacheDecisionDefinitionKeys.isEmpty()) {
+      Cache<Object, DecisionResultCache.CacheEntry> cache = new DefaultCacheFactory().createCache(decisionResultCacheCapacity);
+      decisionResultCache = new DecisionResultCache(cache, decisionResultCacheTimeToLive, decisionResultCacheDecisionDefinitionKeys);
+    }
+    if (deploymentCache != null) {
+      deploymentCache.setDecisionResultCache(decisionResultCache);
+    }
+  }
+
   // id generator /////////////////////////////////////////////////////////////
 
   protected void initIdGenerator() {
@@ -1265,10 +1501,18 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         idGeneratorCommandExecutor = commandExecutorTxRequiresNew;
       }
 
-      DbIdGenerator dbIdGenerator = new DbIdGenerator();
-      dbIdGenerator.setIdBlockSize(idBlockSize);
-      dbIdGenerator.setCommandExecutor(idGeneratorCommandExecutor);
-      idGenerator = dbIdGenerator;
+      if (isConcurrentIdGeneratorEnabled) {
+        ConcurrentDbIdGenerator concurrentDbIdGenerator = new ConcurrentDbIdGenerator();
+        concurrentDbIdGenerator.setIdBlockSize(idBlockSize);
+        concurrentDbIdGenerator.setCommandExecutor(idGeneratorCommandExecutor);
+        idGenerator = concurrentDbIdGenerator;
+
+      } else {
+        DbIdGenerator dbIdGenerator = new DbIdGenerator();
+        dbIdGenerator.setIdBlockSize(idBlockSize);
+        dbIdGenerator.setCommandExecutor(idGeneratorCommandExecutor);
+        idGenerator = dbIdGenerator;
+      }
     }
   }
 
@@ -1333,6 +1577,14 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     metricsRegistry.createMeter(Metrics.JOB_EXECUTION_REJECTED);
 
     metricsRegistry.createMeter(Metrics.EXECUTED_DECISION_ELEMENTS);
+    metricsRegistry.createMeter(Metrics.DECISION_RESULT_CACHE_HIT);
+    metricsRegistry.createMeter(Metrics.DECISION_RESULT_CACHE_MISS);
+
+    metricsRegistry.createHistogram(Metrics.COMMAND_EXECUTION_TIME);
+    metricsRegistry.createHistogram(Metrics.JOB_EXECUTION_TIME);
+    metricsRegistry.createHistogram(Metrics.DECISION_EVALUATION_TIME);
+    metricsRegistry.createHistogram(Metrics.SCRIPT_COMPILATION_TIME);
+    metricsRegistry.createHistogram(Metrics.SCRIPT_EVALUATION_TIME);
   }
 
   protected void initSerialization() {
@@ -1439,6 +1691,26 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     }
   }
 
+  /**
+   * Sets the pool size of the script engines. Must be called after the job executor is
+   * initialized, since the default pool size is the maximum pool size of the job executor.
+   */
+  protected void initScriptEnginePoolSize() {
+    scriptingEngines.setScriptEnginePoolSize(resolveScriptEnginePoolSize());
+  }
+
+  protected int resolveScriptEnginePoolSize() {
+    if (scriptEnginePoolSize >= 0) {
+      return scriptEnginePoolSize;
+    }
+    else if (jobExecutor instanceof DefaultJobExecutor) {
+      return ((DefaultJobExecutor) jobExecutor).getMaxPoolSize();
+    }
+    else {
+      return ScriptEngineResolver.DEFAULT_SCRIPT_ENGINE_POOL_SIZE;
+    }
+  }
+
   protected void initDmnEngine() {
     if (dmnEngine == null) {
       if (dmnEngineConfiguration == null) {
@@ -1576,6 +1848,16 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     if(historyEventHandler == null) {
       historyEventHandler = new DbHistoryEventHandler();
     }
+    if(isAsyncHistoryEventHandling && !(historyEventHandler instanceof AsyncDbHistoryEventHandler)) {
+      HistoryEventLog historyEventLog = null;
+      if(asyncHistoryEventLogDirectory != null) {
+        historyEventLog = new HistoryEventLog(new File(asyncHistoryEventLogDirectory));
+      }
+      AsyncDbHistoryEventHandler asyncHistoryEventHandler = new AsyncDbHistoryEventHandler(historyEventHandler,
+          asyncHistoryEventQueueCapacity, asyncHistoryEventBatchSize, historyEventLog);
+      asyncHistoryEventHandler.setPreparedTimeout(asyncHistoryEventPreparedTimeout);
+      historyEventHandler = asyncHistoryEventHandler;
+    }
   }
 
   // password digest //////////////////////////////////////////////////////////
@@ -1601,6 +1883,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     }
   }
 
+  protected void initGroupMembershipCache() {
+    if (groupMembershipCache == null && groupMembershipCacheTimeToLive > 0) {
+      groupMembershipCache = new GroupMembershipCache(groupMembershipCacheTimeToLive);
+    }
+  }
+
   // getters and setters //////////////////////////////////////////////////////
 
   @Override
@@ -2324,6 +2612,78 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.deploymentCache = deploymentCache;
   }
 
+  public CacheFactory getDeploymentCacheFactory() {
+    return deploymentCacheFactory;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentCacheFactory(CacheFactory deploymentCacheFactory) {
+    this.deploymentCacheFactory = deploymentCacheFactory;
+    return this;
+  }
+
+  public String getDeploymentCacheEvictionPolicy() {
+    return deploymentCacheEvictionPolicy;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentCacheEvictionPolicy(String deploymentCacheEvictionPolicy) {
+    this.deploymentCacheEvictionPolicy = deploymentCacheEvictionPolicy;
+    return this;
+  }
+
+  public int getProcessDefinitionCacheCapacity() {
+    return processDefinitionCacheCapacity;
+  }
+
+  public ProcessEngineConfigurationImpl setProcessDefinitionCacheCapacity(int processDefinitionCacheCapacity) {
+    this.processDefinitionCacheCapacity = processDefinitionCacheCapacity;
+    return this;
+  }
+
+  public int getCaseDefinitionCacheCapacity() {
+    return caseDefinitionCacheCapacity;
+  }
+
+  public ProcessEngineConfigurationImpl setCaseDefinitionCacheCapacity(int caseDefinitionCacheCapacity) {
+    this.caseDefinitionCacheCapacity = caseDefinitionCacheCapacity;
+    return this;
+  }
+
+  public int getDecisionDefinitionCacheCapacity() {
+    return decisionDefinitionCacheCapacity;
+  }
+
+  public ProcessEngineConfigurationImpl setDecisionDefinitionCacheCapacity(int decisionDefinitionCacheCapacity) {
+    this.decisionDefinitionCacheCapacity = decisionDefinitionCacheCapacity;
+    return this;
+  }
+
+  public int getBpmnModelInstanceCacheCapacity() {
+    return bpmnModelInstanceCacheCapacity;
+  }
+
+  public ProcessEngineConfigurationImpl setBpmnModelInstanceCacheCapacity(int bpmnModelInstanceCacheCapacity) {
+    this.bpmnModelInstanceCacheCapacity = bpmnModelInstanceCacheCapacity;
+    return this;
+  }
+
+  public int getCmmnModelInstanceCacheCapacity() {
+    return cmmnModelInstanceCacheCapacity;
+  }
+
+  public ProcessEngineConfigurationImpl setCmmnModelInstanceCacheCapacity(int cmmnModelInstanceCacheCapacity) {
+    this.cmmnModelInstanceCacheCapacity = cmmnModelInstanceCacheCapacity;
+    return this;
+  }
+
+  public int getDmnModelInstanceCacheCapacity() {
+    return dmnModelInstanceCacheCapacity;
+  }
+
+  public ProcessEngineConfigurationImpl setDmnModelInstanceCacheCapacity(int dmnModelInstanceCacheCapacity) {
+    this.dmnModelInstanceCacheCapacity = dmnModelInstanceCacheCapacity;
+    return this;
+  }
+
   public ProcessEngineConfigurationImpl setDelegateInterceptor(DelegateInterceptor delegateInterceptor) {
     this.delegateInterceptor = delegateInterceptor;
     return this;
@@ -2459,6 +2819,51 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return historyEventHandler;
   }
 
+  public boolean isAsyncHistoryEventHandling() {
+    return isAsyncHistoryEventHandling;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncHistoryEventHandling(boolean isAsyncHistoryEventHandling) {
+    this.isAsyncHistoryEventHandling = isAsyncHistoryEventHandling;
+    return this;
+  }
+
+  public int getAsyncHistoryEventQueueCapacity() {
+    return asyncHistoryEventQueueCapacity;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncHistoryEventQueueCapacity(int asyncHistoryEventQueueCapacity) {
+    this.asyncHistoryEventQueueCapacity = asyncHistoryEventQueueCapacity;
+    return this;
+  }
+
+  public int getAsyncHistoryEventBatchSize() {
+    return asyncHistoryEventBatchSize;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncHistoryEventBatchSize(int asyncHistoryEventBatchSize) {
+    this.asyncHistoryEventBatchSize = asyncHistoryEventBatchSize;
+    return this;
+  }
+
+  public long getAsyncHistoryEventPreparedTimeout() {
+    return asyncHistoryEventPreparedTimeout;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncHistoryEventPreparedTimeout(long asyncHistoryEventPreparedTimeout) {
+    this.asyncHistoryEventPreparedTimeout = asyncHistoryEventPreparedTimeout;
+    return this;
+  }
+
+  public String getAsyncHistoryEventLogDirectory() {
+    return asyncHistoryEventLogDirectory;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncHistoryEventLogDirectory(String asyncHistoryEventLogDirectory) {
+    this.asyncHistoryEventLogDirectory = asyncHistoryEventLogDirectory;
+    return this;
+  }
+
   public IncidentHandler getIncidentHandler(String incidentType) {
     return incidentHandlers.get(incidentType);
   }
@@ -2570,6 +2975,14 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.isExecutionTreePrefetchEnabled = isExecutionTreePrefetchingEnabled;
   }
 
+  public boolean isVariablePrefetchEnabled() {
+    return isVariablePrefetchEnabled;
+  }
+
+  public void setVariablePrefetchEnabled(boolean isVariablePrefetchEnabled) {
+    this.isVariablePrefetchEnabled = isVariablePrefetchEnabled;
+  }
+
   public ProcessEngineImpl getProcessEngine() {
     return processEngine;
   }
@@ -2719,6 +3132,213 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isDbSecondLevelCacheEnabled() {
+    return isDbSecondLevelCacheEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setDbSecondLevelCacheEnabled(boolean isDbSecondLevelCacheEnabled) {
+    this.isDbSecondLevelCacheEnabled = isDbSecondLevelCacheEnabled;
+    return this;
+  }
+
+  public int getDbSecondLevelCacheCapacity() {
+    return dbSecondLevelCacheCapacity;
+  }
+
+  public ProcessEngineConfigurationImpl setDbSecondLevelCacheCapacity(int dbSecondLevelCacheCapacity) {
+    this.dbSecondLevelCacheCapacity = dbSecondLevelCacheCapacity;
+    return this;
+  }
+
+  public long getDbSecondLevelCacheTimeToLive() {
+    return dbSecondLevelCacheTimeToLive;
+  }
+
+  public ProcessEngineConfigurationImpl setDbSecondLevelCacheTimeToLive(long dbSecondLevelCacheTimeToLive) {
+    this.dbSecondLevelCacheTimeToLive = dbSecondLevelCacheTimeToLive;
+    return this;
+  }
+
+  public Set<String> getDbSecondLevelCacheListStatements() {
+    return dbSecondLevelCacheListStatements;
+  }
+
+  public ProcessEngineConfigurationImpl setDbSecondLevelCacheListStatements(Set<String> dbSecondLevelCacheListStatements) {
+    this.dbSecondLevelCacheListStatements = dbSecondLevelCacheListStatements;
+    return this;
+  }
+
+  public DbSecondLevelCache getDbSecondLevelCache() {
+    return dbSecondLevelCache;
+  }
+
+  public ProcessEngineConfigurationImpl setDbSecondLevelCache(DbSecondLevelCache dbSecondLevelCache) {
+    this.dbSecondLevelCache = dbSecondLevelCache;
+    return this;
+  }
+
+  public Set<String> getDecisionResultCacheDecisionDefinitionKeys() {
+    return decisionResultCacheDecisionDefinitionKeys;
+  }
+
+  public ProcessEngineConfigurationImpl setDecisionResultCacheDecisionDefinitionKeys(Set<String> decisionResultCacheDecisionDefinitionKeys) {
+    this.decisionResultCacheDecisionDefinitionKeys = decisionResultCacheDecisionDefinitionKeys;
+    return this;
+  }
+
+  public int getDecisionResultCacheCapacity() {
+    return decisionResultCacheCapacity;
+  }
+
+  public ProcessEngineConfigurationImpl setDecisionResultCacheCapacity(int decisionResultCacheCapacity) {
+    this.decisionResultCacheCapacity = decisionResultCacheCapacity;
+    return this;
+  }
+
+  public long getDecisionResultCacheTimeToLive() {
+    return decisionResultCacheTimeToLive;
+  }
+
+  public ProcessEngineConfigurationImpl setDecisionResultCacheTimeToLive(long decisionResultCacheTimeToLive) {
+    this.decisionResultCacheTimeToLive = decisionResultCacheTimeToLive;
+    return this;
+  }
+
+  public DecisionResultCache getDecisionResultCache() {
+    return decisionResultCache;
+  }
+
+  public ProcessEngineConfigurationImpl setDecisionResultCache(DecisionResultCache decisionResultCache) {
+    this.decisionResultCache = decisionResultCache;
+    return this;
+  }
+
+  public boolean isConcurrentIdGeneratorEnabled() {
+    return isConcurrentIdGeneratorEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setConcurrentIdGeneratorEnabled(boolean isConcurrentIdGeneratorEnabled) {
+    this.isConcurrentIdGeneratorEnabled = isConcurrentIdGeneratorEnabled;
+    return this;
+  }
+
+  public ExternalTaskNotifier getExternalTaskNotifier() {
+    return externalTaskNotifier;
+  }
+
+  public ProcessEngineConfigurationImpl setExternalTaskNotifier(ExternalTaskNotifier externalTaskNotifier) {
+    this.externalTaskNotifier = externalTaskNotifier;
+    return this;
+  }
+
+  public int getExternalTaskMaxWaitingWorkers() {
+    return externalTaskMaxWaitingWorkers;
+  }
+
+  public ProcessEngineConfigurationImpl setExternalTaskMaxWaitingWorkers(int externalTaskMaxWaitingWorkers) {
+    this.externalTaskMaxWaitingWorkers = externalTaskMaxWaitingWorkers;
+    return this;
+  }
+
+  public boolean isSkipLockedExternalTaskFetching() {
+    return isSkipLockedExternalTaskFetching;
+  }
+
+  public ProcessEngineConfigurationImpl setSkipLockedExternalTaskFetching(boolean isSkipLockedExternalTaskFetching) {
+    this.isSkipLockedExternalTaskFetching = isSkipLockedExternalTaskFetching;
+    return this;
+  }
+
+  public int getExternalTaskFetchPartitions() {
+    return externalTaskFetchPartitions;
+  }
+
+  public ProcessEngineConfigurationImpl setExternalTaskFetchPartitions(int externalTaskFetchPartitions) {
+    this.externalTaskFetchPartitions = externalTaskFetchPartitions;
+    return this;
+  }
+
+  public boolean isJdbcBatchProcessing() {
+    return jdbcBatchProcessing;
+  }
+
+  public ProcessEngineConfigurationImpl setJdbcBatchProcessing(boolean jdbcBatchProcessing) {
+    this.jdbcBatchProcessing = jdbcBatchProcessing;
+    return this;
+  }
+
+  public boolean isPartialEntityUpdates() {
+    return partialEntityUpdates;
+  }
+
+  public ProcessEngineConfigurationImpl setPartialEntityUpdates(boolean partialEntityUpdates) {
+    this.partialEntityUpdates = partialEntityUpdates;
+    return this;
+  }
+
+  public int getDeploymentParseThreads() {
+    return deploymentParseThreads;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentParseThreads(int deploymentParseThreads) {
+    this.deploymentParseThreads = deploymentParseThreads;
+    return this;
+  }
+
+  public ExecutorService getDeploymentParseExecutor() {
+    return deploymentParseExecutor;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentParseExecutor(ExecutorService deploymentParseExecutor) {
+    this.deploymentParseExecutor = deploymentParseExecutor;
+    return this;
+  }
+
+  public String getValidatedResourceCacheDirectory() {
+    return validatedResourceCacheDirectory;
+  }
+
+  public ProcessEngineConfigurationImpl setValidatedResourceCacheDirectory(String validatedResourceCacheDirectory) {
+    this.validatedResourceCacheDirectory = validatedResourceCacheDirectory;
+    return this;
+  }
+
+  public ValidatedResourceCache getValidatedResourceCache() {
+    return validatedResourceCache;
+  }
+
+  public int getSignalBroadcastChunkSize() {
+    return signalBroadcastChunkSize;
+  }
+
+  public ProcessEngineConfigurationImpl setSignalBroadcastChunkSize(int signalBroadcastChunkSize) {
+    this.signalBroadcastChunkSize = signalBroadcastChunkSize;
+    return this;
+  }
+
+  public long getGroupMembershipCacheTimeToLive() {
+    return groupMembershipCacheTimeToLive;
+  }
+
+  public ProcessEngineConfigurationImpl setGroupMembershipCacheTimeToLive(long groupMembershipCacheTimeToLive) {
+    this.groupMembershipCacheTimeToLive = groupMembershipCacheTimeToLive;
+    return this;
+  }
+
+  public GroupMembershipCache getGroupMembershipCache() {
+    return groupMembershipCache;
+  }
+
+  public ProcessEngineConfigurationImpl setGroupMembershipCache(GroupMembershipCache groupMembershipCache) {
+    this.groupMembershipCache = groupMembershipCache;
+    return this;
+  }
+
+  public ProcessEngineConfigurationImpl setValidatedResourceCache(ValidatedResourceCache validatedResourceCache) {
+    this.validatedResourceCache = validatedResourceCache;
+    return this;
+  }
+
   public DbEntityCacheKeyMapping getDbEntityCacheKeyMapping() {
     return dbEntityCacheKeyMapping;
   }
@@ -2751,6 +3371,18 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   }
 
   public void close() {
+    if (idGenerator instanceof ConcurrentDbIdGenerator) {
+      ((ConcurrentDbIdGenerator) idGenerator).close();
+    }
+
+    if (deploymentParseExecutor != null) {
+      deploymentParseExecutor.shutdownNow();
+    }
+
+    if (validatedResourceCache != null) {
+      validatedResourceCache.close();
+    }
+
     if (forceCloseMybatisConnectionPool
         && dataSource instanceof PooledDataSource) {
 
@@ -2812,6 +3444,23 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public int getScriptEnginePoolSize() {
+    return scriptEnginePoolSize;
+  }
+
+  /**
+   * Sets the number of idle engines which are pooled per language for script engines
+   * which are not threadsafe. A size of 0 disables pooling. Defaults to the maximum
+   * pool size of the job executor if it is a {@link DefaultJobExecutor}.
+   *
+   * Pooled engines keep the scripts they compiled. Scripts in ecmascript (e.g. Nashorn)
+   * are never compiled, so for them only the creation of the engine is saved.
+   */
+  public ProcessEngineConfigurationImpl setScriptEnginePoolSize(int scriptEnginePoolSize) {
+    this.scriptEnginePoolSize = scriptEnginePoolSize;
+    return this;
+  }
+
   public boolean isEnableFetchScriptEngineFromProcessApplication() {
     return enableFetchScriptEngineFromProcessApplication;
   }
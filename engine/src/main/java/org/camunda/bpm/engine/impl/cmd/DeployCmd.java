@@ -49,6 +49,7 @@ import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionManager;
 import org.camunda.bpm.engine.impl.persistence.entity.PropertyChange;
 import org.camunda.bpm.engine.impl.persistence.entity.ResourceEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ResourceHash;
 import org.camunda.bpm.engine.impl.persistence.entity.ResourceManager;
 import org.camunda.bpm.engine.impl.persistence.entity.UserOperationLogManager;
 import org.camunda.bpm.engine.impl.repository.DeploymentBuilderImpl;
@@ -86,12 +87,7 @@ public class DeployCmd<T> implements Command<Deployment>, Serializable {
   }
 
   public Deployment execute(final CommandContext commandContext) {
-    // ensure serial processing of multiple deployments on the same node.
-    // We experienced deadlock situations with highly concurrent deployment of multiple
-    // applications on Jboss & Wildfly
-    synchronized (ProcessEngine.class) {
-      return doExecute(commandContext);
-    }
+    return doExecute(commandContext);
   }
 
   protected Deployment doExecute(final CommandContext commandContext) {
@@ -122,41 +118,57 @@ public class DeployCmd<T> implements Command<Deployment>, Serializable {
       throw new NotValidException("No deployment resources contained to deploy.");
     }
 
+    // calculate the hashes of the resources before any lock is acquired
+    calculateResourceHashes(deploymentBuilder.getDeployment());
+
     // perform deployment
-    Deployment deployment = commandContext.runWithoutAuthorization(new Callable<Deployment>() {
-      public Deployment call() throws Exception {
-        acquireExclusiveLock(commandContext);
-        DeploymentEntity deployment = initDeployment();
-        Map<String, ResourceEntity> resourcesToDeploy = resolveResourcesToDeploy(commandContext, deployment);
-        Map<String, ResourceEntity> resourcesToIgnore = new HashMap<String, ResourceEntity>(deployment.getResources());
-        resourcesToIgnore.keySet().removeAll(resourcesToDeploy.keySet());
-
-        if (!resourcesToDeploy.isEmpty()) {
-          log.fine("Creating new deployment.");
-          deployment.setResources(resourcesToDeploy);
-          deploy(deployment);
-        } else {
-          log.fine("Using existing deployment.");
-          deployment = getExistingDeployment(commandContext, deployment.getName());
-        }
+    Deployment deployment = performDeployment(commandContext);
 
-        scheduleProcessDefinitionActivation(commandContext, deployment);
+    createUserOperationLog(deploymentBuilder, deployment, commandContext);
 
-        if(deploymentBuilder instanceof ProcessApplicationDeploymentBuilder) {
-          // for process application deployments, job executor registration is managed by
-          // process application manager
-          Set<String> processesToRegisterFor = retrieveProcessKeysFromResources(resourcesToIgnore);
-          ProcessApplicationRegistration registration = registerProcessApplication(commandContext, deployment, processesToRegisterFor);
-          return new ProcessApplicationDeploymentImpl(deployment, registration);
-        } else {
-          registerWithJobExecutor(commandContext, deployment);
+    return deployment;
+  }
+
+  protected Deployment performDeployment(final CommandContext commandContext) {
+    // ensure serial processing of multiple deployments on the same node.
+    // We experienced deadlock situations with highly concurrent deployment of multiple
+    // applications on Jboss & Wildfly
+    synchronized (ProcessEngine.class) {
+      return commandContext.runWithoutAuthorization(new Callable<Deployment>() {
+        public Deployment call() throws Exception {
+          return doPerformDeployment(commandContext);
         }
+      });
+    }
+  }
 
-        return deployment;
-      }
-    });
+  protected Deployment doPerformDeployment(CommandContext commandContext) {
+    acquireExclusiveLock(commandContext);
+    DeploymentEntity deployment = initDeployment();
+    Map<String, ResourceEntity> resourcesToDeploy = resolveResourcesToDeploy(commandContext, deployment);
+    Map<String, ResourceEntity> resourcesToIgnore = new HashMap<String, ResourceEntity>(deployment.getResources());
+    resourcesToIgnore.keySet().removeAll(resourcesToDeploy.keySet());
 
-    createUserOperationLog(deploymentBuilder, deployment, commandContext);
+    if (!resourcesToDeploy.isEmpty()) {
+      log.fine("Creating new deployment.");
+      deployment.setResources(resourcesToDeploy);
+      deploy(deployment);
+    } else {
+      log.fine("Using existing deployment.");
+      deployment = getExistingDeployment(commandContext, deployment.getName());
+    }
+
+    scheduleProcessDefinitionActivation(commandContext, deployment);
+
+    if(deploymentBuilder instanceof ProcessApplicationDeploymentBuilder) {
+      // for process application deployments, job executor registration is managed by
+      // process application manager
+      Set<String> processesToRegisterFor = retrieveProcessKeysFromResources(resourcesToIgnore);
+      ProcessApplicationRegistration registration = registerProcessApplication(commandContext, deployment, processesToRegisterFor);
+      return new ProcessApplicationDeploymentImpl(deployment, registration);
+    } else {
+      registerWithJobExecutor(commandContext, deployment);
+    }
 
     return deployment;
   }
@@ -412,6 +424,15 @@ public class DeployCmd<T> implements Command<Deployment>, Serializable {
     }
   }
 
+  protected void calculateResourceHashes(DeploymentEntity deployment) {
+    Map<String, ResourceEntity> resources = deployment.getResources();
+    if (resources != null) {
+      for (ResourceEntity resource : resources.values()) {
+        resource.getHash();
+      }
+    }
+  }
+
   protected DeploymentEntity initDeployment() {
     DeploymentEntity deployment = deploymentBuilder.getDeployment();
     deployment.setDeploymentTime(ClockUtil.getCurrentTime());
@@ -429,13 +450,14 @@ public class DeployCmd<T> implements Command<Deployment>, Serializable {
         source = ProcessApplicationDeployment.PROCESS_APPLICATION_DEPLOYMENT_SOURCE;
       }
 
-      Map<String, ResourceEntity> existingResources = commandContext
+      // compare the hashes of the resources, so the bytes of unchanged resources are not loaded
+      Map<String, ResourceHash> existingResources = commandContext
           .getResourceManager()
-          .findLatestResourcesByDeploymentName(deployment.getName(), containedResources.keySet(), source);
+          .findLatestResourceHashesByDeploymentName(deployment.getName(), containedResources.keySet(), source);
 
       for (ResourceEntity deployedResource : containedResources.values()) {
         String resourceName = deployedResource.getName();
-        ResourceEntity existingResource = existingResources.get(resourceName);
+        ResourceHash existingResource = existingResources.get(resourceName);
 
         if (existingResource == null
             || existingResource.isGenerated()
@@ -459,6 +481,22 @@ public class DeployCmd<T> implements Command<Deployment>, Serializable {
     return resourcesToDeploy;
   }
 
+  protected boolean resourcesDiffer(ResourceEntity resource, ResourceHash existing) {
+    String existingHash = existing.getHash();
+
+    if (existingHash != null) {
+      return !existingHash.equals(resource.getHash());
+    }
+    else {
+      // the resource was deployed before hashes were stored
+      ResourceEntity existingResource = Context
+          .getCommandContext()
+          .getResourceManager()
+          .findResourceByDeploymentIdAndResourceName(existing.getDeploymentId(), existing.getName());
+      return resourcesDiffer(resource, existingResource);
+    }
+  }
+
   protected boolean resourcesDiffer(ResourceEntity resource, ResourceEntity existing) {
     byte[] bytes = resource.getBytes();
     byte[] savedBytes = existing.getBytes();
@@ -55,7 +55,7 @@ public class FetchExternalTasksCmd implements Command<List<LockedExternalTask>>
 
     List<ExternalTaskEntity> externalTasks = commandContext
       .getExternalTaskManager()
-      .selectExternalTasksForTopics(fetchInstructions.keySet(), maxResults);
+      .selectExternalTasksForTopics(fetchInstructions.keySet(), maxResults, workerId);
 
     final List<LockedExternalTask> result = new ArrayList<LockedExternalTask>();
 
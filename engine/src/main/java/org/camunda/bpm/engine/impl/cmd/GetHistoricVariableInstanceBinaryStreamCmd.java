@@ -0,0 +1,57 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+
+import java.io.InputStream;
+
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.AuthorizationManager;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoricVariableInstanceEntity;
+
+/**
+ * Returns the binary value of a historic variable instance as a stream, without loading it into memory.
+ */
+public class GetHistoricVariableInstanceBinaryStreamCmd implements Command<InputStream> {
+
+  protected String historicVariableInstanceId;
+
+  public GetHistoricVariableInstanceBinaryStreamCmd(String historicVariableInstanceId) {
+    this.historicVariableInstanceId = historicVariableInstanceId;
+  }
+
+  public InputStream execute(CommandContext commandContext) {
+    ensureNotNull("historicVariableInstanceId", historicVariableInstanceId);
+
+    HistoricVariableInstanceEntity variableInstance = commandContext
+        .getDbEntityManager()
+        .selectById(HistoricVariableInstanceEntity.class, historicVariableInstanceId);
+
+    ensureNotNull("No historic variable instance found with id " + historicVariableInstanceId, "historicVariableInstance", variableInstance);
+
+    AuthorizationManager authorizationManager = commandContext.getAuthorizationManager();
+    authorizationManager.checkReadHistoricVariableInstance(variableInstance);
+
+    String byteArrayId = variableInstance.getByteArrayId();
+    if (byteArrayId == null) {
+      return null;
+    }
+
+    return commandContext
+        .getByteArrayManager()
+        .openByteArrayStream(byteArrayId);
+  }
+
+}
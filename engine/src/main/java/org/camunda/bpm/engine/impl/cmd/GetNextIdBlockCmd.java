@@ -31,6 +31,9 @@ public class GetNextIdBlockCmd implements Command<IdBlock> {
   }
 
   public IdBlock execute(CommandContext commandContext) {
+    // the id block property is updated all the time and must be read from the database
+    commandContext.getDbEntityManager().bypassSecondLevelCache();
+
     PropertyEntity property = commandContext
       .getPropertyManager()
       .findPropertyById("next.dbid");
@@ -0,0 +1,88 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+
+import java.io.InputStream;
+
+import org.camunda.bpm.engine.impl.cmmn.entity.runtime.CaseExecutionEntity;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.AuthorizationManager;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+
+/**
+ * Returns the binary value of a variable instance as a stream, without loading it into memory.
+ */
+public class GetVariableInstanceBinaryStreamCmd implements Command<InputStream> {
+
+  protected String variableInstanceId;
+
+  public GetVariableInstanceBinaryStreamCmd(String variableInstanceId) {
+    this.variableInstanceId = variableInstanceId;
+  }
+
+  public InputStream execute(CommandContext commandContext) {
+    ensureNotNull("variableInstanceId", variableInstanceId);
+
+    VariableInstanceEntity variableInstance = commandContext
+        .getDbEntityManager()
+        .selectById(VariableInstanceEntity.class, variableInstanceId);
+
+    ensureNotNull("No variable instance found with id " + variableInstanceId, "variableInstance", variableInstance);
+
+    checkReadVariableInstance(commandContext, variableInstance);
+
+    String byteArrayId = variableInstance.getByteArrayValueId();
+    if (byteArrayId == null) {
+      return null;
+    }
+
+    return commandContext
+        .getByteArrayManager()
+        .openByteArrayStream(byteArrayId);
+  }
+
+  /**
+   * Performs the same checks as the variable instance query: variables of a process
+   * instance require to read the process instance, variables of a standalone task
+   * require to read the task and variables of a case instance are visible to all users.
+   */
+  protected void checkReadVariableInstance(CommandContext commandContext, VariableInstanceEntity variableInstance) {
+    AuthorizationManager authorizationManager = commandContext.getAuthorizationManager();
+
+    if (variableInstance.getExecutionId() != null) {
+      ExecutionEntity execution = commandContext.getExecutionManager().findExecutionById(variableInstance.getExecutionId());
+      ensureNotNull("Cannot find execution " + variableInstance.getExecutionId() + " of variable instance " + variableInstanceId,
+          "execution", execution);
+      authorizationManager.checkReadProcessInstance(execution);
+    }
+    else if (variableInstance.getCaseExecutionId() != null) {
+      CaseExecutionEntity caseExecution = commandContext.getCaseExecutionManager().findCaseExecutionById(variableInstance.getCaseExecutionId());
+      ensureNotNull("Cannot find case execution " + variableInstance.getCaseExecutionId() + " of variable instance " + variableInstanceId,
+          "caseExecution", caseExecution);
+    }
+    else {
+      String taskId = variableInstance.getTaskId();
+      ensureNotNull("Cannot find the owner of variable instance " + variableInstanceId, "taskId", taskId);
+
+      TaskEntity task = commandContext.getTaskManager().findTaskById(taskId);
+      ensureNotNull("Cannot find task " + taskId + " of variable instance " + variableInstanceId, "task", task);
+      authorizationManager.checkReadTask(task);
+    }
+  }
+
+}
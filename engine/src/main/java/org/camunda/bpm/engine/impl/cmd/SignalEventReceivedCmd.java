@@ -18,14 +18,17 @@ import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.SignalEventBroadcastJobHandler;
 import org.camunda.bpm.engine.impl.persistence.deploy.DeploymentCache;
 import org.camunda.bpm.engine.impl.persistence.entity.AuthorizationManager;
 import org.camunda.bpm.engine.impl.persistence.entity.EventSubscriptionManager;
@@ -48,6 +51,7 @@ public class SignalEventReceivedCmd implements Command<Void> {
   protected final String eventName;
   protected final String executionId;
   protected final Map<String, Object> variables;
+  protected boolean asynchronous = false;
 
   public SignalEventReceivedCmd(String eventName, String executionId, Map<String, Object> variables) {
     this.eventName = eventName;
@@ -55,24 +59,27 @@ public class SignalEventReceivedCmd implements Command<Void> {
     this.variables = variables;
   }
 
+  /**
+   * @param asynchronous if true, the signal is broadcast by jobs which process
+   *   the subscriptions in chunks, each in its own transaction
+   */
+  public SignalEventReceivedCmd(String eventName, boolean asynchronous) {
+    this(eventName, null, null);
+    this.asynchronous = asynchronous;
+  }
+
   @Override
   public Void execute(final CommandContext commandContext) {
     final EventSubscriptionManager eventSubscriptionManager = commandContext.getEventSubscriptionManager();
     final AuthorizationManager authorizationManager = commandContext.getAuthorizationManager();
 
-    if(executionId == null) {
-
-      List<SignalEventSubscriptionEntity> signalEventSubscriptions = eventSubscriptionManager.findSignalEventSubscriptionsByEventName(eventName);
-
-      List<SignalEventSubscriptionEntity> catchSignalEventSubscription = filterIntermediateSubscriptions(signalEventSubscriptions);
-      List<SignalEventSubscriptionEntity> startSignalEventSubscriptions = filterStartSubscriptions(signalEventSubscriptions);
-      Map<String, ProcessDefinitionEntity> processDefinitions = getProcessDefinitionsOfSubscriptions(startSignalEventSubscriptions);
+    if(executionId == null && asynchronous) {
+      SignalEventBroadcastJobHandler.scheduleBroadcast(commandContext, eventName);
 
-      checkAuthorizationOfCatchSignals(authorizationManager, catchSignalEventSubscription);
-      checkAuthorizationOfStartSignals(authorizationManager, startSignalEventSubscriptions, processDefinitions);
+    } else if(executionId == null) {
 
-      notifyExecutions(catchSignalEventSubscription);
-      startProcessInstances(startSignalEventSubscriptions, processDefinitions);
+      List<SignalEventSubscriptionEntity> signalEventSubscriptions = eventSubscriptionManager.findSignalEventSubscriptionsByEventName(eventName);
+      broadcast(commandContext, signalEventSubscriptions);
 
     } else {
 
@@ -90,6 +97,23 @@ public class SignalEventReceivedCmd implements Command<Void> {
     return null;
   }
 
+  /**
+   * Delivers the signal to the given subscriptions.
+   */
+  public void broadcast(CommandContext commandContext, List<SignalEventSubscriptionEntity> signalEventSubscriptions) {
+    AuthorizationManager authorizationManager = commandContext.getAuthorizationManager();
+
+    List<SignalEventSubscriptionEntity> catchSignalEventSubscription = filterIntermediateSubscriptions(signalEventSubscriptions);
+    List<SignalEventSubscriptionEntity> startSignalEventSubscriptions = filterStartSubscriptions(signalEventSubscriptions);
+    Map<String, ProcessDefinitionEntity> processDefinitions = getProcessDefinitionsOfSubscriptions(startSignalEventSubscriptions);
+
+    checkAuthorizationOfCatchSignals(authorizationManager, catchSignalEventSubscription);
+    checkAuthorizationOfStartSignals(authorizationManager, startSignalEventSubscriptions, processDefinitions);
+
+    notifyExecutions(catchSignalEventSubscription);
+    startProcessInstances(startSignalEventSubscriptions, processDefinitions);
+  }
+
   protected Map<String, ProcessDefinitionEntity> getProcessDefinitionsOfSubscriptions(List<SignalEventSubscriptionEntity> startSignalEventSubscriptions) {
     DeploymentCache deploymentCache = Context.getProcessEngineConfiguration().getDeploymentCache();
 
@@ -115,11 +139,15 @@ public class SignalEventReceivedCmd implements Command<Void> {
   }
 
   protected void checkAuthorizationOfCatchSignals(final AuthorizationManager authorizationManager, List<SignalEventSubscriptionEntity> catchSignalEventSubscription) {
-    // check authorization for each fetched signal event
+    // check authorization for the process instances of the fetched signal events
+    Set<ExecutionEntity> processInstances = new LinkedHashSet<ExecutionEntity>();
     for (SignalEventSubscriptionEntity event : catchSignalEventSubscription) {
-      String processInstanceId = event.getProcessInstanceId();
-      authorizationManager.checkUpdateProcessInstanceById(processInstanceId);
+      ExecutionEntity execution = event.getExecution();
+      if (execution != null) {
+        processInstances.add(execution.getProcessInstance());
+      }
     }
+    authorizationManager.checkUpdateProcessInstances(processInstances);
   }
 
   private void checkAuthorizationOfStartSignals(final AuthorizationManager authorizationManager,
@@ -26,6 +26,7 @@ import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.cmmn.entity.repository.CaseDefinitionEntity;
 import org.camunda.bpm.engine.impl.cmmn.execution.CmmnExecution;
 import org.camunda.bpm.engine.impl.cmmn.execution.CmmnSentryPart;
+import org.camunda.bpm.engine.impl.cmmn.execution.CmmnSentryPartIndex;
 import org.camunda.bpm.engine.impl.cmmn.model.CmmnActivity;
 import org.camunda.bpm.engine.impl.cmmn.model.CmmnCaseDefinition;
 import org.camunda.bpm.engine.impl.cmmn.operation.CmmnAtomicOperation;
@@ -78,7 +79,7 @@ public class CaseExecutionEntity extends CmmnExecution implements CaseExecution,
 
   /** nested case sentry parts */
   protected List<CaseSentryPartEntity> caseSentryParts;
-  protected Map<String, List<CmmnSentryPart>> sentries;
+  protected transient CmmnSentryPartIndex sentryPartIndex;
 
   /** reference to a sub process instance, not-null if currently subprocess is started from this execution */
   protected transient ExecutionEntity subProcessInstance;
@@ -553,50 +554,33 @@ public class CaseExecutionEntity extends CmmnExecution implements CaseExecution,
         .getCommandContext()
         .getCaseSentryPartManager()
         .findCaseSentryPartsByCaseExecutionId(id);
-
-      // create a map sentries: sentryId -> caseSentryParts
-      // for simple select to get all parts for one sentry
-      sentries = new HashMap<String, List<CmmnSentryPart>>();
-
-      for (CaseSentryPartEntity sentryPart : caseSentryParts) {
-
-        String sentryId = sentryPart.getSentryId();
-        List<CmmnSentryPart> parts = sentries.get(sentryId);
-
-        if (parts == null) {
-          parts = new ArrayList<CmmnSentryPart>();
-          sentries.put(sentryId, parts);
-        }
-
-        parts.add(sentryPart);
-      }
     }
   }
 
   protected void addSentryPart(CmmnSentryPart sentryPart) {
     CaseSentryPartEntity entity = (CaseSentryPartEntity) sentryPart;
 
+    // build the index before the part is added, otherwise it would be indexed twice
+    CmmnSentryPartIndex index = getSentryPartIndex();
     getCaseSentryParts().add(entity);
-
-    String sentryId = sentryPart.getSentryId();
-    List<CmmnSentryPart> parts = sentries.get(sentryId);
-
-    if (parts == null) {
-      parts = new ArrayList<CmmnSentryPart>();
-      sentries.put(sentryId, parts);
-    }
-
-    parts.add(entity);
+    index.add(entity);
   }
 
   protected Map<String, List<CmmnSentryPart>> getSentries() {
-    ensureCaseSentryPartsInitialized();
-    return sentries;
+    return getSentryPartIndex().getSentries();
   }
 
   protected List<CmmnSentryPart> findSentry(String sentryId) {
-    ensureCaseSentryPartsInitialized();
-    return sentries.get(sentryId);
+    return getSentryPartIndex().getSentry(sentryId);
+  }
+
+  protected CmmnSentryPartIndex getSentryPartIndex() {
+    if (sentryPartIndex == null) {
+      // index the parts by sentry and by source for simple
+      // select of all parts of a sentry or of a transition
+      sentryPartIndex = new CmmnSentryPartIndex(getCaseSentryParts());
+    }
+    return sentryPartIndex;
   }
 
   protected CaseSentryPartEntity newSentryPart() {
@@ -14,7 +14,6 @@ package org.camunda.bpm.engine.impl.cmmn.execution;
 
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -48,6 +47,7 @@ public class CaseExecutionImpl extends CmmnExecution implements Serializable {
   protected List<CaseExecutionImpl> caseExecutions;
 
   protected List<CaseSentryPartImpl> caseSentryParts;
+  protected transient CmmnSentryPartIndex sentryPartIndex;
 
   protected CaseExecutionImpl caseInstance;
 
@@ -201,38 +201,29 @@ public class CaseExecutionImpl extends CmmnExecution implements Serializable {
   }
 
   protected Map<String, List<CmmnSentryPart>> getSentries() {
-    Map<String, List<CmmnSentryPart>> sentries = new HashMap<String, List<CmmnSentryPart>>();
-
-    for (CaseSentryPartImpl sentryPart : getCaseSentryParts()) {
-
-      String sentryId = sentryPart.getSentryId();
-      List<CmmnSentryPart> parts = sentries.get(sentryId);
-
-      if (parts == null) {
-        parts = new ArrayList<CmmnSentryPart>();
-        sentries.put(sentryId, parts);
-      }
+    return getSentryPartIndex().getSentries();
+  }
 
-      parts.add(sentryPart);
+  protected List<CmmnSentryPart> findSentry(String sentryId) {
+    List<CmmnSentryPart> sentryParts = getSentryPartIndex().getSentry(sentryId);
+    if (sentryParts == null) {
+      return new ArrayList<CmmnSentryPart>();
     }
-
-    return sentries;
+    return sentryParts;
   }
 
-  protected List<CaseSentryPartImpl> findSentry(String sentryId) {
-    List<CaseSentryPartImpl> result = new ArrayList<CaseSentryPartImpl>();
-
-    for (CaseSentryPartImpl sentryPart : getCaseSentryParts()) {
-      if (sentryPart.getSentryId().equals(sentryId)) {
-        result.add(sentryPart);
-      }
+  protected CmmnSentryPartIndex getSentryPartIndex() {
+    if (sentryPartIndex == null) {
+      sentryPartIndex = new CmmnSentryPartIndex(getCaseSentryParts());
     }
-
-    return result;
+    return sentryPartIndex;
   }
 
   protected void addSentryPart(CmmnSentryPart sentryPart) {
+    // build the index before the part is added, otherwise it would be indexed twice
+    CmmnSentryPartIndex index = getSentryPartIndex();
     getCaseSentryParts().add((CaseSentryPartImpl) sentryPart);
+    index.add(sentryPart);
   }
 
   protected CmmnSentryPart newSentryPart() {
@@ -319,11 +319,10 @@ public abstract class CmmnExecution extends CoreExecution implements CmmnCaseIns
 
       // Step 6: get all not affected sentries to avoid that a
       // sentry will be checked twice;
-      Map<String, List<CmmnSentryPart>> sentries = getSentries();
+      // but only those ones which has an ifPart defined
       List<String> notAffectedSentries = new ArrayList<String>();
-      for (String sentryId : sentries.keySet()) {
-        // but only those ones which has an ifPart defined
-        if (!affectedSentries.contains(sentryId) && containsIfPart(sentryId)) {
+      for (String sentryId : getSentryPartIndex().getSentriesWithIfPart()) {
+        if (!affectedSentries.contains(sentryId)) {
           notAffectedSentries.add(sentryId);
         }
       }
@@ -341,32 +340,23 @@ public abstract class CmmnExecution extends CoreExecution implements CmmnCaseIns
   }
 
   protected List<String> collectAffectedSentries(CmmnExecution child, String transition) {
-    List<? extends CmmnSentryPart> sentryParts = getCaseSentryParts();
+    // only the on parts which listen to the transition of the child are
+    // looked up (the source case execution id is necessary for backward compatibility)
+    List<CmmnSentryPart> sentryParts = getSentryPartIndex().getOnParts(child.getActivityId(), child.getId(), transition);
 
     List<String> affectedSentries = new ArrayList<String>();
 
     for (CmmnSentryPart sentryPart : sentryParts) {
 
-      // necessary for backward compatibility
-      String sourceCaseExecutionId = sentryPart.getSourceCaseExecutionId();
-      String sourceRef = sentryPart.getSource();
-      if (child.getActivityId().equals(sourceRef) || child.getId().equals(sourceCaseExecutionId)) {
+      if (!sentryPart.isSatisfied()) {
+        // if it is not already satisfied, then set the
+        // current case sentry part to satisfied (=true).
+        String sentryId = sentryPart.getSentryId();
+        sentryPart.setSatisfied(true);
 
-        String standardEvent = sentryPart.getStandardEvent();
-
-        if (transition.equals(standardEvent)) {
-
-          if (!sentryPart.isSatisfied()) {
-            // if it is not already satisfied, then set the
-            // current case sentry part to satisfied (=true).
-            String sentryId = sentryPart.getSentryId();
-            sentryPart.setSatisfied(true);
-
-            // collect the id of affected sentry.
-            if (!affectedSentries.contains(sentryId)) {
-              affectedSentries.add(sentryId);
-            }
-          }
+        // collect the id of affected sentry.
+        if (!affectedSentries.contains(sentryId)) {
+          affectedSentries.add(sentryId);
         }
       }
     }
@@ -515,6 +505,11 @@ public abstract class CmmnExecution extends CoreExecution implements CmmnCaseIns
 
   protected abstract Map<String, List<CmmnSentryPart>> getSentries();
 
+  /**
+   * @return the index of the sentry parts of this case execution
+   */
+  protected abstract CmmnSentryPartIndex getSentryPartIndex();
+
   public boolean isSentrySatisfied(String sentryId) {
     List<? extends CmmnSentryPart> sentryParts = findSentry(sentryId);
 
@@ -574,15 +569,7 @@ public abstract class CmmnExecution extends CoreExecution implements CmmnCaseIns
   }
 
   protected boolean containsIfPart(String sentryId) {
-    List<? extends CmmnSentryPart> sentries = findSentry(sentryId);
-
-    for (CmmnSentryPart part : sentries) {
-      if (IF_PART.equals(part.getType())) {
-        return true;
-      }
-    }
-
-    return false;
+    return getSentryPartIndex().getSentriesWithIfPart().contains(sentryId);
   }
 
   public boolean isEntryCriterionSatisfied() {
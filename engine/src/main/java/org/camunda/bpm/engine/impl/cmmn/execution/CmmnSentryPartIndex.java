@@ -0,0 +1,134 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmmn.execution;
+
+import static org.camunda.bpm.engine.impl.cmmn.model.CmmnSentryDeclaration.IF_PART;
+import static org.camunda.bpm.engine.impl.cmmn.model.CmmnSentryDeclaration.PLAN_ITEM_ON_PART;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>Index of the sentry parts of a case execution.</p>
+ *
+ * <p>Besides grouping the parts by sentry, the plan item on parts are indexed by their
+ * source and standard event. So the sentries affected by a transition of a child
+ * are found without looking at the sentry parts of other sources.</p>
+ */
+public class CmmnSentryPartIndex {
+
+  protected Map<String, List<CmmnSentryPart>> sentries = new HashMap<String, List<CmmnSentryPart>>();
+
+  protected Map<String, List<CmmnSentryPart>> onPartsBySource = new HashMap<String, List<CmmnSentryPart>>();
+  protected Map<String, List<CmmnSentryPart>> onPartsBySourceCaseExecution = new HashMap<String, List<CmmnSentryPart>>();
+
+  protected Set<String> sentriesWithIfPart = new LinkedHashSet<String>();
+
+  public CmmnSentryPartIndex() {
+  }
+
+  public CmmnSentryPartIndex(Collection<? extends CmmnSentryPart> sentryParts) {
+    for (CmmnSentryPart sentryPart : sentryParts) {
+      add(sentryPart);
+    }
+  }
+
+  public void add(CmmnSentryPart sentryPart) {
+    String sentryId = sentryPart.getSentryId();
+    addToList(sentries, sentryId, sentryPart);
+
+    if (PLAN_ITEM_ON_PART.equals(sentryPart.getType())) {
+      String standardEvent = sentryPart.getStandardEvent();
+
+      if (sentryPart.getSource() != null) {
+        addToList(onPartsBySource, getKey(sentryPart.getSource(), standardEvent), sentryPart);
+      }
+
+      // necessary for backward compatibility
+      if (sentryPart.getSourceCaseExecutionId() != null) {
+        addToList(onPartsBySourceCaseExecution, getKey(sentryPart.getSourceCaseExecutionId(), standardEvent), sentryPart);
+      }
+    }
+    else if (IF_PART.equals(sentryPart.getType())) {
+      sentriesWithIfPart.add(sentryId);
+    }
+  }
+
+  /**
+   * @return the parts of all sentries by sentry id
+   */
+  public Map<String, List<CmmnSentryPart>> getSentries() {
+    return sentries;
+  }
+
+  /**
+   * @return the parts of the sentry or null if the sentry has no parts
+   */
+  public List<CmmnSentryPart> getSentry(String sentryId) {
+    return sentries.get(sentryId);
+  }
+
+  /**
+   * @return the ids of the sentries which have an if part
+   */
+  public Set<String> getSentriesWithIfPart() {
+    return sentriesWithIfPart;
+  }
+
+  /**
+   * @return the plan item on parts which listen to the given standard event of the source
+   * activity or the source case execution
+   */
+  public List<CmmnSentryPart> getOnParts(String sourceActivityId, String sourceCaseExecutionId, String standardEvent) {
+    List<CmmnSentryPart> bySource = onPartsBySource.get(getKey(sourceActivityId, standardEvent));
+    List<CmmnSentryPart> bySourceCaseExecution = onPartsBySourceCaseExecution.get(getKey(sourceCaseExecutionId, standardEvent));
+
+    if (bySourceCaseExecution == null) {
+      return bySource != null ? bySource : Collections.<CmmnSentryPart>emptyList();
+    }
+    else if (bySource == null) {
+      return bySourceCaseExecution;
+    }
+    else {
+      List<CmmnSentryPart> onParts = new ArrayList<CmmnSentryPart>(bySource);
+      for (CmmnSentryPart sentryPart : bySourceCaseExecution) {
+        if (!bySource.contains(sentryPart)) {
+          onParts.add(sentryPart);
+        }
+      }
+      return onParts;
+    }
+  }
+
+  protected String getKey(String source, String standardEvent) {
+    return source + ":" + standardEvent;
+  }
+
+  protected void addToList(Map<String, List<CmmnSentryPart>> map, String key, CmmnSentryPart sentryPart) {
+    List<CmmnSentryPart> parts = map.get(key);
+
+    if (parts == null) {
+      parts = new ArrayList<CmmnSentryPart>();
+      map.put(key, parts);
+    }
+
+    parts.add(sentryPart);
+  }
+
+}
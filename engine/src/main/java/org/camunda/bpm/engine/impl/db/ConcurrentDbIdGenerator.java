@@ -0,0 +1,236 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cfg.IdGenerator;
+import org.camunda.bpm.engine.impl.cmd.GetNextIdBlockCmd;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+
+/**
+ * <p>An {@link IdGenerator} which hands out ids from the database like the
+ * {@link DbIdGenerator} but does not serialize all threads on one monitor.</p>
+ *
+ * <p>Ids are taken from a number of stripes; a thread always uses the stripe
+ * selected by its thread id. Each stripe owns an {@link IdBlock} from which
+ * ids are taken with a compare-and-set. Once a configurable fraction of a block is
+ * used up, the next block is fetched asynchronously so that the stripe usually
+ * does not have to wait for the database when switching to the next block.</p>
+ *
+ * <p>Note that ids are only increasing per stripe; ids handed out to different
+ * threads of the same process engine are not ordered.</p>
+ */
+public class ConcurrentDbIdGenerator implements IdGenerator {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  protected int idBlockSize;
+  protected int numberOfStripes = Runtime.getRuntime().availableProcessors();
+
+  /** the fraction of a block which is used up before the next block is prefetched */
+  protected float prefetchThreshold = 0.5f;
+
+  protected CommandExecutor commandExecutor;
+
+  protected volatile IdStripe[] stripes;
+  protected volatile ExecutorService prefetchExecutor;
+
+  /** serializes fetching of blocks; concurrent fetches would fail with an optimistic locking exception */
+  protected final Object fetchLock = new Object();
+
+  public String getNextId() {
+    IdStripe stripe = getStripe();
+
+    while (true) {
+      IdRange range = stripe.range;
+      long nextId = range.nextId.getAndIncrement();
+
+      if (nextId <= range.lastId) {
+        if (nextId == range.prefetchId) {
+          prefetchNextBlock(stripe);
+        }
+        return Long.toString(nextId);
+      }
+
+      switchToNextBlock(stripe, range);
+    }
+  }
+
+  protected IdStripe getStripe() {
+    IdStripe[] stripes = this.stripes;
+    if (stripes == null) {
+      stripes = initStripes();
+    }
+    int index = (int) (Thread.currentThread().getId() % stripes.length);
+    return stripes[index];
+  }
+
+  protected synchronized IdStripe[] initStripes() {
+    if (stripes == null) {
+      IdStripe[] newStripes = new IdStripe[Math.max(1, numberOfStripes)];
+      for (int i = 0; i < newStripes.length; i++) {
+        newStripes[i] = new IdStripe();
+      }
+      prefetchExecutor = Executors.newSingleThreadExecutor(new PrefetchThreadFactory());
+      stripes = newStripes;
+    }
+    return stripes;
+  }
+
+  protected void switchToNextBlock(IdStripe stripe, IdRange exhaustedRange) {
+    synchronized (stripe) {
+      // another thread of the stripe may have switched already
+      if (stripe.range == exhaustedRange) {
+        IdBlock idBlock = takeNextBlock(stripe);
+        stripe.range = new IdRange(idBlock, getPrefetchId(idBlock));
+      }
+    }
+  }
+
+  protected IdBlock takeNextBlock(IdStripe stripe) {
+    Future<IdBlock> nextBlock = stripe.nextBlock;
+    stripe.nextBlock = null;
+
+    if (nextBlock != null) {
+      try {
+        return nextBlock.get();
+      }
+      catch (Exception e) {
+        // the block is fetched synchronously instead
+        LOG.prefetchIdBlockFailure(e);
+      }
+    }
+
+    return fetchBlock();
+  }
+
+  protected void prefetchNextBlock(IdStripe stripe) {
+    ExecutorService prefetchExecutor = this.prefetchExecutor;
+    if (prefetchExecutor == null) {
+      // closed; the next block is fetched when it is needed
+      return;
+    }
+
+    synchronized (stripe) {
+      if (stripe.nextBlock == null) {
+        stripe.nextBlock = prefetchExecutor.submit(new Callable<IdBlock>() {
+          public IdBlock call() throws Exception {
+            return fetchBlock();
+          }
+        });
+      }
+    }
+  }
+
+  protected IdBlock fetchBlock() {
+    synchronized (fetchLock) {
+      return commandExecutor.execute(new GetNextIdBlockCmd(idBlockSize));
+    }
+  }
+
+  protected long getPrefetchId(IdBlock idBlock) {
+    long blockSize = idBlock.getLastId() - idBlock.getNextId() + 1;
+    return idBlock.getNextId() + (long) (blockSize * prefetchThreshold);
+  }
+
+  /**
+   * Stops the prefetching of id blocks. Ids of blocks which were fetched but
+   * not used are lost.
+   */
+  public synchronized void close() {
+    if (prefetchExecutor != null) {
+      prefetchExecutor.shutdownNow();
+      prefetchExecutor = null;
+    }
+    stripes = null;
+  }
+
+  // getters / setters /////////////////////////////////
+
+  public int getIdBlockSize() {
+    return idBlockSize;
+  }
+
+  public void setIdBlockSize(int idBlockSize) {
+    this.idBlockSize = idBlockSize;
+  }
+
+  public int getNumberOfStripes() {
+    return numberOfStripes;
+  }
+
+  public void setNumberOfStripes(int numberOfStripes) {
+    this.numberOfStripes = numberOfStripes;
+  }
+
+  public float getPrefetchThreshold() {
+    return prefetchThreshold;
+  }
+
+  public void setPrefetchThreshold(float prefetchThreshold) {
+    this.prefetchThreshold = prefetchThreshold;
+  }
+
+  public CommandExecutor getCommandExecutor() {
+    return commandExecutor;
+  }
+
+  public void setCommandExecutor(CommandExecutor commandExecutor) {
+    this.commandExecutor = commandExecutor;
+  }
+
+  /**
+   * The ids of a stripe and its prefetched next block.
+   */
+  protected static class IdStripe {
+
+    protected volatile IdRange range = new IdRange(new IdBlock(0, -1), -1);
+    protected volatile Future<IdBlock> nextBlock;
+
+  }
+
+  /**
+   * The ids of a block which are not handed out yet.
+   */
+  protected static class IdRange {
+
+    protected final AtomicLong nextId;
+    protected final long lastId;
+    protected final long prefetchId;
+
+    public IdRange(IdBlock idBlock, long prefetchId) {
+      this.nextId = new AtomicLong(idBlock.getNextId());
+      this.lastId = idBlock.getLastId();
+      this.prefetchId = prefetchId;
+    }
+
+  }
+
+  protected static class PrefetchThreadFactory implements ThreadFactory {
+
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, "camunda-id-block-prefetch");
+      thread.setDaemon(true);
+      return thread;
+    }
+
+  }
+
+}
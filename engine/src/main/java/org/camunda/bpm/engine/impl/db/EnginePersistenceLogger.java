@@ -12,6 +12,7 @@
  */
 package org.camunda.bpm.engine.impl.db;
 
+import java.io.File;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -27,6 +28,7 @@ import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.CachedDbEntity;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityState;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
 import org.camunda.bpm.engine.impl.util.ClassNameUtil;
 import org.camunda.bpm.engine.variable.value.TypedValue;
@@ -117,6 +119,23 @@ public class EnginePersistenceLogger extends ProcessEngineLogger {
     ), cause);
   }
 
+  public ProcessEngineException flushDbOperationBatchException(List<DbOperation> operationsToFlush, Throwable cause) {
+    return new ProcessEngineException(exceptionMessage(
+      "074",
+      "Exception while executing a JDBC batch of database operations with message '{}'. Flush summary: \n {}",
+      cause.getMessage(),
+      buildStringFromList(operationsToFlush)
+    ), cause);
+  }
+
+  public ProcessEngineException batchUpdateCountUnavailableException(DbOperation operation) {
+    return new ProcessEngineException(exceptionMessage(
+      "075",
+      "The JDBC driver did not report the number of rows affected by the batched database operation '{}', "
+        + "so a concurrent modification cannot be detected. Disable JDBC batch processing for this driver.",
+      operation));
+  }
+
   public OptimisticLockingException concurrentUpdateDbEntityException(DbOperation operation) {
     return new OptimisticLockingException(exceptionMessage(
       "005",
@@ -161,6 +180,10 @@ public class EnginePersistenceLogger extends ProcessEngineLogger {
     }
   }
 
+  public void executeDatabaseBatch(int numberOfOperations) {
+    logDebug("065", "Executing JDBC batch of {} database operations", numberOfOperations);
+  }
+
   public void executeDatabaseBulkOperation(String operationType, String statement, Object parameter) {
     logDebug("010", "SQL bulk operation: '{}'; Statement: '{}'; Parameter: '{}'", operationType, statement, parameter);
   }
@@ -524,4 +547,79 @@ public class EnginePersistenceLogger extends ProcessEngineLogger {
         variableName
         ));
   }
+
+  public void prefetchIdBlockFailure(Throwable cause) {
+    logWarn(
+        "066",
+        "Prefetching the next id block failed, fetching it synchronously: {}",
+        cause.getMessage(),
+        cause);
+  }
+
+  public ProcessEngineException historyEventLogException(String action, File file, Throwable cause) {
+    return new ProcessEngineException(exceptionMessage(
+        "067",
+        "Could not {} history event log file '{}': {}",
+        action,
+        file,
+        cause.getMessage()),
+        cause);
+  }
+
+  public void historyEventAbortNotLogged(Throwable cause) {
+    logWarn(
+        "068",
+        "Could not record a rolled back transaction in the history event log, its history events are written if the log is recovered: {}",
+        cause.getMessage(),
+        cause);
+  }
+
+  public void writeHistoryEventsFailed(int numberOfEvents, Throwable cause) {
+    logWarn(
+        "069",
+        "Writing {} history events in a batch failed, retrying: {}",
+        numberOfEvents,
+        cause.getMessage(),
+        cause);
+  }
+
+  public void writeHistoryEventFailed(HistoryEvent historyEvent, boolean isKept, Throwable cause) {
+    logError(
+        "070",
+        "History event '{}' could not be written and is {}: {}",
+        historyEvent,
+        isKept ? "kept in the history event log" : "discarded",
+        cause.getMessage(),
+        cause);
+  }
+
+  public void readHistoryEventFailed(Throwable cause) {
+    logError(
+        "071",
+        "A history event could not be deserialized and is discarded: {}",
+        cause.getMessage(),
+        cause);
+  }
+
+  public void recoveredHistoryEvents(int numberOfEvents) {
+    logInfo(
+        "072",
+        "Recovered {} history events from the history event log",
+        numberOfEvents);
+  }
+
+  public void preparedHistoryEventsTimedOut(int numberOfEvents, long preparedTime) {
+    logWarn(
+        "076",
+        "The outcome of a transaction with {} history events was not reported within {} ms, the transaction is considered committed",
+        numberOfEvents,
+        preparedTime);
+  }
+
+  public ProcessEngineException historyEventsNotQueuedException(Throwable cause) {
+    return new ProcessEngineException(exceptionMessage(
+        "073",
+        "Could not queue the history events of the transaction, the history event handler is stopped or was interrupted"),
+        cause);
+  }
 }
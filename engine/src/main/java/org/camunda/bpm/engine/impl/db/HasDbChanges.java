@@ -0,0 +1,34 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db;
+
+/**
+ * <p>Entities which record the modifications of their persistent properties as they
+ * happen may implement this interface. The entity manager then decides whether such an
+ * entity is dirty by checking the changed properties instead of comparing the
+ * {@link DbEntity#getPersistentState() persistent state} with a copy.</p>
+ *
+ * <p>An implementation must record every modification of a property which is part of
+ * its persistent state, otherwise the modification is not flushed.</p>
+ */
+public interface HasDbChanges extends DbEntity {
+
+  /**
+   * @return a bit set of the persistent properties which were modified since the
+   * changes were last cleared, or 0 if no property was modified
+   */
+  long getChangedProperties();
+
+  void clearChangedProperties();
+
+}
@@ -14,6 +14,7 @@ package org.camunda.bpm.engine.impl.db;
 
 import java.util.List;
 
+import org.camunda.bpm.engine.impl.QueryResultHandler;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
 import org.camunda.bpm.engine.impl.interceptor.Session;
 
@@ -28,8 +29,30 @@ public interface PersistenceSession extends Session {
 
   void executeDbOperation(DbOperation operation);
 
+  /**
+   * Sends operations which were deferred by the session (e.g. added to a JDBC batch)
+   * to the database.
+   *
+   * @return the operations which were completed by this flush. The caller must check them
+   * for {@link DbOperation#isFailed() failures}.
+   */
+  List<DbOperation> flushOperations();
+
   List<?> selectList(String statement, Object parameter);
 
+  /**
+   * Reads at most maxRows rows of the result set of the statement. This limits statements
+   * which cannot limit their result in SQL, e.g. because they lock the rows as they are read.
+   */
+  List<?> selectList(String statement, Object parameter, int maxRows);
+
+  /**
+   * Passes the results of the statement one by one to the handler while they are read.
+   * The loaded entities are not announced to the {@link EntityLoadListener EntityLoadListeners}.
+   * The statement should declare a fetch size, otherwise some drivers read all rows at once.
+   */
+  void selectListStreaming(String statement, Object parameter, QueryResultHandler<Object> handler);
+
   <T extends DbEntity> T selectById(Class<T> type, String id);
 
   Object selectOne(String statement, Object parameter);
@@ -26,7 +26,9 @@ import static org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 
 
@@ -45,11 +47,14 @@ import org.camunda.bpm.engine.impl.JobQueryImpl;
 import org.camunda.bpm.engine.impl.Page;
 import org.camunda.bpm.engine.impl.ProcessDefinitionQueryImpl;
 import org.camunda.bpm.engine.impl.ProcessInstanceQueryImpl;
+import org.camunda.bpm.engine.impl.QueryResultHandler;
 import org.camunda.bpm.engine.impl.TaskQueryImpl;
 import org.camunda.bpm.engine.impl.UserQueryImpl;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.cfg.IdGenerator;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
 import org.camunda.bpm.engine.impl.cmmn.entity.repository.CaseDefinitionQueryImpl;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.DbEntity;
@@ -57,10 +62,12 @@ import org.camunda.bpm.engine.impl.db.DbEntityLifecycleAware;
 import org.camunda.bpm.engine.impl.db.EntityLoadListener;
 import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
 import org.camunda.bpm.engine.impl.db.PersistenceSession;
+import org.camunda.bpm.engine.impl.db.ReadMostlyDbEntity;
 import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.CachedDbEntity;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCache;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityState;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbSecondLevelCache;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbBulkOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
@@ -68,6 +75,7 @@ import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationManager
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationType;
 import org.camunda.bpm.engine.impl.identity.db.DbGroupQueryImpl;
 import org.camunda.bpm.engine.impl.identity.db.DbUserQueryImpl;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.Session;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutorContext;
 import org.camunda.bpm.engine.impl.util.EnsureUtil;
@@ -92,6 +100,26 @@ public class DbEntityManager implements Session, EntityLoadListener {
 
   protected PersistenceSession persistenceSession;
 
+  protected DbSecondLevelCache secondLevelCache;
+
+  /** generation of the second level cache at the time this entity manager was opened */
+  protected long secondLevelCacheGeneration;
+
+  /** set once a pessimistic lock is acquired; subsequent reads must hit the database */
+  protected boolean isSecondLevelCacheBypassed = false;
+
+  protected boolean isSecondLevelCacheUpdateRegistered = false;
+
+  /** entities put into the cache since {@link #trackLoadedEntities()} was invoked */
+  protected List<DbEntity> trackedEntities;
+
+  /** entities and list results read from the database which are cached after the commit */
+  protected List<ReadMostlyDbEntity> secondLevelCacheEntities = new ArrayList<ReadMostlyDbEntity>();
+  protected List<CachedListResult> secondLevelCacheListResults = new ArrayList<CachedListResult>();
+
+  /** entity types modified by this entity manager which are invalidated after the commit */
+  protected Set<Class<?>> secondLevelCacheInvalidatedTypes = new HashSet<Class<?>>();
+
   public DbEntityManager(IdGenerator idGenerator, PersistenceSession persistenceSession) {
     this.idGenerator = idGenerator;
     this.persistenceSession = persistenceSession;
@@ -99,6 +127,7 @@ public class DbEntityManager implements Session, EntityLoadListener {
       this.persistenceSession.addEntityLoadListener(this);
     }
     initializeEntityCache();
+    initializeSecondLevelCache();
     initializeOperationManager();
   }
 
@@ -132,6 +161,17 @@ public class DbEntityManager implements Session, EntityLoadListener {
 
   }
 
+  protected void initializeSecondLevelCache() {
+    final ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+
+    if (processEngineConfiguration != null) {
+      secondLevelCache = processEngineConfiguration.getDbSecondLevelCache();
+      if (secondLevelCache != null) {
+        secondLevelCacheGeneration = secondLevelCache.getGeneration();
+      }
+    }
+  }
+
   // selects /////////////////////////////////////////////////
 
   public List selectList(String statement) {
@@ -167,10 +207,112 @@ public class DbEntityManager implements Session, EntityLoadListener {
     if(firstResult == -1 ||  maxResults==-1) {
       return Collections.EMPTY_LIST;
     }
+
+    boolean isSecondLevelCacheable = isSecondLevelCacheableQuery(statement, parameter);
+    if (isSecondLevelCacheable) {
+      Object queryParameter = ((ListQueryParameterObject) parameter).getParameter();
+      List<ReadMostlyDbEntity> cachedObjects = secondLevelCache.getList(statement, queryParameter, firstResult, maxResults);
+      if (cachedObjects != null) {
+        for (ReadMostlyDbEntity cachedObject : cachedObjects) {
+          putLoadedEntity(cachedObject);
+        }
+        return filterLoadedObjects((List) cachedObjects);
+      }
+    }
+
     List loadedObjects = persistenceSession.selectList(statement, parameter);
+
+    if (isSecondLevelCacheable) {
+      addSecondLevelCacheListResult(statement, ((ListQueryParameterObject) parameter).getParameter(), firstResult, maxResults, loadedObjects);
+    }
+
     return filterLoadedObjects(loadedObjects);
   }
 
+  /**
+   * Selects a list and reads at most {@link ListQueryParameterObject#getMaxResults() maxResults}
+   * rows of its result set. Used for statements which cannot limit their result in SQL,
+   * e.g. because the rows are locked as they are read. The second level cache is not used.
+   */
+  @SuppressWarnings("unchecked")
+  public List selectListReadingMaxResults(String statement, ListQueryParameterObject parameter) {
+    if (parameter.getFirstResult() == -1 || parameter.getMaxResults() == -1) {
+      return Collections.EMPTY_LIST;
+    }
+
+    List loadedObjects = persistenceSession.selectList(statement, parameter, parameter.getMaxResults());
+    return filterLoadedObjects(loadedObjects);
+  }
+
+  /**
+   * Passes the results of the list statement one by one to the handler while they are read from
+   * the database. Neither the results nor the unmodified entities which are loaded while a result
+   * is handled are kept in the entity cache, so the memory consumption does not grow with the
+   * number of results. The second level cache is not used.
+   *
+   * <p>The result set of the statement is open while a result is handled, so the handler must not
+   * execute further statements. Some databases do not allow them at all while a result set is
+   * streamed.</p>
+   */
+  public <T> void selectListStreaming(String statement, ListQueryParameterObject parameter, final QueryResultHandler<T> handler) {
+    if (parameter.getFirstResult() == -1 || parameter.getMaxResults() == -1) {
+      return;
+    }
+
+    persistenceSession.selectListStreaming(statement, parameter, new QueryResultHandler<Object>() {
+      @SuppressWarnings("unchecked")
+      public void handleResult(Object result) {
+        if (result instanceof DbEntity) {
+          DbEntity loadedObject = (DbEntity) result;
+          result = cacheFilter(loadedObject);
+          if (result == loadedObject && loadedObject instanceof DbEntityLifecycleAware) {
+            ((DbEntityLifecycleAware) loadedObject).postLoad();
+          }
+        }
+
+        List<DbEntity> previousTrackedEntities = trackLoadedEntities();
+        try {
+          handler.handleResult((T) result);
+        }
+        finally {
+          evictTrackedEntities(previousTrackedEntities);
+        }
+      }
+    });
+  }
+
+  /**
+   * Starts to keep track of the entities which are put into the cache, so that they can be
+   * evicted by {@link #evictTrackedEntities(List)}.
+   *
+   * @return the entities tracked so far, which must be passed to {@link #evictTrackedEntities(List)}
+   */
+  public List<DbEntity> trackLoadedEntities() {
+    List<DbEntity> previousTrackedEntities = trackedEntities;
+    trackedEntities = new ArrayList<DbEntity>();
+    return previousTrackedEntities;
+  }
+
+  /**
+   * Evicts the unmodified entities which were put into the cache since the matching invocation
+   * of {@link #trackLoadedEntities()} and continues to track the previously tracked entities.
+   */
+  public void evictTrackedEntities(List<DbEntity> previousTrackedEntities) {
+    List<DbEntity> entities = trackedEntities;
+    trackedEntities = previousTrackedEntities;
+    evictUnmodifiedEntities(entities);
+  }
+
+  protected void evictUnmodifiedEntities(List<DbEntity> entities) {
+    for (DbEntity entity : entities) {
+      CachedDbEntity cachedEntity = dbEntityCache.getCachedEntity(entity);
+      if (cachedEntity != null && cachedEntity.getEntity() == entity
+          && cachedEntity.getEntityState() == PERSISTENT && !cachedEntity.isDirty()) {
+        dbEntityCache.remove(cachedEntity);
+      }
+    }
+  }
+
   public Object selectOne(String statement, Object parameter) {
     Object result = persistenceSession.selectOne(statement, parameter);
     if (result instanceof DbEntity) {
@@ -195,6 +337,15 @@ public class DbEntityManager implements Session, EntityLoadListener {
     if (persistentObject!=null) {
       return persistentObject;
     }
+
+    if (isSecondLevelCacheable(entityClass)) {
+      persistentObject = secondLevelCache.getById(entityClass, id);
+      if (persistentObject != null) {
+        putLoadedEntity(persistentObject);
+        return persistentObject;
+      }
+    }
+
     persistentObject = persistenceSession.selectById(entityClass, id);
 
     if (persistentObject==null) {
@@ -242,11 +393,24 @@ public class DbEntityManager implements Session, EntityLoadListener {
 
   public void onEntityLoaded(DbEntity entity) {
     // we get a callback when the persistence session loads an object from the database
+    if (isSecondLevelCacheable(entity.getClass())) {
+      // keep a copy of the state read from the database, the loaded entity may be modified by the command
+      secondLevelCacheEntities.add(((ReadMostlyDbEntity) entity).copy());
+    }
+
+    putLoadedEntity(entity);
+  }
+
+  protected void putLoadedEntity(DbEntity entity) {
     DbEntity cachedPersistentObject = dbEntityCache.get(entity.getClass(), entity.getId());
     if(cachedPersistentObject == null) {
       // only put into the cache if not already present
       dbEntityCache.putPersistent(entity);
 
+      if (trackedEntities != null) {
+        trackedEntities.add(entity);
+      }
+
       // invoke postLoad() lifecycle method
       if (entity instanceof DbEntityLifecycleAware) {
         DbEntityLifecycleAware lifecycleAware = (DbEntityLifecycleAware) entity;
@@ -256,12 +420,122 @@ public class DbEntityManager implements Session, EntityLoadListener {
 
   }
 
+  // second level cache ////////////////////////////////////////
+
+  protected boolean isSecondLevelCacheable(Class<?> entityType) {
+    return secondLevelCache != null
+        && !isSecondLevelCacheBypassed
+        && ReadMostlyDbEntity.class.isAssignableFrom(entityType);
+  }
+
+  protected boolean isSecondLevelCacheableQuery(String statement, Object parameter) {
+    if (secondLevelCache == null
+        || isSecondLevelCacheBypassed
+        || !secondLevelCache.isCacheableListStatement(statement)
+        || parameter == null
+        || parameter.getClass() != ListQueryParameterObject.class) {
+      return false;
+    }
+
+    ListQueryParameterObject listQueryParameter = (ListQueryParameterObject) parameter;
+    Object queryParameter = listQueryParameter.getParameter();
+
+    // only queries whose result is fully determined by the statement and a simple value can be cached
+    return !listQueryParameter.isAuthorizationCheckEnabled()
+        && listQueryParameter.getOrderBy() == null
+        && (queryParameter == null
+          || queryParameter instanceof String
+          || queryParameter instanceof Number
+          || queryParameter instanceof Boolean);
+  }
+
+  protected void addSecondLevelCacheListResult(String statement, Object parameter, int firstResult, int maxResults, List<Object> loadedObjects) {
+    if (loadedObjects.isEmpty()) {
+      return;
+    }
+
+    Class<?> entityType = loadedObjects.get(0).getClass();
+    List<ReadMostlyDbEntity> copies = new ArrayList<ReadMostlyDbEntity>(loadedObjects.size());
+    for (Object loadedObject : loadedObjects) {
+      if (loadedObject.getClass() != entityType || !(loadedObject instanceof ReadMostlyDbEntity)) {
+        return;
+      }
+      copies.add(((ReadMostlyDbEntity) loadedObject).copy());
+    }
+
+    secondLevelCacheListResults.add(new CachedListResult(statement, parameter, firstResult, maxResults, copies));
+  }
+
+  /**
+   * Updates the second level cache once the transaction is committed: entity types
+   * modified by this entity manager are invalidated and the entities read from the
+   * database are cached unless their type was invalidated in the meantime.
+   */
+  protected void registerSecondLevelCacheUpdate() {
+    if (secondLevelCache == null || isSecondLevelCacheUpdateRegistered) {
+      return;
+    }
+
+    CommandContext commandContext = Context.getCommandContext();
+    if (commandContext != null) {
+      commandContext.getTransactionContext()
+        .addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+          public void execute(CommandContext commandContext) {
+            updateSecondLevelCache();
+          }
+        });
+      isSecondLevelCacheUpdateRegistered = true;
+    }
+  }
+
+  protected void updateSecondLevelCache() {
+    for (Class<?> invalidatedType : secondLevelCacheInvalidatedTypes) {
+      secondLevelCache.invalidate(invalidatedType);
+    }
+
+    for (ReadMostlyDbEntity entity : secondLevelCacheEntities) {
+      secondLevelCache.putById(entity, secondLevelCacheGeneration);
+    }
+
+    for (CachedListResult listResult : secondLevelCacheListResults) {
+      secondLevelCache.putList(listResult.statement, listResult.parameter, listResult.firstResult,
+          listResult.maxResults, listResult.entities, secondLevelCacheGeneration);
+    }
+  }
+
+  protected static class CachedListResult {
+
+    protected String statement;
+    protected Object parameter;
+    protected int firstResult;
+    protected int maxResults;
+    protected List<ReadMostlyDbEntity> entities;
+
+    public CachedListResult(String statement, Object parameter, int firstResult, int maxResults, List<ReadMostlyDbEntity> entities) {
+      this.statement = statement;
+      this.parameter = parameter;
+      this.firstResult = firstResult;
+      this.maxResults = maxResults;
+      this.entities = entities;
+    }
+  }
+
   public void lock(String statement) {
     lock(statement, null);
   }
 
   public void lock(String statement, Object parameter) {
     persistenceSession.lock(statement, parameter);
+    bypassSecondLevelCache();
+  }
+
+  /**
+   * Subsequent reads of this entity manager are not served by the second level cache
+   * but hit the database. Must be invoked before reading entities which are going to be
+   * modified and must not be stale, e.g. frequently updated properties.
+   */
+  public void bypassSecondLevelCache() {
+    isSecondLevelCacheBypassed = true;
   }
 
   public boolean isDirty(DbEntity dbEntity) {
@@ -280,6 +554,8 @@ public class DbEntityManager implements Session, EntityLoadListener {
 
     // flush the db operation manager
     flushDbOperationManager();
+
+    registerSecondLevelCacheUpdate();
   }
 
   protected void flushDbOperationManager() {
@@ -289,6 +565,9 @@ public class DbEntityManager implements Session, EntityLoadListener {
 
     // execute the flush
     for (DbOperation dbOperation : operationsToFlush) {
+      if (secondLevelCache != null && ReadMostlyDbEntity.class.isAssignableFrom(dbOperation.getEntityType())) {
+        secondLevelCacheInvalidatedTypes.add(dbOperation.getEntityType());
+      }
       try {
         persistenceSession.executeDbOperation(dbOperation);
       }
@@ -299,6 +578,15 @@ public class DbEntityManager implements Session, EntityLoadListener {
         handleOptimisticLockingException(dbOperation);
       }
     }
+
+    // operations deferred by the persistence session (e.g. JDBC batch)
+    // are completed now and must be checked for optimistic locking failures
+    List<DbOperation> completedOperations = persistenceSession.flushOperations();
+    for (DbOperation dbOperation : completedOperations) {
+      if(dbOperation.isFailed()) {
+        handleOptimisticLockingException(dbOperation);
+      }
+    }
   }
 
   public void flushEntity(DbEntity entity) {
@@ -442,6 +730,10 @@ public class DbEntityManager implements Session, EntityLoadListener {
     DbEntityOperation dbOperation = new DbEntityOperation();
     dbOperation.setEntity(cachedDbEntity.getEntity());
     dbOperation.setOperationType(type);
+    if (type == UPDATE && cachedDbEntity.getEntityState() == PERSISTENT) {
+      // the changes are cleared once the entity is flushed
+      dbOperation.setChangedProperties(cachedDbEntity.getChangedProperties());
+    }
     dbOperationManager.addOperation(dbOperation);
   }
 
@@ -13,6 +13,7 @@
 package org.camunda.bpm.engine.impl.db.entitymanager.cache;
 
 import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.HasDbChanges;
 import org.camunda.bpm.engine.impl.db.entitymanager.Recyclable;
 
 /**
@@ -27,12 +28,15 @@ public class CachedDbEntity implements Recyclable {
 
   protected Object copy;
 
+  protected boolean isForcedDirty;
+
   protected DbEntityState entityState;
 
   public void recycle() {
     // clean out state
     dbEntity = null;
     copy = null;
+    isForcedDirty = false;
     entityState = null;
   }
 
@@ -41,16 +45,43 @@ public class CachedDbEntity implements Recyclable {
    * @return true if the entity is dirty (state has changed since it was put into the cache)
    */
   public boolean isDirty() {
-    return !dbEntity.getPersistentState().equals(copy);
+    if (isForcedDirty) {
+      return true;
+    }
+    else if (dbEntity instanceof HasDbChanges) {
+      // the entity tracks its changes, no need to compare its state
+      return ((HasDbChanges) dbEntity).getChangedProperties() != 0;
+    }
+    else {
+      return !dbEntity.getPersistentState().equals(copy);
+    }
+  }
+
+  /**
+   * @return the properties which were changed if the entity tracks its changes and the
+   * update was not forced, otherwise 0
+   */
+  public long getChangedProperties() {
+    if (!isForcedDirty && dbEntity instanceof HasDbChanges) {
+      return ((HasDbChanges) dbEntity).getChangedProperties();
+    }
+    else {
+      return 0;
+    }
   }
 
   public void forceSetDirty() {
-    // set the value of the copy to some value which will always be different from the new entity state.
-    this.copy = -1;
+    isForcedDirty = true;
   }
 
   public void makeCopy() {
-    copy = dbEntity.getPersistentState();
+    isForcedDirty = false;
+    if (dbEntity instanceof HasDbChanges) {
+      ((HasDbChanges) dbEntity).clearChangedProperties();
+    }
+    else {
+      copy = dbEntity.getPersistentState();
+    }
   }
 
   public String toString() {
@@ -0,0 +1,330 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db.entitymanager.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.ReadMostlyDbEntity;
+import org.camunda.bpm.engine.impl.util.cache.Cache;
+
+/**
+ * <p>Engine-wide cache of {@link ReadMostlyDbEntity ReadMostlyDbEntities} which is shared
+ * by all commands. In contrast to the {@link DbEntityCache}, entries outlive the command
+ * which loaded them. Entities are cached by id or as the result of one of the configured
+ * list statements. A list statement may only be configured if its result depends on no
+ * other table than the one of the selected entity type.</p>
+ *
+ * <p>Every invalidation of an entity type draws a new value from a global generation
+ * counter. An entry is only valid as long as the generation of its entity type is not
+ * newer than the generation which was current when the entry was read from the database.
+ * Thereby entries read concurrently to a committing update are never served.
+ * Updates performed by other engines of a cluster are not noticed, which is why every
+ * entry expires after the configured time to live.</p>
+ *
+ * <p>The cache takes ownership of the entities which are put into it and only hands out
+ * copies of them.</p>
+ */
+public class DbSecondLevelCache {
+
+  protected Cache<Object, CacheEntry> cache;
+
+  /** time to live of an entry in milliseconds */
+  protected long timeToLive;
+
+  protected Set<String> listStatements;
+
+  protected AtomicLong generation = new AtomicLong();
+  protected ConcurrentMap<Class<?>, Long> typeGenerations = new ConcurrentHashMap<Class<?>, Long>();
+
+  protected AtomicLong hitCount = new AtomicLong();
+  protected AtomicLong missCount = new AtomicLong();
+  protected AtomicLong expirationCount = new AtomicLong();
+  protected AtomicLong invalidationCount = new AtomicLong();
+
+  public DbSecondLevelCache(Cache<Object, CacheEntry> cache, long timeToLive) {
+    this(cache, timeToLive, Collections.<String>emptySet());
+  }
+
+  public DbSecondLevelCache(Cache<Object, CacheEntry> cache, long timeToLive, Set<String> listStatements) {
+    this.cache = cache;
+    this.timeToLive = timeToLive;
+    this.listStatements = listStatements;
+  }
+
+  /**
+   * @return true if the results of the list statement may be cached
+   */
+  public boolean isCacheableListStatement(String statement) {
+    return listStatements.contains(statement);
+  }
+
+  /**
+   * @return the current generation. Must be obtained before reading the
+   * entities which are going to be put into the cache.
+   */
+  public long getGeneration() {
+    return generation.get();
+  }
+
+  @SuppressWarnings("unchecked")
+  public <T extends DbEntity> T getById(Class<T> entityType, String id) {
+    CacheEntry entry = getValidEntry(new EntityKey(entityType, id));
+    if (entry != null) {
+      return (T) ((ReadMostlyDbEntity) entry.getValue()).copy();
+    }
+    else {
+      return null;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  public List<ReadMostlyDbEntity> getList(String statement, Object parameter, int firstResult, int maxResults) {
+    CacheEntry entry = getValidEntry(new QueryKey(statement, parameter, firstResult, maxResults));
+    if (entry != null) {
+      List<ReadMostlyDbEntity> cachedEntities = (List<ReadMostlyDbEntity>) entry.getValue();
+      List<ReadMostlyDbEntity> entities = new ArrayList<ReadMostlyDbEntity>(cachedEntities.size());
+      for (ReadMostlyDbEntity cachedEntity : cachedEntities) {
+        entities.add(cachedEntity.copy());
+      }
+      return entities;
+    }
+    else {
+      return null;
+    }
+  }
+
+  /**
+   * Caches an entity which was read from the database at the given generation.
+   */
+  public void putById(ReadMostlyDbEntity entity, long generation) {
+    Class<?> entityType = entity.getClass();
+    if (isValid(entityType, generation)) {
+      cache.put(new EntityKey(entityType, entity.getId()), new CacheEntry(entityType, entity, generation, expirationTime()));
+    }
+  }
+
+  /**
+   * Caches the result of a list statement which was executed at the given generation.
+   * All entities must be of the same type.
+   */
+  public void putList(String statement, Object parameter, int firstResult, int maxResults, List<ReadMostlyDbEntity> entities, long generation) {
+    Class<?> entityType = entities.get(0).getClass();
+    if (isValid(entityType, generation)) {
+      cache.put(new QueryKey(statement, parameter, firstResult, maxResults), new CacheEntry(entityType, entities, generation, expirationTime()));
+    }
+  }
+
+  /**
+   * Invalidates all entries containing entities of the given type. Must be
+   * invoked after the modification of an entity of this type was committed.
+   */
+  public void invalidate(Class<?> entityType) {
+    long newGeneration = generation.incrementAndGet();
+
+    Long currentGeneration = typeGenerations.putIfAbsent(entityType, newGeneration);
+    while (currentGeneration != null && currentGeneration < newGeneration
+        && !typeGenerations.replace(entityType, currentGeneration, newGeneration)) {
+      currentGeneration = typeGenerations.get(entityType);
+    }
+
+    invalidationCount.incrementAndGet();
+  }
+
+  public void clear() {
+    cache.clear();
+  }
+
+  protected CacheEntry getValidEntry(Object key) {
+    CacheEntry entry = cache.get(key);
+    if (entry != null) {
+      if (entry.getExpirationTime() < System.currentTimeMillis()) {
+        cache.remove(key);
+        expirationCount.incrementAndGet();
+        entry = null;
+      }
+      else if (!isValid(entry.getEntityType(), entry.getGeneration())) {
+        cache.remove(key);
+        entry = null;
+      }
+    }
+
+    if (entry != null) {
+      hitCount.incrementAndGet();
+    }
+    else {
+      missCount.incrementAndGet();
+    }
+    return entry;
+  }
+
+  protected boolean isValid(Class<?> entityType, long generation) {
+    Long typeGeneration = typeGenerations.get(entityType);
+    return typeGeneration == null || typeGeneration <= generation;
+  }
+
+  protected long expirationTime() {
+    return System.currentTimeMillis() + timeToLive;
+  }
+
+  // statistics ////////////////////////////////////////
+
+  public int size() {
+    return cache.size();
+  }
+
+  public int getCapacity() {
+    return cache.getCapacity();
+  }
+
+  public long getTimeToLive() {
+    return timeToLive;
+  }
+
+  public Set<String> getListStatements() {
+    return listStatements;
+  }
+
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  /**
+   * @return the number of entries which were removed because their time to live was exceeded
+   */
+  public long getExpirationCount() {
+    return expirationCount.get();
+  }
+
+  /**
+   * @return the number of entity type invalidations caused by committed modifications
+   */
+  public long getInvalidationCount() {
+    return invalidationCount.get();
+  }
+
+  /**
+   * @return the number of entries removed to stay within the capacity
+   */
+  public long getEvictionCount() {
+    return cache.getEvictionCount();
+  }
+
+  // keys and entries //////////////////////////////////
+
+  public static class CacheEntry {
+
+    protected Class<?> entityType;
+    protected Object value;
+    protected long generation;
+    protected long expirationTime;
+
+    public CacheEntry(Class<?> entityType, Object value, long generation, long expirationTime) {
+      this.entityType = entityType;
+      this.value = value;
+      this.generation = generation;
+      this.expirationTime = expirationTime;
+    }
+
+    public Class<?> getEntityType() {
+      return entityType;
+    }
+
+    public Object getValue() {
+      return value;
+    }
+
+    public long getGeneration() {
+      return generation;
+    }
+
+    public long getExpirationTime() {
+      return expirationTime;
+    }
+  }
+
+  protected static class EntityKey {
+
+    protected Class<?> entityType;
+    protected String id;
+
+    public EntityKey(Class<?> entityType, String id) {
+      this.entityType = entityType;
+      this.id = id;
+    }
+
+    public int hashCode() {
+      return 31 * entityType.hashCode() + (id == null ? 0 : id.hashCode());
+    }
+
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof EntityKey)) {
+        return false;
+      }
+      EntityKey other = (EntityKey) obj;
+      return entityType.equals(other.entityType)
+          && (id == null ? other.id == null : id.equals(other.id));
+    }
+  }
+
+  protected static class QueryKey {
+
+    protected String statement;
+    protected Object parameter;
+    protected int firstResult;
+    protected int maxResults;
+
+    public QueryKey(String statement, Object parameter, int firstResult, int maxResults) {
+      this.statement = statement;
+      this.parameter = parameter;
+      this.firstResult = firstResult;
+      this.maxResults = maxResults;
+    }
+
+    public int hashCode() {
+      int result = statement.hashCode();
+      result = 31 * result + (parameter == null ? 0 : parameter.hashCode());
+      result = 31 * result + firstResult;
+      result = 31 * result + maxResults;
+      return result;
+    }
+
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof QueryKey)) {
+        return false;
+      }
+      QueryKey other = (QueryKey) obj;
+      return statement.equals(other.statement)
+          && (parameter == null ? other.parameter == null : parameter.equals(other.parameter))
+          && firstResult == other.firstResult
+          && maxResults == other.maxResults;
+    }
+  }
+
+}
@@ -33,8 +33,15 @@ public class DbEntityOperation extends DbOperation {
    */
   protected boolean failed = false;
 
+  /**
+   * The properties of the entity which were changed, if the operation is an update
+   * and they are known. Otherwise 0.
+   */
+  protected long changedProperties = 0;
+
   public void recycle() {
     entity = null;
+    changedProperties = 0;
     super.recycle();
   }
 
@@ -55,6 +62,14 @@ public class DbEntityOperation extends DbOperation {
     return failed;
   }
 
+  public long getChangedProperties() {
+    return changedProperties;
+  }
+
+  public void setChangedProperties(long changedProperties) {
+    this.changedProperties = changedProperties;
+  }
+
   public String toString() {
     return operationType + " " + ClassNameUtil.getClassNameWithoutPackage(entity)+"["+entity.getId()+"]";
   }
@@ -29,11 +29,20 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 
+import org.apache.ibatis.executor.BatchExecutorException;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
 import org.apache.ibatis.session.SqlSession;
 import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.QueryResultHandler;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.AbstractPersistenceSession;
 import org.camunda.bpm.engine.impl.db.DbEntity;
@@ -41,6 +50,8 @@ import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.camunda.bpm.engine.impl.db.HasDbRevision;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbBulkOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationType;
 import org.camunda.bpm.engine.impl.util.IoUtil;
 import org.camunda.bpm.engine.impl.util.ReflectUtil;
 
@@ -64,25 +75,51 @@ public class DbSqlSession extends AbstractPersistenceSession {
   protected String connectionMetadataDefaultCatalog = null;
   protected String connectionMetadataDefaultSchema = null;
 
+  /**
+   * If true, insert, update and delete statements are added to a JDBC batch
+   * and only sent to the database on {@link #flushOperations()}.
+   */
+  protected boolean isJdbcBatchProcessing;
+
+  /** the operations added to the current JDBC batch, in order of execution */
+  protected List<DbOperation> batchedOperations = new ArrayList<DbOperation>();
+
+  /** the operations of batches which were executed before a select, not yet returned by {@link #flushOperations()} */
+  protected List<DbOperation> completedOperations = new ArrayList<DbOperation>();
+
   public DbSqlSession(DbSqlSessionFactory dbSqlSessionFactory) {
     this.dbSqlSessionFactory = dbSqlSessionFactory;
+    this.isJdbcBatchProcessing = dbSqlSessionFactory.isJdbcBatchProcessing();
     this.sqlSession = dbSqlSessionFactory
       .getSqlSessionFactory()
-      .openSession();
+      .openSession(getExecutorType());
   }
 
   public DbSqlSession(DbSqlSessionFactory dbSqlSessionFactory, Connection connection, String catalog, String schema) {
     this.dbSqlSessionFactory = dbSqlSessionFactory;
+    this.isJdbcBatchProcessing = dbSqlSessionFactory.isJdbcBatchProcessing();
     this.sqlSession = dbSqlSessionFactory
       .getSqlSessionFactory()
-      .openSession(connection);
+      .openSession(getExecutorType(), connection);
     this.connectionMetadataDefaultCatalog = catalog;
     this.connectionMetadataDefaultSchema = schema;
   }
 
+  protected ExecutorType getExecutorType() {
+    if (isJdbcBatchProcessing) {
+      return ExecutorType.BATCH;
+    } else {
+      return dbSqlSessionFactory
+        .getSqlSessionFactory()
+        .getConfiguration()
+        .getDefaultExecutorType();
+    }
+  }
+
   // select ////////////////////////////////////////////
 
   public List<?> selectList(String statement, Object parameter){
+    executeBatch();
     statement = dbSqlSessionFactory.mapStatement(statement);
     List<Object> resultList = sqlSession.selectList(statement, parameter);
     for (Object object : resultList) {
@@ -91,8 +128,35 @@ public class DbSqlSession extends AbstractPersistenceSession {
     return resultList;
   }
 
+  public List<?> selectList(String statement, Object parameter, int maxRows) {
+    executeBatch();
+    statement = dbSqlSessionFactory.mapStatement(statement);
+    List<Object> resultList = sqlSession.selectList(statement, parameter, new RowBounds(0, maxRows));
+    for (Object object : resultList) {
+      fireEntityLoaded(object);
+    }
+    return resultList;
+  }
+
+  public void selectListStreaming(String statement, Object parameter, QueryResultHandler<Object> handler) {
+    executeBatch();
+    statement = dbSqlSessionFactory.mapStatement(statement);
+    StreamingResultHandler resultHandler = new StreamingResultHandler(handler);
+    try {
+      sqlSession.select(statement, parameter, resultHandler);
+    }
+    catch (RuntimeException e) {
+      // MyBatis wraps the exceptions thrown by the handler
+      if (resultHandler.handlerException != null) {
+        throw resultHandler.handlerException;
+      }
+      throw e;
+    }
+  }
+
   @SuppressWarnings("unchecked")
   public <T extends DbEntity> T selectById(Class<T> type, String id) {
+    executeBatch();
     String selectStatement = dbSqlSessionFactory.getSelectStatement(type);
     selectStatement = dbSqlSessionFactory.mapStatement(selectStatement);
     ensureNotNull("no select statement for " + type + " in the ibatis mapping files", "selectStatement", selectStatement);
@@ -103,6 +167,7 @@ public class DbSqlSession extends AbstractPersistenceSession {
   }
 
   public Object selectOne(String statement, Object parameter) {
+    executeBatch();
     statement = dbSqlSessionFactory.mapStatement(statement);
     Object result = sqlSession.selectOne(statement, parameter);
     fireEntityLoaded(result);
@@ -116,8 +181,16 @@ public class DbSqlSession extends AbstractPersistenceSession {
     // by default which may cause deadlocks if the deploy command needs to get a new
     // Id using the DbIdGenerator while performing a deployment.
     if (!DbSqlSessionFactory.H2.equals(dbSqlSessionFactory.getDatabaseType())) {
+      executeBatch();
+
       String mappedStatement = dbSqlSessionFactory.mapStatement(statement);
       sqlSession.update(mappedStatement, parameter);
+
+      if (isJdbcBatchProcessing) {
+        // the lock must be acquired right away and not with the next batch;
+        // the batch only contains the lock statement
+        sqlSession.flushStatements();
+      }
     }
   }
 
@@ -137,7 +210,7 @@ public class DbSqlSession extends AbstractPersistenceSession {
     executeInsertEntity(insertStatement, dbEntity);
 
     // perform post insert actions on entity
-    entityInserted(dbEntity);
+    operationExecuted(operation, 1);
   }
 
   protected void executeInsertEntity(String insertStatement, Object parameter) {
@@ -171,6 +244,12 @@ public class DbSqlSession extends AbstractPersistenceSession {
     // execute the delete
     int nrOfRowsDeleted = executeDelete(deleteStatement, dbEntity);
 
+    operationExecuted(operation, nrOfRowsDeleted);
+  }
+
+  protected void entityDeleteExecuted(DbEntityOperation operation, int nrOfRowsDeleted) {
+    final DbEntity dbEntity = operation.getEntity();
+
     // It only makes sense to check for optimistic locking exceptions for objects that actually have a revision
     if (dbEntity instanceof HasDbRevision && nrOfRowsDeleted == 0) {
       operation.setFailed(true);
@@ -198,7 +277,9 @@ public class DbSqlSession extends AbstractPersistenceSession {
 
     LOG.executeDatabaseBulkOperation("DELETE", statement, parameter);
 
-    executeDelete(statement, parameter);
+    int nrOfRowsDeleted = executeDelete(statement, parameter);
+
+    operationExecuted(operation, nrOfRowsDeleted);
   }
 
   // update ////////////////////////////////////////
@@ -208,13 +289,43 @@ public class DbSqlSession extends AbstractPersistenceSession {
 
     final DbEntity dbEntity = operation.getEntity();
 
-    String updateStatement = dbSqlSessionFactory.getUpdateStatement(dbEntity);
-    ensureNotNull("no update statement for " + dbEntity.getClass() + " in the ibatis mapping files", "updateStatement", updateStatement);
+    int numOfRowsUpdated;
+
+    String partialUpdateStatement = getPartialUpdateStatement(operation);
+    if (partialUpdateStatement != null) {
+      LOG.executeDatabaseOperation("UPDATE", dbEntity);
+
+      // only update the columns of the changed properties
+      numOfRowsUpdated = executeUpdate(partialUpdateStatement, new PartialEntityUpdate(dbEntity, operation.getChangedProperties()));
+    }
+    else {
+      String updateStatement = dbSqlSessionFactory.getUpdateStatement(dbEntity);
+      ensureNotNull("no update statement for " + dbEntity.getClass() + " in the ibatis mapping files", "updateStatement", updateStatement);
+
+      LOG.executeDatabaseOperation("UPDATE", dbEntity);
+
+      // execute update
+      numOfRowsUpdated = executeUpdate(updateStatement, dbEntity);
+    }
+
+    operationExecuted(operation, numOfRowsUpdated);
+  }
 
-    LOG.executeDatabaseOperation("UPDATE", dbEntity);
+  /**
+   * @return the partial update statement for the entity of the operation or null if
+   * partial updates are disabled, the changed properties are unknown or there is no such statement
+   */
+  protected String getPartialUpdateStatement(DbEntityOperation operation) {
+    if (dbSqlSessionFactory.isPartialEntityUpdates() && operation.getChangedProperties() != 0) {
+      return dbSqlSessionFactory.getPartialUpdateStatement(operation.getEntity());
+    }
+    else {
+      return null;
+    }
+  }
 
-    // execute update
-    int numOfRowsUpdated = executeUpdate(updateStatement, dbEntity);
+  protected void entityUpdateExecuted(DbEntityOperation operation, int numOfRowsUpdated) {
+    final DbEntity dbEntity = operation.getEntity();
 
     if (dbEntity instanceof HasDbRevision) {
       if(numOfRowsUpdated != 1) {
@@ -248,7 +359,44 @@ public class DbSqlSession extends AbstractPersistenceSession {
 
     LOG.executeDatabaseBulkOperation("UPDATE", statement, parameter);
 
-    executeUpdate(statement, parameter);
+    int numOfRowsUpdated = executeUpdate(statement, parameter);
+
+    operationExecuted(operation, numOfRowsUpdated);
+  }
+
+  // operation results ////////////////////////////////////////////////////////
+
+  /**
+   * Invoked after the statement of an operation was executed. If JDBC batch processing
+   * is enabled, the number of affected rows is not known yet and the operation is
+   * completed once the batch is flushed.
+   */
+  protected void operationExecuted(DbOperation operation, int rowsAffected) {
+    if (isJdbcBatchProcessing) {
+      batchedOperations.add(operation);
+    } else {
+      completeOperation(operation, rowsAffected);
+    }
+  }
+
+  protected void completeOperation(DbOperation operation, int rowsAffected) {
+    if (operation instanceof DbEntityOperation) {
+      DbEntityOperation entityOperation = (DbEntityOperation) operation;
+
+      switch (operation.getOperationType()) {
+        case INSERT:
+          entityInserted(entityOperation.getEntity());
+          break;
+        case DELETE:
+          entityDeleteExecuted(entityOperation, rowsAffected);
+          break;
+        case UPDATE:
+          entityUpdateExecuted(entityOperation, rowsAffected);
+          break;
+        default:
+          break;
+      }
+    }
   }
 
   // flush ////////////////////////////////////////////////////////////////////
@@ -257,6 +405,117 @@ public class DbSqlSession extends AbstractPersistenceSession {
     // nothing to do
   }
 
+  public List<DbOperation> flushOperations() {
+    executeBatch();
+
+    if (completedOperations.isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    List<DbOperation> operations = completedOperations;
+    completedOperations = new ArrayList<DbOperation>();
+    return operations;
+  }
+
+  /**
+   * Executes the current JDBC batch, if any, and completes its operations. Must be invoked before
+   * any other statement is executed, since MyBatis would execute the batch implicitly and
+   * discard the numbers of affected rows.
+   */
+  protected void executeBatch() {
+    if (batchedOperations.isEmpty()) {
+      return;
+    }
+
+    List<DbOperation> operations = batchedOperations;
+    batchedOperations = new ArrayList<DbOperation>();
+
+    LOG.executeDatabaseBatch(operations.size());
+
+    List<BatchResult> batchResults;
+    try {
+      batchResults = sqlSession.flushStatements();
+    }
+    catch (RuntimeException e) {
+      DbOperation failedOperation = getFailedBatchOperation(operations, e);
+      if (failedOperation != null) {
+        throw LOG.flushDbOperationException(operations, failedOperation, e);
+      }
+      else {
+        throw LOG.flushDbOperationBatchException(operations, e);
+      }
+    }
+
+    // the batch results are in the same order as the statements were added to the batch
+    Iterator<DbOperation> operationIt = operations.iterator();
+    for (BatchResult batchResult : batchResults) {
+      for (int updateCount : batchResult.getUpdateCounts()) {
+        DbOperation operation = operationIt.next();
+        if (updateCount == Statement.SUCCESS_NO_INFO && isUpdateCountRequired(operation)) {
+          // optimistic locking cannot be checked without the number of affected rows
+          throw LOG.batchUpdateCountUnavailableException(operation);
+        }
+        completeOperation(operation, updateCount);
+        completedOperations.add(operation);
+      }
+    }
+  }
+
+  /**
+   * @return true if the number of rows affected by the operation has to be known
+   * to detect a concurrent modification
+   */
+  protected boolean isUpdateCountRequired(DbOperation operation) {
+    return operation instanceof DbEntityOperation
+        && ((DbEntityOperation) operation).getEntity() instanceof HasDbRevision
+        && operation.getOperationType() != DbOperationType.INSERT;
+  }
+
+  /**
+   * Determines the operation which caused the execution of a batch to fail.
+   *
+   * @return the failed operation or null if the driver does not report it
+   */
+  protected DbOperation getFailedBatchOperation(List<DbOperation> operations, Throwable exception) {
+    Throwable cause = exception;
+    while (cause != null && !(cause instanceof BatchExecutorException)) {
+      cause = cause.getCause();
+    }
+
+    if (cause == null) {
+      return null;
+    }
+
+    BatchExecutorException batchException = (BatchExecutorException) cause;
+    int failedOperationIndex = 0;
+    for (BatchResult successfulResult : batchException.getSuccessfulBatchResults()) {
+      failedOperationIndex += successfulResult.getUpdateCounts().length;
+    }
+
+    int[] updateCounts = batchException.getBatchUpdateException().getUpdateCounts();
+    if (updateCounts == null) {
+      return null;
+    }
+
+    // a driver which continues after a failure marks the failed statements,
+    // a driver which stops only reports the statements executed before the failure
+    int failedStatementIndex = updateCounts.length;
+    for (int i = 0; i < updateCounts.length; i++) {
+      if (updateCounts[i] == Statement.EXECUTE_FAILED) {
+        failedStatementIndex = i;
+        break;
+      }
+    }
+    failedOperationIndex += failedStatementIndex;
+
+    if (failedOperationIndex < operations.size()) {
+      return operations.get(failedOperationIndex);
+    }
+    else {
+      return null;
+    }
+  }
+
   public void close() {
     sqlSession.close();
   }
@@ -690,10 +949,32 @@ public class DbSqlSession extends AbstractPersistenceSession {
   // getters and setters //////////////////////////////////////////////////////
 
   public SqlSession getSqlSession() {
+    // the caller may execute statements directly
+    executeBatch();
     return sqlSession;
   }
   public DbSqlSessionFactory getDbSqlSessionFactory() {
     return dbSqlSessionFactory;
   }
 
+  protected static class StreamingResultHandler implements ResultHandler {
+
+    protected QueryResultHandler<Object> handler;
+    protected RuntimeException handlerException;
+
+    public StreamingResultHandler(QueryResultHandler<Object> handler) {
+      this.handler = handler;
+    }
+
+    public void handleResult(ResultContext context) {
+      try {
+        handler.handleResult(context.getResultObject());
+      }
+      catch (RuntimeException e) {
+        handlerException = e;
+        throw e;
+      }
+    }
+  }
+
 }
@@ -14,7 +14,9 @@
 package org.camunda.bpm.engine.impl.db.sql;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.ibatis.session.SqlSessionFactory;
@@ -62,6 +64,9 @@ public class DbSqlSessionFactory implements SessionFactory {
 
   public static final Map<String, Map<String, String>> dbSpecificConstants = new HashMap<String, Map<String, String>>();
 
+  /** databases which can skip rows locked by other transactions when selecting rows for update */
+  public static final Set<String> databasesSupportingSkipLocked = new HashSet<String>();
+
   static {
 
     String defaultOrderBy = " order by ${orderBy} ";
@@ -155,6 +160,7 @@ public class DbSqlSessionFactory implements SessionFactory {
     addDatabaseSpecificStatement(POSTGRES, "selectHistoricVariableInstanceByQueryCriteria", "selectHistoricVariableInstanceByQueryCriteria_postgres");
     addDatabaseSpecificStatement(POSTGRES, "selectFilter", "selectFilter_postgres");
     addDatabaseSpecificStatement(POSTGRES, "selectFilterByQueryCriteria", "selectFilterByQueryCriteria_postgres");
+    databasesSupportingSkipLocked.add(POSTGRES);
 
     constants = new HashMap<String, String>();
     constants.put("constant.event", "'event'");
@@ -178,6 +184,8 @@ public class DbSqlSessionFactory implements SessionFactory {
     databaseSpecificTrueConstant.put(ORACLE, "1");
     databaseSpecificFalseConstant.put(ORACLE, "0");
     databaseSpecificIfNull.put(ORACLE, "NVL");
+    addDatabaseSpecificStatement(ORACLE, "selectExternalTasksForTopicsSkipLocked", "selectExternalTasksForTopicsSkipLocked_oracle");
+    databasesSupportingSkipLocked.add(ORACLE);
 
     constants = new HashMap<String, String>();
     constants.put("constant.event", "cast('event' as nvarchar2(255))");
@@ -243,6 +251,8 @@ public class DbSqlSessionFactory implements SessionFactory {
     addDatabaseSpecificStatement(MSSQL, "selectEventSubscriptionsByNameAndExecution", "selectEventSubscriptionsByNameAndExecution_mssql");
     addDatabaseSpecificStatement(MSSQL, "selectEventSubscriptionsByExecutionAndType", "selectEventSubscriptionsByExecutionAndType_mssql");
     addDatabaseSpecificStatement(MSSQL, "selectHistoricDecisionInstancesByNativeQuery", "selectHistoricDecisionInstancesByNativeQuery_mssql_or_db2");
+    addDatabaseSpecificStatement(MSSQL, "selectExternalTasksForTopicsSkipLocked", "selectExternalTasksForTopicsSkipLocked_mssql");
+    databasesSupportingSkipLocked.add(MSSQL);
 
     constants = new HashMap<String, String>();
     constants.put("constant.event", "'event'");
@@ -264,12 +274,15 @@ public class DbSqlSessionFactory implements SessionFactory {
   protected Map<String, String> statementMappings;
   protected Map<Class<?>,String>  insertStatements = new ConcurrentHashMap<Class<?>, String>();
   protected Map<Class<?>,String>  updateStatements = new ConcurrentHashMap<Class<?>, String>();
+  protected Map<Class<?>,String>  partialUpdateStatements = new ConcurrentHashMap<Class<?>, String>();
   protected Map<Class<?>,String>  deleteStatements = new ConcurrentHashMap<Class<?>, String>();
   protected Map<Class<?>,String>  selectStatements = new ConcurrentHashMap<Class<?>, String>();
   protected boolean isDbIdentityUsed = true;
   protected boolean isDbHistoryUsed = true;
   protected boolean cmmnEnabled = true;
   protected boolean dmnEnabled = true;
+  protected boolean jdbcBatchProcessing = false;
+  protected boolean partialEntityUpdates = false;
 
   public Class< ? > getSessionType() {
     return DbSqlSession.class;
@@ -289,6 +302,24 @@ public class DbSqlSessionFactory implements SessionFactory {
     return getStatement(object.getClass(), updateStatements, "update");
   }
 
+  /**
+   * @return the statement which only updates the changed columns of the entity,
+   * e.g. <code>updateMessagePartial</code>, or null if the mapping does not contain one
+   */
+  public String getPartialUpdateStatement(DbEntity object) {
+    Class<?> entityClass = object.getClass();
+    String statement = partialUpdateStatements.get(entityClass);
+    if (statement == null) {
+      statement = getUpdateStatement(object) + "Partial";
+      if (!sqlSessionFactory.getConfiguration().hasStatement(mapStatement(statement))) {
+        // no partial update statement, remember it
+        statement = "";
+      }
+      partialUpdateStatements.put(entityClass, statement);
+    }
+    return statement.length() > 0 ? statement : null;
+  }
+
   public String getDeleteStatement(Class<?> persistentObjectClass) {
     return getStatement(persistentObjectClass, deleteStatements, "delete");
   }
@@ -439,6 +470,22 @@ public class DbSqlSessionFactory implements SessionFactory {
     this.dmnEnabled = dmnEnabled;
   }
 
+  public boolean isJdbcBatchProcessing() {
+    return jdbcBatchProcessing;
+  }
+
+  public void setJdbcBatchProcessing(boolean jdbcBatchProcessing) {
+    this.jdbcBatchProcessing = jdbcBatchProcessing;
+  }
+
+  public boolean isPartialEntityUpdates() {
+    return partialEntityUpdates;
+  }
+
+  public void setPartialEntityUpdates(boolean partialEntityUpdates) {
+    this.partialEntityUpdates = partialEntityUpdates;
+  }
+
   public void setDatabaseTablePrefix(String databaseTablePrefix) {
     this.databaseTablePrefix = databaseTablePrefix;
   }
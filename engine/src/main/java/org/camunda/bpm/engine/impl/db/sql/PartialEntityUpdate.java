@@ -0,0 +1,46 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db.sql;
+
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.HasDbChanges;
+
+/**
+ * Parameter of a partial update statement which only writes the columns of the
+ * properties of an entity which were changed.
+ *
+ * @see HasDbChanges
+ */
+public class PartialEntityUpdate {
+
+  protected DbEntity entity;
+  protected long changedProperties;
+
+  public PartialEntityUpdate(DbEntity entity, long changedProperties) {
+    this.entity = entity;
+    this.changedProperties = changedProperties;
+  }
+
+  public DbEntity getEntity() {
+    return entity;
+  }
+
+  public long getChangedProperties() {
+    return changedProperties;
+  }
+
+  public boolean isChanged(long property) {
+    return (changedProperties & property) != 0;
+  }
+
+}
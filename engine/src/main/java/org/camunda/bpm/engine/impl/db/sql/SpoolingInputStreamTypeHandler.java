@@ -0,0 +1,67 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db.sql;
+
+import java.io.InputStream;
+import java.sql.Blob;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+import org.camunda.bpm.engine.impl.util.IoUtil;
+
+/**
+ * <p>Reads a binary column as a stream instead of a byte array.</p>
+ *
+ * <p>The stream of a column is only valid as long as the row is current, so its content
+ * is spooled while the row is read: content up to 64 KB is kept in memory, larger content
+ * is copied to a temporary file which is deleted when the returned stream is closed.</p>
+ */
+public class SpoolingInputStreamTypeHandler extends BaseTypeHandler<InputStream> {
+
+  /** content up to this size is kept in memory */
+  protected static final int MEMORY_THRESHOLD = 64 * 1024;
+
+  public void setNonNullParameter(PreparedStatement ps, int i, InputStream parameter, JdbcType jdbcType) throws SQLException {
+    ps.setBinaryStream(i, parameter);
+  }
+
+  public InputStream getNullableResult(ResultSet rs, String columnName) throws SQLException {
+    return spool(rs.getBinaryStream(columnName), columnName);
+  }
+
+  public InputStream getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+    return spool(rs.getBinaryStream(columnIndex), "column " + columnIndex);
+  }
+
+  public InputStream getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+    Blob blob = cs.getBlob(columnIndex);
+    return spool(blob != null ? blob.getBinaryStream() : null, "column " + columnIndex);
+  }
+
+  protected InputStream spool(InputStream inputStream, String name) {
+    if (inputStream == null) {
+      return null;
+    }
+    try {
+      return IoUtil.spoolInputStream(inputStream, MEMORY_THRESHOLD, name);
+    }
+    finally {
+      IoUtil.closeSilently(inputStream);
+    }
+  }
+
+}
@@ -0,0 +1,391 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.dmn.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.camunda.bpm.dmn.engine.DmnDecisionResult;
+import org.camunda.bpm.engine.impl.dmn.cache.DecisionTableResultRecorder.RecordedDecisionTableResult;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.impl.util.cache.Cache;
+import org.camunda.bpm.engine.repository.DecisionDefinition;
+import org.camunda.bpm.engine.variable.context.VariableContext;
+import org.camunda.bpm.engine.variable.value.TypedValue;
+
+/**
+ * <p>Engine-wide cache of the results of decision evaluations. Only decisions whose
+ * key is configured are cached. Their evaluation must not depend on anything but the
+ * input variables, e.g. not on the current time or on beans.</p>
+ *
+ * <p>A result is cached by the id of the evaluated decision definition and the values
+ * of the variables the decision read. The names of these variables are recorded while
+ * the decision is evaluated and accumulated per decision definition, since a decision
+ * may read different variables depending on their values. Only results of evaluations
+ * whose input values are immutable primitives, strings or dates are cached. A decision
+ * which requests the names of all variables is not cached at all.</p>
+ *
+ * <p>Since a deployed decision definition never changes, entries only have to be
+ * invalidated when the decision definition is removed. Like in the
+ * {@link org.camunda.bpm.engine.impl.db.entitymanager.cache.DbSecondLevelCache}, every
+ * invalidation draws a new value from a generation counter, so that results of
+ * evaluations which were concurrent to the invalidation are not cached.</p>
+ *
+ * <p>Cached results are shared by all evaluations and therefore unmodifiable. The results
+ * of the decision tables evaluated for a cached result are cached with it, so that the
+ * history event and the metrics of an evaluation are produced even if its result is
+ * taken from the cache.</p>
+ */
+public class DecisionResultCache {
+
+  protected static final Object ABSENT = new Object() {
+    public String toString() {
+      return "<absent>";
+    }
+  };
+
+  protected Cache<Object, CacheEntry> cache;
+
+  /** time to live of an entry in milliseconds */
+  protected long timeToLive;
+
+  protected Set<String> decisionDefinitionKeys;
+
+  /** names of the variables read by the evaluations of a decision definition, by decision definition id */
+  protected ConcurrentMap<String, Set<String>> inputVariableNames = new ConcurrentHashMap<String, Set<String>>();
+  protected Set<String> uncacheableDecisionDefinitionIds = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+  protected AtomicLong generation = new AtomicLong();
+  protected ConcurrentMap<String, Long> decisionDefinitionGenerations = new ConcurrentHashMap<String, Long>();
+  protected volatile long clearGeneration = 0;
+
+  protected AtomicLong hitCount = new AtomicLong();
+  protected AtomicLong missCount = new AtomicLong();
+  protected AtomicLong expirationCount = new AtomicLong();
+  protected AtomicLong invalidationCount = new AtomicLong();
+
+  public DecisionResultCache(Cache<Object, CacheEntry> cache, long timeToLive, Set<String> decisionDefinitionKeys) {
+    this.cache = cache;
+    this.timeToLive = timeToLive;
+    this.decisionDefinitionKeys = decisionDefinitionKeys;
+  }
+
+  /**
+   * @return true if the results of the decision definition may be cached
+   */
+  public boolean isCacheable(DecisionDefinition decisionDefinition) {
+    return decisionDefinitionKeys.contains(decisionDefinition.getKey())
+        && !uncacheableDecisionDefinitionIds.contains(decisionDefinition.getId());
+  }
+
+  /**
+   * @return the current generation. Must be obtained before the decision
+   * whose result is going to be put into the cache is evaluated.
+   */
+  public long getGeneration() {
+    return generation.get();
+  }
+
+  /**
+   * @return the cache entry of the decision definition for the variables
+   * or null if no valid result is cached
+   */
+  public CacheEntry get(DecisionDefinition decisionDefinition, VariableContext variableContext) {
+    CacheEntry entry = null;
+
+    Object key = createKey(decisionDefinition.getId(), variableContext);
+    if (key != null) {
+      entry = cache.get(key);
+      if (entry != null) {
+        if (entry.getExpirationTime() < ClockUtil.getCurrentTime().getTime()) {
+          cache.remove(key);
+          expirationCount.incrementAndGet();
+          entry = null;
+        }
+        else if (!isValid(entry.getDecisionDefinitionId(), entry.getGeneration())) {
+          cache.remove(key);
+          entry = null;
+        }
+      }
+    }
+
+    if (entry != null) {
+      hitCount.incrementAndGet();
+      return entry;
+    }
+    else {
+      missCount.incrementAndGet();
+      return null;
+    }
+  }
+
+  /**
+   * Caches the result of an evaluation which was started at the given generation
+   * together with the results of the decision tables evaluated by it.
+   *
+   * @return the unmodifiable result which has to be returned instead of the given one
+   */
+  public DmnDecisionResult put(DecisionDefinition decisionDefinition, InputRecordingVariableContext variableContext,
+      DmnDecisionResult result, List<RecordedDecisionTableResult> decisionTableResults, long generation) {
+    String decisionDefinitionId = decisionDefinition.getId();
+
+    if (variableContext.isAllVariablesRead()) {
+      uncacheableDecisionDefinitionIds.add(decisionDefinitionId);
+      return result;
+    }
+
+    DmnDecisionResult unmodifiableResult = UnmodifiableDecisionResults.unmodifiableDecisionResult(result);
+
+    addInputVariableNames(decisionDefinitionId, variableContext.getInputVariableNames());
+
+    if (isValid(decisionDefinitionId, generation)) {
+      Object key = createKey(decisionDefinitionId, variableContext.getVariableContext());
+      if (key != null) {
+        long expirationTime = ClockUtil.getCurrentTime().getTime() + timeToLive;
+        cache.put(key, new CacheEntry(decisionDefinitionId, unmodifiableResult, decisionTableResults, generation, expirationTime));
+      }
+    }
+
+    return unmodifiableResult;
+  }
+
+  /**
+   * Invalidates all results of the decision definition. Must be invoked
+   * when the decision definition is removed.
+   */
+  public void invalidate(String decisionDefinitionId) {
+    long newGeneration = generation.incrementAndGet();
+
+    Long currentGeneration = decisionDefinitionGenerations.putIfAbsent(decisionDefinitionId, newGeneration);
+    while (currentGeneration != null && currentGeneration < newGeneration
+        && !decisionDefinitionGenerations.replace(decisionDefinitionId, currentGeneration, newGeneration)) {
+      currentGeneration = decisionDefinitionGenerations.get(decisionDefinitionId);
+    }
+
+    inputVariableNames.remove(decisionDefinitionId);
+    uncacheableDecisionDefinitionIds.remove(decisionDefinitionId);
+
+    invalidationCount.incrementAndGet();
+  }
+
+  public void clear() {
+    clearGeneration = generation.incrementAndGet();
+
+    decisionDefinitionGenerations.clear();
+    inputVariableNames.clear();
+    uncacheableDecisionDefinitionIds.clear();
+    cache.clear();
+  }
+
+  protected void addInputVariableNames(String decisionDefinitionId, Set<String> names) {
+    while (true) {
+      Set<String> currentNames = inputVariableNames.get(decisionDefinitionId);
+      if (currentNames != null && currentNames.containsAll(names)) {
+        return;
+      }
+
+      Set<String> newNames = new TreeSet<String>(names);
+      if (currentNames == null) {
+        if (inputVariableNames.putIfAbsent(decisionDefinitionId, newNames) == null) {
+          return;
+        }
+      }
+      else {
+        newNames.addAll(currentNames);
+        if (inputVariableNames.replace(decisionDefinitionId, currentNames, newNames)) {
+          return;
+        }
+      }
+    }
+  }
+
+  /**
+   * @return the key of the values of all variables read by the decision definition
+   * so far or null if the decision definition was not evaluated yet or a value cannot be cached
+   */
+  protected Object createKey(String decisionDefinitionId, VariableContext variableContext) {
+    Set<String> names = inputVariableNames.get(decisionDefinitionId);
+    if (names == null) {
+      return null;
+    }
+
+    List<Object> values = new ArrayList<Object>(names.size());
+    for (String name : names) {
+      TypedValue typedValue = variableContext.resolve(name);
+      if (typedValue == null) {
+        values.add(ABSENT);
+      }
+      else {
+        Object value = typedValue.getValue();
+        if (value instanceof Date) {
+          values.add(new Date(((Date) value).getTime()));
+        }
+        else if (isImmutable(value)) {
+          values.add(value);
+        }
+        else {
+          return null;
+        }
+      }
+    }
+
+    return new ResultKey(decisionDefinitionId, names, values);
+  }
+
+  protected boolean isImmutable(Object value) {
+    return value == null
+        || value instanceof String
+        || value instanceof Boolean
+        || value instanceof Character
+        || value instanceof Integer
+        || value instanceof Long
+        || value instanceof Short
+        || value instanceof Byte
+        || value instanceof Double
+        || value instanceof Float;
+  }
+
+  protected boolean isValid(String decisionDefinitionId, long generation) {
+    Long decisionDefinitionGeneration = decisionDefinitionGenerations.get(decisionDefinitionId);
+    return generation >= clearGeneration
+        && (decisionDefinitionGeneration == null || decisionDefinitionGeneration <= generation);
+  }
+
+  // statistics ////////////////////////////////////////
+
+  public int size() {
+    return cache.size();
+  }
+
+  public int getCapacity() {
+    return cache.getCapacity();
+  }
+
+  public long getTimeToLive() {
+    return timeToLive;
+  }
+
+  public Set<String> getDecisionDefinitionKeys() {
+    return decisionDefinitionKeys;
+  }
+
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  /**
+   * @return the number of entries which were removed because their time to live was exceeded
+   */
+  public long getExpirationCount() {
+    return expirationCount.get();
+  }
+
+  /**
+   * @return the number of invalidated decision definitions
+   */
+  public long getInvalidationCount() {
+    return invalidationCount.get();
+  }
+
+  /**
+   * @return the number of entries removed to stay within the capacity
+   */
+  public long getEvictionCount() {
+    return cache.getEvictionCount();
+  }
+
+  // keys and entries //////////////////////////////////
+
+  public static class CacheEntry {
+
+    protected String decisionDefinitionId;
+    protected DmnDecisionResult result;
+    protected List<RecordedDecisionTableResult> decisionTableResults;
+    protected long generation;
+    protected long expirationTime;
+
+    public CacheEntry(String decisionDefinitionId, DmnDecisionResult result, List<RecordedDecisionTableResult> decisionTableResults,
+        long generation, long expirationTime) {
+      this.decisionDefinitionId = decisionDefinitionId;
+      this.result = result;
+      this.decisionTableResults = decisionTableResults;
+      this.generation = generation;
+      this.expirationTime = expirationTime;
+    }
+
+    public String getDecisionDefinitionId() {
+      return decisionDefinitionId;
+    }
+
+    public DmnDecisionResult getResult() {
+      return result;
+    }
+
+    public List<RecordedDecisionTableResult> getDecisionTableResults() {
+      return decisionTableResults;
+    }
+
+    public long getGeneration() {
+      return generation;
+    }
+
+    public long getExpirationTime() {
+      return expirationTime;
+    }
+  }
+
+  protected static class ResultKey {
+
+    protected String decisionDefinitionId;
+    protected Set<String> names;
+    protected List<Object> values;
+    protected int hashCode;
+
+    public ResultKey(String decisionDefinitionId, Set<String> names, List<Object> values) {
+      this.decisionDefinitionId = decisionDefinitionId;
+      this.names = names;
+      this.values = values;
+      this.hashCode = 31 * (31 * decisionDefinitionId.hashCode() + names.hashCode()) + values.hashCode();
+    }
+
+    public int hashCode() {
+      return hashCode;
+    }
+
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof ResultKey)) {
+        return false;
+      }
+      ResultKey other = (ResultKey) obj;
+      return hashCode == other.hashCode
+          && decisionDefinitionId.equals(other.decisionDefinitionId)
+          && names.equals(other.names)
+          && values.equals(other.values);
+    }
+  }
+
+}
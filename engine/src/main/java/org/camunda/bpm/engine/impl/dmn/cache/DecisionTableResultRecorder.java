@@ -0,0 +1,88 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.dmn.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.dmn.engine.DmnDecisionTable;
+import org.camunda.bpm.dmn.engine.DmnDecisionTableListener;
+import org.camunda.bpm.dmn.engine.DmnDecisionTableResult;
+
+/**
+ * {@link DmnDecisionTableListener} which records the results of the decision tables
+ * evaluated by the current thread while a recording is started. The recorded results
+ * are cached with the result of the decision, so that the history event and the metrics
+ * of the evaluation can be produced again when the cached result is used.
+ */
+public class DecisionTableResultRecorder implements DmnDecisionTableListener {
+
+  protected static ThreadLocal<List<RecordedDecisionTableResult>> recordingThreadLocal = new ThreadLocal<List<RecordedDecisionTableResult>>();
+
+  public void notify(DmnDecisionTable decisionTable, DmnDecisionTableResult decisionTableResult) {
+    List<RecordedDecisionTableResult> recording = recordingThreadLocal.get();
+    if (recording != null) {
+      recording.add(new RecordedDecisionTableResult(decisionTable, decisionTableResult));
+    }
+  }
+
+  /**
+   * Starts a recording on the current thread.
+   *
+   * @return the recording which was started before and has to be passed to {@link #stopRecording(List)}
+   */
+  public static List<RecordedDecisionTableResult> startRecording() {
+    List<RecordedDecisionTableResult> previousRecording = recordingThreadLocal.get();
+    recordingThreadLocal.set(new ArrayList<RecordedDecisionTableResult>());
+    return previousRecording;
+  }
+
+  /**
+   * Stops the current recording and continues the previous one. The results recorded
+   * by the current recording are added to the previous one, since they are part of
+   * the enclosing evaluation.
+   *
+   * @return the results recorded by the current recording
+   */
+  public static List<RecordedDecisionTableResult> stopRecording(List<RecordedDecisionTableResult> previousRecording) {
+    List<RecordedDecisionTableResult> recording = recordingThreadLocal.get();
+    if (previousRecording == null) {
+      recordingThreadLocal.remove();
+    }
+    else {
+      previousRecording.addAll(recording);
+      recordingThreadLocal.set(previousRecording);
+    }
+    return recording;
+  }
+
+  public static class RecordedDecisionTableResult {
+
+    protected DmnDecisionTable decisionTable;
+    protected DmnDecisionTableResult decisionTableResult;
+
+    public RecordedDecisionTableResult(DmnDecisionTable decisionTable, DmnDecisionTableResult decisionTableResult) {
+      this.decisionTable = decisionTable;
+      this.decisionTableResult = decisionTableResult;
+    }
+
+    public DmnDecisionTable getDecisionTable() {
+      return decisionTable;
+    }
+
+    public DmnDecisionTableResult getDecisionTableResult() {
+      return decisionTableResult;
+    }
+  }
+
+}
@@ -0,0 +1,68 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.dmn.cache;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.camunda.bpm.engine.variable.context.VariableContext;
+import org.camunda.bpm.engine.variable.value.TypedValue;
+
+/**
+ * {@link VariableContext} which records the names of the variables a decision
+ * reads while it is evaluated. If the decision requests the names of all
+ * variables, its result may depend on any of them.
+ */
+public class InputRecordingVariableContext implements VariableContext {
+
+  protected final VariableContext variableContext;
+
+  protected Set<String> inputVariableNames = new TreeSet<String>();
+  protected boolean allVariablesRead = false;
+
+  public InputRecordingVariableContext(VariableContext variableContext) {
+    this.variableContext = variableContext;
+  }
+
+  public TypedValue resolve(String variableName) {
+    inputVariableNames.add(variableName);
+    return variableContext.resolve(variableName);
+  }
+
+  public boolean containsVariable(String variableName) {
+    inputVariableNames.add(variableName);
+    return variableContext.containsVariable(variableName);
+  }
+
+  public Set<String> keySet() {
+    allVariablesRead = true;
+    return variableContext.keySet();
+  }
+
+  public VariableContext getVariableContext() {
+    return variableContext;
+  }
+
+  public Set<String> getInputVariableNames() {
+    return Collections.unmodifiableSet(inputVariableNames);
+  }
+
+  /**
+   * @return true if the names of all variables were requested
+   */
+  public boolean isAllVariablesRead() {
+    return allVariablesRead;
+  }
+
+}
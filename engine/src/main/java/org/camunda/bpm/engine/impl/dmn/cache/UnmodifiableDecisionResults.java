@@ -0,0 +1,100 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.dmn.cache;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.dmn.engine.DmnDecisionOutput;
+import org.camunda.bpm.dmn.engine.DmnDecisionResult;
+
+/**
+ * Creates unmodifiable views of decision results. The collection methods of a view
+ * are invoked on an unmodifiable collection, all other methods on the decision result
+ * itself. Outputs, maps and lists returned by a view are unmodifiable, too.
+ */
+public class UnmodifiableDecisionResults {
+
+  public static DmnDecisionResult unmodifiableDecisionResult(DmnDecisionResult decisionResult) {
+    List<DmnDecisionOutput> outputs = new ArrayList<DmnDecisionOutput>(decisionResult.size());
+    for (DmnDecisionOutput output : decisionResult) {
+      outputs.add(unmodifiableDecisionOutput(output));
+    }
+
+    return createProxy(DmnDecisionResult.class, decisionResult, Collections.unmodifiableList(outputs));
+  }
+
+  public static DmnDecisionOutput unmodifiableDecisionOutput(DmnDecisionOutput decisionOutput) {
+    return createProxy(DmnDecisionOutput.class, decisionOutput, Collections.unmodifiableMap(decisionOutput));
+  }
+
+  @SuppressWarnings("unchecked")
+  protected static <T> T createProxy(Class<T> type, T target, Object unmodifiableView) {
+    return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, new UnmodifiableInvocationHandler(target, unmodifiableView));
+  }
+
+  @SuppressWarnings("unchecked")
+  protected static Object unmodifiable(Object value) {
+    if (value instanceof DmnDecisionResult) {
+      return unmodifiableDecisionResult((DmnDecisionResult) value);
+    }
+    else if (value instanceof DmnDecisionOutput) {
+      return unmodifiableDecisionOutput((DmnDecisionOutput) value);
+    }
+    else if (value instanceof List) {
+      List<Object> elements = new ArrayList<Object>();
+      for (Object element : (List<Object>) value) {
+        elements.add(unmodifiable(element));
+      }
+      return Collections.unmodifiableList(elements);
+    }
+    else if (value instanceof Map) {
+      return Collections.unmodifiableMap((Map<Object, Object>) value);
+    }
+    else {
+      return value;
+    }
+  }
+
+  protected static class UnmodifiableInvocationHandler implements InvocationHandler {
+
+    protected Object target;
+    protected Object unmodifiableView;
+
+    public UnmodifiableInvocationHandler(Object target, Object unmodifiableView) {
+      this.target = target;
+      this.unmodifiableView = unmodifiableView;
+    }
+
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      try {
+        if (method.getDeclaringClass().isInstance(unmodifiableView)) {
+          return method.invoke(unmodifiableView, args);
+        }
+        else {
+          return unmodifiable(method.invoke(target, args));
+        }
+      }
+      catch (InvocationTargetException e) {
+        throw e.getCause();
+      }
+    }
+  }
+
+}
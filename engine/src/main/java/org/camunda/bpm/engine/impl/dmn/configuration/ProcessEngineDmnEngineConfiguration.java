@@ -13,8 +13,12 @@
 
 package org.camunda.bpm.engine.impl.dmn.configuration;
 
+import org.camunda.bpm.dmn.engine.DmnDecisionTable;
+import org.camunda.bpm.dmn.engine.DmnDecisionTableListener;
+import org.camunda.bpm.dmn.engine.DmnDecisionTableResult;
 import org.camunda.bpm.dmn.engine.DmnScriptEngineResolver;
 import org.camunda.bpm.dmn.engine.impl.DmnEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.dmn.cache.DecisionTableResultRecorder;
 import org.camunda.bpm.engine.impl.dmn.el.ProcessEngineElProvider;
 import org.camunda.bpm.engine.impl.dmn.handler.ProcessEngineDmnElementHandlerRegistry;
 import org.camunda.bpm.engine.impl.el.ExpressionManager;
@@ -33,6 +37,17 @@ public class ProcessEngineDmnEngineConfiguration extends DmnEngineConfigurationI
     this.expressionManager = expressionManager;
     this.customPostDmnDecisionTableListeners.add(new MetricsDecisionTableListener());
   	this.customPostDmnDecisionTableListeners.add(historyDecisionTableListener);
+    this.customPostDmnDecisionTableListeners.add(new DecisionTableResultRecorder());
+  }
+
+  /**
+   * Notifies the custom post decision table listeners of an evaluation whose
+   * result was not computed by the DMN engine but taken from the decision result cache.
+   */
+  public void notifyCustomPostDecisionTableListeners(DmnDecisionTable decisionTable, DmnDecisionTableResult decisionTableResult) {
+    for (DmnDecisionTableListener listener : customPostDmnDecisionTableListeners) {
+      listener.notify(decisionTable, decisionTableResult);
+    }
   }
 
   protected void initElementHandlerRegistry() {
@@ -12,11 +12,22 @@
  */
 package org.camunda.bpm.engine.impl.dmn.invocation;
 
+import java.util.List;
+
 import org.camunda.bpm.dmn.engine.DmnDecision;
 import org.camunda.bpm.dmn.engine.DmnDecisionResult;
 import org.camunda.bpm.dmn.engine.DmnEngine;
+import org.camunda.bpm.dmn.engine.DmnEngineConfiguration;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.delegate.DelegateInvocation;
+import org.camunda.bpm.engine.impl.dmn.cache.DecisionResultCache;
+import org.camunda.bpm.engine.impl.dmn.cache.DecisionResultCache.CacheEntry;
+import org.camunda.bpm.engine.impl.dmn.cache.DecisionTableResultRecorder;
+import org.camunda.bpm.engine.impl.dmn.cache.DecisionTableResultRecorder.RecordedDecisionTableResult;
+import org.camunda.bpm.engine.impl.dmn.cache.InputRecordingVariableContext;
+import org.camunda.bpm.engine.impl.dmn.configuration.ProcessEngineDmnEngineConfiguration;
+import org.camunda.bpm.engine.management.Metrics;
 import org.camunda.bpm.engine.repository.DecisionDefinition;
 import org.camunda.bpm.engine.variable.context.VariableContext;
 
@@ -26,7 +37,11 @@ import org.camunda.bpm.engine.variable.context.VariableContext;
  *
  * The DmnEngine instance is resolved from the Context.
  *
- * The invocation result is a {@link DmnDecisionResult}.
+ * The invocation result is a {@link DmnDecisionResult}. If the results
+ * of the decision are cached by the {@link DecisionResultCache}, an unmodifiable
+ * cached result is returned without evaluating the decision. The decision table
+ * listeners are notified of the cached decision table results instead, so that
+ * the history event and the metrics of the evaluation are produced.
  *
  * The target of the invocation is the {@link DecisionDefinition}.
  *
@@ -44,10 +59,64 @@ public class DecisionInvocation extends DelegateInvocation {
   }
 
   protected void invoke() throws Exception {
-    final DmnEngine dmnEngine = Context.getProcessEngineConfiguration()
-      .getDmnEngine();
+    final ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    long startTime = System.nanoTime();
+    try {
+      evaluateDecision(processEngineConfiguration);
+    }
+    finally {
+      if (processEngineConfiguration.isMetricsEnabled()) {
+        processEngineConfiguration.getMetricsRegistry()
+          .recordValue(Metrics.DECISION_EVALUATION_TIME, (System.nanoTime() - startTime) / 1000);
+      }
+    }
+  }
+
+  protected void evaluateDecision(ProcessEngineConfigurationImpl processEngineConfiguration) {
+    final DmnEngine dmnEngine = processEngineConfiguration.getDmnEngine();
+    final DecisionResultCache decisionResultCache = processEngineConfiguration.getDecisionResultCache();
+    final DmnEngineConfiguration dmnEngineConfiguration = processEngineConfiguration.getDmnEngineConfiguration();
+
+    // the decision table results can only be recorded and replayed by the engine's own configuration
+    if (decisionResultCache != null && decisionResultCache.isCacheable(decisionDefinition)
+        && dmnEngineConfiguration instanceof ProcessEngineDmnEngineConfiguration) {
+
+      CacheEntry cacheEntry = decisionResultCache.get(decisionDefinition, variableContext);
+      if (cacheEntry != null) {
+        markOccurrence(processEngineConfiguration, Metrics.DECISION_RESULT_CACHE_HIT);
+        for (RecordedDecisionTableResult decisionTableResult : cacheEntry.getDecisionTableResults()) {
+          ((ProcessEngineDmnEngineConfiguration) dmnEngineConfiguration).notifyCustomPostDecisionTableListeners(
+              decisionTableResult.getDecisionTable(), decisionTableResult.getDecisionTableResult());
+        }
+        invocationResult = cacheEntry.getResult();
+        return;
+      }
+      markOccurrence(processEngineConfiguration, Metrics.DECISION_RESULT_CACHE_MISS);
+
+      long generation = decisionResultCache.getGeneration();
+      InputRecordingVariableContext recordingContext = new InputRecordingVariableContext(variableContext);
+
+      DmnDecisionResult result;
+      List<RecordedDecisionTableResult> previousRecording = DecisionTableResultRecorder.startRecording();
+      List<RecordedDecisionTableResult> decisionTableResults;
+      try {
+        result = dmnEngine.evaluate((DmnDecision) decisionDefinition, recordingContext);
+      }
+      finally {
+        decisionTableResults = DecisionTableResultRecorder.stopRecording(previousRecording);
+      }
+
+      invocationResult = decisionResultCache.put(decisionDefinition, recordingContext, result, decisionTableResults, generation);
+    }
+    else {
+      invocationResult = dmnEngine.evaluate((DmnDecision) decisionDefinition, variableContext);
+    }
+  }
 
-    invocationResult = dmnEngine.evaluate((DmnDecision) decisionDefinition, variableContext);
+  protected void markOccurrence(ProcessEngineConfigurationImpl processEngineConfiguration, String name) {
+    if (processEngineConfiguration.isMetricsEnabled()) {
+      processEngineConfiguration.getMetricsRegistry().markOccurrence(name);
+    }
   }
 
   public Object getTarget() {
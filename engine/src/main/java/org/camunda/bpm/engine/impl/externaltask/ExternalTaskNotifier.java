@@ -0,0 +1,147 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.externaltask;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>Notifies fetching workers waiting for external tasks of certain topics when a task
+ * of one of these topics becomes available in this process engine, i.e. when it is
+ * created or unlocked.</p>
+ *
+ * <p>Tasks which become available on other process engines of a cluster or by an expired
+ * lock are not notified; waiting workers find them once their timeout expires.</p>
+ *
+ * <p>Since each waiting worker blocks a thread, the number of concurrently waiting
+ * workers is limited by {@link #getMaxWaitingWorkers()}.</p>
+ */
+public class ExternalTaskNotifier {
+
+  public static final int DEFAULT_MAX_WAITING_WORKERS = 50;
+
+  protected ConcurrentMap<String, Set<Subscription>> subscriptionsByTopic = new ConcurrentHashMap<String, Set<Subscription>>();
+
+  protected volatile int maxWaitingWorkers = DEFAULT_MAX_WAITING_WORKERS;
+  protected AtomicInteger waitingWorkers = new AtomicInteger();
+
+  /**
+   * Registers a worker which is about to wait for tasks.
+   *
+   * @return false if {@link #getMaxWaitingWorkers()} workers are already waiting;
+   *   the worker must not wait then. Otherwise, the worker must call
+   *   {@link #stopWaiting()} when it stops waiting.
+   */
+  public boolean startWaiting() {
+    if (waitingWorkers.incrementAndGet() > maxWaitingWorkers) {
+      waitingWorkers.decrementAndGet();
+      return false;
+    }
+    return true;
+  }
+
+  public void stopWaiting() {
+    waitingWorkers.decrementAndGet();
+  }
+
+  public int getWaitingWorkers() {
+    return waitingWorkers.get();
+  }
+
+  public int getMaxWaitingWorkers() {
+    return maxWaitingWorkers;
+  }
+
+  public void setMaxWaitingWorkers(int maxWaitingWorkers) {
+    this.maxWaitingWorkers = maxWaitingWorkers;
+  }
+
+  /**
+   * Subscribes to the given topics. The subscription must be created before
+   * fetching to not miss a task which is created concurrently and must be
+   * {@link #unsubscribe(Subscription) removed} afterwards.
+   */
+  public Subscription subscribe(Collection<String> topicNames) {
+    Subscription subscription = new Subscription(topicNames);
+
+    for (String topicName : topicNames) {
+      Set<Subscription> subscriptions = subscriptionsByTopic.get(topicName);
+      if (subscriptions == null) {
+        subscriptions = new CopyOnWriteArraySet<Subscription>();
+        Set<Subscription> existingSubscriptions = subscriptionsByTopic.putIfAbsent(topicName, subscriptions);
+        if (existingSubscriptions != null) {
+          subscriptions = existingSubscriptions;
+        }
+      }
+      subscriptions.add(subscription);
+    }
+
+    return subscription;
+  }
+
+  public void unsubscribe(Subscription subscription) {
+    for (String topicName : subscription.getTopicNames()) {
+      Set<Subscription> subscriptions = subscriptionsByTopic.get(topicName);
+      if (subscriptions != null) {
+        subscriptions.remove(subscription);
+      }
+    }
+  }
+
+  /**
+   * Wakes up all workers waiting for tasks of the topic.
+   */
+  public void taskAvailable(String topicName) {
+    Set<Subscription> subscriptions = subscriptionsByTopic.get(topicName);
+    if (subscriptions != null) {
+      for (Subscription subscription : subscriptions) {
+        subscription.signal();
+      }
+    }
+  }
+
+  public static class Subscription {
+
+    protected Collection<String> topicNames;
+    protected CountDownLatch latch = new CountDownLatch(1);
+
+    public Subscription(Collection<String> topicNames) {
+      this.topicNames = topicNames;
+    }
+
+    public Collection<String> getTopicNames() {
+      return topicNames;
+    }
+
+    public void signal() {
+      latch.countDown();
+    }
+
+    /**
+     * Waits until a task of a subscribed topic became available since the
+     * subscription was created or the timeout expired.
+     *
+     * @return true if a task became available
+     */
+    public boolean await(long timeoutInMillis) throws InterruptedException {
+      return latch.await(timeoutInMillis, TimeUnit.MILLISECONDS);
+    }
+  }
+
+}
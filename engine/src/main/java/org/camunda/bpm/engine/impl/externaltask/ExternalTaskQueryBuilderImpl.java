@@ -12,6 +12,10 @@
  */
 package org.camunda.bpm.engine.impl.externaltask;
 
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureGreaterThanOrEqual;
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureLessThanOrEqual;
+
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -20,6 +24,7 @@ import org.camunda.bpm.engine.externaltask.LockedExternalTask;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQueryBuilder;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQueryTopicBuilder;
 import org.camunda.bpm.engine.impl.cmd.FetchExternalTasksCmd;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskNotifier.Subscription;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 
 /**
@@ -29,6 +34,7 @@ import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 public class ExternalTaskQueryBuilderImpl implements ExternalTaskQueryBuilder {
 
   protected CommandExecutor commandExecutor;
+  protected ExternalTaskNotifier notifier;
 
   protected String workerId;
   protected int maxTasks;
@@ -36,7 +42,12 @@ public class ExternalTaskQueryBuilderImpl implements ExternalTaskQueryBuilder {
   protected Map<String, TopicFetchInstruction> instructions;
 
   public ExternalTaskQueryBuilderImpl(CommandExecutor commandExecutor, String workerId, int maxTasks) {
+    this(commandExecutor, null, workerId, maxTasks);
+  }
+
+  public ExternalTaskQueryBuilderImpl(CommandExecutor commandExecutor, ExternalTaskNotifier notifier, String workerId, int maxTasks) {
     this.commandExecutor = commandExecutor;
+    this.notifier = notifier;
     this.workerId = workerId;
     this.maxTasks = maxTasks;
     this.instructions = new HashMap<String, TopicFetchInstruction>();
@@ -50,6 +61,48 @@ public class ExternalTaskQueryBuilderImpl implements ExternalTaskQueryBuilder {
     return commandExecutor.execute(new FetchExternalTasksCmd(workerId, maxTasks, instructions));
   }
 
+  public List<LockedExternalTask> execute(long asyncResponseTimeout) {
+    ensureGreaterThanOrEqual("asyncResponseTimeout", asyncResponseTimeout, 0);
+    ensureLessThanOrEqual("asyncResponseTimeout", asyncResponseTimeout, MAX_ASYNC_RESPONSE_TIMEOUT);
+
+    // too many waiting workers block too many threads; fetch once instead
+    if (notifier == null || asyncResponseTimeout == 0 || !notifier.startWaiting()) {
+      return execute();
+    }
+
+    try {
+      return waitAndExecute(asyncResponseTimeout);
+    }
+    finally {
+      notifier.stopWaiting();
+    }
+  }
+
+  protected List<LockedExternalTask> waitAndExecute(long asyncResponseTimeout) {
+    // cannot overflow since the timeout is bounded
+    long deadline = System.currentTimeMillis() + asyncResponseTimeout;
+
+    while (true) {
+      // subscribe before fetching to not miss tasks created in between
+      Subscription subscription = notifier.subscribe(instructions.keySet());
+      try {
+        List<LockedExternalTask> tasks = execute();
+
+        long remainingTime = deadline - System.currentTimeMillis();
+        if (!tasks.isEmpty() || remainingTime <= 0 || !subscription.await(remainingTime)) {
+          return tasks;
+        }
+      }
+      catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return new ArrayList<LockedExternalTask>();
+      }
+      finally {
+        notifier.unsubscribe(subscription);
+      }
+    }
+  }
+
   public void addInstruction(TopicFetchInstruction instruction) {
     this.instructions.put(instruction.getTopicName(), instruction);
   }
@@ -43,6 +43,11 @@ public class ExternalTaskQueryTopicBuilderImpl implements ExternalTaskQueryTopic
     return queryBuilder.execute();
   }
 
+  public List<LockedExternalTask> execute(long asyncResponseTimeout) {
+    submitInstruction();
+    return queryBuilder.execute(asyncResponseTimeout);
+  }
+
   public ExternalTaskQueryTopicBuilder variables(String... variables) {
     // don't use plain Arrays.asList since this returns an instance of a different list class
     // that is private and may mess mybatis queries up
@@ -0,0 +1,579 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.handler;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.history.event.HistoricDecisionInstanceEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventLog.Entry;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventLog.Segment;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+
+/**
+ * <p>History event handler that writes history events asynchronously. The events of a
+ * transaction are serialized and, when the transaction is about to commit, appended to
+ * the optional {@link HistoryEventLog} and put into a bounded queue. If the events cannot
+ * be appended or queued, the transaction fails. A background writer takes the events of
+ * committed transactions from the queue and writes them in batches using the delegate
+ * handler, typically the {@link DbHistoryEventHandler}. The events of rolled back
+ * transactions are discarded.</p>
+ *
+ * <p>The events are written in the order in which their transactions were about to commit.
+ * A transaction which depends on the data committed by another one can only get there after
+ * the other one has committed, so the history of the other one is always written first.
+ * The writer waits for the outcome of the oldest queued transaction before writing the
+ * events of later ones. If the outcome is not reported within the prepared timeout, the
+ * transaction is considered committed, like the history event log does after a crash, so
+ * that it cannot block the queue.</p>
+ *
+ * <p>History is therefore eventually consistent: it is not visible to the transaction
+ * which produced it and becomes visible once the writer has caught up. If the queue is
+ * full, committing transactions block until the writer has made room. Without a history
+ * event log, queued events are lost if the process engine crashes and events which cannot
+ * be written are discarded. With a log, they are kept in the log and written again when
+ * the process engine is started.</p>
+ *
+ * <p>Decision evaluation events and events which cannot be serialized are written
+ * synchronously.</p>
+ */
+public class AsyncDbHistoryEventHandler implements HistoryEventHandler {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  public static final int DEFAULT_QUEUE_CAPACITY = 10000;
+  public static final int DEFAULT_BATCH_SIZE = 500;
+  public static final long DEFAULT_PREPARED_TIMEOUT = 60000;
+
+  protected static final long WRITER_POLL_TIMEOUT = 100;
+  protected static final int MAX_BATCH_RETRIES = 3;
+  protected static final long BATCH_RETRY_WAIT_TIME = 1000;
+
+  protected HistoryEventHandler delegate;
+  protected HistoryEventLog eventLog;
+  protected int queueCapacity;
+  protected int batchSize;
+  protected long preparedTimeout = DEFAULT_PREPARED_TIMEOUT;
+
+  /** transactions in the order in which they were about to commit, guarded by itself */
+  protected LinkedList<QueuedTransaction> queue = new LinkedList<QueuedTransaction>();
+  protected Semaphore queueCapacityPermits;
+  protected AtomicInteger pendingEvents = new AtomicInteger();
+  protected final Object enqueueLock = new Object();
+
+  protected CommandExecutor commandExecutor;
+  protected Thread writerThread;
+  protected volatile boolean isActive = false;
+  /** true once no more transactions are accepted, guarded by the enqueue lock */
+  protected boolean isStopped = false;
+
+  public AsyncDbHistoryEventHandler(HistoryEventHandler delegate) {
+    this(delegate, DEFAULT_QUEUE_CAPACITY, DEFAULT_BATCH_SIZE, null);
+  }
+
+  /**
+   * @param delegate the handler used to write the events
+   * @param queueCapacity the maximum number of events waiting to be written
+   * @param batchSize the maximum number of events written in one transaction
+   * @param eventLog the log which makes queued events durable, may be null
+   */
+  public AsyncDbHistoryEventHandler(HistoryEventHandler delegate, int queueCapacity, int batchSize, HistoryEventLog eventLog) {
+    this.delegate = delegate;
+    this.queueCapacity = queueCapacity;
+    this.batchSize = batchSize;
+    this.eventLog = eventLog;
+    this.queueCapacityPermits = new Semaphore(queueCapacity, true);
+  }
+
+  public void handleEvent(HistoryEvent historyEvent) {
+    byte[] serializedEvent = null;
+    if (isActive && !(historyEvent instanceof HistoricDecisionInstanceEntity)) {
+      serializedEvent = serialize(historyEvent);
+    }
+
+    if (serializedEvent != null) {
+      Context.getCommandContext()
+        .getSession(HistoryEventBuffer.class)
+        .add(serializedEvent);
+    }
+    else {
+      delegate.handleEvent(historyEvent);
+    }
+  }
+
+  public void handleEvents(List<HistoryEvent> historyEvents) {
+    for (HistoryEvent historyEvent : historyEvents) {
+      handleEvent(historyEvent);
+    }
+  }
+
+  /**
+   * Starts the background writer after writing the events recovered from the history event log.
+   */
+  public synchronized void start(CommandExecutor commandExecutor) {
+    if (isActive) {
+      return;
+    }
+
+    this.commandExecutor = commandExecutor;
+    synchronized (enqueueLock) {
+      isStopped = false;
+    }
+
+    if (eventLog != null) {
+      List<byte[]> recoveredEvents = eventLog.recover();
+      List<byte[]> failedEvents = new ArrayList<byte[]>();
+
+      if (!recoveredEvents.isEmpty()) {
+        LOG.recoveredHistoryEvents(recoveredEvents.size());
+
+        for (int i = 0; i < recoveredEvents.size(); i += batchSize) {
+          List<byte[]> batch = recoveredEvents.subList(i, Math.min(i + batchSize, recoveredEvents.size()));
+          failedEvents.addAll(writeEvents(batch));
+        }
+      }
+
+      eventLog.open();
+
+      // events which still cannot be written are kept for the next start
+      if (!failedEvents.isEmpty()) {
+        eventLog.failed(failedEvents);
+      }
+    }
+
+    isActive = true;
+
+    writerThread = new Thread(new Runnable() {
+      public void run() {
+        writeQueuedEvents();
+      }
+    }, "history-event-writer");
+    writerThread.setDaemon(true);
+    writerThread.start();
+  }
+
+  /**
+   * Stops the background writer after all events of committed transactions are written.
+   * Events of transactions whose outcome is not known yet remain in the history event log.
+   */
+  public synchronized void stop() {
+    if (!isActive) {
+      return;
+    }
+
+    isActive = false;
+
+    try {
+      writerThread.join();
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    synchronized (enqueueLock) {
+      isStopped = true;
+    }
+
+    // events of transactions which committed while the writer stopped
+    List<QueuedTransaction> transactions = takeCompletedTransactions(0);
+    while (!transactions.isEmpty()) {
+      writeTransactions(transactions);
+      transactions = takeCompletedTransactions(0);
+    }
+
+    if (eventLog != null) {
+      eventLog.close();
+    }
+  }
+
+  /**
+   * Appends the events of a transaction which is about to commit to the log and queues them.
+   * The events are written once the transaction is {@link #commit(QueuedTransaction) committed}.
+   * Throws an exception if the events cannot be appended, so that the transaction fails.
+   */
+  public QueuedTransaction prepare(List<byte[]> serializedEvents) {
+    int permits = Math.min(serializedEvents.size(), queueCapacity);
+    try {
+      queueCapacityPermits.acquire(permits);
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw LOG.historyEventsNotQueuedException(e);
+    }
+
+    try {
+      // the events are queued in the order in which they are appended to the log
+      synchronized (enqueueLock) {
+        if (isStopped) {
+          throw LOG.historyEventsNotQueuedException(null);
+        }
+
+        Entry logEntry = null;
+        if (eventLog != null) {
+          logEntry = eventLog.append(serializedEvents);
+        }
+
+        QueuedTransaction transaction = new QueuedTransaction(serializedEvents, logEntry, permits);
+        pendingEvents.addAndGet(serializedEvents.size());
+
+        synchronized (queue) {
+          queue.add(transaction);
+        }
+        return transaction;
+      }
+    }
+    catch (RuntimeException e) {
+      queueCapacityPermits.release(permits);
+      throw e;
+    }
+  }
+
+  /**
+   * Releases the events of a committed transaction to the writer.
+   */
+  public void commit(QueuedTransaction transaction) {
+    complete(transaction, QueuedTransaction.COMMITTED);
+  }
+
+  /**
+   * Discards the events of a rolled back transaction and records the rollback in the log.
+   * Has no effect if the transaction was committed or resolved by the writer before.
+   */
+  public void rollback(QueuedTransaction transaction) {
+    synchronized (queue) {
+      if (transaction.isCompleted()) {
+        return;
+      }
+    }
+
+    if (eventLog != null) {
+      try {
+        eventLog.abort(transaction.logEntry);
+      }
+      catch (RuntimeException e) {
+        LOG.historyEventAbortNotLogged(e);
+      }
+    }
+    complete(transaction, QueuedTransaction.ROLLED_BACK);
+  }
+
+  protected void complete(QueuedTransaction transaction, int state) {
+    synchronized (queue) {
+      if (!transaction.isCompleted()) {
+        transaction.state = state;
+        queue.notifyAll();
+      }
+    }
+  }
+
+  protected void writeQueuedEvents() {
+    while (true) {
+      List<QueuedTransaction> transactions = takeCompletedTransactions(WRITER_POLL_TIMEOUT);
+      if (!transactions.isEmpty()) {
+        writeTransactions(transactions);
+      }
+      else if (!isActive) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Takes the completed transactions at the head of the queue, up to the batch size. If
+   * the oldest transaction is not completed yet, waits at most for the given time.
+   */
+  protected List<QueuedTransaction> takeCompletedTransactions(long timeout) {
+    List<QueuedTransaction> transactions = new ArrayList<QueuedTransaction>();
+
+    synchronized (queue) {
+      if (timeout > 0 && (queue.isEmpty() || !queue.getFirst().isCompleted())) {
+        try {
+          queue.wait(timeout);
+        }
+        catch (InterruptedException e) {
+          // continue until stopped
+        }
+      }
+
+      if (!queue.isEmpty() && !queue.getFirst().isCompleted()) {
+        resolveIfTimedOut(queue.getFirst());
+      }
+
+      int events = 0;
+      while (!queue.isEmpty() && queue.getFirst().isCompleted() && events < batchSize) {
+        QueuedTransaction transaction = queue.removeFirst();
+        transactions.add(transaction);
+        events += transaction.serializedEvents.size();
+      }
+    }
+
+    return transactions;
+  }
+
+  /**
+   * Considers a transaction committed if its outcome was not reported within the prepared
+   * timeout, e.g. because a transaction listener registered before the one of the
+   * {@link HistoryEventBuffer} failed.
+   */
+  protected void resolveIfTimedOut(QueuedTransaction transaction) {
+    long preparedTime = System.currentTimeMillis() - transaction.preparedTime;
+    if (preparedTime > preparedTimeout) {
+      LOG.preparedHistoryEventsTimedOut(transaction.serializedEvents.size(), preparedTime);
+      transaction.state = QueuedTransaction.COMMITTED;
+    }
+  }
+
+  protected void writeTransactions(List<QueuedTransaction> transactions) {
+    List<byte[]> serializedEvents = new ArrayList<byte[]>();
+    for (QueuedTransaction transaction : transactions) {
+      if (transaction.state == QueuedTransaction.COMMITTED) {
+        serializedEvents.addAll(transaction.serializedEvents);
+      }
+    }
+
+    List<byte[]> failedEvents = writeEvents(serializedEvents);
+    if (eventLog != null && !failedEvents.isEmpty()) {
+      // kept before the checkpoint moves past them
+      eventLog.failed(failedEvents);
+    }
+
+    markWritten(transactions);
+
+    for (QueuedTransaction transaction : transactions) {
+      pendingEvents.addAndGet(-transaction.serializedEvents.size());
+      queueCapacityPermits.release(transaction.permits);
+    }
+  }
+
+  /**
+   * Moves the checkpoint of the log past the written and discarded events.
+   */
+  protected void markWritten(List<QueuedTransaction> transactions) {
+    if (eventLog == null) {
+      return;
+    }
+
+    Segment segment = null;
+    int written = 0;
+
+    for (QueuedTransaction transaction : transactions) {
+      if (transaction.logEntry.getSegment() != segment) {
+        if (segment != null) {
+          eventLog.written(segment, written);
+        }
+        segment = transaction.logEntry.getSegment();
+        written = 0;
+      }
+      written += transaction.serializedEvents.size();
+    }
+
+    if (segment != null) {
+      eventLog.written(segment, written);
+    }
+  }
+
+  /**
+   * @return the serialized events which could not be written
+   */
+  protected List<byte[]> writeEvents(List<byte[]> serializedEvents) {
+    List<byte[]> failedEvents = new ArrayList<byte[]>();
+
+    List<HistoryEvent> chunk = new ArrayList<HistoryEvent>();
+    List<byte[]> serializedChunk = new ArrayList<byte[]>();
+    Set<String> chunkEventIds = new HashSet<String>();
+
+    for (byte[] serializedEvent : serializedEvents) {
+      HistoryEvent historyEvent = deserialize(serializedEvent);
+      if (historyEvent == null) {
+        continue;
+      }
+
+      // a later event of the same history entity must see the state written by the
+      // earlier one, like it does when the events are produced in separate transactions
+      String id = historyEvent.getId();
+      if (id != null && !chunkEventIds.add(id)) {
+        failedEvents.addAll(writeChunk(chunk, serializedChunk));
+        chunk.clear();
+        serializedChunk.clear();
+        chunkEventIds.clear();
+        chunkEventIds.add(id);
+      }
+      chunk.add(historyEvent);
+      serializedChunk.add(serializedEvent);
+    }
+    failedEvents.addAll(writeChunk(chunk, serializedChunk));
+
+    return failedEvents;
+  }
+
+  /**
+   * @return the serialized events of the chunk which could not be written
+   */
+  protected List<byte[]> writeChunk(List<HistoryEvent> historyEvents, List<byte[]> serializedEvents) {
+    List<byte[]> failedEvents = new ArrayList<byte[]>();
+    if (historyEvents.isEmpty()) {
+      return failedEvents;
+    }
+
+    for (int attempt = 1; attempt <= MAX_BATCH_RETRIES; attempt++) {
+      try {
+        commandExecutor.execute(new WriteHistoryEventsCmd(historyEvents));
+        return failedEvents;
+      }
+      catch (RuntimeException e) {
+        LOG.writeHistoryEventsFailed(historyEvents.size(), e);
+        if (attempt < MAX_BATCH_RETRIES) {
+          waitBeforeRetry();
+        }
+      }
+    }
+
+    // isolate the events which cannot be written
+    for (int i = 0; i < historyEvents.size(); i++) {
+      HistoryEvent historyEvent = historyEvents.get(i);
+      try {
+        List<HistoryEvent> singleEvent = new ArrayList<HistoryEvent>();
+        singleEvent.add(historyEvent);
+        commandExecutor.execute(new WriteHistoryEventsCmd(singleEvent));
+      }
+      catch (RuntimeException e) {
+        LOG.writeHistoryEventFailed(historyEvent, eventLog != null, e);
+        failedEvents.add(serializedEvents.get(i));
+      }
+    }
+
+    return failedEvents;
+  }
+
+  protected void waitBeforeRetry() {
+    try {
+      Thread.sleep(BATCH_RETRY_WAIT_TIME);
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  protected byte[] serialize(HistoryEvent historyEvent) {
+    try {
+      ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+      ObjectOutputStream out = new ObjectOutputStream(buffer);
+      out.writeObject(historyEvent);
+      out.close();
+      return buffer.toByteArray();
+    }
+    catch (IOException e) {
+      // written synchronously
+      return null;
+    }
+  }
+
+  protected HistoryEvent deserialize(byte[] serializedEvent) {
+    try {
+      ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(serializedEvent));
+      return (HistoryEvent) in.readObject();
+    }
+    catch (Exception e) {
+      LOG.readHistoryEventFailed(e);
+      return null;
+    }
+  }
+
+  public HistoryEventHandler getDelegate() {
+    return delegate;
+  }
+
+  public HistoryEventLog getEventLog() {
+    return eventLog;
+  }
+
+  public long getPreparedTimeout() {
+    return preparedTimeout;
+  }
+
+  /**
+   * @param preparedTimeout the time in milliseconds after which a transaction whose outcome
+   * was not reported is considered committed
+   */
+  public void setPreparedTimeout(long preparedTimeout) {
+    this.preparedTimeout = preparedTimeout;
+  }
+
+  /**
+   * @return the number of queued events which are not yet written or discarded
+   */
+  public int getPendingEventCount() {
+    return pendingEvents.get();
+  }
+
+  public boolean isActive() {
+    return isActive;
+  }
+
+  protected class WriteHistoryEventsCmd implements Command<Void> {
+
+    protected List<HistoryEvent> historyEvents;
+
+    public WriteHistoryEventsCmd(List<HistoryEvent> historyEvents) {
+      this.historyEvents = historyEvents;
+    }
+
+    public Void execute(CommandContext commandContext) {
+      delegate.handleEvents(historyEvents);
+      return null;
+    }
+  }
+
+  /**
+   * The events of a transaction which was about to commit.
+   */
+  public static class QueuedTransaction {
+
+    protected static final int PREPARED = 0;
+    protected static final int COMMITTED = 1;
+    protected static final int ROLLED_BACK = 2;
+
+    protected List<byte[]> serializedEvents;
+    protected Entry logEntry;
+    protected int permits;
+    protected long preparedTime = System.currentTimeMillis();
+    protected int state = PREPARED;
+
+    public QueuedTransaction(List<byte[]> serializedEvents, Entry logEntry, int permits) {
+      this.serializedEvents = serializedEvents;
+      this.logEntry = logEntry;
+      this.permits = permits;
+    }
+
+    protected boolean isCompleted() {
+      return state != PREPARED;
+    }
+  }
+
+}
@@ -0,0 +1,98 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.handler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.cfg.TransactionContext;
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.history.handler.AsyncDbHistoryEventHandler.QueuedTransaction;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.Session;
+
+/**
+ * Collects the serialized history events of a command and hands them to the
+ * {@link AsyncDbHistoryEventHandler} when the transaction is about to commit.
+ * If they cannot be handed over, the transaction fails. Once the outcome of
+ * the transaction is known, the events are released to the writer or discarded,
+ * so that no history is written for rolled back transactions.
+ *
+ * <p>The buffer is opened when the command context is created, so that its
+ * transaction listeners are notified before any other listener can fail.</p>
+ */
+public class HistoryEventBuffer implements Session {
+
+  protected AsyncDbHistoryEventHandler historyEventHandler;
+  protected List<byte[]> serializedEvents = new ArrayList<byte[]>();
+  protected QueuedTransaction queuedTransaction;
+  protected boolean isListening = false;
+
+  public HistoryEventBuffer(AsyncDbHistoryEventHandler historyEventHandler) {
+    this.historyEventHandler = historyEventHandler;
+  }
+
+  /**
+   * Registers the transaction listeners of the buffer if the history event handler is active.
+   */
+  public void open(TransactionContext transactionContext) {
+    if (historyEventHandler.isActive()) {
+      addTransactionListeners(transactionContext);
+    }
+  }
+
+  public void add(byte[] serializedEvent) {
+    if (!isListening) {
+      addTransactionListeners(Context.getCommandContext().getTransactionContext());
+    }
+    serializedEvents.add(serializedEvent);
+  }
+
+  protected void addTransactionListeners(TransactionContext transactionContext) {
+    isListening = true;
+
+    transactionContext.addTransactionListener(TransactionState.COMMITTING, new TransactionListener() {
+      public void execute(CommandContext commandContext) {
+        if (!serializedEvents.isEmpty()) {
+          queuedTransaction = historyEventHandler.prepare(serializedEvents);
+        }
+      }
+    });
+
+    transactionContext.addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+      public void execute(CommandContext commandContext) {
+        if (queuedTransaction != null) {
+          historyEventHandler.commit(queuedTransaction);
+        }
+      }
+    });
+
+    transactionContext.addTransactionListener(TransactionState.ROLLED_BACK, new TransactionListener() {
+      public void execute(CommandContext commandContext) {
+        if (queuedTransaction != null) {
+          historyEventHandler.rollback(queuedTransaction);
+        }
+      }
+    });
+  }
+
+  public void flush() {
+    // events are handed over when the transaction commits
+  }
+
+  public void close() {
+  }
+
+}
@@ -0,0 +1,467 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.handler;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.util.IoUtil;
+
+/**
+ * <p>Durable local log of the serialized history events which are not yet written
+ * to the database by the {@link AsyncDbHistoryEventHandler}.</p>
+ *
+ * <p>The events of a transaction are appended to a segment file and forced to disk
+ * before the transaction commits. If the transaction is rolled back afterwards, an
+ * abort record is appended for it. Since the events are written in the order in which
+ * they were appended, the progress of the writer is recorded as a checkpoint consisting
+ * of the segment number and the number of written or aborted events of the segment.
+ * Segments are deleted once all of their events are written or aborted.</p>
+ *
+ * <p>Events which could not be written to the database are appended to a separate
+ * file and recovered together with the events following the checkpoint.</p>
+ *
+ * <p>After a crash, the events following the checkpoint are {@link #recover() recovered},
+ * except for the events of aborted transactions. A transaction whose rollback was not
+ * recorded before the crash is considered committed. Events written after the last
+ * checkpoint was recorded are recovered again.</p>
+ */
+public class HistoryEventLog {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  public static final long DEFAULT_MAX_SEGMENT_SIZE = 16 * 1024 * 1024;
+
+  protected static final String SEGMENT_PREFIX = "history-events-";
+  protected static final String SEGMENT_SUFFIX = ".log";
+  protected static final String CHECKPOINT_FILE_NAME = "history-events.checkpoint";
+  protected static final String FAILED_EVENTS_FILE_NAME = "history-events.failed";
+
+  protected static final byte TRANSACTION_RECORD = 1;
+  protected static final byte ABORT_RECORD = 2;
+
+  protected File directory;
+  protected long maxSegmentSize;
+
+  protected Segment currentSegment;
+  protected RandomAccessFile checkpointFile;
+  protected FileOutputStream failedEventsFile;
+  protected long nextTransactionNumber = 0;
+
+  public HistoryEventLog(File directory) {
+    this(directory, DEFAULT_MAX_SEGMENT_SIZE);
+  }
+
+  public HistoryEventLog(File directory, long maxSegmentSize) {
+    this.directory = directory;
+    this.maxSegmentSize = maxSegmentSize;
+  }
+
+  /**
+   * @return the events which could not be written before followed by the events
+   * which were appended but neither written according to the checkpoint nor aborted
+   */
+  public synchronized List<byte[]> recover() {
+    List<byte[]> events = new ArrayList<byte[]>();
+
+    File failedEvents = new File(directory, FAILED_EVENTS_FILE_NAME);
+    if (failedEvents.exists()) {
+      readFailedEvents(failedEvents, events);
+    }
+
+    long checkpointSegment = 0;
+    long checkpointWritten = 0;
+
+    File checkpoint = new File(directory, CHECKPOINT_FILE_NAME);
+    if (checkpoint.exists()) {
+      DataInputStream in = null;
+      try {
+        in = new DataInputStream(new FileInputStream(checkpoint));
+        checkpointSegment = in.readLong();
+        checkpointWritten = in.readLong();
+      }
+      catch (EOFException e) {
+        // no checkpoint was recorded
+      }
+      catch (IOException e) {
+        throw LOG.historyEventLogException("read", checkpoint, e);
+      }
+      finally {
+        IoUtil.closeSilently(in);
+      }
+    }
+
+    List<LoggedTransaction> transactions = new ArrayList<LoggedTransaction>();
+    Set<Long> abortedTransactionNumbers = new HashSet<Long>();
+    for (long segmentNumber : getSegmentNumbers()) {
+      if (segmentNumber >= checkpointSegment) {
+        readSegment(getSegmentFile(segmentNumber), segmentNumber, transactions, abortedTransactionNumbers);
+      }
+    }
+
+    long skip = checkpointWritten;
+    for (LoggedTransaction transaction : transactions) {
+      for (byte[] event : transaction.events) {
+        // the checkpoint counts the written and the aborted events of its segment
+        if (transaction.segmentNumber == checkpointSegment && skip > 0) {
+          skip--;
+        }
+        else if (!abortedTransactionNumbers.contains(transaction.transactionNumber)) {
+          events.add(event);
+        }
+      }
+    }
+
+    return events;
+  }
+
+  /**
+   * Deletes existing segments and failed events and starts a new log. Must be called
+   * after {@link #recover() recovered} events are written.
+   */
+  public synchronized void open() {
+    for (long segmentNumber : getSegmentNumbers()) {
+      getSegmentFile(segmentNumber).delete();
+    }
+    new File(directory, FAILED_EVENTS_FILE_NAME).delete();
+
+    directory.mkdirs();
+
+    File checkpoint = new File(directory, CHECKPOINT_FILE_NAME);
+    try {
+      checkpointFile = new RandomAccessFile(checkpoint, "rwd");
+      checkpointFile.setLength(0);
+    }
+    catch (IOException e) {
+      throw LOG.historyEventLogException("open", checkpoint, e);
+    }
+
+    nextTransactionNumber = 0;
+    currentSegment = createSegment(0);
+  }
+
+  /**
+   * Appends the events of a transaction which is about to commit and forces them to disk.
+   *
+   * @return the entry of the transaction
+   */
+  public synchronized Entry append(List<byte[]> events) {
+    if (currentSegment.size >= maxSegmentSize) {
+      Segment previousSegment = currentSegment;
+      currentSegment = createSegment(previousSegment.number + 1);
+      previousSegment.closeFile();
+      deleteIfWritten(previousSegment);
+    }
+
+    long transactionNumber = nextTransactionNumber++;
+
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(buffer);
+    try {
+      out.writeByte(TRANSACTION_RECORD);
+      out.writeLong(transactionNumber);
+      out.writeInt(events.size());
+      for (byte[] event : events) {
+        out.writeInt(event.length);
+        out.write(event);
+      }
+      currentSegment.write(buffer.toByteArray());
+    }
+    catch (IOException e) {
+      throw LOG.historyEventLogException("write", currentSegment.file, e);
+    }
+
+    currentSegment.appended += events.size();
+
+    return new Entry(currentSegment, transactionNumber);
+  }
+
+  /**
+   * Records that the transaction of the entry was rolled back, so that its events
+   * are not recovered. The events still have to be marked as {@link #written(Segment, int) written}.
+   */
+  public synchronized void abort(Entry entry) {
+    ByteBuffer buffer = ByteBuffer.allocate(9);
+    buffer.put(ABORT_RECORD);
+    buffer.putLong(entry.getTransactionNumber());
+
+    try {
+      currentSegment.write(buffer.array());
+    }
+    catch (IOException e) {
+      throw LOG.historyEventLogException("write", currentSegment.file, e);
+    }
+  }
+
+  /**
+   * Records that the given number of events of the segment were written or aborted.
+   */
+  public synchronized void written(Segment segment, int numberOfEvents) {
+    segment.written += numberOfEvents;
+
+    File checkpoint = new File(directory, CHECKPOINT_FILE_NAME);
+    try {
+      ByteBuffer buffer = ByteBuffer.allocate(16);
+      buffer.putLong(segment.number);
+      buffer.putLong(segment.written);
+      checkpointFile.seek(0);
+      checkpointFile.write(buffer.array());
+    }
+    catch (IOException e) {
+      throw LOG.historyEventLogException("write", checkpoint, e);
+    }
+
+    if (segment != currentSegment) {
+      deleteIfWritten(segment);
+    }
+  }
+
+  /**
+   * Appends events which could not be written and forces them to disk. Must be
+   * called before the events are marked as {@link #written(Segment, int) written}.
+   */
+  public synchronized void failed(List<byte[]> events) {
+    File failedEvents = new File(directory, FAILED_EVENTS_FILE_NAME);
+    try {
+      if (failedEventsFile == null) {
+        failedEventsFile = new FileOutputStream(failedEvents, true);
+      }
+
+      ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+      DataOutputStream out = new DataOutputStream(buffer);
+      for (byte[] event : events) {
+        out.writeInt(event.length);
+        out.write(event);
+      }
+      write(failedEventsFile, buffer.toByteArray());
+    }
+    catch (IOException e) {
+      throw LOG.historyEventLogException("write", failedEvents, e);
+    }
+  }
+
+  public synchronized void close() {
+    if (currentSegment != null) {
+      currentSegment.closeFile();
+      deleteIfWritten(currentSegment);
+      currentSegment = null;
+    }
+    IoUtil.closeSilently(checkpointFile);
+    IoUtil.closeSilently(failedEventsFile);
+    failedEventsFile = null;
+  }
+
+  protected void deleteIfWritten(Segment segment) {
+    if (segment.written >= segment.appended) {
+      segment.file.delete();
+    }
+  }
+
+  protected Segment createSegment(long number) {
+    File file = getSegmentFile(number);
+    try {
+      return new Segment(number, file);
+    }
+    catch (IOException e) {
+      throw LOG.historyEventLogException("create", file, e);
+    }
+  }
+
+  protected void readSegment(File file, long segmentNumber, List<LoggedTransaction> transactions, Set<Long> abortedTransactionNumbers) {
+    DataInputStream in = null;
+    try {
+      in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+      while (true) {
+        try {
+          byte recordType = in.readByte();
+          long transactionNumber = in.readLong();
+
+          if (recordType == ABORT_RECORD) {
+            abortedTransactionNumbers.add(transactionNumber);
+          }
+          else if (recordType == TRANSACTION_RECORD) {
+            int numberOfEvents = in.readInt();
+            List<byte[]> events = new ArrayList<byte[]>();
+            for (int i = 0; i < numberOfEvents; i++) {
+              events.add(readEvent(in, file));
+            }
+            transactions.add(new LoggedTransaction(segmentNumber, transactionNumber, events));
+          }
+          else {
+            // record which was not completely appended before a crash
+            break;
+          }
+        }
+        catch (EOFException e) {
+          // end of segment or record which was not completely appended before a crash
+          break;
+        }
+      }
+    }
+    catch (IOException e) {
+      throw LOG.historyEventLogException("read", file, e);
+    }
+    finally {
+      IoUtil.closeSilently(in);
+    }
+  }
+
+  protected void readFailedEvents(File file, List<byte[]> events) {
+    DataInputStream in = null;
+    try {
+      in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+      while (true) {
+        try {
+          events.add(readEvent(in, file));
+        }
+        catch (EOFException e) {
+          // end of file or event which was not completely appended before a crash
+          break;
+        }
+      }
+    }
+    catch (IOException e) {
+      throw LOG.historyEventLogException("read", file, e);
+    }
+    finally {
+      IoUtil.closeSilently(in);
+    }
+  }
+
+  protected byte[] readEvent(DataInputStream in, File file) throws IOException {
+    int length = in.readInt();
+    if (length < 0 || length > file.length()) {
+      // event which was not completely appended before a crash
+      throw new EOFException();
+    }
+    byte[] event = new byte[length];
+    in.readFully(event);
+    return event;
+  }
+
+  protected static void write(FileOutputStream out, byte[] bytes) throws IOException {
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    while (buffer.hasRemaining()) {
+      out.getChannel().write(buffer);
+    }
+    out.getChannel().force(false);
+  }
+
+  protected List<Long> getSegmentNumbers() {
+    List<Long> segmentNumbers = new ArrayList<Long>();
+
+    String[] fileNames = directory.list();
+    if (fileNames != null) {
+      for (String fileName : fileNames) {
+        if (fileName.startsWith(SEGMENT_PREFIX) && fileName.endsWith(SEGMENT_SUFFIX)) {
+          String number = fileName.substring(SEGMENT_PREFIX.length(), fileName.length() - SEGMENT_SUFFIX.length());
+          try {
+            segmentNumbers.add(Long.parseLong(number));
+          }
+          catch (NumberFormatException e) {
+            // not a segment
+          }
+        }
+      }
+    }
+
+    Collections.sort(segmentNumbers);
+    return segmentNumbers;
+  }
+
+  protected File getSegmentFile(long number) {
+    return new File(directory, SEGMENT_PREFIX + number + SEGMENT_SUFFIX);
+  }
+
+  public static class Segment {
+
+    protected long number;
+    protected File file;
+    protected FileOutputStream out;
+
+    protected long size = 0;
+    protected long appended = 0;
+    protected long written = 0;
+
+    public Segment(long number, File file) throws IOException {
+      this.number = number;
+      this.file = file;
+      this.out = new FileOutputStream(file);
+    }
+
+    protected void write(byte[] bytes) throws IOException {
+      HistoryEventLog.write(out, bytes);
+      size += bytes.length;
+    }
+
+    protected void closeFile() {
+      IoUtil.closeSilently(out);
+    }
+
+    public long getNumber() {
+      return number;
+    }
+  }
+
+  /**
+   * The position of the events of a transaction in the log.
+   */
+  public static class Entry {
+
+    protected Segment segment;
+    protected long transactionNumber;
+
+    public Entry(Segment segment, long transactionNumber) {
+      this.segment = segment;
+      this.transactionNumber = transactionNumber;
+    }
+
+    public Segment getSegment() {
+      return segment;
+    }
+
+    public long getTransactionNumber() {
+      return transactionNumber;
+    }
+  }
+
+  protected static class LoggedTransaction {
+
+    protected long segmentNumber;
+    protected long transactionNumber;
+    protected List<byte[]> events;
+
+    public LoggedTransaction(long segmentNumber, long transactionNumber, List<byte[]> events) {
+      this.segmentNumber = segmentNumber;
+      this.transactionNumber = transactionNumber;
+      this.events = events;
+    }
+  }
+
+}
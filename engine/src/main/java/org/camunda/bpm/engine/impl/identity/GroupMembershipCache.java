@@ -0,0 +1,107 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.identity;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.camunda.bpm.engine.identity.Group;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+
+/**
+ * <p>Caches the ids of the groups a user is a member of for a limited time, so the
+ * memberships are not queried from the identity provider each time they are needed
+ * for an authorization check.</p>
+ *
+ * <p>Changes of memberships made by this process engine invalidate the cache. Changes
+ * made by other process engines or directly in the identity provider become visible
+ * after the time to live elapsed.</p>
+ */
+public class GroupMembershipCache {
+
+  protected long timeToLive;
+
+  protected ConcurrentMap<String, CacheEntry> entries = new ConcurrentHashMap<String, CacheEntry>();
+
+  /**
+   * @param timeToLive the time in milliseconds the memberships of a user are cached
+   */
+  public GroupMembershipCache(long timeToLive) {
+    this.timeToLive = timeToLive;
+  }
+
+  /**
+   * @return the ids of the groups the user is a member of
+   */
+  public List<String> getGroupIds(final CommandContext commandContext, final String userId) {
+    long now = ClockUtil.getCurrentTime().getTime();
+
+    CacheEntry entry = entries.get(userId);
+    if (entry == null || entry.expirationTime < now) {
+      // the cache is shared by all users, so it must not be restricted to the groups
+      // the currently authenticated user is allowed to read
+      List<String> groupIds = commandContext.runWithoutAuthorization(new Callable<List<String>>() {
+        public List<String> call() throws Exception {
+          return queryGroupIds(commandContext, userId);
+        }
+      });
+      entry = new CacheEntry(Collections.unmodifiableList(groupIds), now + timeToLive);
+      entries.put(userId, entry);
+    }
+
+    return entry.groupIds;
+  }
+
+  public void invalidate(String userId) {
+    entries.remove(userId);
+  }
+
+  public void invalidateAll() {
+    entries.clear();
+  }
+
+  public long getTimeToLive() {
+    return timeToLive;
+  }
+
+  public static List<String> queryGroupIds(CommandContext commandContext, String userId) {
+    List<Group> groups = commandContext
+      .getReadOnlyIdentityProvider()
+      .createGroupQuery()
+      .groupMember(userId)
+      .list();
+
+    List<String> groupIds = new ArrayList<String>();
+    for (Group group : groups) {
+      groupIds.add(group.getId());
+    }
+    return groupIds;
+  }
+
+  protected static class CacheEntry {
+
+    protected List<String> groupIds;
+    protected long expirationTime;
+
+    public CacheEntry(List<String> groupIds, long expirationTime) {
+      this.groupIds = groupIds;
+      this.expirationTime = expirationTime;
+    }
+  }
+
+}
@@ -19,8 +19,12 @@ import org.camunda.bpm.engine.authorization.Permissions;
 import org.camunda.bpm.engine.authorization.Resources;
 import org.camunda.bpm.engine.identity.Group;
 import org.camunda.bpm.engine.identity.User;
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.identity.GroupMembershipCache;
 import org.camunda.bpm.engine.impl.identity.WritableIdentityProvider;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.entity.GroupEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.MembershipEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.UserEntity;
@@ -66,6 +70,7 @@ public class DbIdentityServiceProvider extends DbReadOnlyIdentityServiceProvider
       deleteMembershipsByUserId(userId);
       deleteAuthorizations(Resources.USER, userId);
       getDbEntityManager().delete(user);
+      invalidateGroupMembershipCache(userId);
     }
   }
 
@@ -96,6 +101,7 @@ public class DbIdentityServiceProvider extends DbReadOnlyIdentityServiceProvider
       deleteMembershipsByGroupId(groupId);
       deleteAuthorizations(Resources.GROUP, groupId);
       getDbEntityManager().delete(group);
+      invalidateGroupMembershipCache(null);
     }
   }
 
@@ -110,6 +116,7 @@ public class DbIdentityServiceProvider extends DbReadOnlyIdentityServiceProvider
     membership.setGroup(group);
     getDbEntityManager().insert(membership);
     createDefaultMembershipAuthorizations(userId, groupId);
+    invalidateGroupMembershipCache(userId);
   }
 
   public void deleteMembership(String userId, String groupId) {
@@ -120,6 +127,7 @@ public class DbIdentityServiceProvider extends DbReadOnlyIdentityServiceProvider
     parameters.put("userId", userId);
     parameters.put("groupId", groupId);
     getDbEntityManager().delete(MembershipEntity.class, "deleteMembership", parameters);
+    invalidateGroupMembershipCache(userId);
   }
 
   protected void deleteMembershipsByUserId(String userId) {
@@ -130,6 +138,28 @@ public class DbIdentityServiceProvider extends DbReadOnlyIdentityServiceProvider
     getDbEntityManager().delete(MembershipEntity.class, "deleteMembershipsByGroupId", groupId);
   }
 
+  /**
+   * Invalidates the cached memberships of the user, or of all users if the user id is null,
+   * once the transaction is committed.
+   */
+  protected void invalidateGroupMembershipCache(final String userId) {
+    final GroupMembershipCache groupMembershipCache = Context.getProcessEngineConfiguration().getGroupMembershipCache();
+    if (groupMembershipCache != null) {
+      Context.getCommandContext()
+        .getTransactionContext()
+        .addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+          public void execute(CommandContext commandContext) {
+            if (userId != null) {
+              groupMembershipCache.invalidate(userId);
+            }
+            else {
+              groupMembershipCache.invalidateAll();
+            }
+          }
+        });
+    }
+  }
+
   // authorizations ////////////////////////////////////////////////////////////
 
   protected void createDefaultAuthorizations(UserEntity userEntity) {
@@ -20,6 +20,8 @@ import java.util.logging.Logger;
 import org.camunda.bpm.engine.delegate.ProcessEngineServicesAware;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventBuffer;
+import org.camunda.bpm.engine.management.Metrics;
 
 /**
  * <p>Interceptor used for opening the {@link CommandContext} and {@link CommandInvocationContext}.</p>
@@ -80,6 +82,8 @@ public class CommandContextInterceptor extends CommandInterceptor {
     CommandInvocationContext commandInvocationContext = new CommandInvocationContext(command);
     Context.setCommandInvocationContext(commandInvocationContext);
 
+    long startTime = openNew ? System.nanoTime() : 0;
+
     try {
       if(openNew) {
         LOGGER.log(Level.FINE, "Opening new command context.");
@@ -93,6 +97,10 @@ public class CommandContextInterceptor extends CommandInterceptor {
       Context.setCommandContext(context);
       Context.setProcessEngineConfiguration(processEngineConfiguration);
 
+      if (openNew) {
+        openHistoryEventBuffer(context);
+      }
+
       // delegate to next interceptor in chain
       return next.execute(command);
 
@@ -103,7 +111,11 @@ public class CommandContextInterceptor extends CommandInterceptor {
       try {
         if (openNew) {
           LOGGER.log(Level.FINE, "Closing command context.");
-          context.close(commandInvocationContext);
+          try {
+            context.close(commandInvocationContext);
+          } finally {
+            recordExecutionTime(startTime);
+          }
         } else {
           commandInvocationContext.rethrow();
         }
@@ -117,6 +129,25 @@ public class CommandContextInterceptor extends CommandInterceptor {
     return null;
   }
 
+  /**
+   * Opens the buffer of the asynchronous history event handler before the command is executed,
+   * so that it learns the outcome of the transaction before any other transaction listener.
+   */
+  protected void openHistoryEventBuffer(CommandContext context) {
+    if (context.getSessionFactories().containsKey(HistoryEventBuffer.class)) {
+      context.getSession(HistoryEventBuffer.class).open(context.getTransactionContext());
+    }
+  }
+
+  protected void recordExecutionTime(long startTime) {
+    if (processEngineConfiguration != null
+        && processEngineConfiguration.isMetricsEnabled()
+        && processEngineConfiguration.getMetricsRegistry() != null) {
+      processEngineConfiguration.getMetricsRegistry()
+        .recordValue(Metrics.COMMAND_EXECUTION_TIME, (System.nanoTime() - startTime) / 1000);
+    }
+  }
+
   public CommandContextFactory getCommandContextFactory() {
     return commandContextFactory;
   }
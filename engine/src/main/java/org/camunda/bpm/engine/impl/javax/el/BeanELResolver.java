@@ -22,6 +22,7 @@ import java.beans.PropertyDescriptor;
 import java.lang.reflect.Array;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -126,8 +127,45 @@ public class BeanELResolver extends ELResolver {
 		return method;
 	}
 
+	private static final class MethodKey {
+		private final Class<?> type;
+		private final String name;
+		private final Class<?>[] types;
+		private final int paramCount;
+		private final int hashCode;
+
+		MethodKey(Class<?> type, String name, Class<?>[] types, int paramCount) {
+			this.type = type;
+			this.name = name;
+			this.types = types == null ? null : types.clone();
+			this.paramCount = paramCount;
+			this.hashCode = 31 * (31 * (31 * type.hashCode() + name.hashCode()) + Arrays.hashCode(types)) + paramCount;
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof MethodKey)) {
+				return false;
+			}
+			MethodKey other = (MethodKey) obj;
+			return type == other.type
+				&& paramCount == other.paramCount
+				&& name.equals(other.name)
+				&& Arrays.equals(types, other.types);
+		}
+	}
+
 	private final boolean readOnly;
 	private final ConcurrentHashMap<Class<?>, BeanProperties> cache;
+	private final ConcurrentHashMap<MethodKey, Method> methodCache;
 	
 	private ExpressionFactory defaultFactory;
 
@@ -144,6 +182,7 @@ public class BeanELResolver extends ELResolver {
 	public BeanELResolver(boolean readOnly) {
 		this.readOnly = readOnly;
 		this.cache = new ConcurrentHashMap<Class<?>, BeanProperties>();
+		this.methodCache = new ConcurrentHashMap<MethodKey, Method>();
 	}
 
 	/**
@@ -487,7 +526,23 @@ public class BeanELResolver extends ELResolver {
 		return result;
 	}
 
-  private Method findMethod(Object base, String name, Class<?>[] types, int paramCount) {
+	/**
+	 * Find the method to invoke. Resolved methods are cached per class, so the
+	 * methods of a class are only scanned on the first invocation.
+	 */
+	private Method findMethod(Object base, String name, Class<?>[] types, int paramCount) {
+		MethodKey key = new MethodKey(base.getClass(), name, types, paramCount);
+		Method method = methodCache.get(key);
+		if (method == null) {
+			method = resolveMethod(base, name, types, paramCount);
+			if (method != null) {
+				methodCache.put(key, method);
+			}
+		}
+		return method;
+	}
+
+	private Method resolveMethod(Object base, String name, Class<?>[] types, int paramCount) {
 		if (types != null) {
 			try {
 				return findAccessibleMethod(base.getClass().getMethod(name, types));
@@ -641,5 +696,11 @@ public class BeanELResolver extends ELResolver {
 				classes.remove();
 			}
 		}
+		Iterator<MethodKey> methods = methodCache.keySet().iterator();
+		while (methods.hasNext()) {
+			if (loader == methods.next().type.getClassLoader()) {
+				methods.remove();
+			}
+		}
 	}
 }
@@ -13,6 +13,7 @@
 package org.camunda.bpm.engine.impl.jobexecutor;
 
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -32,6 +33,8 @@ public class AcquiredJobs {
 
   protected int numberOfJobsFailedToLock = 0;
 
+  protected Date nextDuedate;
+
   public AcquiredJobs(int numberOfJobsAttemptedToAcquire) {
     this.numberOfJobsAttemptedToAcquire = numberOfJobsAttemptedToAcquire;
   }
@@ -79,4 +82,16 @@ public class AcquiredJobs {
     return numberOfJobsAttemptedToAcquire;
   }
 
+  /**
+   * @return the earliest due date of the jobs which were not yet due at the time of
+   * acquisition or null if it was not determined or there are no such jobs
+   */
+  public Date getNextDuedate() {
+    return nextDuedate;
+  }
+
+  public void setNextDuedate(Date nextDuedate) {
+    this.nextDuedate = nextDuedate;
+  }
+
 }
@@ -0,0 +1,244 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+
+/**
+ * <p>Extends the {@link BackoffJobAcquisitionStrategy} by adapting the job acquisition
+ * to the observed job execution:</p>
+ *
+ * <ul>
+ *   <li>The number of jobs to acquire is the number of job batches which were executed
+ *     during the previous acquisition cycle (an exponentially weighted moving average),
+ *     but at least the configured number of jobs to acquire. It never exceeds the
+ *     available execution capacity which is shared evenly by all engines.
+ *     The backoff on locking failures still increases the number of jobs to acquire.</li>
+ *   <li>When there is no execution capacity left, the acquisition waits until a job batch
+ *     is expected to have finished instead of querying for jobs it cannot execute.</li>
+ *   <li>When all engines are idle and the due date of the next job is known, the acquisition
+ *     waits until this job is due, but not longer than the maximum idle time. Jobs added by
+ *     the same engine wake up the acquisition immediately; the maximum idle time bounds the
+ *     delay for jobs added by other engines. The due date is only looked up once the idle
+ *     level reached {@link #getNextDuedateIdleLevel()}, since shorter idle times are not
+ *     worth an additional query.</li>
+ * </ul>
+ *
+ * <p>The execution capacity and rate are provided by the job executor via
+ * {@link JobAcquisitionContext#getAvailableExecutionCapacity()} and
+ * {@link JobAcquisitionContext#getNumberOfCompletedExecutions()}. If unknown, the
+ * strategy behaves like the {@link BackoffJobAcquisitionStrategy}.</p>
+ */
+public class AdaptiveJobAcquisitionStrategy extends BackoffJobAcquisitionStrategy {
+
+  public static float DEFAULT_EXECUTION_RATE_SMOOTHING_FACTOR = 0.3f;
+  public static int DEFAULT_NEXT_DUEDATE_IDLE_LEVEL = 2;
+
+  /** weight of the most recent execution rate sample */
+  protected float executionRateSmoothingFactor = DEFAULT_EXECUTION_RATE_SMOOTHING_FACTOR;
+
+  /** idle level from which on the due date of the next job is looked up */
+  protected int nextDuedateIdleLevel = DEFAULT_NEXT_DUEDATE_IDLE_LEVEL;
+
+  /** executed job batches per millisecond, negative if not yet measured */
+  protected double executionRate = -1;
+  protected long lastNumberOfCompletedExecutions = -1;
+  protected long lastAcquisitionTime = -1;
+  protected long lastCycleDuration = 0;
+
+  protected boolean executionCapacityExhausted = false;
+
+  /** time until the next job is due, negative if unknown */
+  protected long timeUntilNextDuedate = -1;
+
+  public AdaptiveJobAcquisitionStrategy(
+      long baseIdleWaitTime,
+      float idleIncreaseFactor,
+      long maxIdleTime,
+      long baseBackoffWaitTime,
+      float backoffIncreaseFactor,
+      long maxBackoffTime,
+      int backoffDecreaseThreshold,
+      int baseNumJobsToAcquire) {
+
+    super(baseIdleWaitTime, idleIncreaseFactor, maxIdleTime, baseBackoffWaitTime, backoffIncreaseFactor,
+        maxBackoffTime, backoffDecreaseThreshold, baseNumJobsToAcquire);
+  }
+
+  public AdaptiveJobAcquisitionStrategy(JobExecutor jobExecutor) {
+    super(jobExecutor);
+  }
+
+  @Override
+  public void reconfigure(JobAcquisitionContext context) {
+    updateExecutionRate(context);
+    super.reconfigure(context);
+    executionCapacityExhausted = context.getAvailableExecutionCapacity() == 0;
+    timeUntilNextDuedate = calculateTimeUntilNextDuedate(context);
+  }
+
+  protected void updateExecutionRate(JobAcquisitionContext context) {
+    long numberOfCompletedExecutions = context.getNumberOfCompletedExecutions();
+    long acquisitionTime = context.getAcquisitionTime();
+
+    if (numberOfCompletedExecutions < 0) {
+      executionRate = -1;
+      lastNumberOfCompletedExecutions = -1;
+      lastAcquisitionTime = -1;
+      return;
+    }
+
+    if (lastNumberOfCompletedExecutions >= 0 && acquisitionTime > lastAcquisitionTime) {
+      lastCycleDuration = acquisitionTime - lastAcquisitionTime;
+      double currentRate = (double) (numberOfCompletedExecutions - lastNumberOfCompletedExecutions) / lastCycleDuration;
+
+      if (executionRate < 0) {
+        executionRate = currentRate;
+      }
+      else {
+        executionRate = executionRateSmoothingFactor * currentRate + (1 - executionRateSmoothingFactor) * executionRate;
+      }
+    }
+
+    lastNumberOfCompletedExecutions = numberOfCompletedExecutions;
+    lastAcquisitionTime = acquisitionTime;
+  }
+
+  @Override
+  protected void reconfigureNumberOfJobsToAcquire(JobAcquisitionContext context) {
+    int availableExecutionCapacity = context.getAvailableExecutionCapacity();
+    if (availableExecutionCapacity < 0) {
+      super.reconfigureNumberOfJobsToAcquire(context);
+      return;
+    }
+
+    jobsToAcquire.clear();
+
+    Map<String, AcquiredJobs> acquiredJobsByEngine = context.getAcquiredJobsByEngine();
+    int numEngines = acquiredJobsByEngine.size();
+    int engineIndex = 0;
+
+    for (String engineName : acquiredJobsByEngine.keySet()) {
+      int numJobsToAcquire = Math.max(baseNumJobsToAcquire, getExpectedExecutionsPerCycle());
+      numJobsToAcquire = (int) (numJobsToAcquire * Math.pow(backoffIncreaseFactor, backoffLevel));
+
+      // share the capacity evenly, the first engines get the remainder
+      int engineCapacity = availableExecutionCapacity / numEngines;
+      if (engineIndex < availableExecutionCapacity % numEngines) {
+        engineCapacity++;
+      }
+      engineIndex++;
+
+      // jobs rejected in this cycle are resubmitted in the next one and occupy capacity
+      List<List<String>> rejectedJobBatchesForEngine = context.getRejectedJobsByEngine().get(engineName);
+      if (rejectedJobBatchesForEngine != null) {
+        engineCapacity -= rejectedJobBatchesForEngine.size();
+      }
+
+      numJobsToAcquire = Math.max(0, Math.min(numJobsToAcquire, engineCapacity));
+      jobsToAcquire.put(engineName, numJobsToAcquire);
+    }
+  }
+
+  /**
+   * @return the number of job batches which were executed during an acquisition cycle
+   */
+  protected int getExpectedExecutionsPerCycle() {
+    if (executionRate <= 0) {
+      return 0;
+    }
+    else {
+      return (int) Math.ceil(executionRate * lastCycleDuration);
+    }
+  }
+
+  protected long calculateTimeUntilNextDuedate(JobAcquisitionContext context) {
+    Date nextDuedate = null;
+    for (AcquiredJobs acquiredJobs : context.getAcquiredJobsByEngine().values()) {
+      Date engineNextDuedate = acquiredJobs.getNextDuedate();
+      if (engineNextDuedate != null && (nextDuedate == null || engineNextDuedate.before(nextDuedate))) {
+        nextDuedate = engineNextDuedate;
+      }
+    }
+
+    if (nextDuedate != null) {
+      return Math.max(0, nextDuedate.getTime() - ClockUtil.getCurrentTime().getTime());
+    }
+    else {
+      return -1;
+    }
+  }
+
+  @Override
+  public long getWaitTime() {
+    if (idleLevel > 0) {
+      if (timeUntilNextDuedate >= 0) {
+        return Math.min(timeUntilNextDuedate, maxIdleWaitTime);
+      }
+      else {
+        return calculateIdleTime();
+      }
+    }
+    else if (backoffLevel > 0) {
+      return calculateBackoffTime();
+    }
+    else if (executionSaturated || executionCapacityExhausted) {
+      return calculateExecutionSaturationWaitTime();
+    }
+    else {
+      return 0;
+    }
+  }
+
+  /**
+   * @return true if the due date of the next job should be determined when
+   * an acquisition does not return as many jobs as requested
+   */
+  public boolean isNextDuedateRequired() {
+    return idleLevel >= nextDuedateIdleLevel;
+  }
+
+  /**
+   * @return the time until the next job batch is expected to finish, at most the
+   * default execution saturation wait time
+   */
+  protected long calculateExecutionSaturationWaitTime() {
+    if (executionRate > 0) {
+      return Math.min(executionSaturationWaitTime, (long) Math.ceil(1 / executionRate));
+    }
+    else {
+      return executionSaturationWaitTime;
+    }
+  }
+
+  public float getExecutionRateSmoothingFactor() {
+    return executionRateSmoothingFactor;
+  }
+
+  public void setExecutionRateSmoothingFactor(float executionRateSmoothingFactor) {
+    this.executionRateSmoothingFactor = executionRateSmoothingFactor;
+  }
+
+  public int getNextDuedateIdleLevel() {
+    return nextDuedateIdleLevel;
+  }
+
+  public void setNextDuedateIdleLevel(int nextDuedateIdleLevel) {
+    this.nextDuedateIdleLevel = nextDuedateIdleLevel;
+  }
+
+}
@@ -0,0 +1,200 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+
+/**
+ * <p>{@link JobNotificationChannel} which sends a UDP datagram to each configured peer
+ * node. The payload of a datagram is the deployment id of the added job (UTF-8) or
+ * empty if the job does not belong to a deployment.</p>
+ *
+ * <p>The peers are configured as a comma separated list of <code>host:port</code> pairs,
+ * e.g. <code>node2:7801,node3:7801</code>. Running all nodes on the loopback interface
+ * with different ports allows to use the channel without a network.</p>
+ */
+public class DatagramJobNotificationChannel implements JobNotificationChannel {
+
+  private static Logger log = Logger.getLogger(DatagramJobNotificationChannel.class.getName());
+
+  protected static final String CHARSET = "UTF-8";
+  protected static final int MAX_PAYLOAD_SIZE = 512;
+
+  protected String bindAddress;
+  protected int port;
+  protected List<InetSocketAddress> peerAddresses = new CopyOnWriteArrayList<InetSocketAddress>();
+
+  protected volatile DatagramSocket socket;
+  protected Thread receiverThread;
+
+  public synchronized void open(final JobExecutor jobExecutor) {
+    if (socket != null) {
+      return;
+    }
+
+    try {
+      InetAddress localAddress = bindAddress != null ? InetAddress.getByName(bindAddress) : null;
+      socket = new DatagramSocket(port, localAddress);
+    }
+    catch (IOException e) {
+      throw new ProcessEngineException("Could not open job notification socket on port " + port, e);
+    }
+
+    final DatagramSocket receiverSocket = socket;
+    receiverThread = new Thread(new Runnable() {
+      public void run() {
+        receiveNotifications(receiverSocket, jobExecutor);
+      }
+    }, "camunda-job-notification-receiver");
+    receiverThread.setDaemon(true);
+    receiverThread.start();
+  }
+
+  protected void receiveNotifications(DatagramSocket receiverSocket, JobExecutor jobExecutor) {
+    byte[] buffer = new byte[MAX_PAYLOAD_SIZE];
+
+    while (!receiverSocket.isClosed()) {
+      DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+      try {
+        receiverSocket.receive(packet);
+        jobExecutor.jobWasAddedOnOtherNode(decode(packet));
+      }
+      catch (SocketException e) {
+        // the socket was closed
+        return;
+      }
+      catch (Exception e) {
+        log.log(Level.WARNING, "Could not process job notification", e);
+      }
+    }
+  }
+
+  public void publishJobAdded(String deploymentId) {
+    DatagramSocket senderSocket = socket;
+    if (senderSocket == null) {
+      return;
+    }
+
+    byte[] payload = encode(deploymentId);
+    for (InetSocketAddress peerAddress : peerAddresses) {
+      try {
+        senderSocket.send(new DatagramPacket(payload, payload.length, peerAddress));
+      }
+      catch (IOException e) {
+        log.log(Level.FINE, "Could not send job notification to " + peerAddress, e);
+      }
+    }
+  }
+
+  public synchronized void close() {
+    if (socket != null) {
+      socket.close();
+      socket = null;
+    }
+    if (receiverThread != null) {
+      try {
+        receiverThread.join(1000);
+      }
+      catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      receiverThread = null;
+    }
+  }
+
+  protected byte[] encode(String deploymentId) {
+    if (deploymentId == null) {
+      return new byte[0];
+    }
+    try {
+      return deploymentId.getBytes(CHARSET);
+    }
+    catch (UnsupportedEncodingException e) {
+      throw new ProcessEngineException(e);
+    }
+  }
+
+  protected String decode(DatagramPacket packet) throws UnsupportedEncodingException {
+    if (packet.getLength() == 0) {
+      return null;
+    }
+    return new String(packet.getData(), packet.getOffset(), packet.getLength(), CHARSET);
+  }
+
+  // getters / setters ////////////////////////////////////
+
+  /**
+   * @return the port the channel receives notifications on, which is
+   * the actual port if the channel was opened on an arbitrary port (0)
+   */
+  public int getPort() {
+    DatagramSocket currentSocket = socket;
+    if (currentSocket != null) {
+      return currentSocket.getLocalPort();
+    }
+    return port;
+  }
+
+  public void setPort(int port) {
+    this.port = port;
+  }
+
+  public String getBindAddress() {
+    return bindAddress;
+  }
+
+  public void setBindAddress(String bindAddress) {
+    this.bindAddress = bindAddress;
+  }
+
+  public List<InetSocketAddress> getPeerAddresses() {
+    return peerAddresses;
+  }
+
+  public void setPeerAddresses(List<InetSocketAddress> peerAddresses) {
+    this.peerAddresses = new CopyOnWriteArrayList<InetSocketAddress>(peerAddresses);
+  }
+
+  /**
+   * @param peers comma separated list of <code>host:port</code> pairs
+   */
+  public void setPeers(String peers) {
+    List<InetSocketAddress> addresses = new CopyOnWriteArrayList<InetSocketAddress>();
+    for (String peer : peers.split(",")) {
+      String trimmedPeer = peer.trim();
+      if (trimmedPeer.length() > 0) {
+        int separatorIndex = trimmedPeer.lastIndexOf(':');
+        if (separatorIndex <= 0) {
+          throw new ProcessEngineException("Invalid job notification peer '" + trimmedPeer + "', expected host:port");
+        }
+        String host = trimmedPeer.substring(0, separatorIndex);
+        int peerPort = Integer.parseInt(trimmedPeer.substring(separatorIndex + 1));
+        addresses.add(new InetSocketAddress(host, peerPort));
+      }
+    }
+    this.peerAddresses = addresses;
+  }
+
+}
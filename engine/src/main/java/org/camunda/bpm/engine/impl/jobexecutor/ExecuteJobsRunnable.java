@@ -20,6 +20,8 @@ import org.camunda.bpm.engine.impl.ProcessEngineImpl;
 import org.camunda.bpm.engine.impl.cmd.ExecuteJobsCmd;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.management.Metrics;
 
 
 /**
@@ -48,12 +50,16 @@ public class ExecuteJobsRunnable implements Runnable {
     final JobExecutorContext jobExecutorContext = new JobExecutorContext();
     final List<String> currentProcessorJobQueue = jobExecutorContext.getCurrentProcessorJobQueue();
     CommandExecutor commandExecutor = null;
+    MetricsRegistry metricsRegistry = null;
     
     if(processEngine == null) {
       // temporary hack to maintain API compatibility 
       commandExecutor = jobExecutor.getCommandExecutor();
     } else {
       commandExecutor = processEngine.getProcessEngineConfiguration().getCommandExecutorTxRequired();
+      if (processEngine.getProcessEngineConfiguration().isMetricsEnabled()) {
+        metricsRegistry = processEngine.getProcessEngineConfiguration().getMetricsRegistry();
+      }
     }
 
     currentProcessorJobQueue.addAll(jobIds);
@@ -63,11 +69,15 @@ public class ExecuteJobsRunnable implements Runnable {
       while (!currentProcessorJobQueue.isEmpty()) {
         
         String nextJobId = currentProcessorJobQueue.remove(0);
+        long startTime = System.nanoTime();
         try {
           executeJob(nextJobId, commandExecutor);        
         } catch(Throwable t) {
           LOGG.log(Level.WARNING, "Exception while executing job with id "+nextJobId, t);
         }
+        if (metricsRegistry != null) {
+          metricsRegistry.recordValue(Metrics.JOB_EXECUTION_TIME, (System.nanoTime() - startTime) / 1000);
+        }
         
       }      
     }finally {
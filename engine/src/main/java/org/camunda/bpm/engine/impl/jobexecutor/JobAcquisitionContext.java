@@ -30,6 +30,8 @@ public class JobAcquisitionContext {
   protected Exception acquisitionException;
   protected long acquisitionTime;
   protected boolean isJobAdded;
+  protected int availableExecutionCapacity = -1;
+  protected long numberOfCompletedExecutions = -1;
 
   public JobAcquisitionContext() {
     this.rejectedJobBatchesByEngine = new HashMap<String, List<List<String>>>();
@@ -61,6 +63,8 @@ public class JobAcquisitionContext {
     acquisitionException = null;
     acquisitionTime = 0;
     isJobAdded = false;
+    availableExecutionCapacity = -1;
+    numberOfCompletedExecutions = -1;
   }
 
   /**
@@ -135,6 +139,29 @@ public class JobAcquisitionContext {
     return acquisitionException;
   }
 
+  /**
+   * The number of job batches which can be submitted for execution without
+   * being rejected after the jobs of this cycle were submitted; -1 if unknown.
+   */
+  public int getAvailableExecutionCapacity() {
+    return availableExecutionCapacity;
+  }
+
+  public void setAvailableExecutionCapacity(int availableExecutionCapacity) {
+    this.availableExecutionCapacity = availableExecutionCapacity;
+  }
+
+  /**
+   * The total number of job batches the job executor has executed so far; -1 if unknown.
+   */
+  public long getNumberOfCompletedExecutions() {
+    return numberOfCompletedExecutions;
+  }
+
+  public void setNumberOfCompletedExecutions(long numberOfCompletedExecutions) {
+    this.numberOfCompletedExecutions = numberOfCompletedExecutions;
+  }
+
   public void setJobAdded(boolean isJobAdded) {
     this.isJobAdded = isJobAdded;
   }
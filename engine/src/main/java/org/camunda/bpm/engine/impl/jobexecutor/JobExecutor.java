@@ -21,6 +21,7 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.management.Metrics;
@@ -70,6 +71,17 @@ public abstract class JobExecutor {
    */
   protected int backoffDecreaseThreshold = 100;
 
+  /**
+   * If true, the number of jobs to acquire is adjusted to the execution rate and
+   * capacity and an idle acquisition waits until the next job is due.
+   *
+   * @see AdaptiveJobAcquisitionStrategy
+   */
+  protected boolean adaptiveAcquisition = false;
+
+  /** propagates added jobs to the job executors of other cluster nodes, optional */
+  protected JobNotificationChannel jobNotificationChannel;
+
   protected String lockOwner = UUID.randomUUID().toString();
   protected int lockTimeInMillis = 5 * 60 * 1000;
 
@@ -81,6 +93,7 @@ public abstract class JobExecutor {
     ensureInitialization();
     startExecutingJobs();
     isActive = true;
+    openJobNotificationChannel();
   }
 
   public synchronized void shutdown() {
@@ -88,6 +101,7 @@ public abstract class JobExecutor {
       return;
     }
     log.info("Shutting down the JobExecutor["+getClass().getName()+"].");
+    closeJobNotificationChannel();
     acquireJobsRunnable.stop();
     stopExecutingJobs();
     ensureCleanup();
@@ -110,6 +124,64 @@ public abstract class JobExecutor {
     }
   }
 
+  /**
+   * Notifies the job executors of other cluster nodes that a job was added.
+   *
+   * @param deploymentId the deployment of the added job, may be null
+   */
+  public void publishJobAdded(String deploymentId) {
+    if (jobNotificationChannel != null && isActive) {
+      jobNotificationChannel.publishJobAdded(deploymentId);
+    }
+  }
+
+  /**
+   * Invoked by the {@link JobNotificationChannel} when a job was added on another
+   * cluster node. Wakes up the job acquisition if any of the registered engines
+   * may acquire the job.
+   *
+   * @param deploymentId the deployment of the added job, may be null
+   */
+  public void jobWasAddedOnOtherNode(String deploymentId) {
+    if (isEligibleForJob(deploymentId)) {
+      jobWasAdded();
+    }
+  }
+
+  protected boolean isEligibleForJob(String deploymentId) {
+    if (deploymentId == null) {
+      return true;
+    }
+
+    for (ProcessEngineImpl processEngine : processEngines) {
+      ProcessEngineConfigurationImpl configuration = processEngine.getProcessEngineConfiguration();
+      if (!configuration.isJobExecutorDeploymentAware()
+          || configuration.getRegisteredDeployments().contains(deploymentId)) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  protected void openJobNotificationChannel() {
+    if (jobNotificationChannel != null) {
+      try {
+        jobNotificationChannel.open(this);
+      }
+      catch (RuntimeException e) {
+        // job acquisition still works by polling
+        log.log(Level.WARNING, "Could not open the job notification channel, jobs added on other nodes are acquired by polling only", e);
+      }
+    }
+  }
+
+  protected void closeJobNotificationChannel() {
+    if (jobNotificationChannel != null) {
+      jobNotificationChannel.close();
+    }
+  }
+
   public synchronized void registerProcessEngine(ProcessEngineImpl processEngine) {
     processEngines.add(processEngine);
 
@@ -301,6 +373,37 @@ public abstract class JobExecutor {
     this.backoffDecreaseThreshold = backoffDecreaseThreshold;
   }
 
+  public JobNotificationChannel getJobNotificationChannel() {
+    return jobNotificationChannel;
+  }
+
+  public void setJobNotificationChannel(JobNotificationChannel jobNotificationChannel) {
+    this.jobNotificationChannel = jobNotificationChannel;
+  }
+
+  public boolean isAdaptiveAcquisition() {
+    return adaptiveAcquisition;
+  }
+
+  public void setAdaptiveAcquisition(boolean adaptiveAcquisition) {
+    this.adaptiveAcquisition = adaptiveAcquisition;
+  }
+
+  /**
+   * @return the number of job batches which can currently be submitted for
+   * execution without being rejected or -1 if unknown
+   */
+  public int getAvailableExecutionCapacity() {
+    return -1;
+  }
+
+  /**
+   * @return the total number of executed job batches or -1 if unknown
+   */
+  public long getNumberOfCompletedExecutions() {
+    return -1;
+  }
+
   public String getName() {
     return name;
   }
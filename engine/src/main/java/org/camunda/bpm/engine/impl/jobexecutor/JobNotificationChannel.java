@@ -0,0 +1,45 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+/**
+ * <p>Propagates the creation of jobs between the {@link JobExecutor job executors}
+ * of a cluster. Without a channel, a job executor only learns about jobs added on
+ * other nodes by polling the database.</p>
+ *
+ * <p>Notifications are a best-effort optimization: lost notifications only delay
+ * the acquisition of a job until the next acquisition cycle.</p>
+ *
+ * @see DatagramJobNotificationChannel
+ */
+public interface JobNotificationChannel {
+
+  /**
+   * Starts receiving notifications of other nodes. Received notifications are
+   * handed to {@link JobExecutor#jobWasAddedOnOtherNode(String)}.
+   */
+  void open(JobExecutor jobExecutor);
+
+  /**
+   * Notifies the other nodes that a job was added and committed.
+   *
+   * @param deploymentId the deployment of the added job, may be null
+   */
+  void publishJobAdded(String deploymentId);
+
+  /**
+   * Stops receiving notifications and releases all resources.
+   */
+  void close();
+
+}
@@ -26,13 +26,20 @@ public class MessageAddedNotification implements TransactionListener {
   private static Logger log = Logger.getLogger(MessageAddedNotification.class.getName());
   
   protected JobExecutor jobExecutor;
+  protected String deploymentId;
   
   public MessageAddedNotification(JobExecutor jobExecutor) {
+    this(jobExecutor, null);
+  }
+
+  public MessageAddedNotification(JobExecutor jobExecutor, String deploymentId) {
     this.jobExecutor = jobExecutor;
+    this.deploymentId = deploymentId;
   }
 
   public void execute(CommandContext commandContext) {
     log.fine("notifying job executor of new job");
     jobExecutor.jobWasAdded();
+    jobExecutor.publishJobAdded(deploymentId);
   }
 }
@@ -6,6 +6,7 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.cmd.GetNextJobDuedateCmd;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 
 
@@ -67,6 +68,8 @@ public class SequentialJobAcquisitionRunnable extends AcquireJobsRunnable {
       }
 
       acquisitionContext.setJobAdded(isJobAdded);
+      acquisitionContext.setAvailableExecutionCapacity(jobExecutor.getAvailableExecutionCapacity());
+      acquisitionContext.setNumberOfCompletedExecutions(jobExecutor.getNumberOfCompletedExecutions());
       configureNextAcquisitionCycle(acquisitionContext, acquisitionStrategy);
 
       long waitTime = acquisitionStrategy.getWaitTime();
@@ -94,7 +97,17 @@ public class SequentialJobAcquisitionRunnable extends AcquireJobsRunnable {
   }
 
   protected JobAcquisitionStrategy initializeAcquisitionStrategy() {
-    return new BackoffJobAcquisitionStrategy(jobExecutor);
+    if (jobExecutor.isAdaptiveAcquisition()) {
+      return new AdaptiveJobAcquisitionStrategy(jobExecutor);
+    }
+    else {
+      return new BackoffJobAcquisitionStrategy(jobExecutor);
+    }
+  }
+
+  protected boolean isNextDuedateRequired(JobAcquisitionStrategy acquisitionStrategy) {
+    return acquisitionStrategy instanceof AdaptiveJobAcquisitionStrategy
+        && ((AdaptiveJobAcquisitionStrategy) acquisitionStrategy).isNextDuedateRequired();
   }
 
   public JobAcquisitionContext getAcquisitionContext() {
@@ -131,6 +144,12 @@ public class SequentialJobAcquisitionRunnable extends AcquireJobsRunnable {
     if (numJobsToAcquire > 0) {
       jobExecutor.logAcquisitionAttempt(currentProcessEngine);
       acquiredJobs = commandExecutor.execute(jobExecutor.getAcquireJobsCmd(numJobsToAcquire));
+
+      int numJobsAcquired = acquiredJobs.getJobIdBatches().size() + acquiredJobs.getNumberOfJobsFailedToLock();
+      if (numJobsAcquired < numJobsToAcquire && isNextDuedateRequired(acquisitionStrategy)) {
+        // all due jobs are acquired, determine when the next job becomes due
+        acquiredJobs.setNextDuedate(commandExecutor.execute(new GetNextJobDuedateCmd()));
+      }
     }
     else {
       acquiredJobs = new AcquiredJobs(numJobsToAcquire);
@@ -0,0 +1,162 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.camunda.bpm.engine.IdentityService;
+import org.camunda.bpm.engine.impl.cmd.SignalEventReceivedCmd;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.identity.Authentication;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.MessageEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.SignalEventSubscriptionEntity;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.impl.util.json.JSONObject;
+
+/**
+ * <p>Broadcasts a signal to its subscriptions in chunks. The subscriptions are processed
+ * in the order of their ids.</p>
+ *
+ * <p>A broadcast job finds the next chunk of subscriptions and creates a separate job which
+ * delivers the signal to the subscriptions of this chunk. If the chunk is full, it also
+ * creates the broadcast job for the next chunk. Since the delivery of a chunk runs in its own
+ * job, a chunk which fails is retried on its own and does not stop the delivery to the
+ * following chunks.</p>
+ *
+ * <p>Only subscriptions which were created before the broadcast started receive the signal.
+ * The authorizations are checked for the user who started the broadcast. Only the id of the
+ * user is stored in the job configuration, the groups of the user are looked up when the
+ * signal is delivered.</p>
+ */
+public class SignalEventBroadcastJobHandler implements JobHandler {
+
+  public static final String TYPE = "signal-broadcast";
+
+  protected static final String JOB_HANDLER_CFG_EVENT_NAME = "eventName";
+  protected static final String JOB_HANDLER_CFG_CREATED_BEFORE = "createdBefore";
+  protected static final String JOB_HANDLER_CFG_LAST_ID = "lastId";
+  protected static final String JOB_HANDLER_CFG_CHUNK_LAST_ID = "chunkLastId";
+  protected static final String JOB_HANDLER_CFG_USER_ID = "userId";
+
+  public String getType() {
+    return TYPE;
+  }
+
+  /**
+   * Creates the job for the first chunk of the broadcast.
+   */
+  public static void scheduleBroadcast(CommandContext commandContext, String eventName) {
+    JSONObject json = new JSONObject();
+    json.put(JOB_HANDLER_CFG_EVENT_NAME, eventName);
+    json.put(JOB_HANDLER_CFG_CREATED_BEFORE, ClockUtil.getCurrentTime().getTime());
+
+    Authentication authentication = commandContext.getAuthentication();
+    if (authentication != null && authentication.getUserId() != null) {
+      json.put(JOB_HANDLER_CFG_USER_ID, authentication.getUserId());
+    }
+
+    scheduleJob(commandContext, json);
+  }
+
+  protected static void scheduleJob(CommandContext commandContext, JSONObject configuration) {
+    MessageEntity message = new MessageEntity();
+    message.setJobHandlerType(TYPE);
+    message.setJobHandlerConfiguration(configuration.toString());
+
+    commandContext.getJobManager().send(message);
+  }
+
+  public void execute(String configuration, ExecutionEntity execution, CommandContext commandContext) {
+    JSONObject config = new JSONObject(configuration);
+
+    if (config.has(JOB_HANDLER_CFG_CHUNK_LAST_ID)) {
+      deliverChunk(config, commandContext);
+    }
+    else {
+      scheduleChunk(config, commandContext);
+    }
+  }
+
+  /**
+   * Creates the job which delivers the signal to the next chunk and, if
+   * the chunk is full, the broadcast job for the chunk after it.
+   */
+  protected void scheduleChunk(JSONObject config, CommandContext commandContext) {
+    String eventName = config.getString(JOB_HANDLER_CFG_EVENT_NAME);
+    Date createdBefore = new Date(config.getLong(JOB_HANDLER_CFG_CREATED_BEFORE));
+    String lastId = config.optString(JOB_HANDLER_CFG_LAST_ID, null);
+    int chunkSize = Context.getProcessEngineConfiguration().getSignalBroadcastChunkSize();
+
+    List<SignalEventSubscriptionEntity> signalEventSubscriptions = commandContext
+        .getEventSubscriptionManager()
+        .findSignalEventSubscriptionsByEventName(eventName, createdBefore, lastId, null, chunkSize);
+
+    if (!signalEventSubscriptions.isEmpty()) {
+      String chunkLastId = signalEventSubscriptions.get(signalEventSubscriptions.size() - 1).getId();
+
+      JSONObject chunkConfig = new JSONObject(config.toString());
+      chunkConfig.put(JOB_HANDLER_CFG_CHUNK_LAST_ID, chunkLastId);
+      scheduleJob(commandContext, chunkConfig);
+
+      if (signalEventSubscriptions.size() >= chunkSize) {
+        config.put(JOB_HANDLER_CFG_LAST_ID, chunkLastId);
+        scheduleJob(commandContext, config);
+      }
+    }
+  }
+
+  /**
+   * Delivers the signal to the subscriptions of a chunk.
+   */
+  protected void deliverChunk(JSONObject config, CommandContext commandContext) {
+    String eventName = config.getString(JOB_HANDLER_CFG_EVENT_NAME);
+    Date createdBefore = new Date(config.getLong(JOB_HANDLER_CFG_CREATED_BEFORE));
+    String lastId = config.optString(JOB_HANDLER_CFG_LAST_ID, null);
+    String chunkLastId = config.getString(JOB_HANDLER_CFG_CHUNK_LAST_ID);
+
+    List<SignalEventSubscriptionEntity> signalEventSubscriptions = commandContext
+        .getEventSubscriptionManager()
+        .findSignalEventSubscriptionsByEventName(eventName, createdBefore, lastId, chunkLastId, Integer.MAX_VALUE);
+
+    IdentityService identityService = Context.getProcessEngineConfiguration().getIdentityService();
+    Authentication previousAuthentication = identityService.getCurrentAuthentication();
+
+    String userId = config.optString(JOB_HANDLER_CFG_USER_ID, null);
+    if (userId != null) {
+      identityService.setAuthentication(userId, findGroupIds(commandContext, userId));
+    }
+
+    try {
+      new SignalEventReceivedCmd(eventName, null, null).broadcast(commandContext, signalEventSubscriptions);
+    }
+    finally {
+      if (userId != null) {
+        identityService.setAuthentication(previousAuthentication);
+      }
+    }
+  }
+
+  protected List<String> findGroupIds(final CommandContext commandContext, final String userId) {
+    // the groups are needed for the authorization checks, regardless of whether they can be read
+    return commandContext.runWithoutAuthorization(new Callable<List<String>>() {
+      public List<String> call() throws Exception {
+        return commandContext.getAuthorizationManager().findGroupIdsOfUser(userId);
+      }
+    });
+  }
+
+}
@@ -46,6 +46,23 @@ public class ThreadPoolJobExecutor extends JobExecutor {
     }
   }
 
+  public int getAvailableExecutionCapacity() {
+    if (threadPoolExecutor == null) {
+      return -1;
+    }
+    int idleThreads = Math.max(0, threadPoolExecutor.getMaximumPoolSize() - threadPoolExecutor.getActiveCount());
+    // an unbounded queue reports Integer.MAX_VALUE as remaining capacity, so the sum must saturate
+    long capacity = (long) idleThreads + threadPoolExecutor.getQueue().remainingCapacity();
+    return (int) Math.min(capacity, Integer.MAX_VALUE);
+  }
+
+  public long getNumberOfCompletedExecutions() {
+    if (threadPoolExecutor == null) {
+      return -1;
+    }
+    return threadPoolExecutor.getCompletedTaskCount();
+  }
+
   // getters / setters
 
   public ThreadPoolExecutor getThreadPoolExecutor() {
@@ -16,23 +16,32 @@
 package org.camunda.bpm.engine.impl.juel;
 
 import java.util.Collections;
-import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.Queue;
 import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 
 /**
  * Simple (thread-safe) LRU cache.
- * After the cache size reached a certain limit, the least recently used entry is removed,
+ * After the cache size reached a certain limit, a least recently used entry is removed,
  * when adding a new entry.
  *
+ * Lookups do not lock: the primary cache is a concurrent map and the recency of the
+ * entries is approximated by the second chance (clock) algorithm. A lookup marks the
+ * entry as used; on eviction, used entries are unmarked and get a second chance.
+ *
  * @author Christoph Beck
  */
 public final class Cache implements TreeCache {
-  private final Map<String,Tree> primary;
-  private final Map<String,Tree> secondary;
+	private final int size;
+	private final ConcurrentHashMap<String,Entry> primary;
+	private final Queue<Entry> entries;
+	private final AtomicInteger primarySize;
+	private final Map<String,Tree> secondary;
 
   /**
    * Constructor.
@@ -50,36 +59,66 @@ public final class Cache implements TreeCache {
    * @param size maximum primary cache size
 	 * @param secondary the secondary map (may be <code>null</code>)
 	 */
-	@SuppressWarnings("serial")
-	public Cache(final int size, Map<String,Tree> secondary) {
-		this.primary = Collections.synchronizedMap(new LinkedHashMap<String,Tree>(16, 0.75f, true) {
-			@Override
-			protected boolean removeEldestEntry(Entry<String,Tree> eldest) {
-				if (size() > size) {
-					if (Cache.this.secondary != null) { // move to secondary cache
-						Cache.this.secondary.put(eldest.getKey(), eldest.getValue());
-					}
-					return true;
-				}
-				return false;
-			}
-		});
+	public Cache(int size, Map<String,Tree> secondary) {
+		this.size = size;
+		this.primary = new ConcurrentHashMap<String,Entry>(16, 0.75f, 16);
+		this.entries = new ConcurrentLinkedQueue<Entry>();
+		this.primarySize = new AtomicInteger();
 		this.secondary = secondary == null ? null : Collections.synchronizedMap(secondary);
 	}
 
 	public Tree get(String expression) {
-		if (secondary == null) {
-			return primary.get(expression);
-		} else {
-			Tree tree = primary.get(expression);
-			if (tree == null) {
-				tree = secondary.get(expression);
+		Entry entry = primary.get(expression);
+		if (entry != null) {
+			if (!entry.used) { // avoid writing shared state on every lookup
+				entry.used = true;
 			}
-			return tree;
+			return entry.tree;
 		}
+		return secondary == null ? null : secondary.get(expression);
 	}
 
 	public void put(String expression, Tree tree) {
-		primary.put(expression, tree);
+		Entry entry = new Entry(expression, tree);
+		if (primary.put(expression, entry) == null) {
+			entries.add(entry);
+			if (primarySize.incrementAndGet() > size) {
+				evict();
+			}
+		} else {
+			// the replaced entry is skipped on eviction
+			entries.add(entry);
+		}
+	}
+
+	private void evict() {
+		// bound the second chances given to entries which are used concurrently
+		int secondChances = 2 * size;
+		while (primarySize.get() > size) {
+			Entry entry = entries.poll();
+			if (entry == null) {
+				return;
+			}
+			if (entry.used && secondChances-- > 0) {
+				entry.used = false;
+				entries.add(entry);
+			} else if (primary.remove(entry.expression, entry)) {
+				primarySize.decrementAndGet();
+				if (secondary != null) { // move to secondary cache
+					secondary.put(entry.expression, entry.tree);
+				}
+			}
+		}
+	}
+
+	private static final class Entry {
+		final String expression;
+		final Tree tree;
+		volatile boolean used;
+
+		Entry(String expression, Tree tree) {
+			this.expression = expression;
+			this.tree = tree;
+		}
 	}
 }
@@ -0,0 +1,192 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>Records the distribution of values, e.g. execution times, in logarithmic buckets
+ * which are linearly subdivided like in an HDR histogram. Every power of two is split
+ * into {@value #SUB_BUCKETS} buckets, so a value reported for a percentile is at most
+ * 1/{@value #SUB_BUCKETS} larger than the recorded value.</p>
+ *
+ * <p>Recording a value does not allocate objects and does not block.</p>
+ *
+ * <p>Percentiles cannot be added up, so histograms are not logged to the database
+ * like meters. The metrics reporter {@link #completeInterval() completes an interval}
+ * each time it reports and logs the count, percentiles and maximum of the interval
+ * separately. The snapshot of the last interval is also available by
+ * {@link #getIntervalSnapshot()}.</p>
+ */
+public class Histogram {
+
+  protected static final int SUB_BUCKET_BITS = 4;
+  public static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+  /** buckets for all non-negative long values */
+  protected static final int NUMBER_OF_BUCKETS = (63 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+  protected String name;
+
+  protected final AtomicLongArray buckets = new AtomicLongArray(NUMBER_OF_BUCKETS);
+  protected final StripedCounter count = new StripedCounter();
+  protected final StripedCounter sum = new StripedCounter();
+  protected final AtomicLong max = new AtomicLong();
+
+  protected volatile Snapshot intervalSnapshot;
+
+  public Histogram(String name) {
+    this.name = name;
+  }
+
+  public void recordValue(long value) {
+    if (value < 0) {
+      value = 0;
+    }
+
+    buckets.incrementAndGet(bucketIndex(value));
+    count.increment();
+    sum.add(value);
+
+    long currentMax = max.get();
+    while (value > currentMax && !max.compareAndSet(currentMax, value)) {
+      currentMax = max.get();
+    }
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public Snapshot getSnapshot() {
+    long[] counts = new long[NUMBER_OF_BUCKETS];
+    for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+      counts[i] = buckets.get(i);
+    }
+    return new Snapshot(counts, count.sum(), sum.sum(), max.get());
+  }
+
+  /**
+   * Returns the values recorded since the last reset and resets the histogram.
+   */
+  public Snapshot getSnapshotAndReset() {
+    long[] counts = new long[NUMBER_OF_BUCKETS];
+    for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+      counts[i] = buckets.getAndSet(i, 0);
+    }
+    return new Snapshot(counts, count.sumThenReset(), sum.sumThenReset(), max.getAndSet(0));
+  }
+
+  /**
+   * Resets the histogram and keeps the values recorded since the last reset as the
+   * snapshot of the completed interval.
+   *
+   * @return the snapshot of the completed interval
+   */
+  public Snapshot completeInterval() {
+    Snapshot snapshot = getSnapshotAndReset();
+    intervalSnapshot = snapshot;
+    return snapshot;
+  }
+
+  /**
+   * @return the values recorded during the last completed interval or null if no
+   * interval was completed yet
+   */
+  public Snapshot getIntervalSnapshot() {
+    return intervalSnapshot;
+  }
+
+  protected static int bucketIndex(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+    return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+  }
+
+  /**
+   * @return the highest value which is recorded in the bucket
+   */
+  protected static long highestValueOfBucket(int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+    int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+    int subBucket = index % SUB_BUCKETS;
+    long lowestValue = ((long) (SUB_BUCKETS + subBucket)) << (exponent - SUB_BUCKET_BITS);
+    return lowestValue + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+  }
+
+  /**
+   * An immutable copy of the recorded values.
+   */
+  public static class Snapshot {
+
+    protected long[] counts;
+    protected long count;
+    protected long sum;
+    protected long max;
+
+    public Snapshot(long[] counts, long count, long sum, long max) {
+      this.counts = counts;
+      this.count = count;
+      this.sum = sum;
+      this.max = max;
+    }
+
+    public long getCount() {
+      return count;
+    }
+
+    public long getSum() {
+      return sum;
+    }
+
+    public long getMax() {
+      return max;
+    }
+
+    public long getMean() {
+      return count > 0 ? sum / count : 0;
+    }
+
+    /**
+     * @param percentile the percentile between 0 and 100, e.g. 99 for the 99th percentile
+     * @return the value below or equal to which the given percentage of values were recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+      long totalCount = 0;
+      for (long bucketCount : counts) {
+        totalCount += bucketCount;
+      }
+      if (totalCount == 0) {
+        return 0;
+      }
+
+      long countAtPercentile = Math.max(1, (long) Math.ceil(Math.min(percentile, 100) / 100 * totalCount));
+
+      long accumulatedCount = 0;
+      for (int i = 0; i < counts.length; i++) {
+        accumulatedCount += counts[i];
+        if (accumulatedCount >= countAtPercentile) {
+          return Math.min(highestValueOfBucket(i), max);
+        }
+      }
+      return max;
+    }
+  }
+
+}
@@ -12,17 +12,24 @@
  */
 package org.camunda.bpm.engine.impl.metrics;
 
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
- * A Meter implementation based on AtomicLong
+ * A Meter implementation based on a {@link StripedCounter}. A meter may be
+ * further dimensioned by tags, e.g. the key of a process definition. Occurrences
+ * marked for a tag are only counted by the meter of the tag, so the untagged
+ * occurrences and the occurrences of all tags add up to the value of this meter.
  *
  * @author Daniel Meyer
  *
  */
 public class Meter {
 
-  protected AtomicLong counter = new AtomicLong(0);
+  protected StripedCounter counter = new StripedCounter();
+
+  protected ConcurrentMap<String, Meter> taggedMeters = new ConcurrentHashMap<String, Meter>();
 
   protected String name;
 
@@ -31,11 +38,39 @@ public class Meter {
   }
 
   public void mark() {
-    counter.incrementAndGet();
+    counter.increment();
   }
 
   public void markTimes(long times) {
-    counter.addAndGet(times);
+    counter.add(times);
+  }
+
+  public void markTimes(String tag, long times) {
+    if (tag != null) {
+      getTaggedMeter(tag).markTimes(times);
+    }
+    else {
+      markTimes(times);
+    }
+  }
+
+  public Meter getTaggedMeter(String tag) {
+    Meter taggedMeter = taggedMeters.get(tag);
+    if (taggedMeter == null) {
+      Meter newMeter = new Meter(name);
+      taggedMeter = taggedMeters.putIfAbsent(tag, newMeter);
+      if (taggedMeter == null) {
+        taggedMeter = newMeter;
+      }
+    }
+    return taggedMeter;
+  }
+
+  /**
+   * @return the meters of the tags for which occurrences were marked, by tag
+   */
+  public Map<String, Meter> getTaggedMeters() {
+    return taggedMeters;
   }
 
   public String getName() {
@@ -46,12 +81,33 @@ public class Meter {
     this.name = name;
   }
 
+  /**
+   * @return the occurrences including those of all tags; the meter and the meters of its tags are cleared
+   */
   public long getAndClear() {
-    return counter.getAndSet(0);
+    long value = getUntaggedAndClear();
+    for (Meter taggedMeter : taggedMeters.values()) {
+      value += taggedMeter.getAndClear();
+    }
+    return value;
+  }
+
+  /**
+   * @return the occurrences which were not marked for a tag; the meters of the tags are not cleared
+   */
+  public long getUntaggedAndClear() {
+    return counter.sumThenReset();
   }
 
+  /**
+   * @return the occurrences including those of all tags
+   */
   public long get() {
-    return counter.get();
+    long value = counter.sum();
+    for (Meter taggedMeter : taggedMeters.values()) {
+      value += taggedMeter.get();
+    }
+    return value;
   }
 
 }
@@ -16,11 +16,13 @@ import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 
 import java.io.Serializable;
 import java.util.Date;
+import java.util.List;
 
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.management.HistogramLog;
 import org.camunda.bpm.engine.management.MetricsQuery;
 
 /**
@@ -33,6 +35,7 @@ public class MetricsQueryImpl implements Serializable, Command<Object>, MetricsQ
 
   protected String name;
   protected String reporter;
+  protected String tag;
   protected Date startDate;
   protected Date endDate;
   protected MetricsQueryType queryType;
@@ -55,6 +58,12 @@ public class MetricsQueryImpl implements Serializable, Command<Object>, MetricsQ
     return this;
   }
 
+  public MetricsQuery tag(String tag) {
+    ensureNotNull("tag", tag);
+    this.tag = tag;
+    return this;
+  }
+
   public MetricsQueryImpl startDate(Date startDate) {
     ensureNotNull("startDate", startDate);
     this.startDate = startDate;
@@ -72,11 +81,20 @@ public class MetricsQueryImpl implements Serializable, Command<Object>, MetricsQ
     return (Long) commandExecutor.execute(this);
   }
 
+  @SuppressWarnings("unchecked")
+  public List<HistogramLog> histogramLogs() {
+    queryType = MetricsQueryType.HISTOGRAM_LOGS;
+    return (List<HistogramLog>) commandExecutor.execute(this);
+  }
+
   public Object execute(CommandContext commandContext) {
     switch (queryType) {
     case SUM:
       return commandContext.getMeterLogManager()
           .executeSelectSum(this);
+    case HISTOGRAM_LOGS:
+      return commandContext.getMeterLogManager()
+          .findHistogramLogsByQueryCriteria(this);
     }
     throw new ProcessEngineException("Incorrect query type. Must be one of "+MetricsQueryType.values());
   }
@@ -97,4 +115,8 @@ public class MetricsQueryImpl implements Serializable, Command<Object>, MetricsQ
     return reporter;
   }
 
+  public String getTag() {
+    return tag;
+  }
+
 }
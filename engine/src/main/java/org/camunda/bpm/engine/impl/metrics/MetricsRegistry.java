@@ -12,8 +12,8 @@
  */
 package org.camunda.bpm.engine.impl.metrics;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author Daniel Meyer
@@ -21,7 +21,9 @@ import java.util.Map;
  */
 public class MetricsRegistry {
 
-  protected Map<String, Meter> meters = new HashMap<String, Meter>();
+  protected Map<String, Meter> meters = new ConcurrentHashMap<String, Meter>();
+
+  protected Map<String, Histogram> histograms = new ConcurrentHashMap<String, Histogram>();
 
   public Meter getMeterByName(String name) {
     return meters.get(name);
@@ -43,10 +45,40 @@ public class MetricsRegistry {
     }
   }
 
+  public void markOccurrence(String name, String tag, long times) {
+    Meter meter = meters.get(name);
+
+    if (meter != null) {
+      meter.markTimes(tag, times);
+    }
+  }
+
   public Meter createMeter(String name) {
     Meter meter = new Meter(name);
     meters.put(name, meter);
     return meter;
   }
 
+  public Histogram getHistogramByName(String name) {
+    return histograms.get(name);
+  }
+
+  public Map<String, Histogram> getHistograms() {
+    return histograms;
+  }
+
+  public void recordValue(String name, long value) {
+    Histogram histogram = histograms.get(name);
+
+    if (histogram != null) {
+      histogram.recordValue(value);
+    }
+  }
+
+  public Histogram createHistogram(String name) {
+    Histogram histogram = new Histogram(name);
+    histograms.put(name, histogram);
+    return histogram;
+  }
+
 }
@@ -0,0 +1,92 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>A counter which spreads concurrent updates over several cells, similar to
+ * the LongAdder of Java 8. Every thread updates the cell selected by its thread
+ * id, so threads rarely contend on the same cache line. Reading the value sums
+ * up all cells.</p>
+ *
+ * <p>Updates do not allocate objects.</p>
+ */
+public class StripedCounter {
+
+  /** number of longs between two cells, such that each cell resides in its own cache line */
+  protected static final int PADDING = 8;
+
+  protected static final int NUMBER_OF_CELLS = cellsFor(Runtime.getRuntime().availableProcessors());
+
+  protected final AtomicLongArray cells;
+  protected final int mask;
+
+  public StripedCounter() {
+    this(NUMBER_OF_CELLS);
+  }
+
+  /**
+   * @param numberOfCells the number of cells, must be a power of two
+   */
+  public StripedCounter(int numberOfCells) {
+    this.cells = new AtomicLongArray(numberOfCells * PADDING);
+    this.mask = numberOfCells - 1;
+  }
+
+  public void add(long value) {
+    cells.addAndGet(cellIndex(), value);
+  }
+
+  public void increment() {
+    add(1);
+  }
+
+  public long sum() {
+    long sum = 0;
+    for (int i = 0; i < cells.length(); i += PADDING) {
+      sum += cells.get(i);
+    }
+    return sum;
+  }
+
+  /**
+   * Returns the sum and resets the counter. Updates which happen concurrently are
+   * either contained in the returned sum or remain in the counter.
+   */
+  public long sumThenReset() {
+    long sum = 0;
+    for (int i = 0; i < cells.length(); i += PADDING) {
+      sum += cells.getAndSet(i, 0);
+    }
+    return sum;
+  }
+
+  protected int cellIndex() {
+    long threadId = Thread.currentThread().getId();
+    int hash = (int) (threadId ^ (threadId >>> 32));
+    hash ^= (hash >>> 16);
+    hash *= 0x85ebca6b;
+    hash ^= (hash >>> 13);
+    return (hash & mask) * PADDING;
+  }
+
+  protected static int cellsFor(int processors) {
+    int cells = 1;
+    while (cells < 2 * processors && cells < 64) {
+      cells <<= 1;
+    }
+    return cells;
+  }
+
+}
@@ -15,6 +15,9 @@ package org.camunda.bpm.engine.impl.metrics.parser;
 import org.camunda.bpm.engine.delegate.DelegateExecution;
 import org.camunda.bpm.engine.delegate.ExecutionListener;
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.pvm.process.ProcessDefinitionImpl;
 
 /**
  * @author Daniel Meyer
@@ -31,7 +34,20 @@ public class MetricsExecutionListener implements ExecutionListener {
   public void notify(DelegateExecution execution) throws Exception {
     Context.getProcessEngineConfiguration()
       .getMetricsRegistry()
-      .markOccurrence(metricsName);
+      .markOccurrence(metricsName, getProcessDefinitionKey(execution), 1);
+  }
+
+  /**
+   * @return the key of the process definition which is used to tag the occurrence
+   */
+  protected String getProcessDefinitionKey(DelegateExecution execution) {
+    if (execution instanceof ExecutionEntity) {
+      ProcessDefinitionImpl processDefinition = ((ExecutionEntity) execution).getProcessDefinition();
+      if (processDefinition instanceof ProcessDefinitionEntity) {
+        return ((ProcessDefinitionEntity) processDefinition).getKey();
+      }
+    }
+    return null;
   }
 
 }
@@ -13,7 +13,9 @@
 package org.camunda.bpm.engine.impl.metrics.reporter;
 
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
+import java.util.Map.Entry;
 import java.util.TimerTask;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -21,12 +23,20 @@ import java.util.logging.Logger;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.metrics.Histogram;
 import org.camunda.bpm.engine.impl.metrics.Meter;
 import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.impl.persistence.entity.HistogramLogEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.MeterLogEntity;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 
 /**
+ * <p>Logs the values of the meters of the {@link MetricsRegistry} to the database.
+ * The occurrences of each tag of a meter are logged separately with the tag.</p>
+ *
+ * <p>Percentiles cannot be summed up, so the histograms are logged separately. The interval
+ * of each histogram is {@link Histogram#completeInterval() completed} and its count,
+ * percentiles and maximum are logged to the database if values were recorded.</p>
  *
  * @author Daniel Meyer
  *
@@ -35,6 +45,9 @@ public class MetricsCollectionTask extends TimerTask {
 
   protected final static Logger log = Logger.getLogger(MetricsCollectionTask.class.getName());
 
+  /** maximum length of the tag column of the meter log */
+  public static final int MAX_METER_TAG_LENGTH = 255;
+
   protected MetricsRegistry metricsRegistry;
   protected CommandExecutor commandExecutor;
   protected String reporterId = null;
@@ -60,12 +73,35 @@ public class MetricsCollectionTask extends TimerTask {
   protected void collectMetrics() {
 
     final List<MeterLogEntity> logs = new ArrayList<MeterLogEntity>();
+    Date timestamp = ClockUtil.getCurrentTime();
+
     for (Meter meter : metricsRegistry.getMeters().values()) {
+      long untaggedValue = meter.getUntaggedAndClear();
+
+      for (Entry<String, Meter> taggedMeter : meter.getTaggedMeters().entrySet()) {
+        long value = taggedMeter.getValue().getAndClear();
+        String tag = taggedMeter.getKey();
+        if (tag.length() > MAX_METER_TAG_LENGTH) {
+          // still count the occurrences for the meter
+          untaggedValue += value;
+        }
+        else if (value > 0) {
+          logs.add(new MeterLogEntity(meter.getName(), reporterId, tag, value, timestamp));
+        }
+      }
+
       logs.add(new MeterLogEntity(meter.getName(),
           reporterId,
-          meter.getAndClear(),
-          ClockUtil.getCurrentTime()));
+          untaggedValue,
+          timestamp));
+    }
 
+    final List<HistogramLogEntity> histogramLogs = new ArrayList<HistogramLogEntity>();
+    for (Histogram histogram : metricsRegistry.getHistograms().values()) {
+      Histogram.Snapshot snapshot = histogram.completeInterval();
+      if (snapshot.getCount() > 0) {
+        histogramLogs.add(new HistogramLogEntity(histogram.getName(), reporterId, snapshot, timestamp));
+      }
     }
 
     commandExecutor.execute(new Command<Void>() {
@@ -74,6 +110,9 @@ public class MetricsCollectionTask extends TimerTask {
         for (MeterLogEntity meterLogEntity : logs) {
           commandContext.getMeterLogManager().insert(meterLogEntity);
         }
+        for (HistogramLogEntity histogramLogEntity : histogramLogs) {
+          commandContext.getMeterLogManager().insert(histogramLogEntity);
+        }
         return null;
       }
     });
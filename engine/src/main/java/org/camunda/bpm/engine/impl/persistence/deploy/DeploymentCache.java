@@ -16,9 +16,7 @@ package org.camunda.bpm.engine.impl.persistence.deploy;
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 
 import java.io.InputStream;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.Callable;
 
 import org.camunda.bpm.engine.exception.cmmn.CaseDefinitionNotFoundException;
@@ -30,11 +28,15 @@ import org.camunda.bpm.engine.impl.cmmn.entity.repository.CaseDefinitionEntity;
 import org.camunda.bpm.engine.impl.cmmn.entity.repository.CaseDefinitionQueryImpl;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.dmn.cache.DecisionResultCache;
 import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionDefinitionEntity;
 import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionDefinitionQueryImpl;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.entity.DeploymentEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.util.cache.Cache;
+import org.camunda.bpm.engine.impl.util.cache.CacheFactory;
+import org.camunda.bpm.engine.impl.util.cache.DefaultCacheFactory;
 import org.camunda.bpm.engine.repository.CaseDefinition;
 import org.camunda.bpm.engine.repository.DecisionDefinition;
 import org.camunda.bpm.engine.repository.ProcessDefinition;
@@ -54,14 +56,37 @@ public class DeploymentCache {
 
   protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
 
-  protected Map<String, ProcessDefinitionEntity> processDefinitionCache = new HashMap<String, ProcessDefinitionEntity>();
-  protected Map<String, CaseDefinitionEntity> caseDefinitionCache = new HashMap<String, CaseDefinitionEntity>();
-  protected Map<String, DecisionDefinitionEntity> decisionDefinitionCache = new HashMap<String, DecisionDefinitionEntity>();
-  protected Map<String, BpmnModelInstance> bpmnModelInstanceCache = new HashMap<String, BpmnModelInstance>();
-  protected Map<String, CmmnModelInstance> cmmnModelInstanceCache = new HashMap<String, CmmnModelInstance>();
-  protected Map<String, DmnModelInstance> dmnModelInstanceCache = new HashMap<String, DmnModelInstance>();
+  /** the default capacity of each cache; the caches are unbounded unless a capacity is configured */
+  public static final int DEFAULT_CACHE_CAPACITY = Integer.MAX_VALUE;
+
+  protected Cache<String, ProcessDefinitionEntity> processDefinitionCache;
+  protected Cache<String, CaseDefinitionEntity> caseDefinitionCache;
+  protected Cache<String, DecisionDefinitionEntity> decisionDefinitionCache;
+  protected DecisionResultCache decisionResultCache;
+  protected Cache<String, BpmnModelInstance> bpmnModelInstanceCache;
+  protected Cache<String, CmmnModelInstance> cmmnModelInstanceCache;
+  protected Cache<String, DmnModelInstance> dmnModelInstanceCache;
   protected List<Deployer> deployers;
 
+  public DeploymentCache() {
+    this(new DefaultCacheFactory(), DEFAULT_CACHE_CAPACITY);
+  }
+
+  /**
+   * Creates the deployment cache with caches of the given capacity. Definitions
+   * evicted from a cache are rebuilt by parsing their deployment again; the capacity
+   * of the definition caches should therefore exceed the number of definitions of
+   * the largest deployment.
+   */
+  public DeploymentCache(CacheFactory cacheFactory, int capacity) {
+    processDefinitionCache = cacheFactory.createCache(capacity);
+    caseDefinitionCache = cacheFactory.createCache(capacity);
+    decisionDefinitionCache = cacheFactory.createCache(capacity);
+    bpmnModelInstanceCache = cacheFactory.createCache(capacity);
+    cmmnModelInstanceCache = cacheFactory.createCache(capacity);
+    dmnModelInstanceCache = cacheFactory.createCache(capacity);
+  }
+
   public void deploy(final DeploymentEntity deployment) {
     Context.getCommandContext().runWithoutAuthorization(new Callable<Void>() {
       public Void call() throws Exception {
@@ -479,43 +504,77 @@ public class DeploymentCache {
   public void removeDecisionDefinition(String decisionDefinitionId) {
     decisionDefinitionCache.remove(decisionDefinitionId);
     dmnModelInstanceCache.remove(decisionDefinitionId);
+    if (decisionResultCache != null) {
+      decisionResultCache.invalidate(decisionDefinitionId);
+    }
   }
 
   public void discardDecisionDefinitionCache() {
     decisionDefinitionCache.clear();
     dmnModelInstanceCache.clear();
+    if (decisionResultCache != null) {
+      decisionResultCache.clear();
+    }
   }
 
   // getters and setters //////////////////////////////////////////////////////
 
-  public Map<String, BpmnModelInstance> getBpmnModelInstanceCache() {
+  public Cache<String, BpmnModelInstance> getBpmnModelInstanceCache() {
     return bpmnModelInstanceCache;
   }
 
-  public Map<String, CmmnModelInstance> getCmmnModelInstanceCache() {
+  public void setBpmnModelInstanceCache(Cache<String, BpmnModelInstance> bpmnModelInstanceCache) {
+    this.bpmnModelInstanceCache = bpmnModelInstanceCache;
+  }
+
+  public Cache<String, CmmnModelInstance> getCmmnModelInstanceCache() {
     return cmmnModelInstanceCache;
   }
 
-  public Map<String, DmnModelInstance> getDmnModelInstanceCache() {
+  public void setCmmnModelInstanceCache(Cache<String, CmmnModelInstance> cmmnModelInstanceCache) {
+    this.cmmnModelInstanceCache = cmmnModelInstanceCache;
+  }
+
+  public Cache<String, DmnModelInstance> getDmnModelInstanceCache() {
     return dmnModelInstanceCache;
   }
 
-  public Map<String, ProcessDefinitionEntity> getProcessDefinitionCache() {
+  public void setDmnModelInstanceCache(Cache<String, DmnModelInstance> dmnModelInstanceCache) {
+    this.dmnModelInstanceCache = dmnModelInstanceCache;
+  }
+
+  public Cache<String, ProcessDefinitionEntity> getProcessDefinitionCache() {
     return processDefinitionCache;
   }
 
-  public void setProcessDefinitionCache(Map<String, ProcessDefinitionEntity> processDefinitionCache) {
+  public void setProcessDefinitionCache(Cache<String, ProcessDefinitionEntity> processDefinitionCache) {
     this.processDefinitionCache = processDefinitionCache;
   }
 
-  public Map<String, CaseDefinitionEntity> getCaseDefinitionCache() {
+  public Cache<String, CaseDefinitionEntity> getCaseDefinitionCache() {
     return caseDefinitionCache;
   }
 
-  public void setCaseDefinitionCache(Map<String, CaseDefinitionEntity> caseDefinitionCache) {
+  public void setCaseDefinitionCache(Cache<String, CaseDefinitionEntity> caseDefinitionCache) {
     this.caseDefinitionCache = caseDefinitionCache;
   }
 
+  public Cache<String, DecisionDefinitionEntity> getDecisionDefinitionCache() {
+    return decisionDefinitionCache;
+  }
+
+  public void setDecisionDefinitionCache(Cache<String, DecisionDefinitionEntity> decisionDefinitionCache) {
+    this.decisionDefinitionCache = decisionDefinitionCache;
+  }
+
+  public DecisionResultCache getDecisionResultCache() {
+    return decisionResultCache;
+  }
+
+  public void setDecisionResultCache(DecisionResultCache decisionResultCache) {
+    this.decisionResultCache = decisionResultCache;
+  }
+
   public List<Deployer> getDeployers() {
     return deployers;
   }
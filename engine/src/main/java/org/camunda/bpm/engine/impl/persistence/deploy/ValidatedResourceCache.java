@@ -0,0 +1,196 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+import java.net.URL;
+import java.security.CodeSource;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.xml.parsers.SAXParserFactory;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.impl.persistence.entity.ResourceEntity;
+import org.camunda.bpm.engine.impl.util.IoUtil;
+import org.camunda.bpm.engine.impl.util.ReflectUtil;
+
+/**
+ * <p>Persistent set of the content hashes of resources which passed the schema
+ * validation while they were parsed. The hashes are stored in a file on local
+ * disk, so a resource which is parsed again after a restart of the process
+ * engine does not have to be validated again.</p>
+ *
+ * <p>The file starts with a validation key which identifies the build of the process
+ * engine, the schemas and the XML parser. Hashes recorded under another key are
+ * discarded, so resources are validated again after the engine or a schema changed.</p>
+ *
+ * <p>The cache is only an optimization: if the file cannot be read or written,
+ * resources are validated as usual.</p>
+ */
+public class ValidatedResourceCache {
+
+  private static final Logger LOG = Logger.getLogger(ValidatedResourceCache.class.getName());
+
+  protected static final String FILE_NAME = "validated-resources";
+  protected static final String CHARSET = "UTF-8";
+  protected static final String KEY_PREFIX = "# ";
+
+  protected File file;
+  protected String validationKey;
+  protected Set<String> hashes;
+  protected boolean isFileValid;
+  protected Writer writer;
+
+  /**
+   * @param validationKey identifies the validation, see {@link #createValidationKey(String...)}
+   */
+  public ValidatedResourceCache(File directory, String validationKey) {
+    this.file = new File(directory, FILE_NAME);
+    this.validationKey = validationKey;
+    this.hashes = readHashes(file);
+  }
+
+  /**
+   * @return true if the resource with the given content hash passed the validation before
+   */
+  public boolean isValidated(String hash) {
+    return hash != null && hashes.contains(hash);
+  }
+
+  /**
+   * Records that the resource with the given content hash passed the validation.
+   */
+  public synchronized void addValidated(String hash) {
+    if (hash == null || !hashes.add(hash)) {
+      return;
+    }
+
+    try {
+      if (writer == null) {
+        file.getParentFile().mkdirs();
+        // hashes recorded under another validation key are discarded
+        writer = new OutputStreamWriter(new FileOutputStream(file, isFileValid), CHARSET);
+        if (!isFileValid) {
+          writer.write(KEY_PREFIX + validationKey);
+          writer.write('\n');
+          isFileValid = true;
+        }
+      }
+      writer.write(hash);
+      writer.write('\n');
+      writer.flush();
+    }
+    catch (IOException e) {
+      LOG.log(Level.WARNING, "Could not write validated resource cache " + file, e);
+    }
+  }
+
+  public synchronized void close() {
+    IoUtil.closeSilently(writer);
+    writer = null;
+  }
+
+  protected Set<String> readHashes(File file) {
+    Set<String> hashes = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+    if (file.exists()) {
+      BufferedReader reader = null;
+      try {
+        reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), CHARSET));
+        String line = reader.readLine();
+        if (line == null || !line.equals(KEY_PREFIX + validationKey)) {
+          return hashes;
+        }
+        isFileValid = true;
+
+        while ((line = reader.readLine()) != null) {
+          line = line.trim();
+          if (line.length() > 0) {
+            hashes.add(line);
+          }
+        }
+      }
+      catch (IOException e) {
+        LOG.log(Level.WARNING, "Could not read validated resource cache " + file, e);
+      }
+      finally {
+        IoUtil.closeSilently(reader);
+      }
+    }
+
+    return hashes;
+  }
+
+  /**
+   * Creates a validation key from the version and build of the process engine,
+   * the XML parser implementation and the content of the given schemas.
+   */
+  public static String createValidationKey(String... schemaResources) {
+    StringBuilder key = new StringBuilder();
+    key.append(ProcessEngine.class.getPackage().getImplementationVersion());
+    key.append('|').append(getBuildTime());
+    key.append('|').append(SAXParserFactory.newInstance().getClass().getName());
+
+    for (String schemaResource : schemaResources) {
+      key.append('|').append(schemaResource).append('=');
+      InputStream schema = ReflectUtil.getResourceAsStream(schemaResource);
+      if (schema != null) {
+        try {
+          key.append(ResourceEntity.calculateHash(IoUtil.readInputStream(schema, schemaResource)));
+        }
+        finally {
+          IoUtil.closeSilently(schema);
+        }
+      }
+    }
+
+    try {
+      return ResourceEntity.calculateHash(key.toString().getBytes(CHARSET));
+    }
+    catch (UnsupportedEncodingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * @return the modification time of the jar or directory the engine classes are loaded
+   *   from, which changes when a snapshot is rebuilt without changing the version; 0 if unknown
+   */
+  protected static long getBuildTime() {
+    CodeSource codeSource = ValidatedResourceCache.class.getProtectionDomain().getCodeSource();
+    URL location = codeSource != null ? codeSource.getLocation() : null;
+    if (location != null && "file".equals(location.getProtocol())) {
+      try {
+        return new File(location.toURI()).lastModified();
+      }
+      catch (Exception e) {
+        // ignore, the build time is unknown
+      }
+    }
+    return 0;
+  }
+
+}
@@ -24,13 +24,13 @@ import org.camunda.bpm.engine.authorization.Resource;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.camunda.bpm.engine.impl.db.HasDbRevision;
-import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.ReadMostlyDbEntity;
 
 /**
  * @author Daniel Meyer
  *
  */
-public class AuthorizationEntity implements Authorization, DbEntity, HasDbRevision, Serializable {
+public class AuthorizationEntity implements Authorization, ReadMostlyDbEntity, HasDbRevision, Serializable {
 
   protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
   private static final long serialVersionUID = 1L;
@@ -226,6 +226,19 @@ public class AuthorizationEntity implements Authorization, DbEntity, HasDbRevisi
     return revision + 1;
   }
 
+  public AuthorizationEntity copy() {
+    AuthorizationEntity copy = new AuthorizationEntity();
+    copy.id = id;
+    copy.revision = revision;
+    copy.authorizationType = authorizationType;
+    copy.permissions = permissions;
+    copy.userId = userId;
+    copy.groupId = groupId;
+    copy.resourceType = resourceType;
+    copy.resourceId = resourceId;
+    return copy;
+  }
+
   public Object getPersistentState() {
         
     HashMap<String, Object> state = new HashMap<String, Object>();
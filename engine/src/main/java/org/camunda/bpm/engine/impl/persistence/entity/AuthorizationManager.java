@@ -33,9 +33,12 @@ import static org.camunda.bpm.engine.authorization.Resources.TASK;
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.camunda.bpm.engine.AuthorizationException;
 import org.camunda.bpm.engine.IdentityService;
@@ -83,6 +86,7 @@ import org.camunda.bpm.engine.impl.db.PermissionCheckBuilder;
 import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionDefinitionEntity;
 import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionDefinitionQueryImpl;
 import org.camunda.bpm.engine.impl.identity.Authentication;
+import org.camunda.bpm.engine.impl.identity.GroupMembershipCache;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
 import org.camunda.bpm.engine.impl.util.CollectionUtil;
@@ -97,6 +101,12 @@ public class AuthorizationManager extends AbstractManager {
   protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
   public static final String DEFAULT_AUTHORIZATION_CHECK = "defaultAuthorizationCheck";
 
+  /** maximum number of resource ids which are checked with one statement */
+  public static final int RESOURCE_ID_BATCH_SIZE = 500;
+
+  /** decisions of the authorization checks performed by the current command */
+  protected Map<List<Object>, Boolean> authorizationDecisions = new HashMap<List<Object>, Boolean>();
+
   public Authorization createNewAuthorization(int type) {
     checkAuthorization(CREATE, AUTHORIZATION, null);
     return new AuthorizationEntity(type);
@@ -106,6 +116,7 @@ public class AuthorizationManager extends AbstractManager {
   public void insert(DbEntity authorization) {
     checkAuthorization(CREATE, AUTHORIZATION, null);
     getDbEntityManager().insert(authorization);
+    authorizationDecisions.clear();
   }
 
   public List<Authorization> selectAuthorizationByQueryCriteria(AuthorizationQueryImpl authorizationQuery) {
@@ -144,6 +155,7 @@ public class AuthorizationManager extends AbstractManager {
   public void update(AuthorizationEntity authorization) {
     checkAuthorization(UPDATE, AUTHORIZATION, authorization.getId());
     getDbEntityManager().merge(authorization);
+    authorizationDecisions.clear();
   }
 
   @Override
@@ -151,6 +163,7 @@ public class AuthorizationManager extends AbstractManager {
     checkAuthorization(DELETE, AUTHORIZATION, authorization.getId());
     deleteAuthorizationsByResourceId(AUTHORIZATION, authorization.getId());
     super.delete(authorization);
+    authorizationDecisions.clear();
   }
 
   // authorization checks ///////////////////////////////////////////
@@ -240,12 +253,184 @@ public class AuthorizationManager extends AbstractManager {
     return isAuthorized(userId, groupIds, permissionChecks);
   }
 
+  /**
+   * Checks whether the user is authorized by one of the permission checks. The decision is
+   * cached for the current command, so the same check is only executed once per command.
+   */
   public boolean isAuthorized(String userId, List<String> groupIds, List<PermissionCheck> permissionChecks) {
-    AuthorizationCheck authCheck = new AuthorizationCheck();
-    authCheck.setAuthUserId(userId);
-    authCheck.setAuthGroupIds(groupIds);
-    authCheck.setAtomicPermissionChecks(permissionChecks);
-    return getDbEntityManager().selectBoolean("isUserAuthorizedForResource", authCheck);
+    List<Object> cacheKey = createAuthorizationDecisionKey(userId, groupIds, permissionChecks);
+
+    Boolean isAuthorized = authorizationDecisions.get(cacheKey);
+    if (isAuthorized == null) {
+      AuthorizationCheck authCheck = new AuthorizationCheck();
+      authCheck.setAuthUserId(userId);
+      authCheck.setAuthGroupIds(groupIds);
+      authCheck.setAtomicPermissionChecks(permissionChecks);
+      isAuthorized = getDbEntityManager().selectBoolean("isUserAuthorizedForResource", authCheck);
+
+      authorizationDecisions.put(cacheKey, isAuthorized);
+    }
+
+    return isAuthorized;
+  }
+
+  protected List<Object> createAuthorizationDecisionKey(String userId, List<String> groupIds, List<PermissionCheck> permissionChecks) {
+    List<Object> key = new ArrayList<Object>();
+    key.add(userId);
+    key.add(groupIds != null ? new ArrayList<String>(groupIds) : null);
+    for (PermissionCheck permissionCheck : permissionChecks) {
+      key.add(permissionCheck.getPerms());
+      key.add(permissionCheck.getResourceType());
+      key.add(permissionCheck.getResourceId());
+      key.add(permissionCheck.getResourceIdQueryParam());
+      key.add(permissionCheck.getAuthorizationNotFoundReturnValue());
+    }
+    return key;
+  }
+
+  /**
+   * Checks the permission on each of the given resources with one statement per
+   * {@value #RESOURCE_ID_BATCH_SIZE} resource ids.
+   *
+   * @return the ids of the resources the user is authorized for
+   */
+  public Set<String> findAuthorizedResourceIds(String userId, List<String> groupIds, Permission permission, Resource resource, Collection<String> resourceIds) {
+    Map<String, Integer> decisions = evaluateAuthorizations(userId, groupIds, permission, resource, resourceIds);
+
+    Set<String> authorizedResourceIds = new HashSet<String>();
+    for (Map.Entry<String, Integer> decision : decisions.entrySet()) {
+      if (decision.getValue() != null && decision.getValue() == 1) {
+        authorizedResourceIds.add(decision.getKey());
+      }
+    }
+    return authorizedResourceIds;
+  }
+
+  /**
+   * Evaluates the authorizations of the user for each of the given resources in the same order
+   * of precedence as the <code>isUserAuthorizedForResource</code> statement: user authorizations
+   * precede group authorizations which precede global authorizations, authorizations of a specific
+   * resource precede authorizations of all resources and grants precede revokes of the same kind.
+   *
+   * @return for each resource id, 1 if the permission is granted, 0 if it is revoked and
+   *   null if no authorization exists
+   */
+  protected Map<String, Integer> evaluateAuthorizations(String userId, List<String> groupIds, Permission permission, Resource resource, Collection<String> resourceIds) {
+    Map<String, Integer> decisions = new HashMap<String, Integer>();
+
+    List<String> batch = new ArrayList<String>();
+    for (String resourceId : new HashSet<String>(resourceIds)) {
+      if (resourceId != null) {
+        batch.add(resourceId);
+      }
+      if (batch.size() == RESOURCE_ID_BATCH_SIZE) {
+        evaluateAuthorizations(userId, groupIds, permission, resource, batch, decisions);
+        batch = new ArrayList<String>();
+      }
+    }
+    if (!batch.isEmpty()) {
+      evaluateAuthorizations(userId, groupIds, permission, resource, batch, decisions);
+    }
+
+    return decisions;
+  }
+
+  @SuppressWarnings("unchecked")
+  protected void evaluateAuthorizations(String userId, List<String> groupIds, Permission permission, Resource resource, List<String> resourceIds, Map<String, Integer> decisions) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("userId", userId);
+    parameters.put("groupIds", groupIds);
+    parameters.put("resourceType", resource.resourceType());
+    parameters.put("resourceIds", resourceIds);
+
+    List<AuthorizationEntity> authorizations = getDbEntityManager().selectList("selectAuthorizationsForResourceIds", parameters);
+
+    int perms = permission.getValue();
+    boolean hasGroups = groupIds != null && !groupIds.isEmpty();
+
+    for (String resourceId : resourceIds) {
+      Integer decision = null;
+      if (!Authorization.ANY.equals(resourceId)) {
+        decision = evaluateAuthorizations(authorizations, perms, resourceId, userId, null);
+      }
+      if (decision == null) {
+        decision = evaluateAuthorizations(authorizations, perms, Authorization.ANY, userId, null);
+      }
+      if (decision == null && hasGroups && !Authorization.ANY.equals(resourceId)) {
+        decision = evaluateAuthorizations(authorizations, perms, resourceId, null, groupIds);
+      }
+      if (decision == null && hasGroups) {
+        decision = evaluateAuthorizations(authorizations, perms, Authorization.ANY, null, groupIds);
+      }
+      if (decision == null && !Authorization.ANY.equals(resourceId)) {
+        decision = evaluateAuthorizations(authorizations, perms, resourceId, null, null);
+      }
+      if (decision == null) {
+        decision = evaluateAuthorizations(authorizations, perms, Authorization.ANY, null, null);
+      }
+      decisions.put(resourceId, decision);
+    }
+  }
+
+  /**
+   * Evaluates the authorizations of the user if the user id is given, of the groups if the group ids
+   * are given or the global authorizations otherwise.
+   */
+  protected Integer evaluateAuthorizations(List<AuthorizationEntity> authorizations, int perms, String resourceId, String userId, List<String> groupIds) {
+    boolean isGranted = false;
+    boolean isRevoked = false;
+
+    for (AuthorizationEntity authorization : authorizations) {
+      int type = authorization.getAuthorizationType();
+
+      boolean matches;
+      if (userId != null) {
+        matches = type != Authorization.AUTH_TYPE_GLOBAL && userId.equals(authorization.getUserId());
+      }
+      else if (groupIds != null) {
+        matches = type != Authorization.AUTH_TYPE_GLOBAL && groupIds.contains(authorization.getGroupId());
+      }
+      else {
+        matches = type == Authorization.AUTH_TYPE_GLOBAL && Authorization.ANY.equals(authorization.getUserId());
+      }
+
+      if (matches && resourceId.equals(authorization.getResourceId())) {
+        boolean hasPermissions = (authorization.getPermissions() & perms) == perms;
+        if (type == Authorization.AUTH_TYPE_REVOKE) {
+          isRevoked |= !hasPermissions;
+        }
+        else if (type == Authorization.AUTH_TYPE_GRANT) {
+          isGranted |= hasPermissions;
+        }
+        else {
+          isGranted |= hasPermissions;
+          isRevoked |= !hasPermissions;
+        }
+      }
+    }
+
+    if (isGranted) {
+      return 1;
+    }
+    else if (isRevoked) {
+      return 0;
+    }
+    else {
+      return null;
+    }
+  }
+
+  /**
+   * @return the ids of the groups the user is a member of, from the group membership cache if it is enabled
+   */
+  public List<String> findGroupIdsOfUser(String userId) {
+    GroupMembershipCache groupMembershipCache = Context.getProcessEngineConfiguration().getGroupMembershipCache();
+    if (groupMembershipCache != null) {
+      return groupMembershipCache.getGroupIds(getCommandContext(), userId);
+    }
+    else {
+      return GroupMembershipCache.queryGroupIds(getCommandContext(), userId);
+    }
   }
 
   // authorization checks on queries ////////////////////////////////
@@ -319,6 +504,7 @@ public class AuthorizationManager extends AbstractManager {
       deleteParams.put("resourceType", resource.resourceType());
       deleteParams.put("resourceId", resourceId);
       getDbEntityManager().delete(AuthorizationEntity.class, "deleteAuthorizationsForResourceId", deleteParams);
+      authorizationDecisions.clear();
     }
 
   }
@@ -333,15 +519,22 @@ public class AuthorizationManager extends AbstractManager {
 
     if(isAuthorizationEnabled() && currentAuthentication != null && commandContext.isAuthorizationCheckEnabled()) {
 
-      IdentityService identityService = Context.getProcessEngineConfiguration().getIdentityService();
-
       String userId = currentAuthentication.getUserId();
-      long count = identityService
-          .createUserQuery()
-          .userId(userId)
-          .memberOfGroup(Groups.CAMUNDA_ADMIN)
-          .count();
-      if (count == 0) {
+
+      boolean isMember;
+      if (Context.getProcessEngineConfiguration().getGroupMembershipCache() != null) {
+        isMember = findGroupIdsOfUser(userId).contains(Groups.CAMUNDA_ADMIN);
+      }
+      else {
+        IdentityService identityService = Context.getProcessEngineConfiguration().getIdentityService();
+        isMember = identityService
+            .createUserQuery()
+            .userId(userId)
+            .memberOfGroup(Groups.CAMUNDA_ADMIN)
+            .count() > 0;
+      }
+
+      if (!isMember) {
         throw LOG.notAMemberException(userId, Groups.CAMUNDA_ADMIN);
       }
     }
@@ -468,6 +661,12 @@ public class AuthorizationManager extends AbstractManager {
     }
   }
 
+  public void checkReadHistoricVariableInstance(HistoricVariableInstanceEntity historicVariableInstance) {
+    if (historicVariableInstance.getProcessDefinitionKey() != null) {
+      checkAuthorization(READ_HISTORY, PROCESS_DEFINITION, historicVariableInstance.getProcessDefinitionKey());
+    }
+  }
+
   // update permission //////////////////////////////////////////////////
 
   public void checkUpdateProcessInstanceById(String processInstanceId) {
@@ -501,6 +700,50 @@ public class AuthorizationManager extends AbstractManager {
     checkAuthorization(firstCheck, secondCheck);
   }
 
+  /**
+   * Checks the permission to update each of the given process instances. The permissions
+   * of all process instances and of their process definitions are evaluated with one
+   * statement per {@value #RESOURCE_ID_BATCH_SIZE} resources, with the same result as
+   * {@link #checkUpdateProcessInstance(ExecutionEntity)} for each process instance.
+   */
+  public void checkUpdateProcessInstances(Collection<ExecutionEntity> processInstances) {
+    Authentication currentAuthentication = getCurrentAuthentication();
+    CommandContext commandContext = getCommandContext();
+
+    if(isAuthorizationEnabled() && currentAuthentication != null && commandContext.isAuthorizationCheckEnabled()) {
+
+      String userId = currentAuthentication.getUserId();
+      List<String> groupIds = currentAuthentication.getGroupIds();
+
+      Set<String> processInstanceIds = new HashSet<String>();
+      Set<String> processDefinitionKeys = new HashSet<String>();
+      for (ExecutionEntity processInstance : processInstances) {
+        processInstanceIds.add(processInstance.getProcessInstanceId());
+        processDefinitionKeys.add(((ProcessDefinitionEntity) processInstance.getProcessDefinition()).getKey());
+      }
+
+      Map<String, Integer> processInstanceDecisions = evaluateAuthorizations(userId, groupIds, UPDATE, PROCESS_INSTANCE, processInstanceIds);
+      Map<String, Integer> processDefinitionDecisions = evaluateAuthorizations(userId, groupIds, UPDATE_INSTANCE, PROCESS_DEFINITION, processDefinitionKeys);
+
+      for (ExecutionEntity processInstance : processInstances) {
+        String processDefinitionKey = ((ProcessDefinitionEntity) processInstance.getProcessDefinition()).getKey();
+
+        // UPDATE on PROCESS_INSTANCE ... OR ... UPDATE_INSTANCE on PROCESS_DEFINITION
+        Integer decision = processInstanceDecisions.get(processInstance.getProcessInstanceId());
+        if (decision == null) {
+          decision = processDefinitionDecisions.get(processDefinitionKey);
+        }
+
+        if (decision == null || decision != 1) {
+          List<MissingAuthorization> info = new ArrayList<MissingAuthorization>();
+          info.add(new MissingAuthorization(UPDATE.getName(), PROCESS_INSTANCE.resourceName(), processInstance.getProcessInstanceId()));
+          info.add(new MissingAuthorization(UPDATE_INSTANCE.getName(), PROCESS_DEFINITION.resourceName(), processDefinitionKey));
+          throw new AuthorizationException(userId, info);
+        }
+      }
+    }
+  }
+
   public void checkUpdateProcessInstance(JobEntity job) {
     if (job.getProcessDefinitionKey() == null) {
       // "standalone" job: nothing to do!
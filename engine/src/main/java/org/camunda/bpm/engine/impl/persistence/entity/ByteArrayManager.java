@@ -13,6 +13,11 @@
 
 package org.camunda.bpm.engine.impl.persistence.entity;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.db.sql.SpoolingInputStreamTypeHandler;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
 
 /**
@@ -30,4 +35,29 @@ public class ByteArrayManager extends AbstractManager {
     getDbEntityManager().delete(ByteArrayEntity.class, "deleteByteArrayNoRevisionCheck", byteArrayEntityId);
   }
 
+  /**
+   * Returns the bytes of the {@link ByteArrayEntity} with the given id as a stream, without loading
+   * them into memory as a whole: the column is read as a stream and copied to a temporary file if it
+   * is large (see {@link SpoolingInputStreamTypeHandler}). The returned stream remains valid after the
+   * command is completed and must be closed.
+   *
+   * @return the stream or null if the byte array does not exist
+   */
+  @SuppressWarnings("unchecked")
+  public InputStream openByteArrayStream(String byteArrayId) {
+    ByteArrayEntity cachedByteArray = getDbEntityManager().getCachedEntity(ByteArrayEntity.class, byteArrayId);
+    if (cachedByteArray != null) {
+      byte[] bytes = cachedByteArray.getBytes();
+      return new ByteArrayInputStream(bytes != null ? bytes : new byte[0]);
+    }
+
+    Map<String, Object> byteArray = (Map<String, Object>) getDbEntityManager().selectOne("selectByteArrayStream", byteArrayId);
+    if (byteArray == null) {
+      return null;
+    }
+
+    InputStream bytes = (InputStream) byteArray.get("bytes");
+    return bytes != null ? bytes : new ByteArrayInputStream(new byte[0]);
+  }
+
 }
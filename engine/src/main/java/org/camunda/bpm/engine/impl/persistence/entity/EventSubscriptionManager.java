@@ -14,14 +14,19 @@
 package org.camunda.bpm.engine.impl.persistence.entity;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.camunda.bpm.engine.impl.Direction;
 import org.camunda.bpm.engine.impl.EventSubscriptionQueryImpl;
+import org.camunda.bpm.engine.impl.EventSubscriptionQueryProperty;
 import org.camunda.bpm.engine.impl.Page;
+import org.camunda.bpm.engine.impl.QueryOrderingProperty;
 import org.camunda.bpm.engine.impl.jobexecutor.ProcessEventJobHandler;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
 import org.camunda.bpm.engine.runtime.EventSubscription;
@@ -32,6 +37,12 @@ import org.camunda.bpm.engine.runtime.EventSubscription;
  */
 public class EventSubscriptionManager extends AbstractManager {
 
+  public static QueryOrderingProperty SIGNAL_EVENT_SUBSCRIPTION_ID_ORDERING_PROPERTY = new QueryOrderingProperty(null, EventSubscriptionQueryProperty.ID);
+
+  static {
+    SIGNAL_EVENT_SUBSCRIPTION_ID_ORDERING_PROPERTY.setDirection(Direction.ASCENDING);
+  }
+
   /** keep track of subscriptions created in the current command */
   protected List<SignalEventSubscriptionEntity> createdSignalSubscriptions = new ArrayList<SignalEventSubscriptionEntity>();
 
@@ -90,6 +101,28 @@ public class EventSubscriptionManager extends AbstractManager {
     return new ArrayList<SignalEventSubscriptionEntity>(selectList);
   }
 
+  /**
+   * Finds a page of the signal event subscriptions with the given event name, ordered by id.
+   * Subscriptions created in the current command are not included.
+   *
+   * @param createdBefore only subscriptions created before or at this time are found
+   * @param lastId if not null, only subscriptions with a greater id are found
+   * @param upperId if not null, only subscriptions with a lower or equal id are found
+   */
+  @SuppressWarnings("unchecked")
+  public List<SignalEventSubscriptionEntity> findSignalEventSubscriptionsByEventName(String eventName, Date createdBefore, String lastId, String upperId, int maxResults) {
+    final String query = "selectSignalEventSubscriptionsByEventNameAfterId";
+
+    Map<String, Object> params = new HashMap<String, Object>();
+    params.put("eventName", eventName);
+    params.put("createdBefore", createdBefore);
+    params.put("lastId", lastId);
+    params.put("upperId", upperId);
+    params.put("orderingProperties", Collections.singletonList(SIGNAL_EVENT_SUBSCRIPTION_ID_ORDERING_PROPERTY));
+
+    return getDbEntityManager().selectList(query, params, 0, maxResults);
+  }
+
   @SuppressWarnings("unchecked")
   public List<SignalEventSubscriptionEntity> findSignalEventSubscriptionsByExecution(String executionId) {
     final String query = "selectSignalEventSubscriptionsByExecution";
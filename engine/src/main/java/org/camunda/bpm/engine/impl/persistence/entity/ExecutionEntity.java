@@ -1022,7 +1022,71 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
   }
 
   protected List<VariableInstanceEntity> loadVariableInstances() {
-    return Context.getCommandContext().getVariableInstanceManager().findVariableInstancesByExecutionId(id);
+    if (isVariablePrefetchEnabled() && processInstanceId != null) {
+      return loadVariableInstancesOfProcessInstance();
+
+    } else {
+      return Context.getCommandContext().getVariableInstanceManager().findVariableInstancesByExecutionId(id);
+    }
+  }
+
+  /**
+   * @return true if the variables of all executions of a process instance are prefetched
+   */
+  protected boolean isVariablePrefetchEnabled() {
+    ProcessEngineConfigurationImpl configuration = Context.getProcessEngineConfiguration();
+    return configuration.isExecutionTreePrefetchEnabled() && configuration.isVariablePrefetchEnabled();
+  }
+
+  /**
+   * Fetch the variables of all executions of the process instance in a single query
+   * instead of one query per execution.
+   *
+   * The fetched variables are handed to the variable stores of the executions of the
+   * process instance which are loaded in this command but whose variables are not yet
+   * initialized. Executions whose variables are already initialized keep them, since
+   * these may contain modifications which are not flushed yet.
+   *
+   * @return the variables of this execution
+   */
+  protected List<VariableInstanceEntity> loadVariableInstancesOfProcessInstance() {
+    // load the execution tree first, so the variables can be handed to all of its executions
+    ensureProcessInstanceInitialized();
+
+    CommandContext commandContext = Context.getCommandContext();
+    List<VariableInstanceEntity> variables = commandContext
+      .getVariableInstanceManager()
+      .findVariableInstancesByProcessInstanceId(processInstanceId);
+
+    Map<String, List<VariableInstanceEntity>> variablesByExecutionId = new HashMap<String, List<VariableInstanceEntity>>();
+    for (VariableInstanceEntity variable : variables) {
+      List<VariableInstanceEntity> executionVariables = variablesByExecutionId.get(variable.getExecutionId());
+      if (executionVariables == null) {
+        executionVariables = new ArrayList<VariableInstanceEntity>();
+        variablesByExecutionId.put(variable.getExecutionId(), executionVariables);
+      }
+      executionVariables.add(variable);
+    }
+
+    List<ExecutionEntity> cachedExecutions = commandContext.getDbEntityManager().getCachedEntitiesByType(ExecutionEntity.class);
+    for (ExecutionEntity execution : cachedExecutions) {
+      if (execution != this
+          && processInstanceId.equals(execution.getProcessInstanceId())
+          && execution.variableStore.getVariableInstancesWithoutInitialization() == null) {
+
+        Map<String, VariableInstanceEntity> executionVariableInstances = new HashMap<String, VariableInstanceEntity>();
+        List<VariableInstanceEntity> executionVariables = variablesByExecutionId.get(execution.getId());
+        if (executionVariables != null) {
+          for (VariableInstanceEntity variable : executionVariables) {
+            executionVariableInstances.put(variable.getName(), variable);
+          }
+        }
+        execution.variableStore.setVariableInstances(executionVariableInstances);
+      }
+    }
+
+    List<VariableInstanceEntity> executionVariables = variablesByExecutionId.get(id);
+    return executionVariables != null ? executionVariables : new ArrayList<VariableInstanceEntity>();
   }
 
   protected boolean isAutoFireHistoryEvents() {
@@ -1123,8 +1187,8 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
       if(execution.eventSubscriptions == null && eventSubscriptions != null) {
         execution.eventSubscriptions = new ArrayList<EventSubscriptionEntity>();
       }
-      if(variableStore.getVariableInstancesDirect() == null && variables != null) {
-        variableStore.setVariableInstances(new HashMap<String, VariableInstanceEntity>());
+      if(execution.variableStore.getVariableInstancesDirect() == null && variables != null) {
+        execution.variableStore.setVariableInstances(new HashMap<String, VariableInstanceEntity>());
       }
       String parentId = execution.getParentId();
       ExecutionEntity parent = executionsMap.get(parentId);
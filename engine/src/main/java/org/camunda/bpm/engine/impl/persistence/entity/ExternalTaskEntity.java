@@ -19,10 +19,13 @@ import java.util.Map;
 import org.camunda.bpm.engine.EntityTypes;
 import org.camunda.bpm.engine.externaltask.ExternalTask;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.camunda.bpm.engine.impl.db.HasDbRevision;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskAvailableNotification;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskNotifier;
 import org.camunda.bpm.engine.impl.incident.IncidentHandler;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 import org.camunda.bpm.engine.impl.util.EnsureUtil;
@@ -174,6 +177,8 @@ public class ExternalTaskEntity implements ExternalTask, DbEntity, HasDbRevision
       .insert(this);
 
     getExecution().addExternalTask(this);
+
+    notifyTaskAvailable();
   }
 
   public void delete() {
@@ -277,6 +282,17 @@ public class ExternalTaskEntity implements ExternalTask, DbEntity, HasDbRevision
   public void unlock() {
     workerId = null;
     lockExpirationTime = null;
+
+    notifyTaskAvailable();
+  }
+
+  protected void notifyTaskAvailable() {
+    ExternalTaskNotifier notifier = Context.getProcessEngineConfiguration().getExternalTaskNotifier();
+    if (notifier != null) {
+      Context.getCommandContext()
+        .getTransactionContext()
+        .addTransactionListener(TransactionState.COMMITTED, new ExternalTaskAvailableNotification(notifier, topicName));
+    }
   }
 
   public static ExternalTaskEntity createAndInsert(ExecutionEntity execution, String topic) {
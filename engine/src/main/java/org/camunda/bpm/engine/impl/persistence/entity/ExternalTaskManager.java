@@ -20,7 +20,10 @@ import java.util.Map;
 
 import org.camunda.bpm.engine.externaltask.ExternalTask;
 import org.camunda.bpm.engine.impl.ExternalTaskQueryImpl;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
+import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 
@@ -51,14 +54,81 @@ public class ExternalTaskManager extends AbstractManager {
       return new ArrayList<ExternalTaskEntity>();
     }
 
+    ListQueryParameterObject parameter = createSelectExternalTasksForTopicsParameter(topics, maxResults);
+    return getDbEntityManager().selectList("selectExternalTasksForTopics", parameter);
+  }
+
+  /**
+   * Selects the external tasks to be locked by the given worker. If the database supports it
+   * and {@link ProcessEngineConfigurationImpl#isSkipLockedExternalTaskFetching() skip locked fetching}
+   * is enabled, the selected rows are locked and rows locked by concurrent fetches are skipped.
+   * Otherwise, if {@link ProcessEngineConfigurationImpl#getExternalTaskFetchPartitions() partitions} are
+   * configured, a partition of the candidates is selected depending on the worker id, such that
+   * concurrently fetching workers select different tasks if enough tasks are available.
+   */
+  public List<ExternalTaskEntity> selectExternalTasksForTopics(Collection<String> topics, int maxResults, String workerId) {
+    ProcessEngineConfigurationImpl configuration = Context.getProcessEngineConfiguration();
+
+    if (configuration.isSkipLockedExternalTaskFetching()
+        && DbSqlSessionFactory.databasesSupportingSkipLocked.contains(configuration.getDatabaseType())) {
+      return selectExternalTasksForTopicsSkipLocked(topics, maxResults);
+    }
+
+    int partitions = configuration.getExternalTaskFetchPartitions();
+    if (partitions <= 1 || maxResults == 0) {
+      return selectExternalTasksForTopics(topics, maxResults);
+    }
+
+    int maxCandidates = (int) Math.min((long) maxResults * partitions, Integer.MAX_VALUE);
+    List<ExternalTaskEntity> candidates = selectExternalTasksForTopics(topics, maxCandidates);
+
+    return selectPartition(candidates, maxResults, getPartition(workerId, partitions));
+  }
+
+  /**
+   * Only maxResults rows are read, since some databases (e.g. Oracle) cannot limit the
+   * rows in SQL without counting rows which are skipped because they are locked.
+   */
+  protected List<ExternalTaskEntity> selectExternalTasksForTopicsSkipLocked(Collection<String> topics, int maxResults) {
+    if (topics.size() == 0) {
+      return new ArrayList<ExternalTaskEntity>();
+    }
+
+    ListQueryParameterObject parameter = createSelectExternalTasksForTopicsParameter(topics, maxResults);
+    return getDbEntityManager().selectListReadingMaxResults("selectExternalTasksForTopicsSkipLocked", parameter);
+  }
+
+  protected ListQueryParameterObject createSelectExternalTasksForTopicsParameter(Collection<String> topics, int maxResults) {
     Map<String, Object> parameters = new HashMap<String, Object>();
     parameters.put("topics", topics);
     parameters.put("now", ClockUtil.getCurrentTime());
 
     ListQueryParameterObject parameter = new ListQueryParameterObject(parameters, 0, maxResults);
     configureAuthorizationCheck(parameter);
+    return parameter;
+  }
 
-    return getDbEntityManager().selectList("selectExternalTasksForTopics", parameter);
+  protected int getPartition(String workerId, int partitions) {
+    return (workerId.hashCode() & Integer.MAX_VALUE) % partitions;
+  }
+
+  /**
+   * Selects maxResults candidates starting with the partition's offset, wrapping around
+   * at the end of the list so that all candidates are used if less are available.
+   */
+  protected List<ExternalTaskEntity> selectPartition(List<ExternalTaskEntity> candidates, int maxResults, int partition) {
+    int size = candidates.size();
+    if (size <= maxResults) {
+      return candidates;
+    }
+
+    int offset = (int) (((long) partition * maxResults) % size);
+
+    List<ExternalTaskEntity> result = new ArrayList<ExternalTaskEntity>(maxResults);
+    for (int i = 0; i < maxResults; i++) {
+      result.add(candidates.get((offset + i) % size));
+    }
+    return result;
   }
 
   public List<ExternalTask> findExternalTasksByQueryCriteria(ExternalTaskQueryImpl externalTaskQuery) {
@@ -0,0 +1,138 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.entity;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.metrics.Histogram;
+import org.camunda.bpm.engine.management.HistogramLog;
+
+/**
+ * The snapshot of a {@link Histogram} for one reporting interval.
+ */
+public class HistogramLogEntity implements HistogramLog, DbEntity, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  protected String id;
+
+  protected Date timestamp;
+
+  protected String name;
+
+  protected String reporter;
+
+  protected long count;
+
+  protected long p50;
+
+  protected long p95;
+
+  protected long p99;
+
+  protected long max;
+
+  public HistogramLogEntity(String name, String reporter, Histogram.Snapshot snapshot, Date timestamp) {
+    this.name = name;
+    this.reporter = reporter;
+    this.count = snapshot.getCount();
+    this.p50 = snapshot.getValueAtPercentile(50);
+    this.p95 = snapshot.getValueAtPercentile(95);
+    this.p99 = snapshot.getValueAtPercentile(99);
+    this.max = snapshot.getMax();
+    this.timestamp = timestamp;
+  }
+
+  public HistogramLogEntity() {
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public Date getTimestamp() {
+    return timestamp;
+  }
+
+  public void setTimestamp(Date timestamp) {
+    this.timestamp = timestamp;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public String getReporter() {
+    return reporter;
+  }
+
+  public void setReporter(String reporter) {
+    this.reporter = reporter;
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public void setCount(long count) {
+    this.count = count;
+  }
+
+  public long getP50() {
+    return p50;
+  }
+
+  public void setP50(long p50) {
+    this.p50 = p50;
+  }
+
+  public long getP95() {
+    return p95;
+  }
+
+  public void setP95(long p95) {
+    this.p95 = p95;
+  }
+
+  public long getP99() {
+    return p99;
+  }
+
+  public void setP99(long p99) {
+    this.p99 = p99;
+  }
+
+  public long getMax() {
+    return max;
+  }
+
+  public void setMax(long max) {
+    this.max = max;
+  }
+
+  public Object getPersistentState() {
+    // immutable
+    return HistogramLogEntity.class;
+  }
+
+}
@@ -16,7 +16,7 @@ import java.io.Serializable;
 import java.util.HashMap;
 
 import org.camunda.bpm.engine.impl.db.HasDbRevision;
-import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.ReadMostlyDbEntity;
 import org.camunda.bpm.engine.impl.jobexecutor.JobDeclaration;
 import org.camunda.bpm.engine.management.JobDefinition;
 
@@ -25,7 +25,7 @@ import org.camunda.bpm.engine.management.JobDefinition;
  * @author Daniel Meyer
  *
  */
-public class JobDefinitionEntity implements JobDefinition, HasDbRevision, DbEntity, Serializable {
+public class JobDefinitionEntity implements JobDefinition, HasDbRevision, ReadMostlyDbEntity, Serializable {
 
   private static final long serialVersionUID = 1L;
 
@@ -77,6 +77,20 @@ public class JobDefinitionEntity implements JobDefinition, HasDbRevision, DbEnti
     return state;
   }
 
+  public JobDefinitionEntity copy() {
+    JobDefinitionEntity copy = new JobDefinitionEntity();
+    copy.id = id;
+    copy.revision = revision;
+    copy.processDefinitionId = processDefinitionId;
+    copy.processDefinitionKey = processDefinitionKey;
+    copy.activityId = activityId;
+    copy.jobType = jobType;
+    copy.jobConfiguration = jobConfiguration;
+    copy.suspensionState = suspensionState;
+    copy.jobPriority = jobPriority;
+    return copy;
+  }
+
   // getters / setters /////////////////////////////////
 
   public int getRevisionNext() {
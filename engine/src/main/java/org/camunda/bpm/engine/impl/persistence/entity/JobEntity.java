@@ -28,6 +28,7 @@ import java.util.logging.Logger;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.HasDbChanges;
 import org.camunda.bpm.engine.impl.db.HasDbRevision;
 import org.camunda.bpm.engine.impl.incident.IncidentHandler;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
@@ -47,7 +48,7 @@ import org.camunda.bpm.engine.runtime.Job;
  * @author Dave Syer
  * @author Frederik Heremans
  */
-public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRevision {
+public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRevision, HasDbChanges {
 
   private final static Logger LOG = Logger.getLogger(JobEntity.class.getName());
 
@@ -63,6 +64,21 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
 
   private static final long serialVersionUID = 1L;
 
+  // persistent properties of which the changes are tracked
+  public static final long EXECUTION_ID = 1L << 0;
+  public static final long LOCK_OWNER = 1L << 1;
+  public static final long LOCK_EXPIRATION_TIME = 1L << 2;
+  public static final long RETRIES = 1L << 3;
+  public static final long DUEDATE = 1L << 4;
+  public static final long EXCEPTION_MESSAGE = 1L << 5;
+  public static final long SUSPENSION_STATE = 1L << 6;
+  public static final long PROCESS_DEFINITION_ID = 1L << 7;
+  public static final long JOB_DEFINITION_ID = 1L << 8;
+  public static final long DEPLOYMENT_ID = 1L << 9;
+  public static final long JOB_HANDLER_CONFIGURATION = 1L << 10;
+  public static final long PRIORITY = 1L << 11;
+  public static final long EXCEPTION_BYTE_ARRAY_ID = 1L << 12;
+
   protected String id;
   protected int revision;
 
@@ -107,6 +123,8 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
   // sequence counter //////////////////////////
   protected long sequenceCounter = 1;
 
+  protected long changedProperties = 0;
+
   public void execute(CommandContext commandContext) {
     if (executionId != null) {
       ExecutionEntity execution = getExecution();
@@ -147,7 +165,7 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
       execution.addJob(this);
 
       ProcessDefinitionImpl processDefinition = (ProcessDefinitionImpl) execution.getProcessDefinition();
-      this.deploymentId = processDefinition.getDeploymentId();
+      setDeploymentId(processDefinition.getDeploymentId());
     }
 
     commandContext
@@ -203,8 +221,31 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
     return revision+1;
   }
 
+  // change tracking //////////////////////////////////////////////////////////
+
+  public long getChangedProperties() {
+    return changedProperties;
+  }
+
+  public void clearChangedProperties() {
+    changedProperties = 0;
+  }
+
+  protected void propertyChanged(long property, Object oldValue, Object newValue) {
+    // compare in the same direction as the persistent state
+    if (newValue == null ? oldValue != null : !newValue.equals(oldValue)) {
+      changedProperties |= property;
+    }
+  }
+
+  protected void propertyChanged(long property, long oldValue, long newValue) {
+    if (newValue != oldValue) {
+      changedProperties |= property;
+    }
+  }
+
   public void setExecution(ExecutionEntity execution) {
-    executionId = execution.getId();
+    setExecutionId(execution.getId());
     processInstanceId = execution.getProcessInstanceId();
     execution.addJob(this);
   }
@@ -230,6 +271,7 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
   }
 
   public void setExecutionId(String executionId) {
+    propertyChanged(EXECUTION_ID, this.executionId, executionId);
     this.executionId = executionId;
   }
 
@@ -269,11 +311,13 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
     if(retries == 0 && this.retries > 0) {
       createFailedJobIncident();
     }
+    propertyChanged(RETRIES, this.retries, retries);
     this.retries = retries;
   }
 
   // special setter for MyBatis which does not influence incidents
   public void setRetriesFromPersistence(int retries) {
+    propertyChanged(RETRIES, this.retries, retries);
     this.retries = retries;
   }
 
@@ -330,6 +374,7 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
   }
 
   public void setSuspensionState(int state) {
+    propertyChanged(SUSPENSION_STATE, this.suspensionState, state);
     this.suspensionState = state;
   }
 
@@ -346,6 +391,7 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
   }
 
   public void setLockOwner(String claimedBy) {
+    propertyChanged(LOCK_OWNER, this.lockOwner, claimedBy);
     this.lockOwner = claimedBy;
   }
 
@@ -354,6 +400,7 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
   }
 
   public void setLockExpirationTime(Date claimedUntil) {
+    propertyChanged(LOCK_EXPIRATION_TIME, this.lockExpirationTime, claimedUntil);
     this.lockExpirationTime = claimedUntil;
   }
 
@@ -370,6 +417,7 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
   }
 
   public void setProcessDefinitionId(String processDefinitionId) {
+    propertyChanged(PROCESS_DEFINITION_ID, this.processDefinitionId, processDefinitionId);
     this.processDefinitionId = processDefinitionId;
   }
 
@@ -401,6 +449,7 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
   }
 
   public void setDuedate(Date duedate) {
+    propertyChanged(DUEDATE, this.duedate, duedate);
     this.duedate = duedate;
   }
 
@@ -411,6 +460,7 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
 
     if(byteArray == null) {
       byteArray = createJobExceptionByteArray(exceptionBytes);
+      propertyChanged(EXCEPTION_BYTE_ARRAY_ID, exceptionByteArrayId, byteArray.getId());
       exceptionByteArrayId = byteArray.getId();
       exceptionByteArray = byteArray;
     }
@@ -437,6 +487,7 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
   }
 
   public void setJobHandlerConfiguration(String jobHandlerConfiguration) {
+    propertyChanged(JOB_HANDLER_CONFIGURATION, this.jobHandlerConfiguration, jobHandlerConfiguration);
     this.jobHandlerConfiguration = jobHandlerConfiguration;
   }
 
@@ -457,6 +508,7 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
   }
 
   public void setJobDefinitionId(String jobDefinitionId) {
+    propertyChanged(JOB_DEFINITION_ID, this.jobDefinitionId, jobDefinitionId);
     this.jobDefinitionId = jobDefinitionId;
   }
 
@@ -476,10 +528,10 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
 
   public void setExceptionMessage(String exceptionMessage) {
     if(exceptionMessage != null && exceptionMessage.length() > MAX_EXCEPTION_MESSAGE_LENGTH) {
-      this.exceptionMessage = exceptionMessage.substring(0, MAX_EXCEPTION_MESSAGE_LENGTH);
-    } else {
-      this.exceptionMessage = exceptionMessage;
+      exceptionMessage = exceptionMessage.substring(0, MAX_EXCEPTION_MESSAGE_LENGTH);
     }
+    propertyChanged(EXCEPTION_MESSAGE, this.exceptionMessage, exceptionMessage);
+    this.exceptionMessage = exceptionMessage;
   }
 
   public String getExceptionByteArrayId() {
@@ -505,6 +557,7 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
   }
 
   public void setDeploymentId(String deploymentId) {
+    propertyChanged(DEPLOYMENT_ID, this.deploymentId, deploymentId);
     this.deploymentId = deploymentId;
   }
 
@@ -514,8 +567,8 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
   }
 
   public void resetLock() {
-    this.lockOwner = null;
-    this.lockExpirationTime = null;
+    setLockOwner(null);
+    setLockExpirationTime(null);
   }
 
   public boolean isExecuting() {
@@ -540,6 +593,7 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
   }
 
   public void setPriority(long priority) {
+    propertyChanged(PRIORITY, this.priority, priority);
     this.priority = priority;
   }
 
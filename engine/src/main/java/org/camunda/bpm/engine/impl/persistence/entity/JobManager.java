@@ -118,7 +118,7 @@ public class JobManager extends AbstractManager {
       transactionListener = new ExclusiveJobAddedNotification(job.getId(), jobExecutorContext);
     } else {
       // notify job executor:
-      transactionListener = new MessageAddedNotification(jobExecutor);
+      transactionListener = new MessageAddedNotification(jobExecutor, job.getDeploymentId());
     }
     Context.getCommandContext()
     .getTransactionContext()
@@ -171,6 +171,23 @@ public class JobManager extends AbstractManager {
     return getDbEntityManager().selectList("selectNextJobsToExecute", params, page);
   }
 
+  /**
+   * @return the earliest due date of the acquirable jobs which are not due yet
+   */
+  public Date findNextJobDuedate() {
+    Map<String,Object> params = new HashMap<String, Object>();
+    params.put("now", ClockUtil.getCurrentTime());
+    params.put("deploymentAware", Context.getProcessEngineConfiguration().isJobExecutorDeploymentAware());
+    if (Context.getProcessEngineConfiguration().isJobExecutorDeploymentAware()) {
+      Set<String> registeredDeployments = Context.getProcessEngineConfiguration().getRegisteredDeployments();
+      if (!registeredDeployments.isEmpty()) {
+        params.put("deploymentIds", registeredDeployments);
+      }
+    }
+
+    return (Date) getDbEntityManager().selectOne("selectNextJobDuedate", params);
+  }
+
   @SuppressWarnings("unchecked")
   public List<JobEntity> findJobsByExecutionId(String executionId) {
     return getDbEntityManager().selectList("selectJobsByExecutionId", executionId);
@@ -33,6 +33,8 @@ public class MeterLogEntity implements DbEntity, Serializable {
 
   protected String reporter;
 
+  protected String tag;
+
   protected long value;
 
   public MeterLogEntity(String name, long value, Date timestamp) {
@@ -40,8 +42,13 @@ public class MeterLogEntity implements DbEntity, Serializable {
   }
 
   public MeterLogEntity(String name, String reporter, long value, Date timestamp) {
+    this(name, reporter, null, value, timestamp);
+  }
+
+  public MeterLogEntity(String name, String reporter, String tag, long value, Date timestamp) {
     this.name = name;
     this.reporter = reporter;
+    this.tag = tag;
     this.value = value;
     this.timestamp = timestamp;
   }
@@ -89,6 +96,14 @@ public class MeterLogEntity implements DbEntity, Serializable {
     this.reporter = reporter;
   }
 
+  public String getTag() {
+    return tag;
+  }
+
+  public void setTag(String tag) {
+    this.tag = tag;
+  }
+
   public Object getPersistentState() {
     // immutable
     return MeterLogEntity.class;
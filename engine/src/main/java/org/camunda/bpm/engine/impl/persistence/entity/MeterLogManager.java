@@ -14,6 +14,7 @@ package org.camunda.bpm.engine.impl.persistence.entity;
 
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.camunda.bpm.engine.impl.context.Context;
@@ -21,6 +22,7 @@ import org.camunda.bpm.engine.impl.metrics.Meter;
 import org.camunda.bpm.engine.impl.metrics.MetricsQueryImpl;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.management.HistogramLog;
 
 /**
  * @author Daniel Meyer
@@ -33,6 +35,16 @@ public class MeterLogManager extends AbstractManager {
      .insert(meterLogEntity);
   }
 
+  public void insert(HistogramLogEntity histogramLogEntity) {
+    getDbEntityManager()
+     .insert(histogramLogEntity);
+  }
+
+  @SuppressWarnings("unchecked")
+  public List<HistogramLog> findHistogramLogsByQueryCriteria(MetricsQueryImpl query) {
+    return getDbEntityManager().selectList("selectHistogramLogsByQueryCriteria", query);
+  }
+
   public Long executeSelectSum(MetricsQueryImpl query) {
     Long result = (Long) getDbEntityManager().selectOne("selectMeterLogSum", query);
     result = result != null ? result : 0;
@@ -43,7 +55,15 @@ public class MeterLogManager extends AbstractManager {
         .getMetricsRegistry()
         .getMeterByName(query.getName());
       if(meter != null) {
-        result += meter.get();
+        if (query.getTag() == null) {
+          result += meter.get();
+        }
+        else {
+          Meter taggedMeter = meter.getTaggedMeters().get(query.getTag());
+          if (taggedMeter != null) {
+            result += taggedMeter.get();
+          }
+        }
       }
     }
 
@@ -64,6 +84,7 @@ public class MeterLogManager extends AbstractManager {
 
   public void deleteAll() {
     getDbEntityManager().delete(MeterLogEntity.class, "deleteAllMeterLogEntries", null);
+    getDbEntityManager().delete(HistogramLogEntity.class, "deleteAllHistogramLogEntries", null);
   }
 
   public void deleteByTimestampAndReporter(Date timestamp, String reporter) {
@@ -71,6 +92,7 @@ public class MeterLogManager extends AbstractManager {
     parameters.put("timestamp", timestamp);
     parameters.put("reporter", reporter);
     getDbEntityManager().delete(MeterLogEntity.class, "deleteMeterLogEntriesByTimestampAndReporter", parameters);
+    getDbEntityManager().delete(HistogramLogEntity.class, "deleteHistogramLogEntriesByTimestampAndReporter", parameters);
   }
 
 }
@@ -17,14 +17,14 @@ import java.io.Serializable;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.camunda.bpm.engine.impl.db.HasDbRevision;
-import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.ReadMostlyDbEntity;
 
 
 
 /**
  * @author Tom Baeyens
  */
-public class PropertyEntity implements DbEntity, HasDbRevision, Serializable {
+public class PropertyEntity implements ReadMostlyDbEntity, HasDbRevision, Serializable {
 
   protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
   private static final long serialVersionUID = 1L;
@@ -83,6 +83,12 @@ public class PropertyEntity implements DbEntity, HasDbRevision, Serializable {
     return revision+1;
   }
 
+  public PropertyEntity copy() {
+    PropertyEntity copy = new PropertyEntity(name, value);
+    copy.revision = revision;
+    return copy;
+  }
+
   @Override
   public String toString() {
     return this.getClass().getSimpleName()
@@ -86,4 +86,25 @@ public class ResourceManager extends AbstractManager {
     return existingResourcesByName;
   }
 
+  /**
+   * Like {@link #findLatestResourcesByDeploymentName(String, Set, String)} but only
+   * selects the hashes of the resources instead of their bytes.
+   */
+  public Map<String, ResourceHash> findLatestResourceHashesByDeploymentName(String deploymentName, Set<String> resourcesToFind, String source) {
+    Map<String, Object> params = new HashMap<String, Object>();
+    params.put("deploymentName", deploymentName);
+    params.put("resourcesToFind", resourcesToFind);
+    params.put("source", source);
+
+    @SuppressWarnings("unchecked")
+    List<ResourceHash> resourceHashes = getDbEntityManager().selectList("selectLatestResourceHashesByDeploymentName", params);
+
+    Map<String, ResourceHash> existingResourceHashesByName = new HashMap<String, ResourceHash>();
+    for (ResourceHash resourceHash : resourceHashes) {
+      existingResourceHashesByName.put(resourceHash.getName(), resourceHash);
+    }
+
+    return existingResourceHashesByName;
+  }
+
 }
@@ -22,6 +22,7 @@ import java.util.Map;
 import org.camunda.bpm.engine.authorization.Resources;
 import org.camunda.bpm.engine.history.UserOperationLogEntry;
 import org.camunda.bpm.engine.impl.Page;
+import org.camunda.bpm.engine.impl.QueryResultHandler;
 import org.camunda.bpm.engine.impl.TaskQueryImpl;
 import org.camunda.bpm.engine.impl.cfg.auth.ResourceAuthorizationProvider;
 import org.camunda.bpm.engine.impl.context.Context;
@@ -142,6 +143,11 @@ public class TaskManager extends AbstractManager {
     return getDbEntityManager().selectList("selectTaskByQueryCriteria", taskQuery);
   }
 
+  public void findTasksByQueryCriteria(TaskQueryImpl taskQuery, QueryResultHandler<Task> handler) {
+    configureAuthorizationCheck(taskQuery);
+    getDbEntityManager().selectListStreaming("selectTaskByQueryCriteriaStreamed", taskQuery, handler);
+  }
+
   public long findTaskCountByQueryCriteria(TaskQueryImpl taskQuery) {
     configureAuthorizationCheck(taskQuery);
     return (Long) getDbEntityManager().selectOne("selectTaskCountByQueryCriteria", taskQuery);
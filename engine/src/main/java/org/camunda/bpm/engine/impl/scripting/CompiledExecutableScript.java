@@ -15,6 +15,7 @@ package org.camunda.bpm.engine.impl.scripting;
 import org.camunda.bpm.engine.ScriptEvaluationException;
 import org.camunda.bpm.engine.delegate.BpmnError;
 import org.camunda.bpm.engine.delegate.VariableScope;
+import org.camunda.bpm.engine.management.Metrics;
 
 import javax.script.Bindings;
 import javax.script.CompiledScript;
@@ -45,15 +46,25 @@ public class CompiledExecutableScript extends ExecutableScript {
     this.compiledScript = compiledScript;
   }
 
+  /**
+   * @return the compiled script to evaluate with the given script engine
+   */
+  protected CompiledScript getCompiledScript(ScriptEngine scriptEngine) {
+    return compiledScript;
+  }
+
   public Object evaluate(ScriptEngine scriptEngine, VariableScope variableScope, Bindings bindings) {
+    long startTime = System.nanoTime();
     try {
       LOG.fine("Evaluating compiled script using " + language + " script engine ");
-      return getCompiledScript().eval(bindings);
+      return getCompiledScript(scriptEngine).eval(bindings);
     } catch (ScriptException e) {
       if (e.getCause() instanceof BpmnError) {
         throw (BpmnError) e.getCause();
       }
       throw new ScriptEvaluationException("Unable to evaluate script: " + e.getMessage(), e);
+    } finally {
+      recordTime(Metrics.SCRIPT_EVALUATION_TIME, startTime);
     }
   }
 
@@ -20,6 +20,7 @@ import javax.script.ScriptException;
 import org.camunda.bpm.engine.ScriptEvaluationException;
 import org.camunda.bpm.engine.delegate.Expression;
 import org.camunda.bpm.engine.delegate.VariableScope;
+import org.camunda.bpm.engine.management.Metrics;
 
 /**
  * A script which is dynamically determined during the execution.
@@ -38,12 +39,16 @@ public abstract class DynamicExecutableScript extends ExecutableScript {
 
   public Object evaluate(ScriptEngine scriptEngine, VariableScope variableScope, Bindings bindings) {
     String source = getScriptSource(variableScope);
+    long startTime = System.nanoTime();
     try {
       return scriptEngine.eval(source, bindings);
     }
     catch (ScriptException e) {
       throw new ScriptEvaluationException("Unable to evaluate script: " + e.getMessage(), e);
     }
+    finally {
+      recordTime(Metrics.SCRIPT_EVALUATION_TIME, startTime);
+    }
   }
 
   protected String evaluateExpression(VariableScope variableScope) {
@@ -17,6 +17,8 @@ import javax.script.ScriptEngine;
 
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.delegate.VariableScope;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.context.Context;
 
 /**
  * <p>Represents an executable script.</p>
@@ -58,4 +60,18 @@ public abstract class ExecutableScript {
 
   protected abstract Object evaluate(ScriptEngine scriptEngine, VariableScope variableScope, Bindings bindings);
 
+  /**
+   * Records the time since the given start time (see {@link System#nanoTime()}) in microseconds
+   * for the given metric, if metrics are enabled.
+   */
+  protected void recordTime(String metric, long startTime) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (processEngineConfiguration != null
+        && processEngineConfiguration.isMetricsEnabled()
+        && processEngineConfiguration.getMetricsRegistry() != null) {
+      processEngineConfiguration.getMetricsRegistry()
+        .recordValue(metric, (System.nanoTime() - startTime) / 1000);
+    }
+  }
+
 }
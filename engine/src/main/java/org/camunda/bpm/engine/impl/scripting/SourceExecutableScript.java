@@ -12,11 +12,14 @@
  */
 package org.camunda.bpm.engine.impl.scripting;
 
+import java.util.Map;
+import java.util.WeakHashMap;
 import java.util.logging.Logger;
 
 import javax.script.Bindings;
 import javax.script.Compilable;
 import javax.script.CompiledScript;
+import javax.script.ScriptContext;
 import javax.script.ScriptEngine;
 import javax.script.ScriptException;
 
@@ -26,6 +29,7 @@ import org.camunda.bpm.engine.delegate.BpmnError;
 import org.camunda.bpm.engine.delegate.VariableScope;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.management.Metrics;
 
 /**
  * A script which is provided as source code.
@@ -37,6 +41,9 @@ public class SourceExecutableScript extends CompiledExecutableScript {
 
   private static final Logger LOG = Logger.getLogger(SourceExecutableScript.class.getName());
 
+  /** Engine scope attribute holding the scripts compiled by a script engine, keyed by source. */
+  protected static final String COMPILED_SCRIPTS_ATTRIBUTE = "#camunda.compiled.scripts";
+
   /** The source of the script. */
   protected String scriptSource;
 
@@ -54,7 +61,7 @@ public class SourceExecutableScript extends CompiledExecutableScript {
       compileScript(engine);
     }
 
-    if (getCompiledScript() != null) {
+    if (getCompiledScript(engine) != null) {
       return super.evaluate(engine, variableScope, bindings);
     }
     else {
@@ -86,10 +93,49 @@ public class SourceExecutableScript extends CompiledExecutableScript {
     }
   }
 
+  /**
+   * Returns the compiled script for the given engine. A compiled script can only be evaluated
+   * by the engine which compiled it. If the script was compiled by another instance of a pooled
+   * script engine which is not threadsafe, it is compiled again for the given engine and kept
+   * as an attribute of the engine, so it is reused whenever the engine is taken from the pool.
+   */
+  @Override
+  protected CompiledScript getCompiledScript(ScriptEngine engine) {
+    CompiledScript compiledScript = getCompiledScript();
+    if (compiledScript == null || compiledScript.getEngine() == engine) {
+      return compiledScript;
+    }
+
+    Map<String, CompiledScript> engineCompiledScripts = getEngineCompiledScripts(engine);
+    synchronized (engineCompiledScripts) {
+      CompiledScript engineCompiledScript = engineCompiledScripts.get(scriptSource);
+      if (engineCompiledScript == null) {
+        engineCompiledScript = compile(engine, language, scriptSource);
+        engineCompiledScripts.put(scriptSource, engineCompiledScript);
+      }
+      return engineCompiledScript;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  protected Map<String, CompiledScript> getEngineCompiledScripts(ScriptEngine engine) {
+    ScriptContext context = engine.getContext();
+    synchronized (context) {
+      Map<String, CompiledScript> engineCompiledScripts = (Map<String, CompiledScript>) context.getAttribute(COMPILED_SCRIPTS_ATTRIBUTE, ScriptContext.ENGINE_SCOPE);
+      if (engineCompiledScripts == null) {
+        // the sources are weak keys, so the compiled scripts of undeployed processes can be collected
+        engineCompiledScripts = new WeakHashMap<String, CompiledScript>();
+        context.setAttribute(COMPILED_SCRIPTS_ATTRIBUTE, engineCompiledScripts, ScriptContext.ENGINE_SCOPE);
+      }
+      return engineCompiledScripts;
+    }
+  }
+
   public CompiledScript compile(ScriptEngine scriptEngine, String language, String src) {
     if(scriptEngine instanceof Compilable && !scriptEngine.getFactory().getLanguageName().equalsIgnoreCase("ecmascript")) {
       Compilable compilingEngine = (Compilable) scriptEngine;
 
+      long startTime = System.nanoTime();
       try {
         CompiledScript compiledScript = compilingEngine.compile(src);
 
@@ -100,6 +146,8 @@ public class SourceExecutableScript extends CompiledExecutableScript {
       } catch (ScriptException e) {
         throw new ScriptCompilationException("Unable to compile script: " + e.getMessage(), e);
 
+      } finally {
+        recordTime(Metrics.SCRIPT_COMPILATION_TIME, startTime);
       }
 
     } else {
@@ -110,6 +158,7 @@ public class SourceExecutableScript extends CompiledExecutableScript {
   }
 
   protected Object evaluateScript(ScriptEngine engine, Bindings bindings) {
+    long startTime = System.nanoTime();
     try {
       LOG.fine("Evaluating un-compiled script using " + language + " script engine ");
       return engine.eval(scriptSource, bindings);
@@ -118,6 +167,8 @@ public class SourceExecutableScript extends CompiledExecutableScript {
         throw (BpmnError) e.getCause();
       }
       throw new ScriptEvaluationException("Unable to evaluate script: " + e.getMessage(), e);
+    } finally {
+      recordTime(Metrics.SCRIPT_EVALUATION_TIME, startTime);
     }
   }
 
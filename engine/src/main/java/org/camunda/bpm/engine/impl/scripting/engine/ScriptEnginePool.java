@@ -0,0 +1,60 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.scripting.engine;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineFactory;
+
+/**
+ * <p>Pool of idle {@link ScriptEngine} instances of a script engine which is not
+ * thread-safe. An engine is used by one thread at a time: it is taken from the pool
+ * and returned after the script was evaluated.</p>
+ *
+ * <p>The pool does not block: if no idle engine is available, the caller creates a
+ * new one. Engines which are returned while the pool is full are discarded.</p>
+ */
+public class ScriptEnginePool {
+
+  protected final ScriptEngineFactory scriptEngineFactory;
+  protected final BlockingQueue<ScriptEngine> idleEngines;
+
+  public ScriptEnginePool(ScriptEngineFactory scriptEngineFactory, int size) {
+    this.scriptEngineFactory = scriptEngineFactory;
+    this.idleEngines = new ArrayBlockingQueue<ScriptEngine>(size);
+  }
+
+  /**
+   * @return an idle script engine or null if no engine is available
+   */
+  public ScriptEngine poll() {
+    return idleEngines.poll();
+  }
+
+  /**
+   * Returns a script engine to the pool. Engines which were not created
+   * by the factory of the pool are ignored.
+   *
+   * @return true if the engine was added to the pool
+   */
+  public boolean release(ScriptEngine scriptEngine) {
+    return scriptEngine.getFactory() == scriptEngineFactory && idleEngines.offer(scriptEngine);
+  }
+
+  public int getIdleCount() {
+    return idleEngines.size();
+  }
+
+}
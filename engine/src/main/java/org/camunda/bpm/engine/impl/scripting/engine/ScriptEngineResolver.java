@@ -12,8 +12,9 @@
  */
 package org.camunda.bpm.engine.impl.scripting.engine;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.script.ScriptContext;
 import javax.script.ScriptEngine;
@@ -28,7 +29,14 @@ public class ScriptEngineResolver {
 
   protected final ScriptEngineManager scriptEngineManager;
 
-  protected Map<String, ScriptEngine> cachedEngines = new HashMap<String, ScriptEngine>();
+  public static final int DEFAULT_SCRIPT_ENGINE_POOL_SIZE = 10;
+
+  protected Map<String, ScriptEngine> cachedEngines = new ConcurrentHashMap<String, ScriptEngine>();
+
+  /** pools of the script engines which are not thread-safe */
+  protected ConcurrentMap<String, ScriptEnginePool> enginePools = new ConcurrentHashMap<String, ScriptEnginePool>();
+
+  protected int scriptEnginePoolSize = DEFAULT_SCRIPT_ENGINE_POOL_SIZE;
 
   public ScriptEngineResolver(ScriptEngineManager scriptEngineManager) {
     this.scriptEngineManager = scriptEngineManager;
@@ -43,8 +51,23 @@ public class ScriptEngineResolver {
   }
 
 
+  public int getScriptEnginePoolSize() {
+    return scriptEnginePoolSize;
+  }
+
+  /**
+   * @param scriptEnginePoolSize the maximum number of idle engines which are pooled per language
+   * for script engines which are not thread-safe. A size of 0 disables pooling.
+   */
+  public void setScriptEnginePoolSize(int scriptEnginePoolSize) {
+    this.scriptEnginePoolSize = scriptEnginePoolSize;
+  }
+
   /**
    * Returns a cached script engine or creates a new script engine if no such engine is currently cached.
+   * If the script engine is not thread-safe, an idle engine is taken from the pool of the language.
+   * It should be returned by calling {@link #releaseScriptEngine(String, ScriptEngine)} after the
+   * script was evaluated.
    *
    * @param language the language (such as 'groovy' for the script engine)
    * @return the cached engine or null if no script engine can be created for the given language
@@ -56,6 +79,13 @@ public class ScriptEngineResolver {
     if (resolveFromCache) {
       scriptEngine = cachedEngines.get(language);
 
+      if(scriptEngine == null) {
+        ScriptEnginePool enginePool = enginePools.get(language);
+        if (enginePool != null) {
+          scriptEngine = enginePool.poll();
+        }
+      }
+
       if(scriptEngine == null) {
         scriptEngine = scriptEngineManager.getEngineByName(language);
 
@@ -68,6 +98,9 @@ public class ScriptEngineResolver {
           if(isCachable(scriptEngine)) {
             cachedEngines.put(language, scriptEngine);
           }
+          else if (scriptEnginePoolSize > 0 && !enginePools.containsKey(language)) {
+            enginePools.putIfAbsent(language, new ScriptEnginePool(scriptEngine.getFactory(), scriptEnginePoolSize));
+          }
 
         }
 
@@ -80,6 +113,17 @@ public class ScriptEngineResolver {
     return scriptEngine;
   }
 
+  /**
+   * Returns a script engine which is not thread-safe to the pool of the language,
+   * so it can be reused by the next script evaluation.
+   *
+   * @return true if the engine was returned to the pool
+   */
+  public boolean releaseScriptEngine(String language, ScriptEngine scriptEngine) {
+    ScriptEnginePool enginePool = enginePools.get(language);
+    return enginePool != null && enginePool.release(scriptEngine);
+  }
+
   /**
    * Allows checking whether the script engine can be cached.
    *
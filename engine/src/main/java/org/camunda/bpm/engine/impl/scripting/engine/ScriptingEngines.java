@@ -36,7 +36,9 @@ import org.camunda.bpm.engine.impl.context.Context;
  * This class supports resolving a script engine for a given 'language name' (eg. 'groovy').
  * If the configuration option {@link #enableScriptEngineCaching} is set to true,
  * the class will attempt to cache 'cachable' script engines. We assume a {@link ScriptEngine} is
- * 'cachable' if it declares to be threadsafe (see {@link #isCachable(ScriptEngine)})</p>
+ * 'cachable' if it declares to be threadsafe (see {@link #isCachable(ScriptEngine)}). Script engines
+ * which are not threadsafe are pooled: they must be returned with {@link #releaseScriptEngine(String, ScriptEngine)}
+ * after the script was evaluated.</p>
  *
  * <p><strong>Custom Bindings:</strong> this class supports custom {@link Bindings}
  * implementations through the {@link #scriptBindingsFactory}. See {@link ScriptBindingsFactory}.</p>
@@ -72,6 +74,14 @@ public class ScriptingEngines implements DmnScriptEngineResolver {
     this.enableScriptEngineCaching = enableScriptEngineCaching;
   }
 
+  public int getScriptEnginePoolSize() {
+    return scriptEngineResolver.getScriptEnginePoolSize();
+  }
+
+  public void setScriptEnginePoolSize(int scriptEnginePoolSize) {
+    scriptEngineResolver.setScriptEnginePoolSize(scriptEnginePoolSize);
+  }
+
   public ScriptEngineManager getScriptEngineManager() {
     return scriptEngineResolver.getScriptEngineManager();
   }
@@ -127,6 +137,52 @@ public class ScriptingEngines implements DmnScriptEngineResolver {
     }
   }
 
+  /**
+   * Returns a script engine which was loaded by {@link #getScriptEngineForLanguage(String)}
+   * after the script was evaluated. If the engine is not threadsafe, it is returned to the pool
+   * of its language.
+   *
+   * @param language the name of the script language the engine was loaded for
+   * @param scriptEngine the script engine to release
+   */
+  public void releaseScriptEngine(String language, ScriptEngine scriptEngine) {
+
+    if (language != null) {
+      language = language.toLowerCase();
+    }
+
+    ProcessApplicationReference pa = Context.getCurrentProcessApplication();
+    ProcessEngineConfigurationImpl config = Context.getProcessEngineConfiguration();
+
+    boolean released = false;
+    if (config.isEnableFetchScriptEngineFromProcessApplication()) {
+      if(pa != null) {
+        released = releasePaScriptEngine(language, scriptEngine, pa);
+      }
+    }
+
+    if (!released) {
+      scriptEngineResolver.releaseScriptEngine(language, scriptEngine);
+    }
+  }
+
+  protected boolean releasePaScriptEngine(String language, ScriptEngine scriptEngine, ProcessApplicationReference pa) {
+    try {
+      ProcessApplicationInterface processApplication = pa.getProcessApplication();
+      ProcessApplicationInterface rawObject = processApplication.getRawObject();
+
+      if (rawObject instanceof AbstractProcessApplication) {
+        AbstractProcessApplication abstractProcessApplication = (AbstractProcessApplication) rawObject;
+        return abstractProcessApplication.releaseScriptEngine(language, scriptEngine);
+      }
+      return false;
+    }
+    catch (ProcessApplicationUnavailableException e) {
+      // the engine cannot be reused
+      return false;
+    }
+  }
+
   protected ScriptEngine getGlobalScriptEngine(String language) {
 
     ScriptEngine scriptEngine = scriptEngineResolver.getScriptEngine(language, enableScriptEngineCaching);
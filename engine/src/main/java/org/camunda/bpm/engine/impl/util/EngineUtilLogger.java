@@ -12,6 +12,7 @@
  */
 package org.camunda.bpm.engine.impl.util;
 
+import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 
 /**
@@ -20,4 +21,12 @@ import org.camunda.bpm.engine.impl.ProcessEngineLogger;
  */
 public class EngineUtilLogger extends ProcessEngineLogger {
 
+  public ProcessEngineException unsupportedCacheEvictionPolicyException(String evictionPolicy) {
+    return new ProcessEngineException(exceptionMessage(
+        "001",
+        "Unsupported cache eviction policy '{}'. Supported policies are 'LRU' and 'LFU'.",
+        evictionPolicy
+        ));
+  }
+
 }
@@ -173,6 +173,20 @@ public final class EnsureUtil {
     }
   }
 
+  public static void ensureLessThanOrEqual(String variableName, long value1, long value2) {
+    ensureLessThanOrEqual("", variableName, value1, value2);
+  }
+
+  public static void ensureLessThanOrEqual(String message, String variableName, long value1, long value2) {
+    ensureLessThanOrEqual(ProcessEngineException.class, message, variableName, value1, value2);
+  }
+
+  public static void ensureLessThanOrEqual(Class<? extends ProcessEngineException> exceptionClass, String message, String variableName, long value1, long value2) {
+    if (value1 > value2) {
+      throw generateException(exceptionClass, message, variableName, "is not less than or equal to " + value2);
+    }
+  }
+
   public static void ensureInstanceOf(String variableName, Object value, Class<?> expectedClass) {
     ensureInstanceOf("", variableName, value, expectedClass);
   }
@@ -14,6 +14,7 @@ package org.camunda.bpm.engine.impl.util;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
 import java.io.File;
@@ -21,6 +22,7 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URL;
 import java.nio.charset.Charset;
 
@@ -49,6 +51,52 @@ public class IoUtil {
     return outputStream.toByteArray();
   }
 
+  /**
+   * Reads the input stream without keeping its content in memory as a whole. Content up to the
+   * given threshold is kept in memory, larger content is copied to a temporary file which is
+   * deleted when the returned stream is closed.
+   *
+   * @return a stream of the content which is independent of the given stream
+   */
+  public static InputStream spoolInputStream(InputStream inputStream, int memoryThreshold, String inputStreamName) {
+    byte[] buffer = new byte[16*1024];
+    ByteArrayOutputStream memory = new ByteArrayOutputStream();
+    File file = null;
+    OutputStream outputStream = memory;
+    try {
+      int bytesRead = inputStream.read(buffer);
+      while (bytesRead!=-1) {
+        if (file == null && memory.size() + bytesRead > memoryThreshold) {
+          file = File.createTempFile("camunda-", ".spool");
+          outputStream = new BufferedOutputStream(new FileOutputStream(file));
+          memory.writeTo(outputStream);
+          memory = null;
+        }
+        outputStream.write(buffer, 0, bytesRead);
+        bytesRead = inputStream.read(buffer);
+      }
+      outputStream.close();
+    } catch (Exception e) {
+      closeSilently(outputStream);
+      if (file != null) {
+        file.delete();
+      }
+      throw new ProcessEngineException("couldn't read input stream "+inputStreamName, e);
+    }
+
+    if (file == null) {
+      return new ByteArrayInputStream(memory.toByteArray());
+    }
+    else {
+      try {
+        return new TempFileInputStream(file);
+      } catch (IOException e) {
+        file.delete();
+        throw new ProcessEngineException("couldn't read input stream "+inputStreamName, e);
+      }
+    }
+  }
+
   public static String readFileAsString(String filePath) {
     byte[] buffer = new byte[(int) getFile(filePath).length()];
     BufferedInputStream inputStream = null;
@@ -0,0 +1,80 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.util.cache;
+
+import java.util.Set;
+
+/**
+ * A cache which may evict entries to stay within its capacity.
+ * Implementations must be thread-safe.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the cached values
+ */
+public interface Cache<K, V> {
+
+  /**
+   * @return the value cached for the key or null if the key is not
+   * contained or was evicted.
+   */
+  V get(K key);
+
+  /**
+   * Puts a value into the cache. If the capacity of the cache is
+   * exceeded afterwards, other entries are evicted.
+   */
+  void put(K key, V value);
+
+  /**
+   * Removes the entry of the key.
+   *
+   * @return the removed value or null if the key was not contained
+   */
+  V remove(K key);
+
+  boolean containsKey(K key);
+
+  void clear();
+
+  boolean isEmpty();
+
+  int size();
+
+  /**
+   * @return an unmodifiable view of the keys currently contained
+   */
+  Set<K> keySet();
+
+  /**
+   * @return the maximum number of entries kept by the cache
+   */
+  int getCapacity();
+
+  // statistics //////////////////////////////////
+
+  /**
+   * @return the number of {@link #get(Object)} invocations which returned a value
+   */
+  long getHitCount();
+
+  /**
+   * @return the number of {@link #get(Object)} invocations which returned null
+   */
+  long getMissCount();
+
+  /**
+   * @return the number of entries removed to stay within the capacity
+   */
+  long getEvictionCount();
+
+}
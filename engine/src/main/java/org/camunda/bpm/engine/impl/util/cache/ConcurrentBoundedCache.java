@@ -0,0 +1,273 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.util.cache;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureGreaterThanOrEqual;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Base class for thread-safe caches with a fixed capacity.
+ *
+ * <p>Reads do not wait for a lock: they look up the entry in a
+ * {@link ConcurrentHashMap}, count the access on the entry and buffer it.
+ * The buffered accesses are applied to the access order of the entries by
+ * the thread which holds the eviction lock next. Puts and removals acquire
+ * the eviction lock. If a put exceeds the capacity, the entry to evict is
+ * {@link #selectEvictionCandidate(Object) selected} from the least recently
+ * used entries, so the eviction does not depend on the size of the cache.</p>
+ *
+ * <p>A cache with a capacity of {@link Integer#MAX_VALUE} is unbounded and
+ * does not keep track of the accesses at all.</p>
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the cached values
+ */
+public abstract class ConcurrentBoundedCache<K, V> implements Cache<K, V> {
+
+  protected final int capacity;
+
+  protected final ConcurrentMap<K, CacheEntry<V>> entries;
+
+  /** the entries in the order of their last access, the least recently used first; guarded by the eviction lock */
+  protected final LinkedHashMap<K, CacheEntry<V>> accessOrder;
+
+  /** accesses which are not yet applied to the {@link #accessOrder} */
+  protected final Queue<K> accessBuffer = new ConcurrentLinkedQueue<K>();
+
+  protected final ReentrantLock evictionLock = new ReentrantLock();
+
+  protected final AtomicLong hitCount = new AtomicLong();
+  protected final AtomicLong missCount = new AtomicLong();
+  protected final AtomicLong evictionCount = new AtomicLong();
+
+  public ConcurrentBoundedCache(int capacity) {
+    ensureGreaterThanOrEqual("Cache capacity", "capacity", capacity, 1);
+    this.capacity = capacity;
+    this.entries = new ConcurrentHashMap<K, CacheEntry<V>>();
+    this.accessOrder = new LinkedHashMap<K, CacheEntry<V>>(16, 0.75f, true);
+  }
+
+  public V get(K key) {
+    CacheEntry<V> entry = null;
+    if (key != null) {
+      entry = entries.get(key);
+    }
+
+    if (entry == null) {
+      missCount.incrementAndGet();
+      return null;
+    }
+    else {
+      hitCount.incrementAndGet();
+      if (isBounded()) {
+        entry.accessed();
+        accessBuffer.add(key);
+        applyBufferedAccessesIfUnlocked();
+      }
+      return entry.getValue();
+    }
+  }
+
+  public void put(K key, V value) {
+    CacheEntry<V> entry = new CacheEntry<V>(value);
+
+    evictionLock.lock();
+    try {
+      entries.put(key, entry);
+      if (isBounded()) {
+        applyBufferedAccesses();
+        accessOrder.put(key, entry);
+        evict(key);
+      }
+    }
+    finally {
+      evictionLock.unlock();
+    }
+  }
+
+  /**
+   * Removes entries until the cache is within its capacity. The entry with
+   * the given key was just put and is not considered for eviction.
+   * Must be invoked while holding the eviction lock.
+   */
+  protected void evict(K keyToKeep) {
+    while (entries.size() > capacity) {
+      K evictionCandidate = selectEvictionCandidate(keyToKeep);
+      if (evictionCandidate == null) {
+        break;
+      }
+
+      accessOrder.remove(evictionCandidate);
+      if (entries.remove(evictionCandidate) != null) {
+        evictionCount.incrementAndGet();
+      }
+    }
+  }
+
+  /**
+   * Selects the entry to evict from the {@link #accessOrder}. Only a constant
+   * number of the least recently used entries should be considered. Invoked
+   * while holding the eviction lock.
+   *
+   * @param keyToKeep the key of the entry which was just put and must not be evicted
+   * @return the key of the entry to evict or null if there is none
+   */
+  protected abstract K selectEvictionCandidate(K keyToKeep);
+
+  protected void applyBufferedAccessesIfUnlocked() {
+    if (evictionLock.tryLock()) {
+      try {
+        applyBufferedAccesses();
+      }
+      finally {
+        evictionLock.unlock();
+      }
+    }
+  }
+
+  /**
+   * Moves the buffered keys to the end of the {@link #accessOrder}.
+   * Must be invoked while holding the eviction lock.
+   */
+  protected void applyBufferedAccesses() {
+    K key;
+    while ((key = accessBuffer.poll()) != null) {
+      // an access-ordered map moves the key to its end, keys which were removed meanwhile are ignored
+      accessOrder.get(key);
+    }
+  }
+
+  protected boolean isBounded() {
+    return capacity < Integer.MAX_VALUE;
+  }
+
+  public V remove(K key) {
+    CacheEntry<V> entry;
+
+    evictionLock.lock();
+    try {
+      entry = entries.remove(key);
+      accessOrder.remove(key);
+    }
+    finally {
+      evictionLock.unlock();
+    }
+
+    if (entry != null) {
+      return entry.getValue();
+    }
+    else {
+      return null;
+    }
+  }
+
+  public boolean containsKey(K key) {
+    return key != null && entries.containsKey(key);
+  }
+
+  public void clear() {
+    evictionLock.lock();
+    try {
+      entries.clear();
+      accessOrder.clear();
+      accessBuffer.clear();
+    }
+    finally {
+      evictionLock.unlock();
+    }
+  }
+
+  public boolean isEmpty() {
+    return entries.isEmpty();
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  public Set<K> keySet() {
+    return Collections.unmodifiableSet(entries.keySet());
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  public long getEvictionCount() {
+    return evictionCount.get();
+  }
+
+  public String toString() {
+    return getClass().getSimpleName()
+        + "[size=" + size()
+        + ", capacity=" + capacity
+        + ", hits=" + getHitCount()
+        + ", misses=" + getMissCount()
+        + ", evictions=" + getEvictionCount()
+        + "]";
+  }
+
+  /**
+   * A cached value with the number of its accesses.
+   */
+  public static class CacheEntry<V> {
+
+    protected final V value;
+    protected final AtomicLong accessCount = new AtomicLong();
+
+    public CacheEntry(V value) {
+      this.value = value;
+    }
+
+    public void accessed() {
+      accessCount.incrementAndGet();
+    }
+
+    /**
+     * Halves the access count, so that accesses which happened long ago
+     * count less than recent ones.
+     */
+    public void age() {
+      long count;
+      do {
+        count = accessCount.get();
+      } while (!accessCount.compareAndSet(count, count / 2));
+    }
+
+    public V getValue() {
+      return value;
+    }
+
+    public long getAccessCount() {
+      return accessCount.get();
+    }
+  }
+
+}
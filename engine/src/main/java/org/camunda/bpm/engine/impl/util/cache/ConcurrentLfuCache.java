@@ -0,0 +1,57 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.util.cache;
+
+import java.util.Map.Entry;
+
+/**
+ * Evicts the least frequently used entry if the capacity is exceeded. Only the
+ * {@link #EVICTION_SAMPLE_SIZE} least recently used entries are considered, so
+ * that a new entry is not evicted before it had the chance to be accessed. The
+ * access counts of the considered entries are halved, so that an entry which
+ * was accessed frequently in the past does not stay in the cache forever.
+ */
+public class ConcurrentLfuCache<K, V> extends ConcurrentBoundedCache<K, V> {
+
+  public static final int EVICTION_SAMPLE_SIZE = 8;
+
+  public ConcurrentLfuCache(int capacity) {
+    super(capacity);
+  }
+
+  protected K selectEvictionCandidate(K keyToKeep) {
+    K evictionCandidate = null;
+    long lowestAccessCount = Long.MAX_VALUE;
+    int sampledEntries = 0;
+
+    for (Entry<K, CacheEntry<V>> entry : accessOrder.entrySet()) {
+      if (sampledEntries == EVICTION_SAMPLE_SIZE) {
+        break;
+      }
+
+      if (!entry.getKey().equals(keyToKeep)) {
+        CacheEntry<V> cacheEntry = entry.getValue();
+        long accessCount = cacheEntry.getAccessCount();
+        if (evictionCandidate == null || accessCount < lowestAccessCount) {
+          evictionCandidate = entry.getKey();
+          lowestAccessCount = accessCount;
+        }
+        cacheEntry.age();
+        sampledEntries++;
+      }
+    }
+
+    return evictionCandidate;
+  }
+
+}
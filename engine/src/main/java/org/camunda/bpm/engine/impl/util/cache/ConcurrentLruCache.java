@@ -0,0 +1,33 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.util.cache;
+
+/**
+ * Evicts the least recently used entry if the capacity is exceeded.
+ */
+public class ConcurrentLruCache<K, V> extends ConcurrentBoundedCache<K, V> {
+
+  public ConcurrentLruCache(int capacity) {
+    super(capacity);
+  }
+
+  protected K selectEvictionCandidate(K keyToKeep) {
+    for (K key : accessOrder.keySet()) {
+      if (!key.equals(keyToKeep)) {
+        return key;
+      }
+    }
+    return null;
+  }
+
+}
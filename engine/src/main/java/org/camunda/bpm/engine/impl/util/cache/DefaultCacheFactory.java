@@ -0,0 +1,55 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.util.cache;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.util.EngineUtilLogger;
+
+/**
+ * Creates concurrent bounded caches which evict entries either by
+ * least recent use ({@value #LRU}) or by least frequent use ({@value #LFU}).
+ */
+public class DefaultCacheFactory implements CacheFactory {
+
+  protected static final EngineUtilLogger LOG = ProcessEngineLogger.UTIL_LOGGER;
+
+  public static final String LRU = "LRU";
+  public static final String LFU = "LFU";
+
+  protected String evictionPolicy;
+
+  public DefaultCacheFactory() {
+    this(LRU);
+  }
+
+  public DefaultCacheFactory(String evictionPolicy) {
+    this.evictionPolicy = evictionPolicy;
+  }
+
+  public <K, V> Cache<K, V> createCache(int capacity) {
+    if (LRU.equalsIgnoreCase(evictionPolicy)) {
+      return new ConcurrentLruCache<K, V>(capacity);
+    }
+    else if (LFU.equalsIgnoreCase(evictionPolicy)) {
+      return new ConcurrentLfuCache<K, V>(capacity);
+    }
+    else {
+      throw LOG.unsupportedCacheEvictionPolicyException(evictionPolicy);
+    }
+  }
+
+  public String getEvictionPolicy() {
+    return evictionPolicy;
+  }
+
+}
@@ -0,0 +1,65 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.management;
+
+import java.util.Date;
+
+/**
+ * The aggregated values of a histogram, e.g. {@link Metrics#COMMAND_EXECUTION_TIME},
+ * which were recorded during one reporting interval of the metrics reporter.
+ *
+ * @see MetricsQuery#histogramLogs()
+ */
+public interface HistogramLog {
+
+  /**
+   * The name of the histogram.
+   */
+  String getName();
+
+  /**
+   * The identifier of the reporter which logged the values.
+   */
+  String getReporter();
+
+  /**
+   * The time at which the interval was completed.
+   */
+  Date getTimestamp();
+
+  /**
+   * The number of values recorded during the interval.
+   */
+  long getCount();
+
+  /**
+   * The median of the values recorded during the interval.
+   */
+  long getP50();
+
+  /**
+   * The 95th percentile of the values recorded during the interval.
+   */
+  long getP95();
+
+  /**
+   * The 99th percentile of the values recorded during the interval.
+   */
+  long getP99();
+
+  /**
+   * The maximum of the values recorded during the interval.
+   */
+  long getMax();
+
+}
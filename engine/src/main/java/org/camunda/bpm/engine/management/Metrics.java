@@ -55,4 +55,41 @@ public class Metrics {
    */
   public final static String EXECUTED_DECISION_ELEMENTS = "executed-decision-elements";
 
+  /**
+   * Number of decision evaluations answered by the decision result cache.
+   */
+  public final static String DECISION_RESULT_CACHE_HIT = "decision-result-cache-hit";
+
+  /**
+   * Number of evaluations of cached decisions which were not answered by the decision result cache.
+   */
+  public final static String DECISION_RESULT_CACHE_MISS = "decision-result-cache-miss";
+
+  /**
+   * Histogram of the execution times of commands in microseconds, including the
+   * flush and the commit of the transaction.
+   */
+  public final static String COMMAND_EXECUTION_TIME = "command-execution-time";
+
+  /**
+   * Histogram of the execution times of jobs in microseconds.
+   */
+  public final static String JOB_EXECUTION_TIME = "job-execution-time";
+
+  /**
+   * Histogram of the evaluation times of decisions in microseconds, including
+   * evaluations answered by the decision result cache.
+   */
+  public final static String DECISION_EVALUATION_TIME = "decision-evaluation-time";
+
+  /**
+   * Histogram of the compilation times of scripts in microseconds.
+   */
+  public final static String SCRIPT_COMPILATION_TIME = "script-compilation-time";
+
+  /**
+   * Histogram of the evaluation times of scripts in microseconds.
+   */
+  public final static String SCRIPT_EVALUATION_TIME = "script-evaluation-time";
+
 }
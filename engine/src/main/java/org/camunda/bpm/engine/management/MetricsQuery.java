@@ -13,6 +13,7 @@
 package org.camunda.bpm.engine.management;
 
 import java.util.Date;
+import java.util.List;
 
 /**
  * @author Daniel Meyer
@@ -32,6 +33,13 @@ public interface MetricsQuery {
    */
   MetricsQuery reporter(String reporter);
 
+  /**
+   * Restrict to data collected for the given tag, e.g. the key of the process
+   * definition for {@link Metrics#ACTIVTY_INSTANCE_START}. Without this restriction,
+   * the data of all tags is included.
+   */
+  MetricsQuery tag(String tag);
+
   /**
    * Restrict to data collected after the given date (inclusive)
    */
@@ -47,4 +55,13 @@ public interface MetricsQuery {
    */
   long sum();
 
+  /**
+   * Returns the logged snapshots of a histogram, e.g. {@link Metrics#COMMAND_EXECUTION_TIME},
+   * ordered by their timestamp. Histograms are not tagged, so the {@link #tag(String) tag}
+   * restriction does not apply.
+   *
+   * @return the snapshots logged by the metrics reporter once per reporting interval
+   */
+  List<HistogramLog> histogramLogs();
+
 }
\ No newline at end of file
@@ -24,6 +24,7 @@ create table ACT_GE_BYTEARRAY (
     DEPLOYMENT_ID_ nvarchar(64),
     BYTES_ image,
     GENERATED_ tinyint,
+    HASH_ nvarchar(64),
     primary key (ID_)
 );
 
@@ -223,11 +224,25 @@ create table ACT_RU_METER_LOG (
   ID_ nvarchar(64) not null,
   NAME_ nvarchar(64) not null,
   REPORTER_ nvarchar(255),
+  TAG_ nvarchar(255),
   VALUE_ numeric(19,0),
   TIMESTAMP_ datetime2 not null,
   primary key (ID_)
 );
 
+create table ACT_RU_HISTOGRAM_LOG (
+  ID_ nvarchar(64) not null,
+  NAME_ nvarchar(64) not null,
+  REPORTER_ nvarchar(255),
+  COUNT_ numeric(19,0),
+  P50_ numeric(19,0),
+  P95_ numeric(19,0),
+  P99_ numeric(19,0),
+  MAX_ numeric(19,0),
+  TIMESTAMP_ datetime2 not null,
+  primary key (ID_)
+);
+
 create table ACT_RU_EXT_TASK (
   ID_ nvarchar(64) not null,
   REV_ integer not null,
@@ -260,6 +275,7 @@ create unique index ACT_UNIQ_AUTH_USER on ACT_RU_AUTHORIZATION (TYPE_,USER_ID_,R
 create unique index ACT_UNIQ_AUTH_GROUP on ACT_RU_AUTHORIZATION (TYPE_,GROUP_ID_,RESOURCE_TYPE_,RESOURCE_ID_) where GROUP_ID_ is not null;
 create unique index ACT_UNIQ_VARIABLE on ACT_RU_VARIABLE(VAR_SCOPE_, NAME_);
 create index ACT_IDX_METER_LOG on ACT_RU_METER_LOG(NAME_,TIMESTAMP_);
+create index ACT_IDX_HISTOGRAM_LOG on ACT_RU_HISTOGRAM_LOG(NAME_,TIMESTAMP_);
 create index ACT_IDX_EXT_TASK_TOPIC on ACT_RU_EXT_TASK(TOPIC_NAME_);
 
 alter table ACT_GE_BYTEARRAY
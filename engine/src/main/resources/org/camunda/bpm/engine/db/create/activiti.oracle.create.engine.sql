@@ -24,6 +24,7 @@ create table ACT_GE_BYTEARRAY (
     DEPLOYMENT_ID_ NVARCHAR2(64),
     BYTES_ BLOB,
     GENERATED_ NUMBER(1,0) CHECK (GENERATED_ IN (1,0)),
+    HASH_ NVARCHAR2(64),
     primary key (ID_)
 );
 
@@ -223,11 +224,25 @@ create table ACT_RU_METER_LOG (
   ID_ NVARCHAR2(64) not null,
   NAME_ NVARCHAR2(64) not null,
   REPORTER_ NVARCHAR2(255),
+  TAG_ NVARCHAR2(255),
   VALUE_ NUMBER(19,0),
   TIMESTAMP_ TIMESTAMP(6) not null,
   primary key (ID_)
 );
 
+create table ACT_RU_HISTOGRAM_LOG (
+  ID_ NVARCHAR2(64) not null,
+  NAME_ NVARCHAR2(64) not null,
+  REPORTER_ NVARCHAR2(255),
+  COUNT_ NUMBER(19,0),
+  P50_ NUMBER(19,0),
+  P95_ NUMBER(19,0),
+  P99_ NUMBER(19,0),
+  MAX_ NUMBER(19,0),
+  TIMESTAMP_ TIMESTAMP(6) not null,
+  primary key (ID_)
+);
+
 create table ACT_RU_EXT_TASK (
   ID_ NVARCHAR2(64) not null,
   REV_ integer not null,
@@ -256,6 +271,7 @@ create index ACT_IDX_VARIABLE_TASK_ID on ACT_RU_VARIABLE(TASK_ID_);
 create index ACT_IDX_INC_CONFIGURATION on ACT_RU_INCIDENT(CONFIGURATION_);
 create index ACT_IDX_JOB_PROCINST on ACT_RU_JOB(PROCESS_INSTANCE_ID_);
 create index ACT_IDX_METER_LOG on ACT_RU_METER_LOG(NAME_,TIMESTAMP_);
+create index ACT_IDX_HISTOGRAM_LOG on ACT_RU_HISTOGRAM_LOG(NAME_,TIMESTAMP_);
 create index ACT_IDX_EXT_TASK_TOPIC on ACT_RU_EXT_TASK(TOPIC_NAME_);
 
 create index ACT_IDX_BYTEAR_DEPL on ACT_GE_BYTEARRAY(DEPLOYMENT_ID_);
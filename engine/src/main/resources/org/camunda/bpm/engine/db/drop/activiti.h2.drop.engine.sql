@@ -93,6 +93,7 @@ drop index ACT_IDX_INC_PROCINSTID;
 drop index ACT_IDX_INC_ROOTCAUSEINCID;
 
 drop index ACT_IDX_METER_LOG;
+drop index ACT_IDX_HISTOGRAM_LOG;
 drop index ACT_IDX_AUTH_RESOURCE_ID;
 drop index ACT_IDX_EXT_TASK_TOPIC;
 
@@ -118,5 +119,6 @@ drop table ACT_RU_INCIDENT if exists;
 drop table ACT_RU_AUTHORIZATION if exists;
 drop table ACT_RU_FILTER if exists;
 drop table ACT_RU_METER_LOG if exists;
+drop table ACT_RU_HISTOGRAM_LOG if exists;
 drop table ACT_RU_EXT_TASK if exists;
 
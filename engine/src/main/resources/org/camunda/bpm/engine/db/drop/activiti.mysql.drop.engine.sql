@@ -8,6 +8,7 @@ drop index ACT_IDX_INC_CONFIGURATION on ACT_RU_INCIDENT;
 drop index ACT_IDX_JOB_PROCINST on ACT_RU_JOB;
 
 drop index ACT_IDX_METER_LOG on ACT_RU_METER_LOG;
+drop index ACT_IDX_HISTOGRAM_LOG on ACT_RU_HISTOGRAM_LOG;
 drop index ACT_IDX_EXT_TASK_TOPIC on ACT_RU_EXT_TASK;
 
 alter table ACT_GE_BYTEARRAY 
@@ -106,4 +107,5 @@ drop table if exists ACT_RU_INCIDENT;
 drop table if exists ACT_RU_AUTHORIZATION;
 drop table if exists ACT_RU_FILTER;
 drop table if exists ACT_RU_METER_LOG;
+drop table if exists ACT_RU_HISTOGRAM_LOG;
 drop table if exists ACT_RU_EXT_TASK;
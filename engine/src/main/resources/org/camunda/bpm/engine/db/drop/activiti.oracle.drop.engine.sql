@@ -21,6 +21,7 @@ drop index ACT_IDX_IDENT_LNK_GROUP;
 drop index ACT_IDX_VARIABLE_TASK_ID;
 
 drop index ACT_IDX_METER_LOG;
+drop index ACT_IDX_HISTOGRAM_LOG;
 drop index ACT_IDX_EXT_TASK_TOPIC;
 
 alter table ACT_GE_BYTEARRAY
@@ -126,4 +127,5 @@ drop table  ACT_RU_INCIDENT;
 drop table  ACT_RU_AUTHORIZATION;
 drop table  ACT_RU_FILTER;
 drop table  ACT_RU_METER_LOG;
+drop table  ACT_RU_HISTOGRAM_LOG;
 drop table  ACT_RU_EXT_TASK;
@@ -0,0 +1,90 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db.entitymanager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.Timestamp;
+import java.util.Date;
+
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.CachedDbEntity;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityState;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.MessageEntity;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DbEntityChangeTrackingTest {
+
+  protected MessageEntity job;
+  protected CachedDbEntity cachedJob;
+
+  @Before
+  public void setup() {
+    job = new MessageEntity();
+    job.setId("1");
+    job.setLockOwner("owner");
+    job.setDuedate(new Timestamp(1000));
+
+    cachedJob = new CachedDbEntity();
+    cachedJob.setEntity(job);
+    cachedJob.setEntityState(DbEntityState.PERSISTENT);
+    cachedJob.makeCopy();
+  }
+
+  @Test
+  public void testUnchangedEntityIsNotDirty() {
+    assertEquals(0, job.getChangedProperties());
+    assertFalse(cachedJob.isDirty());
+  }
+
+  @Test
+  public void testChangedPropertiesAreTracked() {
+    job.setLockOwner("otherOwner");
+    job.setRetriesFromPersistence(1);
+
+    assertEquals(JobEntity.LOCK_OWNER | JobEntity.RETRIES, job.getChangedProperties());
+    assertTrue(cachedJob.isDirty());
+
+    // the changes are cleared after the entity is flushed
+    cachedJob.makeCopy();
+    assertFalse(cachedJob.isDirty());
+  }
+
+  @Test
+  public void testSettingSameValueIsNotTracked() {
+    job.setLockOwner("owner");
+    job.setDuedate(new Date(1000));
+
+    assertFalse(cachedJob.isDirty());
+  }
+
+  @Test
+  public void testResetLock() {
+    job.resetLock();
+
+    assertEquals(JobEntity.LOCK_OWNER, job.getChangedProperties());
+  }
+
+  @Test
+  public void testForceSetDirty() {
+    cachedJob.forceSetDirty();
+    assertTrue(cachedJob.isDirty());
+
+    cachedJob.makeCopy();
+    assertFalse(cachedJob.isDirty());
+  }
+
+}
@@ -0,0 +1,183 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.dmn;
+
+import java.util.Date;
+
+import org.camunda.bpm.dmn.engine.DmnDecisionResult;
+import org.camunda.bpm.engine.impl.dmn.cache.DecisionResultCache;
+import org.camunda.bpm.engine.impl.test.ResourceProcessEngineTestCase;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.management.Metrics;
+import org.camunda.bpm.engine.repository.DecisionDefinition;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.variable.VariableMap;
+import org.camunda.bpm.engine.variable.Variables;
+
+/**
+ * Evaluates decisions with the decision result cache enabled for the decision with the key 'decision'.
+ */
+public class DecisionResultCacheTest extends ResourceProcessEngineTestCase {
+
+  protected static final String DMN_FILE = "org/camunda/bpm/engine/test/api/dmn/Example.dmn";
+  protected static final String DMN_FILE_SECOND_VERSION = "org/camunda/bpm/engine/test/api/dmn/Example_v2.dmn";
+  protected static final String ANOTHER_DMN_FILE = "org/camunda/bpm/engine/test/api/dmn/Another_Example.dmn";
+
+  protected static final String DECISION_DEFINITION_KEY = "decision";
+
+  protected DecisionResultCache decisionResultCache;
+
+  public DecisionResultCacheTest() {
+    super("org/camunda/bpm/engine/test/api/dmn/DecisionResultCacheTest.camunda.cfg.xml");
+  }
+
+  protected void setUp() throws Exception {
+    super.setUp();
+    decisionResultCache = processEngineConfiguration.getDecisionResultCache();
+  }
+
+  protected void tearDown() throws Exception {
+    ClockUtil.reset();
+    super.tearDown();
+  }
+
+  @Deployment(resources = DMN_FILE)
+  public void testCacheResultOfSameInputs() {
+    long hitMeter = getMeter(Metrics.DECISION_RESULT_CACHE_HIT);
+    long missMeter = getMeter(Metrics.DECISION_RESULT_CACHE_MISS);
+
+    DmnDecisionResult firstResult = decisionService.evaluateDecisionByKey(DECISION_DEFINITION_KEY, createVariables("silver", 723));
+    DmnDecisionResult secondResult = decisionService.evaluateDecisionByKey(DECISION_DEFINITION_KEY, createVariables("silver", 723));
+
+    assertEquals("ok", firstResult.getSingleOutput().getFirstValue());
+    assertEquals("ok", secondResult.getSingleOutput().getFirstValue());
+
+    assertEquals(1, decisionResultCache.getHitCount());
+    assertEquals(1, decisionResultCache.getMissCount());
+    assertEquals(1, decisionResultCache.size());
+
+    assertEquals(hitMeter + 1, getMeter(Metrics.DECISION_RESULT_CACHE_HIT));
+    assertEquals(missMeter + 1, getMeter(Metrics.DECISION_RESULT_CACHE_MISS));
+  }
+
+  @Deployment(resources = DMN_FILE)
+  public void testCachedResultIsUnmodifiable() {
+    decisionService.evaluateDecisionByKey(DECISION_DEFINITION_KEY, createVariables("silver", 723));
+    DmnDecisionResult result = decisionService.evaluateDecisionByKey(DECISION_DEFINITION_KEY, createVariables("silver", 723));
+
+    try {
+      result.clear();
+      fail("exception expected");
+    }
+    catch (UnsupportedOperationException e) {
+      // expected
+    }
+
+    try {
+      result.getSingleOutput().clear();
+      fail("exception expected");
+    }
+    catch (UnsupportedOperationException e) {
+      // expected
+    }
+
+    result = decisionService.evaluateDecisionByKey(DECISION_DEFINITION_KEY, createVariables("silver", 723));
+    assertEquals("ok", result.getSingleOutput().getFirstValue());
+  }
+
+  @Deployment(resources = DMN_FILE)
+  public void testCachedResultProducesHistoryAndMetrics() {
+    long executedElementsMeter = getMeter(Metrics.EXECUTED_DECISION_ELEMENTS);
+
+    decisionService.evaluateDecisionByKey(DECISION_DEFINITION_KEY, createVariables("silver", 723));
+    long executedElementsOfEvaluation = getMeter(Metrics.EXECUTED_DECISION_ELEMENTS) - executedElementsMeter;
+
+    decisionService.evaluateDecisionByKey(DECISION_DEFINITION_KEY, createVariables("silver", 723));
+
+    assertEquals(1, decisionResultCache.getHitCount());
+    assertEquals(2, historyService.createHistoricDecisionInstanceQuery().count());
+    assertEquals(executedElementsMeter + 2 * executedElementsOfEvaluation, getMeter(Metrics.EXECUTED_DECISION_ELEMENTS));
+  }
+
+  @Deployment(resources = DMN_FILE)
+  public void testEvaluateDifferentInputs() {
+    decisionService.evaluateDecisionByKey(DECISION_DEFINITION_KEY, createVariables("silver", 723));
+    DmnDecisionResult result = decisionService.evaluateDecisionByKey(DECISION_DEFINITION_KEY, createVariables("silver", 1723));
+
+    assertEquals("notok", result.getSingleOutput().getFirstValue());
+
+    assertEquals(0, decisionResultCache.getHitCount());
+    assertEquals(2, decisionResultCache.getMissCount());
+    assertEquals(2, decisionResultCache.size());
+  }
+
+  @Deployment(resources = DMN_FILE)
+  public void testIgnoreVariablesWhichAreNoInputs() {
+    decisionService.evaluateDecisionByKey(DECISION_DEFINITION_KEY, createVariables("silver", 723).putValue("other", "a"));
+    decisionService.evaluateDecisionByKey(DECISION_DEFINITION_KEY, createVariables("silver", 723).putValue("other", "b"));
+
+    assertEquals(1, decisionResultCache.getHitCount());
+  }
+
+  @Deployment(resources = ANOTHER_DMN_FILE)
+  public void testDoNotCacheOtherDecisions() {
+    DecisionDefinition decisionDefinition = repositoryService.createDecisionDefinitionQuery().singleResult();
+
+    decisionService.evaluateDecisionById(decisionDefinition.getId(), createVariables("silver", 723));
+    decisionService.evaluateDecisionById(decisionDefinition.getId(), createVariables("silver", 723));
+
+    assertEquals(0, decisionResultCache.getHitCount());
+    assertEquals(0, decisionResultCache.getMissCount());
+  }
+
+  @Deployment(resources = DMN_FILE)
+  public void testExpiration() {
+    decisionService.evaluateDecisionByKey(DECISION_DEFINITION_KEY, createVariables("silver", 723));
+
+    ClockUtil.setCurrentTime(new Date(ClockUtil.getCurrentTime().getTime() + decisionResultCache.getTimeToLive() + 1));
+    decisionService.evaluateDecisionByKey(DECISION_DEFINITION_KEY, createVariables("silver", 723));
+
+    assertEquals(0, decisionResultCache.getHitCount());
+    assertEquals(1, decisionResultCache.getExpirationCount());
+  }
+
+  @Deployment(resources = DMN_FILE)
+  public void testRedeployment() {
+    decisionService.evaluateDecisionByKey(DECISION_DEFINITION_KEY, createVariables("silver", 723));
+
+    String secondDeploymentId = repositoryService.createDeployment().addClasspathResource(DMN_FILE_SECOND_VERSION).deploy().getId();
+    try {
+      DmnDecisionResult result = decisionService.evaluateDecisionByKey(DECISION_DEFINITION_KEY, createVariables("silver", 723));
+      assertEquals("notok", result.getSingleOutput().getFirstValue());
+      assertEquals(0, decisionResultCache.getHitCount());
+    }
+    finally {
+      repositoryService.deleteDeployment(secondDeploymentId, true);
+    }
+
+    assertEquals(1, decisionResultCache.getInvalidationCount());
+
+    DmnDecisionResult result = decisionService.evaluateDecisionByKey(DECISION_DEFINITION_KEY, createVariables("silver", 723));
+    assertEquals("ok", result.getSingleOutput().getFirstValue());
+    assertEquals(1, decisionResultCache.getHitCount());
+  }
+
+  protected VariableMap createVariables(String status, int sum) {
+    return Variables.createVariables().putValue("status", status).putValue("sum", sum);
+  }
+
+  protected long getMeter(String name) {
+    return processEngineConfiguration.getMetricsRegistry().getMeterByName(name).get();
+  }
+
+}
@@ -15,6 +15,8 @@ package org.camunda.bpm.engine.test.api.externaltask;
 import static org.camunda.bpm.engine.test.util.ActivityInstanceAssert.assertThat;
 import static org.camunda.bpm.engine.test.util.ActivityInstanceAssert.describeActivityInstanceTree;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 
@@ -23,9 +25,15 @@ import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.exception.NotFoundException;
 import org.camunda.bpm.engine.exception.NullValueException;
 import org.camunda.bpm.engine.externaltask.ExternalTask;
+import org.camunda.bpm.engine.externaltask.ExternalTaskQueryBuilder;
 import org.camunda.bpm.engine.externaltask.LockedExternalTask;
 import org.camunda.bpm.engine.history.HistoricIncident;
+import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskNotifier;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ExternalTaskManager;
 import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 import org.camunda.bpm.engine.runtime.ActivityInstance;
@@ -205,6 +213,222 @@ public class ExternalTaskServiceTest extends PluggableProcessEngineTestCase {
     }
   }
 
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/externaltask/oneExternalTaskProcess.bpmn20.xml")
+  public void testFetchWithAsyncResponseTimeout() {
+    // given
+    runtimeService.startProcessInstanceByKey("oneExternalTaskProcess");
+
+    // when
+    long start = System.currentTimeMillis();
+    List<LockedExternalTask> externalTasks = externalTaskService.fetchAndLock(1, WORKER_ID)
+      .topic(TOPIC_NAME, LOCK_TIME)
+      .execute(60000L);
+
+    // then the existing task is returned without waiting
+    assertEquals(1, externalTasks.size());
+    assertTrue(System.currentTimeMillis() - start < 60000L);
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/externaltask/oneExternalTaskProcess.bpmn20.xml")
+  public void testFetchWithAsyncResponseTimeoutExpires() {
+    // when
+    long start = System.currentTimeMillis();
+    List<LockedExternalTask> externalTasks = externalTaskService.fetchAndLock(1, WORKER_ID)
+      .topic(TOPIC_NAME, LOCK_TIME)
+      .execute(500L);
+
+    // then
+    assertEquals(0, externalTasks.size());
+    assertTrue(System.currentTimeMillis() - start >= 500L);
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/externaltask/oneExternalTaskProcess.bpmn20.xml")
+  public void testFetchWithAsyncResponseTimeoutNotifiedOnCreation() throws Exception {
+    // given a worker waiting for tasks
+    final List<LockedExternalTask> externalTasks = new ArrayList<LockedExternalTask>();
+    Thread worker = new Thread() {
+      public void run() {
+        externalTasks.addAll(externalTaskService.fetchAndLock(1, WORKER_ID)
+          .topic(TOPIC_NAME, LOCK_TIME)
+          .execute(60000L));
+      }
+    };
+
+    long start = System.currentTimeMillis();
+    worker.start();
+
+    // when a task is created
+    Thread.sleep(200L);
+    runtimeService.startProcessInstanceByKey("oneExternalTaskProcess");
+
+    // then the worker is woken up before its timeout expires
+    worker.join(60000L);
+    assertEquals(1, externalTasks.size());
+    assertTrue(System.currentTimeMillis() - start < 60000L);
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/externaltask/oneExternalTaskProcess.bpmn20.xml")
+  public void testFetchWithAsyncResponseTimeoutNotifiedOnUnlock() throws Exception {
+    // given a locked task and a worker waiting for tasks
+    runtimeService.startProcessInstanceByKey("oneExternalTaskProcess");
+    List<LockedExternalTask> lockedTasks = externalTaskService.fetchAndLock(1, WORKER_ID)
+      .topic(TOPIC_NAME, LOCK_TIME)
+      .execute();
+
+    final List<LockedExternalTask> externalTasks = new ArrayList<LockedExternalTask>();
+    Thread worker = new Thread() {
+      public void run() {
+        externalTasks.addAll(externalTaskService.fetchAndLock(1, WORKER_ID)
+          .topic(TOPIC_NAME, LOCK_TIME)
+          .execute(60000L));
+      }
+    };
+    worker.start();
+
+    // when the task is unlocked
+    Thread.sleep(200L);
+    externalTaskService.unlock(lockedTasks.get(0).getId());
+
+    // then the worker fetches it
+    worker.join(60000L);
+    assertEquals(1, externalTasks.size());
+    assertEquals(lockedTasks.get(0).getId(), externalTasks.get(0).getId());
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/externaltask/oneExternalTaskProcess.bpmn20.xml")
+  public void testFetchWithAsyncResponseTimeoutExceedingMaxWaitingWorkers() throws Exception {
+    ExternalTaskNotifier notifier = processEngineConfiguration.getExternalTaskNotifier();
+    int maxWaitingWorkers = notifier.getMaxWaitingWorkers();
+    notifier.setMaxWaitingWorkers(1);
+
+    try {
+      // given a worker waiting for tasks
+      final List<LockedExternalTask> externalTasks = new ArrayList<LockedExternalTask>();
+      Thread worker = new Thread() {
+        public void run() {
+          externalTasks.addAll(externalTaskService.fetchAndLock(1, WORKER_ID)
+            .topic(TOPIC_NAME, LOCK_TIME)
+            .execute(60000L));
+        }
+      };
+      worker.start();
+
+      long waitStart = System.currentTimeMillis();
+      while (notifier.getWaitingWorkers() == 0 && System.currentTimeMillis() - waitStart < 10000L) {
+        Thread.sleep(10L);
+      }
+      assertEquals(1, notifier.getWaitingWorkers());
+
+      // when another worker fetches with a timeout
+      long start = System.currentTimeMillis();
+      List<LockedExternalTask> otherTasks = externalTaskService.fetchAndLock(1, WORKER_ID)
+        .topic(TOPIC_NAME, LOCK_TIME)
+        .execute(60000L);
+
+      // then it returns without waiting
+      assertEquals(0, otherTasks.size());
+      assertTrue(System.currentTimeMillis() - start < 30000L);
+      assertEquals(1, notifier.getWaitingWorkers());
+
+      // and the waiting worker is still woken up
+      runtimeService.startProcessInstanceByKey("oneExternalTaskProcess");
+      worker.join(60000L);
+      assertEquals(1, externalTasks.size());
+      assertEquals(0, notifier.getWaitingWorkers());
+    }
+    finally {
+      notifier.setMaxWaitingWorkers(maxWaitingWorkers);
+    }
+  }
+
+  public void testFetchWithNegativeAsyncResponseTimeout() {
+    try {
+      externalTaskService.fetchAndLock(1, WORKER_ID)
+        .topic(TOPIC_NAME, LOCK_TIME)
+        .execute(-1L);
+      fail("expected exception");
+    } catch (ProcessEngineException e) {
+      assertTextPresent("asyncResponseTimeout", e.getMessage());
+    }
+  }
+
+  public void testFetchWithExceedingAsyncResponseTimeout() {
+    try {
+      externalTaskService.fetchAndLock(1, WORKER_ID)
+        .topic(TOPIC_NAME, LOCK_TIME)
+        .execute(ExternalTaskQueryBuilder.MAX_ASYNC_RESPONSE_TIMEOUT + 1);
+      fail("expected exception");
+    } catch (ProcessEngineException e) {
+      assertTextPresent("asyncResponseTimeout", e.getMessage());
+    }
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/externaltask/oneExternalTaskProcess.bpmn20.xml")
+  public void testFetchSkipLocked() {
+    // only execute on databases which support skip locked fetching
+    if (!DbSqlSessionFactory.databasesSupportingSkipLocked.contains(processEngineConfiguration.getDatabaseType())) {
+      return;
+    }
+
+    // given
+    runtimeService.startProcessInstanceByKey("oneExternalTaskProcess");
+    runtimeService.startProcessInstanceByKey("oneExternalTaskProcess");
+    processEngineConfiguration.setSkipLockedExternalTaskFetching(true);
+
+    try {
+      // when
+      List<LockedExternalTask> firstTasks = externalTaskService.fetchAndLock(1, WORKER_ID)
+        .topic(TOPIC_NAME, LOCK_TIME)
+        .execute();
+      List<LockedExternalTask> secondTasks = externalTaskService.fetchAndLock(5, WORKER_ID)
+        .topic(TOPIC_NAME, LOCK_TIME)
+        .execute();
+
+      // then
+      assertEquals(1, firstTasks.size());
+      assertEquals(1, secondTasks.size());
+      assertFalse(firstTasks.get(0).getId().equals(secondTasks.get(0).getId()));
+    }
+    finally {
+      processEngineConfiguration.setSkipLockedExternalTaskFetching(false);
+    }
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/externaltask/oneExternalTaskProcess.bpmn20.xml")
+  public void testFetchPartitionsByWorkerId() {
+    // given
+    runtimeService.startProcessInstanceByKey("oneExternalTaskProcess");
+    runtimeService.startProcessInstanceByKey("oneExternalTaskProcess");
+    processEngineConfiguration.setExternalTaskFetchPartitions(2);
+
+    try {
+      // when two workers assigned to different partitions select tasks concurrently
+      List<String> selectedTaskIds = processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<List<String>>() {
+        public List<String> execute(CommandContext commandContext) {
+          ExternalTaskManager externalTaskManager = commandContext.getExternalTaskManager();
+          List<String> topics = Arrays.asList(TOPIC_NAME);
+
+          List<String> taskIds = new ArrayList<String>();
+          taskIds.add(externalTaskManager.selectExternalTasksForTopics(topics, 1, "workerA").get(0).getId());
+          taskIds.add(externalTaskManager.selectExternalTasksForTopics(topics, 1, "workerB").get(0).getId());
+          return taskIds;
+        }
+      });
+
+      // then they select different tasks
+      assertFalse(selectedTaskIds.get(0).equals(selectedTaskIds.get(1)));
+
+      // and every worker still fetches all tasks if necessary
+      List<LockedExternalTask> tasks = externalTaskService.fetchAndLock(5, "workerA")
+        .topic(TOPIC_NAME, LOCK_TIME)
+        .execute();
+      assertEquals(2, tasks.size());
+    }
+    finally {
+      processEngineConfiguration.setExternalTaskFetchPartitions(1);
+    }
+  }
+
   @Deployment(resources = "org/camunda/bpm/engine/test/api/externaltask/oneExternalTaskProcess.bpmn20.xml")
   public void testFetchNoTopics() {
     // given
@@ -13,6 +13,7 @@
 package org.camunda.bpm.engine.test.api.runtime;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -21,6 +22,9 @@ import java.util.Map;
 import java.util.Set;
 
 import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.AbstractQuery;
+import org.camunda.bpm.engine.impl.QueryResultHandler;
+import org.camunda.bpm.engine.impl.VariableInstanceQueryImpl;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
 import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
 import org.camunda.bpm.engine.runtime.ActivityInstance;
@@ -83,6 +87,61 @@ public class VariableInstanceQueryTest extends PluggableProcessEngineTestCase {
     }
   }
 
+  @Test
+  @Deployment(resources={"org/camunda/bpm/engine/test/api/runtime/oneTaskProcess.bpmn20.xml"})
+  public void testQueryStreamPage() {
+    // given
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("intVar", 123);
+    variables.put("stringVar", "test");
+    variables.put("bytesVar", "bytes".getBytes());
+    runtimeService.startProcessInstanceByKey("oneTaskProcess", variables);
+
+    // when
+    final Map<String, Object> values = new HashMap<String, Object>();
+    VariableInstanceQueryImpl query = (VariableInstanceQueryImpl) runtimeService.createVariableInstanceQuery()
+      .orderByVariableName().asc();
+    query.streamPage(1, 2, new QueryResultHandler<VariableInstance>() {
+      public void handleResult(VariableInstance variableInstance) {
+        values.put(variableInstance.getName(), variableInstance.getValue());
+      }
+    });
+
+    // then
+    assertEquals(2, values.size());
+    assertEquals(123, values.get("intVar"));
+    assertEquals("test", values.get("stringVar"));
+  }
+
+  @Test
+  @Deployment(resources={"org/camunda/bpm/engine/test/api/runtime/oneTaskProcess.bpmn20.xml"})
+  public void testQueryStreamPageLoadsValuesOfAllPages() {
+    // given
+    int variableCount = AbstractQuery.STREAMING_PAGE_SIZE + 10;
+    Map<String, Object> variables = new HashMap<String, Object>();
+    for (int i = 0; i < variableCount; i++) {
+      // serialized values are stored in byte arrays
+      variables.put("var" + i, new ArrayList<String>(Collections.singletonList("value" + i)));
+    }
+    runtimeService.startProcessInstanceByKey("oneTaskProcess", variables);
+
+    // when the results are ordered by a property which is the same for all of them
+    final Map<String, Object> values = new HashMap<String, Object>();
+    VariableInstanceQueryImpl query = (VariableInstanceQueryImpl) runtimeService.createVariableInstanceQuery()
+      .orderByVariableType().asc();
+    query.streamPage(0, Integer.MAX_VALUE, new QueryResultHandler<VariableInstance>() {
+      public void handleResult(VariableInstance variableInstance) {
+        assertNull(values.put(variableInstance.getName(), variableInstance.getValue()));
+      }
+    });
+
+    // then
+    assertEquals(variableCount, values.size());
+    for (int i = 0; i < variableCount; i++) {
+      assertEquals(Collections.singletonList("value" + i), values.get("var" + i));
+    }
+  }
+
   @Test
   public void testQueryByVariableId() {
     // given
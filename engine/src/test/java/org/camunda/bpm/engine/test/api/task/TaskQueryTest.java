@@ -48,7 +48,10 @@ import org.camunda.bpm.engine.BadUserRequestException;
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.exception.NullValueException;
 import org.camunda.bpm.engine.filter.Filter;
+import org.camunda.bpm.engine.impl.QueryResultHandler;
 import org.camunda.bpm.engine.impl.TaskQueryImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
@@ -1592,6 +1595,60 @@ public class TaskQueryTest extends PluggableProcessEngineTestCase {
     assertEquals(10, query.listPage(0, 15).size()); // there are only 10 tasks
   }
 
+  public void testQueryStreamPage() {
+    TaskQuery query = taskService.createTaskQuery().taskCandidateUser("kermit").orderByTaskId().asc();
+
+    assertEquals(10, streamPage(query, 0, Integer.MAX_VALUE).size());
+
+    List<String> expectedIds = new ArrayList<String>();
+    for (Task task : query.listPage(2, 3)) {
+      expectedIds.add(task.getId());
+    }
+    List<String> streamedIds = new ArrayList<String>();
+    for (Task task : streamPage(query, 2, 3)) {
+      streamedIds.add(task.getId());
+    }
+    assertEquals(expectedIds, streamedIds);
+
+    assertEquals(0, streamPage(query, -1, -1).size());
+    assertEquals(0, streamPage(query, 10, 2).size());
+
+    // tasks with form keys are read page by page
+    query.initializeFormKeys();
+    streamedIds.clear();
+    for (Task task : streamPage(query, 2, 3)) {
+      streamedIds.add(task.getId());
+    }
+    assertEquals(expectedIds, streamedIds);
+  }
+
+  public void testQueryStreamPageDoesNotCacheTasks() {
+    final TaskQueryImpl query = new TaskQueryImpl();
+
+    int cachedTasks = processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Integer>() {
+      public Integer execute(CommandContext commandContext) {
+        query.streamPage(0, Integer.MAX_VALUE, new QueryResultHandler<Task>() {
+          public void handleResult(Task task) {
+            assertNotNull(task.getId());
+          }
+        });
+        return commandContext.getDbEntityManager().getCachedEntitiesByType(TaskEntity.class).size();
+      }
+    });
+
+    assertEquals(0, cachedTasks);
+  }
+
+  protected List<Task> streamPage(TaskQuery query, int firstResult, int maxResults) {
+    final List<Task> tasks = new ArrayList<Task>();
+    ((TaskQueryImpl) query).streamPage(firstResult, maxResults, new QueryResultHandler<Task>() {
+      public void handleResult(Task task) {
+        tasks.add(task);
+      }
+    });
+    return tasks;
+  }
+
   public void testQuerySorting() {
     // default ordering is by id
     int expectedCount = 12;
@@ -0,0 +1,223 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.authorization;
+
+import static org.camunda.bpm.engine.authorization.Authorization.ANY;
+import static org.camunda.bpm.engine.authorization.Groups.CAMUNDA_ADMIN;
+import static org.camunda.bpm.engine.authorization.Permissions.READ;
+import static org.camunda.bpm.engine.authorization.Permissions.UPDATE;
+import static org.camunda.bpm.engine.authorization.Resources.PROCESS_INSTANCE;
+import static org.camunda.bpm.engine.authorization.Resources.TASK;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import org.camunda.bpm.engine.authorization.Authorization;
+import org.camunda.bpm.engine.impl.identity.GroupMembershipCache;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.AuthorizationEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.AuthorizationManager;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+
+/**
+ * Tests the cached and batched evaluation of authorization checks.
+ */
+public class AuthorizationCheckCacheTest extends AuthorizationTest {
+
+  protected static final String PROCESS_KEY = "oneTaskProcess";
+
+  protected String deploymentId;
+
+  public void setUp() throws Exception {
+    deploymentId = createDeployment(null, "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml").getId();
+    super.setUp();
+  }
+
+  public void tearDown() {
+    super.tearDown();
+    deleteDeployment(deploymentId);
+    processEngineConfiguration.setGroupMembershipCache(null);
+    ClockUtil.reset();
+  }
+
+  public void testBatchEvaluationEqualsSingleChecks() {
+    // given
+    final List<String> processInstanceIds = new ArrayList<String>();
+    for (int i = 0; i < 6; i++) {
+      processInstanceIds.add(startProcessInstanceByKey(PROCESS_KEY).getId());
+    }
+
+    // user grant
+    createGrantAuthorization(PROCESS_INSTANCE, processInstanceIds.get(0), userId, UPDATE);
+
+    // user revoke precedes global grant
+    createRevokeAuthorization(PROCESS_INSTANCE, processInstanceIds.get(1), userId, UPDATE);
+    Authorization authorization = createGlobalAuthorization(PROCESS_INSTANCE, processInstanceIds.get(1));
+    authorization.addPermission(UPDATE);
+    saveAuthorization(authorization);
+
+    // group grant
+    authorization = createGrantAuthorization(PROCESS_INSTANCE, processInstanceIds.get(2));
+    authorization.setGroupId(groupId);
+    authorization.addPermission(UPDATE);
+    saveAuthorization(authorization);
+
+    // group revoke precedes global grant of all process instances
+    authorization = createRevokeAuthorization(PROCESS_INSTANCE, processInstanceIds.get(3));
+    authorization.setGroupId(groupId);
+    authorization.removePermission(UPDATE);
+    saveAuthorization(authorization);
+    authorization = createGlobalAuthorization(PROCESS_INSTANCE, ANY);
+    authorization.addPermission(UPDATE);
+    saveAuthorization(authorization);
+
+    // global revoke of a single process instance precedes global grant of all process instances
+    authorization = createGlobalAuthorization(PROCESS_INSTANCE, processInstanceIds.get(4));
+    authorization.removePermission(UPDATE);
+    saveAuthorization(authorization);
+
+    // when
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        AuthorizationManager authorizationManager = commandContext.getAuthorizationManager();
+        List<String> groupIds = Arrays.asList(groupId);
+
+        Set<String> authorizedIds = authorizationManager.findAuthorizedResourceIds(userId, groupIds, UPDATE, PROCESS_INSTANCE, processInstanceIds);
+
+        // then
+        for (String processInstanceId : processInstanceIds) {
+          boolean isAuthorized = authorizationManager.isAuthorized(userId, groupIds, UPDATE, PROCESS_INSTANCE, processInstanceId);
+          assertEquals(processInstanceId, isAuthorized, authorizedIds.contains(processInstanceId));
+        }
+
+        assertEquals(3, authorizedIds.size());
+        assertTrue(authorizedIds.contains(processInstanceIds.get(0)));
+        assertTrue(authorizedIds.contains(processInstanceIds.get(2)));
+        assertTrue(authorizedIds.contains(processInstanceIds.get(5)));
+
+        return null;
+      }
+    });
+  }
+
+  public void testAuthorizationDecisionIsCachedPerCommand() {
+    // given
+    final String processInstanceId = startProcessInstanceByKey(PROCESS_KEY).getId();
+
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        AuthorizationManager authorizationManager = commandContext.getAuthorizationManager();
+        List<String> groupIds = Arrays.asList(groupId);
+
+        assertFalse(authorizationManager.isAuthorized(userId, groupIds, UPDATE, PROCESS_INSTANCE, processInstanceId));
+
+        // when an authorization is inserted without the authorization manager
+        AuthorizationEntity userGrant = new AuthorizationEntity(Authorization.AUTH_TYPE_GRANT);
+        userGrant.setUserId(userId);
+        userGrant.setResource(PROCESS_INSTANCE);
+        userGrant.setResourceId(processInstanceId);
+        userGrant.addPermission(UPDATE);
+        commandContext.getDbEntityManager().insert(userGrant);
+        commandContext.getDbEntityManager().flush();
+
+        // then the cached decision is returned
+        assertFalse(authorizationManager.isAuthorized(userId, groupIds, UPDATE, PROCESS_INSTANCE, processInstanceId));
+
+        // when an authorization is inserted by the authorization manager
+        AuthorizationEntity groupGrant = new AuthorizationEntity(Authorization.AUTH_TYPE_GRANT);
+        groupGrant.setGroupId(groupId);
+        groupGrant.setResource(PROCESS_INSTANCE);
+        groupGrant.setResourceId(processInstanceId);
+        groupGrant.addPermission(UPDATE);
+        authorizationManager.insert(groupGrant);
+        commandContext.getDbEntityManager().flush();
+
+        // then the decisions are evaluated again
+        assertTrue(authorizationManager.isAuthorized(userId, groupIds, UPDATE, PROCESS_INSTANCE, processInstanceId));
+
+        return null;
+      }
+    });
+  }
+
+  public void testGroupMembershipCache() {
+    // given
+    processEngineConfiguration.setGroupMembershipCache(new GroupMembershipCache(60000));
+    disableAuthorization();
+
+    // when
+    List<String> groupIds = findGroupIdsOfUser();
+
+    // then
+    assertEquals(Collections.singletonList(groupId), groupIds);
+    assertSame(groupIds, findGroupIdsOfUser());
+
+    // when a membership is created
+    createGroup("sales");
+    identityService.createMembership(userId, "sales");
+
+    // then the cache is invalidated
+    groupIds = findGroupIdsOfUser();
+    assertEquals(2, groupIds.size());
+    assertTrue(groupIds.contains("sales"));
+
+    // when the time to live elapsed
+    ClockUtil.setCurrentTime(new Date(ClockUtil.getCurrentTime().getTime() + 61000));
+
+    // then the memberships are queried again
+    assertNotSame(groupIds, findGroupIdsOfUser());
+  }
+
+  public void testGroupMembershipCacheIsNotRestrictedByAuthorizationsOfCurrentUser() {
+    // given
+    processEngineConfiguration.setGroupMembershipCache(new GroupMembershipCache(60000));
+
+    disableAuthorization();
+    identityService.saveUser(identityService.newUser("demo"));
+    createGroup("management");
+    createGroup(CAMUNDA_ADMIN);
+    identityService.createMembership("demo", "management");
+    identityService.createMembership("demo", CAMUNDA_ADMIN);
+    createGrantAuthorization(TASK, ANY, "demo", READ);
+    enableAuthorization();
+
+    createTask("myTask");
+    addCandidateGroup("myTask", "management");
+
+    // when the memberships of "demo" are cached by a user which is not allowed to read any group
+    assertEquals(0, taskService.createTaskQuery().taskCandidateUser("demo").count());
+
+    // then "demo" can see the tasks of its candidate groups
+    identityService.setAuthentication("demo", null);
+    assertEquals(1, taskService.createTaskQuery().taskCandidateUser("demo").count());
+
+    // and is a camunda admin
+    assertFalse(managementService.getTableCount().isEmpty());
+
+    deleteTask("myTask", true);
+  }
+
+  protected List<String> findGroupIdsOfUser() {
+    return processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<List<String>>() {
+      public List<String> execute(CommandContext commandContext) {
+        return commandContext.getAuthorizationManager().findGroupIdsOfUser(userId);
+      }
+    });
+  }
+
+}
@@ -34,7 +34,9 @@ import org.camunda.bpm.engine.AuthorizationException;
 import org.camunda.bpm.engine.authorization.Authorization;
 import org.camunda.bpm.engine.impl.AbstractQuery;
 import org.camunda.bpm.engine.impl.RuntimeServiceImpl;
+import org.camunda.bpm.engine.impl.identity.Authentication;
 import org.camunda.bpm.engine.runtime.ActivityInstance;
+import org.camunda.bpm.engine.runtime.Job;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
 import org.camunda.bpm.engine.runtime.ProcessInstanceQuery;
 import org.camunda.bpm.engine.runtime.VariableInstanceQuery;
@@ -1078,6 +1080,81 @@ public class ProcessInstanceAuthorizationTest extends AuthorizationTest {
     enableAuthorization();
   }
 
+  // signal event received asynchronously //////////////////////////////////////
+
+  public void testSignalEventReceivedAsyncWithoutAuthorization() {
+    // given
+    String processInstanceId = startProcessInstanceByKey(SIGNAL_BOUNDARY_PROCESS_KEY).getId();
+    runtimeService.signalEventReceivedAsync("alert");
+
+    try {
+      // when
+      executeSignalBroadcastJobs();
+      fail("Exception expected: It should not be possible to trigger a signal event");
+    } catch (AuthorizationException e) {
+      // then
+      String message = e.getMessage();
+      assertTextPresent(userId, message);
+      assertTextPresent(UPDATE.getName(), message);
+      assertTextPresent(processInstanceId, message);
+      assertTextPresent(PROCESS_INSTANCE.resourceName(), message);
+      assertTextPresent(UPDATE_INSTANCE.getName(), message);
+      assertTextPresent(SIGNAL_BOUNDARY_PROCESS_KEY, message);
+      assertTextPresent(PROCESS_DEFINITION.resourceName(), message);
+    } finally {
+      deleteJobs();
+    }
+  }
+
+  public void testSignalEventReceivedAsyncWithUpdatePermissionOnProcessInstance() {
+    // given
+    String processInstanceId = startProcessInstanceByKey(SIGNAL_BOUNDARY_PROCESS_KEY).getId();
+    createGrantAuthorization(PROCESS_INSTANCE, processInstanceId, userId, UPDATE);
+
+    // when
+    runtimeService.signalEventReceivedAsync("alert");
+    executeSignalBroadcastJobs();
+
+    // then
+    Task task = selectSingleTask();
+    assertNotNull(task);
+    assertEquals("taskAfterBoundaryEvent", task.getTaskDefinitionKey());
+  }
+
+  public void testSignalEventReceivedAsyncWithUpdateInstancesPermissionOnProcessDefinition() {
+    // given
+    startProcessInstanceByKey(SIGNAL_BOUNDARY_PROCESS_KEY);
+    createGrantAuthorization(PROCESS_DEFINITION, SIGNAL_BOUNDARY_PROCESS_KEY, userId, UPDATE_INSTANCE);
+
+    // when
+    runtimeService.signalEventReceivedAsync("alert");
+    executeSignalBroadcastJobs();
+
+    // then
+    Task task = selectSingleTask();
+    assertNotNull(task);
+    assertEquals("taskAfterBoundaryEvent", task.getTaskDefinitionKey());
+  }
+
+  public void testSignalEventReceivedAsyncWithUpdatePermissionOfGroup() {
+    // given
+    startProcessInstanceByKey(SIGNAL_BOUNDARY_PROCESS_KEY);
+
+    Authorization authorization = createGrantAuthorization(PROCESS_INSTANCE, ANY);
+    authorization.setGroupId(groupId);
+    authorization.addPermission(UPDATE);
+    saveAuthorization(authorization);
+
+    // when
+    runtimeService.signalEventReceivedAsync("alert");
+    executeSignalBroadcastJobs();
+
+    // then
+    Task task = selectSingleTask();
+    assertNotNull(task);
+    assertEquals("taskAfterBoundaryEvent", task.getTaskDefinitionKey());
+  }
+
   // signal event received by execution id //////////////////////////////////////
 
   public void testSignalEventReceivedByExecutionIdWithoutAuthorization() {
@@ -4500,4 +4577,40 @@ public class ProcessInstanceAuthorizationTest extends AuthorizationTest {
     verifyQueryResults((AbstractQuery<?, ?>) query, countExpected);
   }
 
+  /**
+   * Executes the jobs of a signal broadcast without an authenticated user, so
+   * only the authorizations of the user who started the broadcast are checked.
+   */
+  protected void executeSignalBroadcastJobs() {
+    Authentication authentication = identityService.getCurrentAuthentication();
+    identityService.clearAuthentication();
+
+    try {
+      List<Job> jobs = selectJobs();
+      while (!jobs.isEmpty()) {
+        for (Job job : jobs) {
+          managementService.executeJob(job.getId());
+        }
+        jobs = selectJobs();
+      }
+    } finally {
+      identityService.setAuthentication(authentication);
+    }
+  }
+
+  protected List<Job> selectJobs() {
+    disableAuthorization();
+    List<Job> jobs = managementService.createJobQuery().list();
+    enableAuthorization();
+    return jobs;
+  }
+
+  protected void deleteJobs() {
+    disableAuthorization();
+    for (Job job : managementService.createJobQuery().list()) {
+      managementService.deleteJob(job.getId());
+    }
+    enableAuthorization();
+  }
+
 }
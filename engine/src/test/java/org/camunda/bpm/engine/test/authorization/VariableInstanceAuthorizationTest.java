@@ -18,9 +18,19 @@ import static org.camunda.bpm.engine.authorization.Resources.PROCESS_DEFINITION;
 import static org.camunda.bpm.engine.authorization.Resources.PROCESS_INSTANCE;
 import static org.camunda.bpm.engine.authorization.Resources.TASK;
 
+import java.io.InputStream;
+import java.util.concurrent.Callable;
+
+import org.camunda.bpm.engine.AuthorizationException;
+import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.impl.AbstractQuery;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
 import org.camunda.bpm.engine.runtime.VariableInstance;
 import org.camunda.bpm.engine.runtime.VariableInstanceQuery;
+import org.camunda.bpm.engine.variable.VariableMap;
+import org.camunda.bpm.engine.variable.Variables;
 
 /**
  * @author Roman Smirnov
@@ -237,10 +247,157 @@ public class VariableInstanceAuthorizationTest extends AuthorizationTest {
     deleteTask(taskId, true);
   }
 
+  // RuntimeService#getVariableInstanceBinaryStream() ///////////////////////
+
+  public void testGetProcessVariableBinaryStreamWithoutAuthorization() {
+    // given
+    String processInstanceId = startProcessInstanceByKey(PROCESS_KEY, getBinaryVariables()).getId();
+    String variableInstanceId = selectSingleVariableInstanceId();
+
+    try {
+      // when
+      runtimeService.getVariableInstanceBinaryStream(variableInstanceId);
+      fail("Exception expected: It should not be possible to retrieve the binary value");
+    } catch (AuthorizationException e) {
+      // then
+      String message = e.getMessage();
+      assertTextPresent(userId, message);
+      assertTextPresent(READ.getName(), message);
+      assertTextPresent(processInstanceId, message);
+      assertTextPresent(PROCESS_INSTANCE.resourceName(), message);
+      assertTextPresent(READ_INSTANCE.getName(), message);
+      assertTextPresent(PROCESS_KEY, message);
+      assertTextPresent(PROCESS_DEFINITION.resourceName(), message);
+    }
+  }
+
+  public void testGetProcessVariableBinaryStreamWithReadPermissionOnProcessInstance() {
+    // given
+    String processInstanceId = startProcessInstanceByKey(PROCESS_KEY, getBinaryVariables()).getId();
+    String variableInstanceId = selectSingleVariableInstanceId();
+    createGrantAuthorization(PROCESS_INSTANCE, processInstanceId, userId, READ);
+
+    // when
+    InputStream stream = runtimeService.getVariableInstanceBinaryStream(variableInstanceId);
+
+    // then
+    assertNotNull(stream);
+  }
+
+  public void testGetProcessLocalTaskVariableBinaryStreamWithoutAuthorization() {
+    // given
+    startProcessInstanceByKey(PROCESS_KEY);
+    String taskId = selectSingleTask().getId();
+    setTaskVariableLocal(taskId, VARIABLE_NAME, VARIABLE_VALUE.getBytes());
+    String variableInstanceId = selectSingleVariableInstanceId();
+
+    // a permission on the task is not sufficient, like for the variable instance query
+    createGrantAuthorization(TASK, taskId, userId, READ);
+
+    try {
+      // when
+      runtimeService.getVariableInstanceBinaryStream(variableInstanceId);
+      fail("Exception expected: It should not be possible to retrieve the binary value");
+    } catch (AuthorizationException e) {
+      // then
+      String message = e.getMessage();
+      assertTextPresent(userId, message);
+      assertTextPresent(PROCESS_INSTANCE.resourceName(), message);
+    }
+  }
+
+  public void testGetStandaloneTaskVariableBinaryStreamWithoutAuthorization() {
+    // given
+    String taskId = "myTask";
+    createTask(taskId);
+    setTaskVariable(taskId, VARIABLE_NAME, VARIABLE_VALUE.getBytes());
+    String variableInstanceId = selectSingleVariableInstanceId();
+
+    try {
+      // when
+      runtimeService.getVariableInstanceBinaryStream(variableInstanceId);
+      fail("Exception expected: It should not be possible to retrieve the binary value");
+    } catch (AuthorizationException e) {
+      // then
+      assertTextPresent("The user with id 'test' does not have 'READ' permission on resource 'myTask' of type 'Task'", e.getMessage());
+    }
+
+    deleteTask(taskId, true);
+  }
+
+  public void testGetStandaloneTaskVariableBinaryStreamWithReadPermissionOnTask() {
+    // given
+    String taskId = "myTask";
+    createTask(taskId);
+    setTaskVariable(taskId, VARIABLE_NAME, VARIABLE_VALUE.getBytes());
+    String variableInstanceId = selectSingleVariableInstanceId();
+    createGrantAuthorization(TASK, taskId, userId, READ);
+
+    // when
+    InputStream stream = runtimeService.getVariableInstanceBinaryStream(variableInstanceId);
+
+    // then
+    assertNotNull(stream);
+
+    deleteTask(taskId, true);
+  }
+
+  public void testGetCaseVariableBinaryStreamWithoutAuthorization() {
+    // given
+    createCaseInstanceByKey(CASE_KEY, getBinaryVariables());
+    String variableInstanceId = selectSingleVariableInstanceId();
+
+    // when
+    InputStream stream = runtimeService.getVariableInstanceBinaryStream(variableInstanceId);
+
+    // then the variable is visible like in the variable instance query
+    assertNotNull(stream);
+  }
+
+  public void testGetVariableBinaryStreamWithoutOwner() {
+    // given a variable which belongs to neither a process instance, a case instance nor a task
+    final String variableInstanceId = processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<String>() {
+      public String execute(CommandContext commandContext) {
+        return VariableInstanceEntity.createAndInsert(VARIABLE_NAME, Variables.byteArrayValue(VARIABLE_VALUE.getBytes())).getId();
+      }
+    });
+
+    try {
+      // when
+      runtimeService.getVariableInstanceBinaryStream(variableInstanceId);
+      fail("Exception expected: It should not be possible to retrieve the binary value");
+    } catch (ProcessEngineException e) {
+      // then
+      assertTextPresent("Cannot find the owner of variable instance " + variableInstanceId, e.getMessage());
+    }
+    finally {
+      processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+        public Void execute(CommandContext commandContext) {
+          commandContext.getDbEntityManager()
+            .selectById(VariableInstanceEntity.class, variableInstanceId)
+            .delete();
+          return null;
+        }
+      });
+    }
+  }
+
   // helper ////////////////////////////////////////////////////////////////
 
   protected void verifyQueryResults(VariableInstanceQuery query, int countExpected) {
     verifyQueryResults((AbstractQuery<?, ?>) query, countExpected);
   }
 
+  protected VariableMap getBinaryVariables() {
+    return Variables.createVariables().putValue(VARIABLE_NAME, VARIABLE_VALUE.getBytes());
+  }
+
+  protected String selectSingleVariableInstanceId() {
+    return runWithoutAuthorization(new Callable<String>() {
+      public String call() throws Exception {
+        return runtimeService.createVariableInstanceQuery().singleResult().getId();
+      }
+    });
+  }
+
 }
@@ -23,6 +23,7 @@ import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ResourceEntity;
 import org.camunda.bpm.engine.impl.pvm.ReadOnlyProcessDefinition;
 import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
 import org.camunda.bpm.engine.impl.util.IoUtil;
@@ -106,6 +107,30 @@ public class BpmnDeploymentTest extends PluggableProcessEngineTestCase {
     repositoryService.deleteDeployment(deploymentId);
   }
 
+  public void testDeploymentStoresResourceHash() {
+    String bpmnResourceName = "org/camunda/bpm/engine/test/bpmn/deployment/BpmnDeploymentTest.testGetBpmnXmlFileThroughService.bpmn20.xml";
+    final String deploymentId = repositoryService.createDeployment().enableDuplicateFiltering().addClasspathResource(bpmnResourceName).name("twice").deploy().getId();
+
+    Resource resource = repositoryService.getDeploymentResources(deploymentId).get(0);
+    final String resourceName = resource.getName();
+
+    ResourceEntity resourceEntity = processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<ResourceEntity>() {
+      public ResourceEntity execute(CommandContext commandContext) {
+        return commandContext.getResourceManager().findResourceByDeploymentIdAndResourceName(deploymentId, resourceName);
+      }
+    });
+
+    // the hash is stored with the resource
+    byte[] bytes = IoUtil.readInputStream(repositoryService.getResourceAsStream(deploymentId, resourceName), "resource");
+    assertEquals(ResourceEntity.calculateHash(bytes), resourceEntity.getHash());
+
+    // and used to filter the duplicate
+    repositoryService.createDeployment().enableDuplicateFiltering().addClasspathResource(bpmnResourceName).name("twice").deploy();
+    assertEquals(1, repositoryService.createDeploymentQuery().count());
+
+    repositoryService.deleteDeployment(deploymentId);
+  }
+
   public void testPartialChangesDeployAll() {
     BpmnModelInstance model1 = Bpmn.createExecutableProcess("process1").done();
     BpmnModelInstance model2 = Bpmn.createExecutableProcess("process2").done();
@@ -0,0 +1,159 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.bpmn.deployment;
+
+import java.io.File;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.persistence.deploy.ValidatedResourceCache;
+import org.camunda.bpm.engine.impl.persistence.entity.ResourceEntity;
+import org.camunda.bpm.engine.impl.test.ResourceProcessEngineTestCase;
+import org.camunda.bpm.engine.impl.util.IoUtil;
+import org.camunda.bpm.engine.repository.DeploymentBuilder;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+
+/**
+ * Deploys multiple resources with parallel parsing and the validated resource cache enabled.
+ */
+public class ParallelDeploymentParseTest extends ResourceProcessEngineTestCase {
+
+  protected static final int NUMBER_OF_PROCESSES = 10;
+
+  public ParallelDeploymentParseTest() {
+    super("org/camunda/bpm/engine/test/bpmn/deployment/ParallelDeploymentParseTest.camunda.cfg.xml");
+  }
+
+  public void testDeployResourcesInParallel() {
+    assertNotNull(processEngineConfiguration.getDeploymentParseExecutor());
+
+    DeploymentBuilder deploymentBuilder = repositoryService.createDeployment();
+    for (int i = 0; i < NUMBER_OF_PROCESSES; i++) {
+      deploymentBuilder.addModelInstance("process" + i + ".bpmn", createProcess("process" + i));
+    }
+    String deploymentId = deploymentBuilder.deploy().getId();
+
+    try {
+      assertEquals(NUMBER_OF_PROCESSES, repositoryService.createProcessDefinitionQuery().count());
+
+      for (int i = 0; i < NUMBER_OF_PROCESSES; i++) {
+        ProcessDefinition processDefinition = repositoryService.createProcessDefinitionQuery()
+            .processDefinitionKey("process" + i)
+            .singleResult();
+        assertEquals("process" + i + ".bpmn", processDefinition.getResourceName());
+
+        // the job declarations of all resources are registered
+        assertEquals(1, managementService.createJobDefinitionQuery().processDefinitionId(processDefinition.getId()).count());
+      }
+
+      runtimeService.startProcessInstanceByKey("process3");
+      assertEquals(1, managementService.createJobQuery().count());
+    }
+    finally {
+      repositoryService.deleteDeployment(deploymentId, true);
+    }
+  }
+
+  public void testDeployInvalidResourceInParallel() {
+    DeploymentBuilder deploymentBuilder = repositoryService.createDeployment()
+        .addModelInstance("process1.bpmn", createProcess("process1"))
+        .addString("invalid.bpmn", "<invalid/>")
+        .addModelInstance("process2.bpmn", createProcess("process2"));
+
+    try {
+      deploymentBuilder.deploy();
+      fail("exception expected");
+    }
+    catch (ProcessEngineException e) {
+      // expected
+    }
+
+    assertEquals(0, repositoryService.createDeploymentQuery().count());
+  }
+
+  public void testValidatedResourceCache() {
+    String deploymentId = repositoryService.createDeployment()
+      .addModelInstance("process.bpmn", createProcess("process"))
+      .deploy()
+      .getId();
+
+    try {
+      byte[] bytes = IoUtil.readInputStream(repositoryService.getResourceAsStream(deploymentId, "process.bpmn"), "resource");
+      String hash = ResourceEntity.calculateHash(bytes);
+      assertTrue(processEngineConfiguration.getValidatedResourceCache().isValidated(hash));
+    }
+    finally {
+      repositoryService.deleteDeployment(deploymentId, true);
+    }
+  }
+
+  public void testValidatedResourceCacheIsDiscardedForOtherValidationKey() throws Exception {
+    File directory = File.createTempFile("validated-resources", "");
+    directory.delete();
+
+    try {
+      // given a hash validated by one build of the engine
+      ValidatedResourceCache cache = new ValidatedResourceCache(directory, "aKey");
+      cache.addValidated("aHash");
+      cache.close();
+
+      cache = new ValidatedResourceCache(directory, "aKey");
+      assertTrue(cache.isValidated("aHash"));
+      cache.close();
+
+      // when another build reads the cache
+      cache = new ValidatedResourceCache(directory, "anotherKey");
+
+      // then the hash is not regarded as validated
+      assertFalse(cache.isValidated("aHash"));
+
+      // and the cache is replaced on the next write
+      cache.addValidated("anotherHash");
+      cache.close();
+
+      cache = new ValidatedResourceCache(directory, "anotherKey");
+      assertFalse(cache.isValidated("aHash"));
+      assertTrue(cache.isValidated("anotherHash"));
+      cache.close();
+
+      cache = new ValidatedResourceCache(directory, "aKey");
+      assertFalse(cache.isValidated("aHash"));
+      assertFalse(cache.isValidated("anotherHash"));
+      cache.close();
+    }
+    finally {
+      for (File file : directory.listFiles()) {
+        file.delete();
+      }
+      directory.delete();
+    }
+  }
+
+  public void testValidationKeyDependsOnSchemas() {
+    String key = ValidatedResourceCache.createValidationKey("org/camunda/bpm/engine/impl/bpmn/parser/BPMN20.xsd");
+
+    assertEquals(key, ValidatedResourceCache.createValidationKey("org/camunda/bpm/engine/impl/bpmn/parser/BPMN20.xsd"));
+    assertFalse(key.equals(ValidatedResourceCache.createValidationKey("org/camunda/bpm/engine/impl/bpmn/parser/Semantic.xsd")));
+  }
+
+  protected BpmnModelInstance createProcess(String key) {
+    return Bpmn.createExecutableProcess(key)
+      .startEvent()
+      .userTask()
+        .camundaAsyncBefore()
+      .endEvent()
+    .done();
+  }
+
+}
@@ -514,4 +514,95 @@ public class SignalEventTest extends PluggableProcessEngineTestCase {
     assertEquals(SerializationDataFormats.JAVA.getName(), variableTyped.getSerializationDataFormat());
   }
 
+  @Deployment(resources={"org/camunda/bpm/engine/test/bpmn/event/signal/SignalEventTests.catchAlertSignal.bpmn20.xml"})
+  public void testSignalCatchIntermediateAsync() {
+    int chunkSize = processEngineConfiguration.getSignalBroadcastChunkSize();
+    processEngineConfiguration.setSignalBroadcastChunkSize(2);
+
+    try {
+      for (int i = 0; i < 5; i++) {
+        runtimeService.startProcessInstanceByKey("catchSignal");
+      }
+      assertEquals(5, createEventSubscriptionQuery().count());
+
+      runtimeService.signalEventReceivedAsync("alert");
+
+      // the signal is not delivered before the job is executed
+      assertEquals(5, createEventSubscriptionQuery().count());
+      assertEquals(1, managementService.createJobQuery().count());
+
+      // three jobs find the chunks of two subscriptions, three jobs deliver the signal to them
+      executeAvailableJobs(6);
+
+      assertEquals(0, createEventSubscriptionQuery().count());
+      assertEquals(0, runtimeService.createProcessInstanceQuery().count());
+      assertEquals(0, managementService.createJobQuery().count());
+    }
+    finally {
+      processEngineConfiguration.setSignalBroadcastChunkSize(chunkSize);
+    }
+  }
+
+  @Deployment
+  public void testSignalCatchIntermediateAsyncWithFailingChunk() {
+    int chunkSize = processEngineConfiguration.getSignalBroadcastChunkSize();
+    processEngineConfiguration.setSignalBroadcastChunkSize(1);
+
+    try {
+      runtimeService.startProcessInstanceByKey("catchSignal", Variables.createVariables().putValue("fail", false));
+      String failingProcessInstanceId = runtimeService
+          .startProcessInstanceByKey("catchSignal", Variables.createVariables().putValue("fail", true))
+          .getId();
+      runtimeService.startProcessInstanceByKey("catchSignal", Variables.createVariables().putValue("fail", false));
+
+      runtimeService.signalEventReceivedAsync("alert");
+      executeAvailableJobs();
+
+      // the failing chunk does not stop the delivery to the other chunks
+      assertEquals(1, runtimeService.createProcessInstanceQuery().count());
+      assertEquals(failingProcessInstanceId, runtimeService.createProcessInstanceQuery().singleResult().getId());
+
+      Job failedJob = managementService.createJobQuery().singleResult();
+      assertEquals(0, failedJob.getRetries());
+      managementService.deleteJob(failedJob.getId());
+    }
+    finally {
+      processEngineConfiguration.setSignalBroadcastChunkSize(chunkSize);
+    }
+  }
+
+  @Deployment(resources={"org/camunda/bpm/engine/test/bpmn/event/signal/SignalEventTests.catchAlertSignal.bpmn20.xml"})
+  public void testSignalCatchIntermediateAsyncIgnoresLaterSubscriptions() {
+    Date startTime = new Date();
+    ClockUtil.setCurrentTime(startTime);
+
+    try {
+      runtimeService.startProcessInstanceByKey("catchSignal");
+      runtimeService.signalEventReceivedAsync("alert");
+
+      ClockUtil.setCurrentTime(new Date(startTime.getTime() + 60000));
+      String laterProcessInstanceId = runtimeService.startProcessInstanceByKey("catchSignal").getId();
+
+      executeAvailableJobs();
+
+      // only the subscription which existed before the broadcast received the signal
+      assertEquals(1, runtimeService.createProcessInstanceQuery().count());
+      assertEquals(laterProcessInstanceId, runtimeService.createProcessInstanceQuery().singleResult().getId());
+    }
+    finally {
+      ClockUtil.reset();
+    }
+  }
+
+  @Deployment(resources = {"org/camunda/bpm/engine/test/bpmn/event/signal/SignalEventTest.signalStartEvent.bpmn20.xml"})
+  public void testSignalStartEventAsync() {
+    runtimeService.signalEventReceivedAsync("alert");
+    assertEquals(0, taskService.createTaskQuery().count());
+
+    executeAvailableJobs();
+
+    // the signal should start a new process instance
+    assertEquals(1, taskService.createTaskQuery().count());
+  }
+
 }
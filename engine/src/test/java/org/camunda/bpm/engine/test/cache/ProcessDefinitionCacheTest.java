@@ -24,7 +24,9 @@ import org.camunda.bpm.engine.TaskService;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
 import org.camunda.bpm.engine.impl.cfg.StandaloneProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
 import org.camunda.bpm.engine.impl.test.PvmTestCase;
+import org.camunda.bpm.engine.impl.util.cache.Cache;
 import org.camunda.bpm.engine.repository.ProcessDefinition;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
 import org.camunda.bpm.engine.task.Task;
@@ -192,5 +194,68 @@ public class ProcessDefinitionCacheTest extends PvmTestCase {
     processEngine1.close();
     processEngine2.close();
   }
- 
+
+  public void testStartProcessInstanceAfterEvictionFromBoundedCache() {
+
+    ProcessEngineConfigurationImpl processEngineConfiguration = (ProcessEngineConfigurationImpl) new StandaloneProcessEngineConfiguration()
+      .setProcessEngineName("bounded-cache-test")
+      .setDatabaseSchemaUpdate(ProcessEngineConfiguration.DB_SCHEMA_UPDATE_TRUE)
+      .setJdbcUrl("jdbc:h2:mem:activiti-bounded-cache-test;DB_CLOSE_DELAY=1000")
+      .setJobExecutorActivate(false);
+    processEngineConfiguration.setProcessDefinitionCacheCapacity(1);
+    ProcessEngine processEngine = processEngineConfiguration.buildProcessEngine();
+
+    RepositoryService repositoryService = processEngine.getRepositoryService();
+    RuntimeService runtimeService = processEngine.getRuntimeService();
+    TaskService taskService = processEngine.getTaskService();
+    Cache<String, ProcessDefinitionEntity> processDefinitionCache = processEngineConfiguration
+      .getDeploymentCache()
+      .getProcessDefinitionCache();
+
+    String originalDeploymentId = repositoryService.createDeployment()
+      .addClasspathResource("org/camunda/bpm/engine/test/cache/originalProcess.bpmn20.xml")
+      .deploy()
+      .getId();
+    String revisedDeploymentId = repositoryService.createDeployment()
+      .addClasspathResource("org/camunda/bpm/engine/test/cache/revisedProcess.bpmn20.xml")
+      .deploy()
+      .getId();
+
+    String originalProcessDefinitionId = repositoryService.createProcessDefinitionQuery()
+      .deploymentId(originalDeploymentId)
+      .singleResult()
+      .getId();
+    String revisedProcessDefinitionId = repositoryService.createProcessDefinitionQuery()
+      .deploymentId(revisedDeploymentId)
+      .singleResult()
+      .getId();
+
+    // the revised process definition was cached last and evicted the original one
+    assertEquals(1, processDefinitionCache.size());
+    assertNull(processDefinitionCache.get(originalProcessDefinitionId));
+    assertNotNull(processDefinitionCache.get(revisedProcessDefinitionId));
+
+    // the original process definition is rebuilt from its deployment and executes
+    ProcessInstance processInstance = runtimeService.startProcessInstanceById(originalProcessDefinitionId);
+    assertNotNull(processDefinitionCache.get(originalProcessDefinitionId));
+    assertNull(processDefinitionCache.get(revisedProcessDefinitionId));
+
+    Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+    assertEquals("original task", task.getName());
+
+    // the revised process definition is evicted again and still completes its instance
+    processInstance = runtimeService.startProcessInstanceById(revisedProcessDefinitionId);
+    task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+    assertEquals("revised task", task.getName());
+
+    runtimeService.startProcessInstanceById(originalProcessDefinitionId);
+    taskService.complete(task.getId());
+    assertNull(runtimeService.createProcessInstanceQuery().processInstanceId(processInstance.getId()).singleResult());
+
+    // cleanup
+    repositoryService.deleteDeployment(originalDeploymentId, true);
+    repositoryService.deleteDeployment(revisedDeploymentId, true);
+    processEngine.close();
+  }
+
 }
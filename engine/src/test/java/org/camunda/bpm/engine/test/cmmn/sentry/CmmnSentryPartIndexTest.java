@@ -0,0 +1,125 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.cmmn.sentry;
+
+import static org.camunda.bpm.engine.impl.cmmn.model.CmmnSentryDeclaration.IF_PART;
+import static org.camunda.bpm.engine.impl.cmmn.model.CmmnSentryDeclaration.PLAN_ITEM_ON_PART;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.camunda.bpm.engine.impl.cmmn.execution.CaseExecutionImpl;
+import org.camunda.bpm.engine.impl.cmmn.execution.CaseSentryPartImpl;
+import org.camunda.bpm.engine.impl.cmmn.execution.CmmnSentryPart;
+import org.camunda.bpm.engine.impl.cmmn.execution.CmmnSentryPartIndex;
+
+public class CmmnSentryPartIndexTest extends TestCase {
+
+  public void testOnPartsBySourceAndEvent() {
+    CmmnSentryPart onPart1 = createOnPart("Sentry_1", "PI_HumanTask_1", "complete");
+    CmmnSentryPart onPart2 = createOnPart("Sentry_2", "PI_HumanTask_1", "complete");
+    CmmnSentryPart onPart3 = createOnPart("Sentry_3", "PI_HumanTask_1", "terminate");
+    CmmnSentryPart onPart4 = createOnPart("Sentry_3", "PI_HumanTask_2", "complete");
+
+    CmmnSentryPartIndex index = new CmmnSentryPartIndex();
+    index.add(onPart1);
+    index.add(onPart2);
+    index.add(onPart3);
+    index.add(onPart4);
+
+    List<CmmnSentryPart> onParts = index.getOnParts("PI_HumanTask_1", "anExecutionId", "complete");
+    assertEquals(2, onParts.size());
+    assertSame(onPart1, onParts.get(0));
+    assertSame(onPart2, onParts.get(1));
+
+    onParts = index.getOnParts("PI_HumanTask_2", "anExecutionId", "complete");
+    assertEquals(1, onParts.size());
+    assertSame(onPart4, onParts.get(0));
+
+    assertTrue(index.getOnParts("PI_HumanTask_2", "anExecutionId", "terminate").isEmpty());
+    assertTrue(index.getOnParts("PI_HumanTask_3", "anExecutionId", "complete").isEmpty());
+
+    assertEquals(2, index.getSentry("Sentry_3").size());
+    assertNull(index.getSentry("Sentry_4"));
+    assertTrue(index.getSentriesWithIfPart().isEmpty());
+  }
+
+  public void testOnPartsBySourceCaseExecution() {
+    CaseExecutionImpl sourceCaseExecution = new CaseExecutionImpl();
+
+    // sentry parts created before 7.4 reference the source case execution
+    CmmnSentryPart onPart = createOnPart("Sentry_1", null, "complete");
+    onPart.setSourceCaseExecution(sourceCaseExecution);
+
+    CmmnSentryPartIndex index = new CmmnSentryPartIndex();
+    index.add(onPart);
+
+    List<CmmnSentryPart> onParts = index.getOnParts("PI_HumanTask_1", sourceCaseExecution.getId(), "complete");
+    assertEquals(1, onParts.size());
+    assertSame(onPart, onParts.get(0));
+  }
+
+  public void testSentriesWithIfPart() {
+    CmmnSentryPart onPart = createOnPart("Sentry_1", "PI_HumanTask_1", "complete");
+    CmmnSentryPart ifPart = createSentryPart("Sentry_1", IF_PART);
+
+    CmmnSentryPartIndex index = new CmmnSentryPartIndex();
+    index.add(onPart);
+    index.add(ifPart);
+    index.add(createOnPart("Sentry_2", "PI_HumanTask_1", "complete"));
+
+    assertEquals(1, index.getSentriesWithIfPart().size());
+    assertTrue(index.getSentriesWithIfPart().contains("Sentry_1"));
+    assertEquals(2, index.getSentry("Sentry_1").size());
+    assertEquals(2, index.getSentries().size());
+  }
+
+  public void testSerializeCaseExecution() throws Exception {
+    CaseExecutionImpl caseExecution = new CaseExecutionImpl();
+    CmmnSentryPart onPart = createOnPart("Sentry_1", "PI_HumanTask_1", "complete");
+    caseExecution.getCaseSentryParts().add((CaseSentryPartImpl) onPart);
+
+    // builds the index
+    assertFalse(caseExecution.isSentrySatisfied("Sentry_1"));
+    onPart.setSatisfied(true);
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new ObjectOutputStream(out).writeObject(caseExecution);
+    ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(out.toByteArray()));
+    CaseExecutionImpl deserializedCaseExecution = (CaseExecutionImpl) in.readObject();
+
+    // the index is rebuilt from the deserialized parts
+    assertTrue(deserializedCaseExecution.isSentrySatisfied("Sentry_1"));
+    assertEquals(1, deserializedCaseExecution.getCaseSentryParts().size());
+  }
+
+  protected CmmnSentryPart createOnPart(String sentryId, String source, String standardEvent) {
+    CmmnSentryPart sentryPart = createSentryPart(sentryId, PLAN_ITEM_ON_PART);
+    sentryPart.setSource(source);
+    sentryPart.setStandardEvent(standardEvent);
+    return sentryPart;
+  }
+
+  protected CmmnSentryPart createSentryPart(String sentryId, String type) {
+    CmmnSentryPart sentryPart = new CaseSentryPartImpl();
+    sentryPart.setSentryId(sentryId);
+    sentryPart.setType(type);
+    return sentryPart;
+  }
+
+}
@@ -0,0 +1,68 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.db;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.camunda.bpm.engine.impl.cfg.IdGenerator;
+import org.camunda.bpm.engine.impl.db.ConcurrentDbIdGenerator;
+import org.camunda.bpm.engine.impl.test.ResourceProcessEngineTestCase;
+
+public class ConcurrentDbIdGeneratorTest extends ResourceProcessEngineTestCase {
+
+  public ConcurrentDbIdGeneratorTest() {
+    super("org/camunda/bpm/engine/test/db/ConcurrentDbIdGeneratorTest.camunda.cfg.xml");
+  }
+
+  public void testUniqueIdsOnConcurrentThreads() throws Exception {
+    final IdGenerator idGenerator = processEngineConfiguration.getIdGenerator();
+    assertTrue(idGenerator instanceof ConcurrentDbIdGenerator);
+
+    final Set<String> ids = Collections.synchronizedSet(new HashSet<String>());
+
+    List<Thread> threads = new ArrayList<Thread>();
+    for (int i = 0; i < 8; i++) {
+      Thread thread = new Thread() {
+        public void run() {
+          for (int j = 0; j < 100; j++) {
+            ids.add(idGenerator.getNextId());
+          }
+        }
+      };
+      thread.start();
+      threads.add(thread);
+    }
+
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertEquals(800, ids.size());
+  }
+
+  public void testIdsIncreasePerThread() {
+    IdGenerator idGenerator = processEngineConfiguration.getIdGenerator();
+
+    long previousId = Long.parseLong(idGenerator.getNextId());
+    for (int i = 0; i < 50; i++) {
+      long nextId = Long.parseLong(idGenerator.getNextId());
+      assertTrue(nextId > previousId);
+      previousId = nextId;
+    }
+  }
+
+}
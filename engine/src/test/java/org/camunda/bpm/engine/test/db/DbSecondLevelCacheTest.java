@@ -0,0 +1,94 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.db;
+
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbSecondLevelCache;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.PropertyEntity;
+import org.camunda.bpm.engine.impl.test.ResourceProcessEngineTestCase;
+
+/**
+ * @see DbSecondLevelCache
+ */
+public class DbSecondLevelCacheTest extends ResourceProcessEngineTestCase {
+
+  protected static final String PROPERTY_NAME = "secondLevelCacheTest";
+
+  public DbSecondLevelCacheTest() {
+    super("org/camunda/bpm/engine/test/db/DbSecondLevelCacheTest.camunda.cfg.xml");
+  }
+
+  protected void tearDown() throws Exception {
+    managementService.deleteProperty(PROPERTY_NAME);
+    super.tearDown();
+  }
+
+  public void testEntityIsCachedAcrossCommands() {
+    managementService.setProperty(PROPERTY_NAME, "value");
+    DbSecondLevelCache secondLevelCache = processEngineConfiguration.getDbSecondLevelCache();
+
+    // the first read after the modification hits the database
+    assertEquals("value", findPropertyValue(PROPERTY_NAME));
+    long hitCount = secondLevelCache.getHitCount();
+
+    assertEquals("value", findPropertyValue(PROPERTY_NAME));
+    assertEquals(hitCount + 1, secondLevelCache.getHitCount());
+  }
+
+  public void testCachedEntityIsCopied() {
+    managementService.setProperty(PROPERTY_NAME, "value");
+    findPropertyValue(PROPERTY_NAME);
+
+    PropertyEntity firstProperty = findProperty(PROPERTY_NAME);
+    PropertyEntity secondProperty = findProperty(PROPERTY_NAME);
+
+    assertNotSame(firstProperty, secondProperty);
+    assertEquals(firstProperty.getRevision(), secondProperty.getRevision());
+  }
+
+  public void testModificationInvalidatesCachedEntity() {
+    managementService.setProperty(PROPERTY_NAME, "value");
+    assertEquals("value", findPropertyValue(PROPERTY_NAME));
+    assertEquals("value", findPropertyValue(PROPERTY_NAME));
+
+    managementService.setProperty(PROPERTY_NAME, "newValue");
+
+    assertEquals("newValue", findPropertyValue(PROPERTY_NAME));
+    assertEquals("newValue", managementService.getProperties().get(PROPERTY_NAME));
+  }
+
+  public void testListResultIsCached() {
+    managementService.setProperty(PROPERTY_NAME, "value");
+    DbSecondLevelCache secondLevelCache = processEngineConfiguration.getDbSecondLevelCache();
+
+    assertEquals("value", managementService.getProperties().get(PROPERTY_NAME));
+    long hitCount = secondLevelCache.getHitCount();
+
+    assertEquals("value", managementService.getProperties().get(PROPERTY_NAME));
+    assertEquals(hitCount + 1, secondLevelCache.getHitCount());
+  }
+
+  protected String findPropertyValue(String name) {
+    return findProperty(name).getValue();
+  }
+
+  protected PropertyEntity findProperty(final String name) {
+    return processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<PropertyEntity>() {
+      public PropertyEntity execute(CommandContext commandContext) {
+        return commandContext.getPropertyManager().findPropertyById(name);
+      }
+    });
+  }
+
+}
@@ -0,0 +1,111 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.db;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.OptimisticLockingException;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationType;
+import org.camunda.bpm.engine.impl.db.sql.DbSqlSession;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
+import org.camunda.bpm.engine.impl.test.ResourceProcessEngineTestCase;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.test.Deployment;
+
+/**
+ * Runs engine operations with JDBC batch processing enabled.
+ */
+public class JdbcBatchProcessingTest extends ResourceProcessEngineTestCase {
+
+  public JdbcBatchProcessingTest() {
+    super("org/camunda/bpm/engine/test/db/JdbcBatchProcessingTest.camunda.cfg.xml");
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/twoTasksProcess.bpmn20.xml")
+  public void testExecuteProcessWithBatchedStatements() {
+    assertTrue(processEngineConfiguration.isJdbcBatchProcessing());
+
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("twoTasksProcess");
+
+    Task task = taskService.createTaskQuery().singleResult();
+    taskService.complete(task.getId());
+
+    task = taskService.createTaskQuery().singleResult();
+    taskService.complete(task.getId());
+
+    assertEquals(0, runtimeService.createProcessInstanceQuery().count());
+    assertEquals(2, historyService.createHistoricTaskInstanceQuery()
+        .processInstanceId(processInstance.getId())
+        .finished()
+        .count());
+  }
+
+  public void testOptimisticLockingDetectedFromBatchResult() {
+    Task task = taskService.newTask();
+    taskService.saveTask(task);
+    String taskId = task.getId();
+
+    Task task1 = taskService.createTaskQuery().taskId(taskId).singleResult();
+    Task task2 = taskService.createTaskQuery().taskId(taskId).singleResult();
+
+    task1.setDescription("first modification");
+    taskService.saveTask(task1);
+
+    task2.setDescription("second modification");
+    try {
+      taskService.saveTask(task2);
+      fail("should get an exception here as the task was modified by someone else.");
+    } catch (OptimisticLockingException expected) {
+      // exception was thrown as expected
+    }
+
+    taskService.deleteTask(taskId, true);
+  }
+
+  public void testSelectExecutesOpenBatch() {
+    Task task = taskService.newTask();
+    taskService.saveTask(task);
+    final String taskId = task.getId();
+
+    List<DbOperation> completedOperations = processEngineConfiguration.getCommandExecutorTxRequired()
+      .execute(new Command<List<DbOperation>>() {
+        public List<DbOperation> execute(CommandContext commandContext) {
+          DbSqlSession dbSqlSession = commandContext.getDbSqlSession();
+
+          // an update with a stale revision which affects no rows
+          TaskEntity staleTask = dbSqlSession.selectById(TaskEntity.class, taskId);
+          staleTask.setRevision(staleTask.getRevision() + 1);
+          DbEntityOperation operation = new DbEntityOperation();
+          operation.setOperationType(DbOperationType.UPDATE);
+          operation.setEntity(staleTask);
+          dbSqlSession.executeDbOperation(operation);
+
+          // a select while the update is batched
+          dbSqlSession.selectById(TaskEntity.class, taskId);
+
+          return dbSqlSession.flushOperations();
+        }
+      });
+
+    assertEquals(1, completedOperations.size());
+    assertTrue(((DbEntityOperation) completedOperations.get(0)).isFailed());
+
+    taskService.deleteTask(taskId, true);
+  }
+
+}
@@ -0,0 +1,101 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.db;
+
+import org.camunda.bpm.engine.OptimisticLockingException;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.impl.test.ResourceProcessEngineTestCase;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.model.bpmn.Bpmn;
+
+/**
+ * Runs engine operations with partial updates of jobs enabled.
+ */
+public class PartialEntityUpdateTest extends ResourceProcessEngineTestCase {
+
+  public PartialEntityUpdateTest() {
+    super("org/camunda/bpm/engine/test/db/PartialEntityUpdateTest.camunda.cfg.xml");
+  }
+
+  protected void setUp() throws Exception {
+    deployment(Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .userTask()
+        .camundaAsyncBefore()
+      .endEvent()
+    .done());
+  }
+
+  public void testUpdateChangedProperties() {
+    assertTrue(processEngineConfiguration.isPartialEntityUpdates());
+
+    runtimeService.startProcessInstanceByKey("process");
+    Job job = managementService.createJobQuery().singleResult();
+
+    managementService.setJobRetries(job.getId(), 5);
+    managementService.setJobPriority(job.getId(), 42);
+
+    job = managementService.createJobQuery().singleResult();
+    assertEquals(5, job.getRetries());
+    assertEquals(42, job.getPriority());
+    assertNotNull(job.getProcessDefinitionId());
+    assertNotNull(job.getDeploymentId());
+
+    managementService.executeJob(job.getId());
+
+    assertEquals(0, managementService.createJobQuery().count());
+    assertEquals(1, taskService.createTaskQuery().count());
+  }
+
+  public void testOptimisticLocking() {
+    runtimeService.startProcessInstanceByKey("process");
+    final String jobId = managementService.createJobQuery().singleResult().getId();
+
+    final int revision = loadJob(jobId).getRevision();
+
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        commandContext.getJobManager().findJobById(jobId).setLockOwner("owner1");
+        return null;
+      }
+    });
+
+    try {
+      processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+        public Void execute(CommandContext commandContext) {
+          JobEntity job = commandContext.getJobManager().findJobById(jobId);
+          // simulate that the job was loaded before the first update
+          job.setRevision(revision);
+          job.setLockOwner("owner2");
+          return null;
+        }
+      });
+      fail("should get an exception here as the job was modified by someone else.");
+    } catch (OptimisticLockingException expected) {
+      // exception was thrown as expected
+    }
+
+    assertEquals("owner1", loadJob(jobId).getLockOwner());
+  }
+
+  protected JobEntity loadJob(final String jobId) {
+    return processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<JobEntity>() {
+      public JobEntity execute(CommandContext commandContext) {
+        return commandContext.getJobManager().findJobById(jobId);
+      }
+    });
+  }
+
+}
@@ -0,0 +1,95 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.el;
+
+import java.lang.reflect.Field;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.javax.el.BeanELResolver;
+import org.camunda.bpm.engine.impl.javax.el.ELContext;
+import org.camunda.bpm.engine.impl.javax.el.ExpressionFactory;
+import org.camunda.bpm.engine.impl.juel.ExpressionFactoryImpl;
+import org.camunda.bpm.engine.impl.juel.SimpleContext;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the cache of resolved methods of the {@link BeanELResolver}.
+ */
+public class BeanELResolverMethodCacheTest {
+
+  protected BeanELResolver resolver = new BeanELResolver();
+  protected ELContext context = new SimpleContext(resolver);
+
+  @Before
+  public void setUp() {
+    context.putContext(ExpressionFactory.class, new ExpressionFactoryImpl());
+  }
+
+  @Test
+  public void testResolvesOverloadedMethodsByParameterTypes() {
+    Bean bean = new Bean();
+
+    Assert.assertEquals("string", invoke(bean, new Class<?>[] { String.class }, "a"));
+    Assert.assertEquals("integer", invoke(bean, new Class<?>[] { Integer.class }, 1));
+
+    // cached methods are resolved again
+    Assert.assertEquals("string", invoke(bean, new Class<?>[] { String.class }, "a"));
+    Assert.assertEquals("integer", invoke(bean, new Class<?>[] { Integer.class }, 1));
+    Assert.assertEquals(2, getMethodCache().size());
+  }
+
+  @Test
+  public void testChangingParameterTypesAfterLookupDoesNotCorruptCache() {
+    Bean bean = new Bean();
+    Class<?>[] paramTypes = new Class<?>[] { String.class };
+    Assert.assertEquals("string", invoke(bean, paramTypes, "a"));
+
+    // when the caller reuses its array for another lookup
+    paramTypes[0] = Integer.class;
+    Assert.assertEquals("integer", invoke(bean, paramTypes, 1));
+
+    // then the method cached for the first lookup is still found
+    Assert.assertEquals("string", invoke(bean, new Class<?>[] { String.class }, "a"));
+    Assert.assertEquals("integer", invoke(bean, new Class<?>[] { Integer.class }, 1));
+    Assert.assertEquals(2, getMethodCache().size());
+  }
+
+  protected Object invoke(Object base, Class<?>[] paramTypes, Object... params) {
+    return resolver.invoke(context, base, "echo", paramTypes, params);
+  }
+
+  protected Map<?, ?> getMethodCache() {
+    try {
+      Field field = BeanELResolver.class.getDeclaredField("methodCache");
+      field.setAccessible(true);
+      return (Map<?, ?>) field.get(resolver);
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  public static class Bean {
+
+    public String echo(String value) {
+      return "string";
+    }
+
+    public String echo(Integer value) {
+      return "integer";
+    }
+
+  }
+
+}
@@ -0,0 +1,163 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.el;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.juel.Builder;
+import org.camunda.bpm.engine.impl.juel.Cache;
+import org.camunda.bpm.engine.impl.juel.Tree;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the tree cache of the expression language implementation.
+ */
+public class JuelCacheTest {
+
+  protected Builder builder = new Builder();
+
+  @Test
+  public void testEvictsEntriesAboveCapacity() {
+    Cache cache = new Cache(2, null);
+
+    cache.put("${a}", tree("${a}"));
+    cache.put("${b}", tree("${b}"));
+    cache.put("${c}", tree("${c}"));
+
+    // the oldest unused entry is evicted
+    Assert.assertNull(cache.get("${a}"));
+    Assert.assertNotNull(cache.get("${b}"));
+    Assert.assertNotNull(cache.get("${c}"));
+  }
+
+  @Test
+  public void testKeepsUsedEntryWhenClockHandPassesIt() {
+    Cache cache = new Cache(2, null);
+    Tree a = tree("${a}");
+
+    cache.put("${a}", a);
+    cache.put("${b}", tree("${b}"));
+    cache.get("${a}");
+
+    // when the clock hand passes the used entry
+    cache.put("${c}", tree("${c}"));
+
+    // then it gets a second chance and the next unused entry is evicted
+    Assert.assertSame(a, cache.get("${a}"));
+    Assert.assertNull(cache.get("${b}"));
+    Assert.assertNotNull(cache.get("${c}"));
+
+    // and the entry is evicted once it was not used again
+    cache.put("${d}", tree("${d}"));
+    cache.put("${e}", tree("${e}"));
+    Assert.assertNull(cache.get("${c}"));
+    Assert.assertNull(cache.get("${d}"));
+    Assert.assertNotNull(cache.get("${e}"));
+  }
+
+  @Test
+  public void testMovesEvictedEntriesToSecondaryMap() {
+    Map<String, Tree> secondary = new HashMap<String, Tree>();
+    Cache cache = new Cache(1, secondary);
+    Tree a = tree("${a}");
+
+    cache.put("${a}", a);
+    cache.put("${b}", tree("${b}"));
+
+    Assert.assertSame(a, secondary.get("${a}"));
+    Assert.assertSame(a, cache.get("${a}"));
+  }
+
+  @Test
+  public void testReplacesEntry() {
+    Cache cache = new Cache(2, null);
+    Tree replacement = tree("${a}");
+
+    cache.put("${a}", tree("${a}"));
+    cache.put("${a}", replacement);
+    cache.put("${b}", tree("${b}"));
+
+    // the replaced entry does not count towards the capacity
+    Assert.assertSame(replacement, cache.get("${a}"));
+    Assert.assertNotNull(cache.get("${b}"));
+  }
+
+  @Test
+  public void testConcurrentAccess() throws Exception {
+    final int capacity = 20;
+    final int numExpressions = 100;
+    final Cache cache = new Cache(capacity, null);
+
+    final List<String> expressions = new ArrayList<String>();
+    final Map<String, Tree> trees = new HashMap<String, Tree>();
+    for (int i = 0; i < numExpressions; i++) {
+      String expression = "${var" + i + "}";
+      expressions.add(expression);
+      trees.put(expression, tree(expression));
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<Void>> results = new ArrayList<Future<Void>>();
+      for (int i = 0; i < 8; i++) {
+        final Random random = new Random(i);
+        results.add(executor.submit(new Callable<Void>() {
+          public Void call() {
+            for (int j = 0; j < 10000; j++) {
+              String expression = expressions.get(random.nextInt(numExpressions));
+              Tree tree = cache.get(expression);
+              if (tree == null) {
+                cache.put(expression, trees.get(expression));
+              } else {
+                // a lookup never returns the tree of another expression
+                Assert.assertSame(trees.get(expression), tree);
+              }
+            }
+            return null;
+          }
+        }));
+      }
+
+      for (Future<Void> result : results) {
+        result.get(60, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    // the capacity is respected once all threads are done
+    int cachedExpressions = 0;
+    for (String expression : expressions) {
+      if (cache.get(expression) != null) {
+        cachedExpressions++;
+      }
+    }
+    Assert.assertTrue(cachedExpressions > 0);
+    Assert.assertTrue(cachedExpressions <= capacity);
+  }
+
+  protected Tree tree(String expression) {
+    return builder.build(expression);
+  }
+
+}
@@ -0,0 +1,183 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.history;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.history.HistoricProcessInstance;
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
+import org.camunda.bpm.engine.impl.history.handler.AsyncDbHistoryEventHandler;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.test.ResourceProcessEngineTestCase;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.test.Deployment;
+
+/**
+ * @see AsyncDbHistoryEventHandler
+ */
+public class AsyncDbHistoryEventHandlerTest extends ResourceProcessEngineTestCase {
+
+  public AsyncDbHistoryEventHandlerTest() {
+    super("org/camunda/bpm/engine/test/history/AsyncDbHistoryEventHandlerTest.camunda.cfg.xml");
+  }
+
+  protected void tearDown() throws Exception {
+    // no history must be written after the deployment is deleted
+    waitForHistoryEvents();
+    super.tearDown();
+  }
+
+  public void testHandlerIsActive() {
+    assertTrue(processEngineConfiguration.getHistoryEventHandler() instanceof AsyncDbHistoryEventHandler);
+    assertTrue(getHistoryEventHandler().isActive());
+  }
+
+  @Deployment(resources = {"org/camunda/bpm/engine/test/history/HistoryLevelTest.bpmn20.xml"})
+  public void testHistoryIsWrittenAsynchronously() {
+    // given
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("HistoryLevelTest");
+    Task task = taskService.createTaskQuery().singleResult();
+
+    // when
+    taskService.complete(task.getId());
+    waitForHistoryEvents();
+
+    // then the start and end of the process instance were written by the background writer
+    HistoricProcessInstance historicProcessInstance = historyService.createHistoricProcessInstanceQuery()
+      .processInstanceId(processInstance.getId())
+      .singleResult();
+    assertNotNull(historicProcessInstance);
+    assertNotNull(historicProcessInstance.getStartTime());
+    assertNotNull(historicProcessInstance.getEndTime());
+
+    assertEquals(5, historyService.createHistoricActivityInstanceQuery().finished().count());
+    assertEquals(1, historyService.createHistoricTaskInstanceQuery().finished().count());
+    assertEquals("bar", historyService.createHistoricVariableInstanceQuery().singleResult().getValue());
+    assertEquals(2, historyService.createHistoricDetailQuery().count());
+  }
+
+  @Deployment(resources = {"org/camunda/bpm/engine/test/history/HistoryLevelTest.bpmn20.xml"})
+  public void testManyProcessInstances() {
+    // given more events than fit into a batch
+    for (int i = 0; i < 20; i++) {
+      runtimeService.startProcessInstanceByKey("HistoryLevelTest");
+    }
+
+    // when
+    waitForHistoryEvents();
+
+    // then
+    assertEquals(20, historyService.createHistoricProcessInstanceQuery().unfinished().count());
+    assertEquals(20, historyService.createHistoricTaskInstanceQuery().unfinished().count());
+    assertEquals(20, historyService.createHistoricVariableInstanceQuery().count());
+  }
+
+  @Deployment(resources = {"org/camunda/bpm/engine/test/history/HistoryLevelTest.bpmn20.xml"})
+  public void testNoHistoryIsWrittenForRolledBackTransaction() {
+    // given a transaction which produces history and fails
+    try {
+      processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+        public Void execute(CommandContext commandContext) {
+          runtimeService.startProcessInstanceByKey("HistoryLevelTest");
+          throw new IllegalStateException("rollback");
+        }
+      });
+      fail("exception expected");
+    }
+    catch (IllegalStateException e) {
+      // expected
+    }
+
+    // when
+    waitForHistoryEvents();
+
+    // then
+    assertEquals(0, historyService.createHistoricProcessInstanceQuery().count());
+  }
+
+  @Deployment(resources = {"org/camunda/bpm/engine/test/history/HistoryLevelTest.bpmn20.xml"})
+  public void testHistoryIsWrittenIfTransactionListenerFailsAfterCommit() {
+    // given a committed transaction whose transaction listener registered first fails
+    try {
+      processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+        public Void execute(CommandContext commandContext) {
+          commandContext.getTransactionContext().addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+            public void execute(CommandContext commandContext) {
+              throw new IllegalStateException("listener failed");
+            }
+          });
+          runtimeService.startProcessInstanceByKey("HistoryLevelTest");
+          return null;
+        }
+      });
+      fail("exception expected");
+    }
+    catch (IllegalStateException e) {
+      // expected
+    }
+
+    // when
+    waitForHistoryEvents();
+
+    // then the history of the committed transaction is written
+    assertEquals(1, historyService.createHistoricProcessInstanceQuery().count());
+  }
+
+  @Deployment(resources = {"org/camunda/bpm/engine/test/history/HistoryLevelTest.bpmn20.xml"})
+  public void testTransactionWithoutOutcomeDoesNotBlockTheQueue() {
+    AsyncDbHistoryEventHandler historyEventHandler = getHistoryEventHandler();
+    historyEventHandler.setPreparedTimeout(100);
+
+    try {
+      // given a transaction whose outcome is never reported
+      List<byte[]> serializedEvents = new ArrayList<byte[]>();
+      serializedEvents.add(new byte[0]);
+      historyEventHandler.prepare(serializedEvents);
+
+      // when a later transaction is committed
+      runtimeService.startProcessInstanceByKey("HistoryLevelTest");
+      waitForHistoryEvents();
+
+      // then its history is written
+      assertEquals(1, historyService.createHistoricProcessInstanceQuery().count());
+    }
+    finally {
+      historyEventHandler.setPreparedTimeout(AsyncDbHistoryEventHandler.DEFAULT_PREPARED_TIMEOUT);
+    }
+  }
+
+  protected AsyncDbHistoryEventHandler getHistoryEventHandler() {
+    return (AsyncDbHistoryEventHandler) processEngineConfiguration.getHistoryEventHandler();
+  }
+
+  protected void waitForHistoryEvents() {
+    long deadline = System.currentTimeMillis() + 10000;
+    while (getHistoryEventHandler().getPendingEventCount() > 0) {
+      if (System.currentTimeMillis() > deadline) {
+        fail("history events were not written within 10 seconds");
+      }
+      try {
+        Thread.sleep(50);
+      }
+      catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+}
@@ -0,0 +1,170 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.history;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventLog;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventLog.Entry;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @see HistoryEventLog
+ */
+public class HistoryEventLogTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  protected File directory;
+
+  @Before
+  public void setUp() {
+    directory = new File(folder.getRoot(), "log");
+  }
+
+  @Test
+  public void testRecoverAppendedEvents() {
+    // given
+    HistoryEventLog log = new HistoryEventLog(directory);
+    log.open();
+    log.append(Arrays.asList(event(1), event(2)));
+    log.append(Arrays.asList(event(3)));
+
+    // when the process engine crashes and the log is recovered
+    List<byte[]> recoveredEvents = new HistoryEventLog(directory).recover();
+
+    // then
+    assertEquals(3, recoveredEvents.size());
+    assertArrayEquals(event(1), recoveredEvents.get(0));
+    assertArrayEquals(event(3), recoveredEvents.get(2));
+  }
+
+  @Test
+  public void testWrittenEventsAreNotRecovered() {
+    // given
+    HistoryEventLog log = new HistoryEventLog(directory);
+    log.open();
+    Entry entry = log.append(Arrays.asList(event(1), event(2), event(3)));
+
+    // when
+    log.written(entry.getSegment(), 2);
+
+    // then
+    List<byte[]> recoveredEvents = new HistoryEventLog(directory).recover();
+    assertEquals(1, recoveredEvents.size());
+    assertArrayEquals(event(3), recoveredEvents.get(0));
+  }
+
+  @Test
+  public void testWrittenSegmentsAreDeleted() {
+    // given a log with small segments
+    HistoryEventLog log = new HistoryEventLog(directory, 1);
+    log.open();
+    Entry firstEntry = log.append(Arrays.asList(event(1)));
+    Entry secondEntry = log.append(Arrays.asList(event(2)));
+    assertEquals(0, firstEntry.getSegment().getNumber());
+    assertEquals(1, secondEntry.getSegment().getNumber());
+
+    // when
+    log.written(firstEntry.getSegment(), 1);
+
+    // then only the event of the second segment is recovered
+    List<byte[]> recoveredEvents = new HistoryEventLog(directory).recover();
+    assertEquals(1, recoveredEvents.size());
+    assertArrayEquals(event(2), recoveredEvents.get(0));
+  }
+
+  @Test
+  public void testEventsOfAbortedTransactionsAreNotRecovered() {
+    // given
+    HistoryEventLog log = new HistoryEventLog(directory);
+    log.open();
+    Entry abortedEntry = log.append(Arrays.asList(event(1), event(2)));
+    log.append(Arrays.asList(event(3)));
+
+    // when
+    log.abort(abortedEntry);
+
+    // then
+    List<byte[]> recoveredEvents = new HistoryEventLog(directory).recover();
+    assertEquals(1, recoveredEvents.size());
+    assertArrayEquals(event(3), recoveredEvents.get(0));
+  }
+
+  @Test
+  public void testAbortedEventsAreCountedByTheCheckpoint() {
+    // given
+    HistoryEventLog log = new HistoryEventLog(directory);
+    log.open();
+    Entry abortedEntry = log.append(Arrays.asList(event(1), event(2)));
+    log.append(Arrays.asList(event(3), event(4)));
+    log.abort(abortedEntry);
+
+    // when the aborted and one committed event are passed by the writer
+    log.written(abortedEntry.getSegment(), 3);
+
+    // then
+    List<byte[]> recoveredEvents = new HistoryEventLog(directory).recover();
+    assertEquals(1, recoveredEvents.size());
+    assertArrayEquals(event(4), recoveredEvents.get(0));
+  }
+
+  @Test
+  public void testFailedEventsAreRecovered() {
+    // given
+    HistoryEventLog log = new HistoryEventLog(directory);
+    log.open();
+    Entry entry = log.append(Arrays.asList(event(1), event(2)));
+
+    // when the first event cannot be written
+    log.failed(Arrays.asList(event(1)));
+    log.written(entry.getSegment(), 2);
+
+    // then
+    List<byte[]> recoveredEvents = new HistoryEventLog(directory).recover();
+    assertEquals(1, recoveredEvents.size());
+    assertArrayEquals(event(1), recoveredEvents.get(0));
+  }
+
+  @Test
+  public void testOpenDeletesRecoveredEvents() {
+    // given
+    HistoryEventLog log = new HistoryEventLog(directory);
+    log.open();
+    log.append(Arrays.asList(event(1)));
+    log.failed(Arrays.asList(event(2)));
+
+    // when the recovered events are written and the log is opened again
+    HistoryEventLog recoveredLog = new HistoryEventLog(directory);
+    assertEquals(2, recoveredLog.recover().size());
+    recoveredLog.open();
+
+    // then
+    assertTrue(new HistoryEventLog(directory).recover().isEmpty());
+  }
+
+  protected byte[] event(int value) {
+    return new byte[] { (byte) value, (byte) (value + 1) };
+  }
+
+}
@@ -0,0 +1,233 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.jobexecutor;
+
+import java.util.Arrays;
+import java.util.Date;
+
+import org.camunda.bpm.engine.impl.jobexecutor.AcquiredJobs;
+import org.camunda.bpm.engine.impl.jobexecutor.AdaptiveJobAcquisitionStrategy;
+import org.camunda.bpm.engine.impl.jobexecutor.BackoffJobAcquisitionStrategy;
+import org.camunda.bpm.engine.impl.jobexecutor.JobAcquisitionContext;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AdaptiveJobAcquisitionStrategyTest {
+
+  // strategy configuration
+  protected static final long BASE_IDLE_WAIT_TIME = 50;
+  protected static final float IDLE_INCREASE_FACTOR = 1.5f;
+  protected static final long MAX_IDLE_TIME = 500;
+
+  protected static final long BASE_BACKOFF_WAIT_TIME = 80;
+  protected static final float BACKOFF_INCREASE_FACTOR = 2.0f;
+  protected static final long MAX_BACKOFF_TIME = 1000;
+
+  protected static final int DECREASE_THRESHOLD = 3;
+  protected static final int NUM_JOBS_TO_ACQUIRE = 10;
+
+  // misc
+  protected static final String ENGINE_NAME = "engine";
+  protected static final String OTHER_ENGINE_NAME = "otherEngine";
+
+  protected AdaptiveJobAcquisitionStrategy strategy;
+  protected Date now;
+
+  @Before
+  public void setUp() {
+    strategy = new AdaptiveJobAcquisitionStrategy(
+        BASE_IDLE_WAIT_TIME,
+        IDLE_INCREASE_FACTOR,
+        MAX_IDLE_TIME,
+        BASE_BACKOFF_WAIT_TIME,
+        BACKOFF_INCREASE_FACTOR,
+        MAX_BACKOFF_TIME,
+        DECREASE_THRESHOLD,
+        NUM_JOBS_TO_ACQUIRE);
+
+    now = new Date(1000000L);
+    ClockUtil.setCurrentTime(now);
+  }
+
+  @After
+  public void tearDown() {
+    ClockUtil.reset();
+  }
+
+  @Test
+  public void testUnknownExecutionCapacity() {
+    // given a context without execution capacity and rate
+    JobAcquisitionContext context = new JobAcquisitionContext();
+    context.submitAcquiredJobs(ENGINE_NAME, buildAcquiredJobs(NUM_JOBS_TO_ACQUIRE, NUM_JOBS_TO_ACQUIRE, 0));
+
+    // when reconfiguring the strategy
+    strategy.reconfigure(context);
+
+    // then it behaves like the backoff strategy
+    Assert.assertEquals(NUM_JOBS_TO_ACQUIRE, strategy.getNumJobsToAcquire(ENGINE_NAME));
+    Assert.assertEquals(0, strategy.getWaitTime());
+  }
+
+  @Test
+  public void testNumJobsLimitedByExecutionCapacity() {
+    // given a context with less execution capacity than jobs to acquire
+    JobAcquisitionContext context = new JobAcquisitionContext();
+    context.submitAcquiredJobs(ENGINE_NAME, buildAcquiredJobs(NUM_JOBS_TO_ACQUIRE, NUM_JOBS_TO_ACQUIRE, 0));
+    context.setAvailableExecutionCapacity(4);
+
+    // when reconfiguring the strategy
+    strategy.reconfigure(context);
+
+    // then only as many jobs are acquired as can be executed
+    Assert.assertEquals(4, strategy.getNumJobsToAcquire(ENGINE_NAME));
+    Assert.assertEquals(0, strategy.getWaitTime());
+  }
+
+  @Test
+  public void testExecutionCapacitySharedByEngines() {
+    // given a context with two engines
+    JobAcquisitionContext context = new JobAcquisitionContext();
+    context.submitAcquiredJobs(ENGINE_NAME, buildAcquiredJobs(NUM_JOBS_TO_ACQUIRE, NUM_JOBS_TO_ACQUIRE, 0));
+    context.submitAcquiredJobs(OTHER_ENGINE_NAME, buildAcquiredJobs(NUM_JOBS_TO_ACQUIRE, NUM_JOBS_TO_ACQUIRE, 0));
+    context.setAvailableExecutionCapacity(9);
+
+    // when reconfiguring the strategy
+    strategy.reconfigure(context);
+
+    // then the capacity is split between the engines
+    Assert.assertEquals(9, strategy.getNumJobsToAcquire(ENGINE_NAME) + strategy.getNumJobsToAcquire(OTHER_ENGINE_NAME));
+    Assert.assertTrue(Math.abs(strategy.getNumJobsToAcquire(ENGINE_NAME) - strategy.getNumJobsToAcquire(OTHER_ENGINE_NAME)) <= 1);
+  }
+
+  @Test
+  public void testNumJobsFollowsExecutionRate() {
+    // given an acquisition cycle
+    JobAcquisitionContext context = new JobAcquisitionContext();
+    context.setAcquisitionTime(1000);
+    context.submitAcquiredJobs(ENGINE_NAME, buildAcquiredJobs(NUM_JOBS_TO_ACQUIRE, NUM_JOBS_TO_ACQUIRE, 0));
+    context.setAvailableExecutionCapacity(100);
+    context.setNumberOfCompletedExecutions(0);
+    strategy.reconfigure(context);
+
+    // when 50 job batches were executed until the next cycle
+    context.reset();
+    context.setAcquisitionTime(2000);
+    context.submitAcquiredJobs(ENGINE_NAME, buildAcquiredJobs(NUM_JOBS_TO_ACQUIRE, NUM_JOBS_TO_ACQUIRE, 0));
+    context.setAvailableExecutionCapacity(100);
+    context.setNumberOfCompletedExecutions(50);
+    strategy.reconfigure(context);
+
+    // then the strategy acquires as many jobs as were executed during the cycle
+    Assert.assertEquals(50, strategy.getNumJobsToAcquire(ENGINE_NAME));
+  }
+
+  @Test
+  public void testWaitTimeOnExhaustedExecutionCapacity() {
+    // given a context without execution capacity
+    JobAcquisitionContext context = new JobAcquisitionContext();
+    context.submitAcquiredJobs(ENGINE_NAME, buildAcquiredJobs(NUM_JOBS_TO_ACQUIRE, NUM_JOBS_TO_ACQUIRE, 0));
+    context.setAvailableExecutionCapacity(0);
+
+    // when reconfiguring the strategy
+    strategy.reconfigure(context);
+
+    // then no jobs are acquired and the strategy waits for free capacity
+    Assert.assertEquals(0, strategy.getNumJobsToAcquire(ENGINE_NAME));
+    Assert.assertEquals(BackoffJobAcquisitionStrategy.DEFAULT_EXECUTION_SATURATION_WAIT_TIME, strategy.getWaitTime());
+  }
+
+  @Test
+  public void testIdleWaitUntilNextDuedate() {
+    // given no acquired jobs and a job which is due soon
+    JobAcquisitionContext context = new JobAcquisitionContext();
+    AcquiredJobs acquiredJobs = buildAcquiredJobs(NUM_JOBS_TO_ACQUIRE, 0, 0);
+    acquiredJobs.setNextDuedate(new Date(now.getTime() + 200));
+    context.submitAcquiredJobs(ENGINE_NAME, acquiredJobs);
+
+    // when reconfiguring the strategy
+    strategy.reconfigure(context);
+
+    // then the strategy waits until the job is due instead of the idle time
+    Assert.assertEquals(200, strategy.getWaitTime());
+  }
+
+  @Test
+  public void testIdleWaitForDistantDuedateIsBounded() {
+    // given no acquired jobs and a job which is due in the distant future
+    JobAcquisitionContext context = new JobAcquisitionContext();
+    AcquiredJobs acquiredJobs = buildAcquiredJobs(NUM_JOBS_TO_ACQUIRE, 0, 0);
+    acquiredJobs.setNextDuedate(new Date(now.getTime() + 100000));
+    context.submitAcquiredJobs(ENGINE_NAME, acquiredJobs);
+
+    // when reconfiguring the strategy
+    strategy.reconfigure(context);
+
+    // then the strategy waits at most the maximum idle time
+    Assert.assertEquals(MAX_IDLE_TIME, strategy.getWaitTime());
+  }
+
+  @Test
+  public void testIdleWaitWithoutDuedate() {
+    // given no acquired jobs and no known due date
+    JobAcquisitionContext context = new JobAcquisitionContext();
+    context.submitAcquiredJobs(ENGINE_NAME, buildAcquiredJobs(NUM_JOBS_TO_ACQUIRE, 0, 0));
+
+    // when reconfiguring the strategy
+    strategy.reconfigure(context);
+
+    // then the idle time of the backoff strategy applies
+    Assert.assertEquals(BASE_IDLE_WAIT_TIME, strategy.getWaitTime());
+  }
+
+  @Test
+  public void testNextDuedateRequiredAfterIdleLevelThreshold() {
+    // given cycles in which not all requested jobs are acquired
+    JobAcquisitionContext context = new JobAcquisitionContext();
+    context.submitAcquiredJobs(ENGINE_NAME, buildAcquiredJobs(NUM_JOBS_TO_ACQUIRE, 1, 0));
+
+    // then the next due date is not looked up while the idle time is short
+    Assert.assertFalse(strategy.isNextDuedateRequired());
+
+    for (int i = 1; i < AdaptiveJobAcquisitionStrategy.DEFAULT_NEXT_DUEDATE_IDLE_LEVEL; i++) {
+      strategy.reconfigure(context);
+      Assert.assertFalse(strategy.isNextDuedateRequired());
+    }
+
+    // but once the idle level reached the threshold
+    strategy.reconfigure(context);
+    Assert.assertTrue(strategy.isNextDuedateRequired());
+
+    // and no longer when the acquisition is busy again
+    context.reset();
+    context.submitAcquiredJobs(ENGINE_NAME, buildAcquiredJobs(NUM_JOBS_TO_ACQUIRE, NUM_JOBS_TO_ACQUIRE, 0));
+    strategy.reconfigure(context);
+    Assert.assertFalse(strategy.isNextDuedateRequired());
+  }
+
+  protected AcquiredJobs buildAcquiredJobs(int numJobsToAcquire, int numJobsAcquired, int numJobsFailedToLock) {
+    AcquiredJobs acquiredJobs = new AcquiredJobs(numJobsToAcquire);
+    for (int i = 0; i < numJobsAcquired; i++) {
+      acquiredJobs.addJobIdBatch(Arrays.asList(Integer.toString(i)));
+    }
+
+    for (int i = 0; i < numJobsFailedToLock; i++) {
+      acquiredJobs.removeJobId(Integer.toString(i));
+    }
+
+    return acquiredJobs;
+  }
+
+}
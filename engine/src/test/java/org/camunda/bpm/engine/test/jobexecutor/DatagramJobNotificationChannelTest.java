@@ -0,0 +1,122 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.jobexecutor;
+
+import java.net.InetSocketAddress;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.jobexecutor.DatagramJobNotificationChannel;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DatagramJobNotificationChannelTest {
+
+  protected static final String LOOPBACK = "127.0.0.1";
+
+  protected DatagramJobNotificationChannel sendingChannel;
+  protected DatagramJobNotificationChannel receivingChannel;
+
+  protected RecordingJobExecutor receivingJobExecutor;
+
+  @Before
+  public void setUp() {
+    receivingJobExecutor = new RecordingJobExecutor(2);
+
+    receivingChannel = new DatagramJobNotificationChannel();
+    receivingChannel.setBindAddress(LOOPBACK);
+    receivingChannel.open(receivingJobExecutor);
+
+    sendingChannel = new DatagramJobNotificationChannel();
+    sendingChannel.setBindAddress(LOOPBACK);
+    sendingChannel.setPeers(LOOPBACK + ":" + receivingChannel.getPort());
+    sendingChannel.open(new RecordingJobExecutor(0));
+  }
+
+  @After
+  public void tearDown() {
+    sendingChannel.close();
+    receivingChannel.close();
+  }
+
+  @Test
+  public void testNotificationIsReceivedByPeer() throws InterruptedException {
+    // when a node publishes added jobs
+    sendingChannel.publishJobAdded("aDeploymentId");
+    sendingChannel.publishJobAdded(null);
+
+    // then the job executor of the peer is notified
+    Assert.assertTrue(receivingJobExecutor.awaitNotifications());
+    Assert.assertEquals(2, receivingJobExecutor.deploymentIds.size());
+    Assert.assertTrue(receivingJobExecutor.deploymentIds.contains("aDeploymentId"));
+    Assert.assertTrue(receivingJobExecutor.deploymentIds.contains(null));
+  }
+
+  @Test
+  public void testParsePeers() {
+    DatagramJobNotificationChannel channel = new DatagramJobNotificationChannel();
+    channel.setPeers("node1:7801, node2:7802");
+
+    List<InetSocketAddress> peerAddresses = channel.getPeerAddresses();
+    Assert.assertEquals(2, peerAddresses.size());
+    Assert.assertEquals("node1", peerAddresses.get(0).getHostName());
+    Assert.assertEquals(7801, peerAddresses.get(0).getPort());
+    Assert.assertEquals("node2", peerAddresses.get(1).getHostName());
+    Assert.assertEquals(7802, peerAddresses.get(1).getPort());
+  }
+
+  @Test
+  public void testPublishWithoutOpenChannelIsIgnored() {
+    DatagramJobNotificationChannel channel = new DatagramJobNotificationChannel();
+    channel.setPeerAddresses(Collections.singletonList(new InetSocketAddress(LOOPBACK, receivingChannel.getPort())));
+
+    // does not fail
+    channel.publishJobAdded("aDeploymentId");
+  }
+
+  public static class RecordingJobExecutor extends JobExecutor {
+
+    protected List<String> deploymentIds = new CopyOnWriteArrayList<String>();
+    protected CountDownLatch notificationsLatch;
+
+    public RecordingJobExecutor(int expectedNotifications) {
+      notificationsLatch = new CountDownLatch(expectedNotifications);
+    }
+
+    public void jobWasAddedOnOtherNode(String deploymentId) {
+      deploymentIds.add(deploymentId);
+      notificationsLatch.countDown();
+    }
+
+    public boolean awaitNotifications() throws InterruptedException {
+      return notificationsLatch.await(10, TimeUnit.SECONDS);
+    }
+
+    protected void startExecutingJobs() {
+    }
+
+    protected void stopExecutingJobs() {
+    }
+
+    public void executeJobs(List<String> jobIds, ProcessEngineImpl processEngine) {
+    }
+  }
+
+}
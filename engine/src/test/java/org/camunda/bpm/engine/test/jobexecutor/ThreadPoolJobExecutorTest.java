@@ -0,0 +1,65 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.jobexecutor;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.jobexecutor.ThreadPoolJobExecutor;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ThreadPoolJobExecutorTest {
+
+  protected ThreadPoolExecutor threadPoolExecutor;
+
+  @After
+  public void tearDown() {
+    if (threadPoolExecutor != null) {
+      threadPoolExecutor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testAvailableExecutionCapacityWithBoundedQueue() {
+    ThreadPoolJobExecutor jobExecutor = createJobExecutor(new ArrayBlockingQueue<Runnable>(5));
+
+    Assert.assertEquals(3 + 5, jobExecutor.getAvailableExecutionCapacity());
+  }
+
+  @Test
+  public void testAvailableExecutionCapacityWithUnboundedQueue() {
+    ThreadPoolJobExecutor jobExecutor = createJobExecutor(new LinkedBlockingQueue<Runnable>());
+
+    // the capacity does not overflow
+    Assert.assertEquals(Integer.MAX_VALUE, jobExecutor.getAvailableExecutionCapacity());
+  }
+
+  @Test
+  public void testAvailableExecutionCapacityWithoutThreadPool() {
+    Assert.assertEquals(-1, new ThreadPoolJobExecutor().getAvailableExecutionCapacity());
+  }
+
+  protected ThreadPoolJobExecutor createJobExecutor(BlockingQueue<Runnable> queue) {
+    threadPoolExecutor = new ThreadPoolExecutor(3, 3, 0L, TimeUnit.MILLISECONDS, queue);
+
+    ThreadPoolJobExecutor jobExecutor = new ThreadPoolJobExecutor();
+    jobExecutor.setThreadPoolExecutor(threadPoolExecutor);
+    return jobExecutor;
+  }
+
+}
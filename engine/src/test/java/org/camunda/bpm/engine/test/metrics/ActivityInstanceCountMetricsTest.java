@@ -59,6 +59,45 @@ public class ActivityInstanceCountMetricsTest extends AbstractMetricsTest {
         .sum());
   }
 
+  public void testBpmnActivityInstancesTaggedByProcessDefinitionKey() {
+    deployment(Bpmn.createExecutableProcess("testProcess")
+      .startEvent()
+      .manualTask()
+      .endEvent()
+    .done(),
+    Bpmn.createExecutableProcess("otherProcess")
+      .startEvent()
+      .endEvent()
+    .done());
+
+    // given
+    // two started process instances
+    runtimeService.startProcessInstanceByKey("testProcess");
+    runtimeService.startProcessInstanceByKey("otherProcess");
+
+    // if
+    // the db metrics reporter reports
+    processEngineConfiguration.getDbMetricsReporter().reportNow();
+
+    // then
+    // the activity instances are counted per process definition key
+    assertEquals(3l, managementService.createMetricsQuery()
+        .name(Metrics.ACTIVTY_INSTANCE_START)
+        .tag("testProcess")
+        .sum());
+    assertEquals(2l, managementService.createMetricsQuery()
+        .name(Metrics.ACTIVTY_INSTANCE_START)
+        .tag("otherProcess")
+        .sum());
+
+    // and in total
+    assertEquals(5l, managementService.createMetricsQuery()
+        .name(Metrics.ACTIVTY_INSTANCE_START)
+        .sum());
+    assertEquals(5l, managementService.createMetricsQuery()
+        .sum());
+  }
+
   public void testStandaloneTask() {
 
     // given
@@ -12,6 +12,7 @@
  */
 package org.camunda.bpm.engine.test.metrics;
 
+import org.camunda.bpm.engine.impl.metrics.Histogram;
 import org.camunda.bpm.engine.management.Metrics;
 import org.camunda.bpm.engine.variable.VariableMap;
 import org.camunda.bpm.engine.variable.Variables;
@@ -59,6 +60,12 @@ public class ExecutedDecisionElementsMetricsTest extends AbstractMetricsTest {
 
     assertEquals(16l, getExecutedDecisionElements());
     assertEquals(16l, getExecutedDecisionElementsFromDmnEngine());
+
+    // the evaluation time of the decision is recorded
+    Histogram.Snapshot snapshot = processEngineConfiguration.getMetricsRegistry()
+        .getHistogramByName(Metrics.DECISION_EVALUATION_TIME)
+        .getIntervalSnapshot();
+    assertEquals(1l, snapshot.getCount());
   }
 
   protected long getExecutedDecisionElements() {
@@ -0,0 +1,115 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.camunda.bpm.engine.impl.metrics.Histogram;
+import org.camunda.bpm.engine.impl.metrics.StripedCounter;
+import org.junit.Test;
+
+public class HistogramTest {
+
+  @Test
+  public void testPercentiles() {
+    Histogram histogram = new Histogram("test");
+    for (long value = 1; value <= 1000; value++) {
+      histogram.recordValue(value);
+    }
+
+    Histogram.Snapshot snapshot = histogram.getSnapshot();
+    assertEquals(1000, snapshot.getCount());
+    assertEquals(1000, snapshot.getMax());
+    assertEquals(500, snapshot.getMean());
+
+    assertWithinPrecision(500, snapshot.getValueAtPercentile(50));
+    assertWithinPrecision(950, snapshot.getValueAtPercentile(95));
+    assertWithinPrecision(990, snapshot.getValueAtPercentile(99));
+    assertEquals(1000, snapshot.getValueAtPercentile(100));
+  }
+
+  @Test
+  public void testLargeValues() {
+    Histogram histogram = new Histogram("test");
+    histogram.recordValue(Long.MAX_VALUE);
+    histogram.recordValue(-1);
+
+    Histogram.Snapshot snapshot = histogram.getSnapshot();
+    assertEquals(0, snapshot.getValueAtPercentile(50));
+    assertEquals(Long.MAX_VALUE, snapshot.getValueAtPercentile(100));
+  }
+
+  @Test
+  public void testReset() {
+    Histogram histogram = new Histogram("test");
+    histogram.recordValue(10);
+
+    assertEquals(1, histogram.getSnapshotAndReset().getCount());
+
+    Histogram.Snapshot snapshot = histogram.getSnapshot();
+    assertEquals(0, snapshot.getCount());
+    assertEquals(0, snapshot.getMax());
+    assertEquals(0, snapshot.getValueAtPercentile(99));
+  }
+
+  @Test
+  public void testCompleteInterval() {
+    Histogram histogram = new Histogram("test");
+    assertNull(histogram.getIntervalSnapshot());
+
+    histogram.recordValue(10);
+    histogram.recordValue(20);
+    histogram.completeInterval();
+    histogram.recordValue(30);
+
+    // the snapshot of the completed interval does not include later values
+    Histogram.Snapshot snapshot = histogram.getIntervalSnapshot();
+    assertEquals(2, snapshot.getCount());
+    assertEquals(20, snapshot.getMax());
+    assertEquals(1, histogram.getSnapshot().getCount());
+  }
+
+  @Test
+  public void testConcurrentUpdates() throws InterruptedException {
+    final StripedCounter counter = new StripedCounter();
+    final Histogram histogram = new Histogram("test");
+
+    Thread[] threads = new Thread[4];
+    for (int i = 0; i < threads.length; i++) {
+      threads[i] = new Thread() {
+        public void run() {
+          for (int j = 0; j < 10000; j++) {
+            counter.increment();
+            histogram.recordValue(j);
+          }
+        }
+      };
+      threads[i].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertEquals(40000, counter.sumThenReset());
+    assertEquals(0, counter.sum());
+    assertEquals(40000, histogram.getSnapshot().getCount());
+  }
+
+  protected void assertWithinPrecision(long expected, long actual) {
+    assertTrue("expected " + expected + " but was " + actual, actual >= expected);
+    assertTrue("expected " + expected + " but was " + actual, actual <= expected + expected / Histogram.SUB_BUCKETS);
+  }
+
+}
@@ -13,9 +13,12 @@
 package org.camunda.bpm.engine.test.metrics;
 
 import java.util.Date;
+import java.util.List;
 
 import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.metrics.Histogram;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.management.HistogramLog;
 import org.camunda.bpm.engine.management.Metrics;
 import org.camunda.bpm.model.bpmn.Bpmn;
 
@@ -162,6 +165,55 @@ public class MetricsTest extends AbstractMetricsTest {
     processEngineConfiguration.setDbMetricsReporterActivate(false);
   }
 
+  public void testReportExecutionTimeHistograms() {
+    deployment(Bpmn.createExecutableProcess("testProcess")
+      .startEvent()
+      .manualTask()
+      .endEvent()
+    .done());
+
+    // given
+    // executed commands
+    runtimeService.startProcessInstanceByKey("testProcess");
+
+    // if
+    // the db metrics reporter reports
+    processEngineConfiguration.getDbMetricsReporter().reportNow();
+
+    // then
+    // the execution times of the commands are available for the reported interval
+    Histogram.Snapshot snapshot = processEngineConfiguration.getMetricsRegistry()
+        .getHistogramByName(Metrics.COMMAND_EXECUTION_TIME)
+        .getIntervalSnapshot();
+    assertTrue(snapshot.getCount() > 0);
+    assertTrue(snapshot.getValueAtPercentile(50) <= snapshot.getMax());
+
+    // and are logged separately from the meters
+    assertEquals(0l, managementService.createMetricsQuery()
+        .name(Metrics.COMMAND_EXECUTION_TIME)
+        .sum());
+
+    List<HistogramLog> histogramLogs = managementService.createMetricsQuery()
+        .name(Metrics.COMMAND_EXECUTION_TIME)
+        .histogramLogs();
+    assertEquals(1, histogramLogs.size());
+
+    HistogramLog histogramLog = histogramLogs.get(0);
+    assertEquals(Metrics.COMMAND_EXECUTION_TIME, histogramLog.getName());
+    assertEquals(snapshot.getCount(), histogramLog.getCount());
+    assertEquals(snapshot.getValueAtPercentile(50), histogramLog.getP50());
+    assertEquals(snapshot.getValueAtPercentile(95), histogramLog.getP95());
+    assertEquals(snapshot.getValueAtPercentile(99), histogramLog.getP99());
+    assertEquals(snapshot.getMax(), histogramLog.getMax());
+
+    // which are deleted with the metrics
+    managementService.deleteMetrics(null);
+    assertTrue(managementService.createMetricsQuery()
+        .name(Metrics.COMMAND_EXECUTION_TIME)
+        .histogramLogs()
+        .isEmpty());
+  }
+
   public void testReportNowIfMetricsIsDisabled() {
     boolean defaultIsMetricsEnabled = processEngineConfiguration.isMetricsEnabled();
 
@@ -12,6 +12,10 @@
  */
 package org.camunda.bpm.engine.test.standalone.scripting;
 
+import javax.script.CompiledScript;
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineManager;
+
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.scripting.ExecutableScript;
@@ -122,6 +126,36 @@ public class ScriptCompilationTest extends PluggableProcessEngineTestCase {
     assertNotNull(script.getCompiledScript());
   }
 
+  public void testCompileScriptForEachScriptEngine() {
+    // given two instances of a script engine
+    ScriptEngineManager scriptEngineManager = new ScriptEngineManager();
+    ScriptEngine engine = scriptEngineManager.getEngineByName(SCRIPT_LANGUAGE);
+    ScriptEngine otherEngine = scriptEngineManager.getEngineByName(SCRIPT_LANGUAGE);
+
+    SourceExecutableScript script = createScript(SCRIPT_LANGUAGE, "1 + 1");
+
+    // when the script is executed by the first engine
+    assertEquals(2, executeScript(script, engine));
+
+    // then it is compiled for the first engine
+    CompiledScript compiledScript = script.getCompiledScript();
+    assertNotNull(compiledScript);
+    assertSame(engine, compiledScript.getEngine());
+
+    // and can be executed by the second engine
+    assertEquals(2, executeScript(script, otherEngine));
+    assertSame(compiledScript, script.getCompiledScript());
+  }
+
+  protected Object executeScript(final ExecutableScript script, final ScriptEngine scriptEngine) {
+    return processEngineConfiguration.getCommandExecutorTxRequired()
+      .execute(new Command<Object>() {
+        public Object execute(CommandContext commandContext) {
+          return script.execute(scriptEngine, null, scriptEngine.createBindings());
+        }
+      });
+  }
+
   protected Object executeScript(final ExecutableScript script) {
     final ScriptingEnvironment scriptingEnvironment = processEngineConfiguration.getScriptingEnvironment();
     return processEngineConfiguration.getCommandExecutorTxRequired()
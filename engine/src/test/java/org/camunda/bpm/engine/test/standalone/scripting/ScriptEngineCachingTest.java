@@ -15,12 +15,14 @@ package org.camunda.bpm.engine.test.standalone.scripting;
 import java.util.concurrent.Callable;
 
 import javax.script.ScriptEngine;
+import javax.script.ScriptEngineManager;
 
 import org.camunda.bpm.application.ProcessApplicationInterface;
 import org.camunda.bpm.application.impl.EmbeddedProcessApplication;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.scripting.engine.ScriptEngineResolver;
 import org.camunda.bpm.engine.impl.scripting.engine.ScriptingEngines;
 import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
 import org.camunda.bpm.engine.repository.ProcessApplicationDeployment;
@@ -156,6 +158,59 @@ public class ScriptEngineCachingTest extends PluggableProcessEngineTestCase {
     processEngineConfiguration.setEnableFetchScriptEngineFromProcessApplication(true);
   }
 
+  public void testPoolingOfScriptEngineWhichIsNotThreadsafe() {
+    // given
+    ScriptEngineResolver resolver = createNotThreadsafeScriptEngineResolver();
+    resolver.setScriptEnginePoolSize(1);
+
+    // when
+    ScriptEngine engine = resolver.getScriptEngine(SCRIPT_LANGUAGE, true);
+    ScriptEngine otherEngine = resolver.getScriptEngine(SCRIPT_LANGUAGE, true);
+
+    // then an engine is not shared until it is released
+    assertNotNull(engine);
+    assertNotSame(engine, otherEngine);
+
+    assertTrue(resolver.releaseScriptEngine(SCRIPT_LANGUAGE, engine));
+    // the pool is full
+    assertFalse(resolver.releaseScriptEngine(SCRIPT_LANGUAGE, otherEngine));
+
+    assertSame(engine, resolver.getScriptEngine(SCRIPT_LANGUAGE, true));
+  }
+
+  public void testDisablePoolingOfScriptEngineWhichIsNotThreadsafe() {
+    // given
+    ScriptEngineResolver resolver = createNotThreadsafeScriptEngineResolver();
+    resolver.setScriptEnginePoolSize(0);
+
+    // when
+    ScriptEngine engine = resolver.getScriptEngine(SCRIPT_LANGUAGE, true);
+
+    // then
+    assertFalse(resolver.releaseScriptEngine(SCRIPT_LANGUAGE, engine));
+    assertNotSame(engine, resolver.getScriptEngine(SCRIPT_LANGUAGE, true));
+  }
+
+  public void testReleaseScriptEngineOfOtherFactory() {
+    // given
+    ScriptEngineResolver resolver = createNotThreadsafeScriptEngineResolver();
+    resolver.releaseScriptEngine(SCRIPT_LANGUAGE, resolver.getScriptEngine(SCRIPT_LANGUAGE, true));
+
+    // when
+    ScriptEngine otherEngine = new ScriptEngineManager().getEngineByName(SCRIPT_LANGUAGE);
+
+    // then an engine of another script engine manager is not pooled
+    assertFalse(resolver.releaseScriptEngine(SCRIPT_LANGUAGE, otherEngine));
+  }
+
+  protected ScriptEngineResolver createNotThreadsafeScriptEngineResolver() {
+    return new ScriptEngineResolver(new ScriptEngineManager()) {
+      protected boolean isCachable(ScriptEngine scriptEngine) {
+        return false;
+      }
+    };
+  }
+
   protected ScriptingEngines getScriptingEngines() {
     return processEngineConfiguration.getScriptingEngines();
   }
@@ -0,0 +1,66 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.scripting;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.jobexecutor.DefaultJobExecutor;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ScriptEnginePoolSizeTest {
+
+  protected ProcessEngine engine;
+
+  @Test
+  public void testDefaultPoolSizeIsMaxPoolSizeOfJobExecutor() {
+    // given a process engine configuration with a job executor of four threads
+    ProcessEngineConfigurationImpl config = (ProcessEngineConfigurationImpl) ProcessEngineConfiguration.createStandaloneInMemProcessEngineConfiguration()
+        .setJdbcUrl("jdbc:h2:mem:camunda" + getClass().getSimpleName());
+
+    DefaultJobExecutor jobExecutor = new DefaultJobExecutor();
+    jobExecutor.setMaxPoolSize(4);
+    config.setJobExecutor(jobExecutor);
+
+    // when the engine is initialized
+    engine = config.buildProcessEngine();
+
+    // then the script engines are pooled per thread of the job executor
+    Assert.assertEquals(4, config.getScriptingEngines().getScriptEnginePoolSize());
+  }
+
+  @Test
+  public void testConfiguredPoolSize() {
+    // given a process engine configuration with a script engine pool size
+    ProcessEngineConfigurationImpl config = (ProcessEngineConfigurationImpl) ProcessEngineConfiguration.createStandaloneInMemProcessEngineConfiguration()
+        .setJdbcUrl("jdbc:h2:mem:camunda" + getClass().getSimpleName());
+    config.setScriptEnginePoolSize(2);
+
+    // when the engine is initialized
+    engine = config.buildProcessEngine();
+
+    // then
+    Assert.assertEquals(2, config.getScriptingEngines().getScriptEnginePoolSize());
+  }
+
+  @After
+  public void tearDown() {
+    if (engine != null) {
+      engine.close();
+      engine = null;
+    }
+  }
+
+}
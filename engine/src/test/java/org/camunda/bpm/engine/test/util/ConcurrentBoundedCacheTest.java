@@ -0,0 +1,102 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.util.cache.Cache;
+import org.camunda.bpm.engine.impl.util.cache.ConcurrentLfuCache;
+import org.camunda.bpm.engine.impl.util.cache.ConcurrentLruCache;
+import org.camunda.bpm.engine.impl.util.cache.DefaultCacheFactory;
+import org.junit.Test;
+
+public class ConcurrentBoundedCacheTest {
+
+  @Test
+  public void testEvictLeastRecentlyUsed() {
+    Cache<String, String> cache = new ConcurrentLruCache<String, String>(2);
+    cache.put("a", "1");
+    cache.put("b", "2");
+
+    // access a, so that b is the least recently used entry
+    cache.get("a");
+    cache.put("c", "3");
+
+    assertEquals(2, cache.size());
+    assertTrue(cache.containsKey("a"));
+    assertFalse(cache.containsKey("b"));
+    assertTrue(cache.containsKey("c"));
+    assertEquals(1, cache.getEvictionCount());
+  }
+
+  @Test
+  public void testEvictLeastFrequentlyUsed() {
+    Cache<String, String> cache = new ConcurrentLfuCache<String, String>(2);
+    cache.put("a", "1");
+    cache.put("b", "2");
+
+    cache.get("a");
+    cache.get("a");
+    cache.get("b");
+    cache.put("c", "3");
+
+    assertTrue(cache.containsKey("a"));
+    assertFalse(cache.containsKey("b"));
+    // the new entry is never evicted by its own put
+    assertTrue(cache.containsKey("c"));
+  }
+
+  @Test
+  public void testStatistics() {
+    Cache<String, String> cache = new ConcurrentLruCache<String, String>(10);
+    cache.put("a", "1");
+
+    assertEquals("1", cache.get("a"));
+    assertNull(cache.get("b"));
+    assertNull(cache.get(null));
+
+    assertEquals(1, cache.getHitCount());
+    assertEquals(2, cache.getMissCount());
+    assertEquals(0, cache.getEvictionCount());
+  }
+
+  @Test
+  public void testRemoveAndClear() {
+    Cache<String, String> cache = new ConcurrentLruCache<String, String>(10);
+    cache.put("a", "1");
+    cache.put("b", "2");
+
+    assertEquals("1", cache.remove("a"));
+    assertNull(cache.remove("a"));
+    assertEquals(1, cache.size());
+
+    cache.clear();
+    assertTrue(cache.isEmpty());
+  }
+
+  @Test
+  public void testDefaultCacheFactory() {
+    assertTrue(new DefaultCacheFactory().createCache(1) instanceof ConcurrentLruCache);
+    assertTrue(new DefaultCacheFactory("lfu").createCache(1) instanceof ConcurrentLfuCache);
+  }
+
+  @Test(expected = ProcessEngineException.class)
+  public void testUnsupportedEvictionPolicy() {
+    new DefaultCacheFactory("FIFO").createCache(1);
+  }
+
+}
@@ -0,0 +1,138 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.variables;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.Arrays;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.history.HistoricVariableInstance;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.impl.util.IoUtil;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.runtime.VariableInstance;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+
+/**
+ * Tests reading the binary values of variables as streams.
+ */
+public class BinaryVariableStreamTest extends PluggableProcessEngineTestCase {
+
+  protected static final BpmnModelInstance ONE_TASK_PROCESS = Bpmn.createExecutableProcess("process")
+    .startEvent()
+    .userTask()
+    .endEvent()
+    .done();
+
+  public void testStreamBytesVariable() {
+    deployment(ONE_TASK_PROCESS);
+    byte[] content = "some bytes".getBytes();
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process",
+        Variables.createVariables().putValue("bytesVar", content));
+
+    VariableInstance variableInstance = runtimeService.createVariableInstanceQuery()
+        .processInstanceIdIn(processInstance.getId())
+        .disableBinaryFetching()
+        .singleResult();
+
+    assertTrue(Arrays.equals(content, readStream(runtimeService.getVariableInstanceBinaryStream(variableInstance.getId()))));
+  }
+
+  public void testStreamLargeFileVariable() {
+    deployment(ONE_TASK_PROCESS);
+    // larger than the content which is kept in memory
+    byte[] content = new byte[256 * 1024];
+    for (int i = 0; i < content.length; i++) {
+      content[i] = (byte) i;
+    }
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process",
+        Variables.createVariables().putValue("fileVar", Variables.fileValue("large.bin").file(content).create()));
+
+    VariableInstance variableInstance = runtimeService.createVariableInstanceQuery()
+        .processInstanceIdIn(processInstance.getId())
+        .disableBinaryFetching()
+        .singleResult();
+
+    assertTrue(Arrays.equals(content, readStream(runtimeService.getVariableInstanceBinaryStream(variableInstance.getId()))));
+  }
+
+  public void testStreamHistoricBytesVariable() {
+    if (processEngineConfiguration.getHistoryLevel().getId() < ProcessEngineConfigurationImpl.HISTORYLEVEL_AUDIT) {
+      return;
+    }
+
+    deployment(ONE_TASK_PROCESS);
+    byte[] content = "some bytes".getBytes();
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process",
+        Variables.createVariables().putValue("bytesVar", content));
+
+    HistoricVariableInstance variableInstance = historyService.createHistoricVariableInstanceQuery()
+        .processInstanceId(processInstance.getId())
+        .disableBinaryFetching()
+        .singleResult();
+
+    assertTrue(Arrays.equals(content, readStream(historyService.getHistoricVariableInstanceBinaryStream(variableInstance.getId()))));
+  }
+
+  public void testStreamNonBinaryVariable() {
+    deployment(ONE_TASK_PROCESS);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process",
+        Variables.createVariables().putValue("stringVar", "value"));
+
+    VariableInstance variableInstance = runtimeService.createVariableInstanceQuery()
+        .processInstanceIdIn(processInstance.getId())
+        .singleResult();
+
+    assertNull(runtimeService.getVariableInstanceBinaryStream(variableInstance.getId()));
+  }
+
+  public void testStreamNonExistingVariable() {
+    try {
+      runtimeService.getVariableInstanceBinaryStream("nonExisting");
+      fail("exception expected");
+    }
+    catch (ProcessEngineException e) {
+      assertTextPresent("No variable instance found with id nonExisting", e.getMessage());
+    }
+  }
+
+  public void testSpoolInputStream() {
+    byte[] content = new byte[1000];
+    Arrays.fill(content, (byte) 1);
+
+    // kept in memory
+    InputStream inMemory = IoUtil.spoolInputStream(new ByteArrayInputStream(content), 1000, "content");
+    assertTrue(inMemory instanceof ByteArrayInputStream);
+    assertTrue(Arrays.equals(content, readStream(inMemory)));
+
+    // written to a temporary file
+    InputStream spooled = IoUtil.spoolInputStream(new ByteArrayInputStream(content), 100, "content");
+    assertFalse(spooled instanceof ByteArrayInputStream);
+    assertTrue(Arrays.equals(content, readStream(spooled)));
+  }
+
+  protected byte[] readStream(InputStream inputStream) {
+    assertNotNull(inputStream);
+    try {
+      return IoUtil.readInputStream(inputStream, "binary variable");
+    }
+    finally {
+      IoUtil.closeSilently(inputStream);
+    }
+  }
+
+}
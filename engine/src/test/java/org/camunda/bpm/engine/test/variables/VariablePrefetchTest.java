@@ -0,0 +1,118 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.variables;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.runtime.Execution;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.runtime.VariableInstance;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+
+/**
+ * Tests the prefetching of the variables of all executions of a process instance.
+ */
+public class VariablePrefetchTest extends PluggableProcessEngineTestCase {
+
+  protected static final BpmnModelInstance PARALLEL_PROCESS = Bpmn.createExecutableProcess("process")
+    .startEvent()
+    .parallelGateway("fork")
+      .userTask("task1")
+      .endEvent()
+    .moveToNode("fork")
+      .userTask("task2")
+      .endEvent()
+    .done();
+
+  public void testPrefetchVariablesOfProcessInstance() {
+    deployment(PARALLEL_PROCESS);
+
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+    runtimeService.setVariable(processInstance.getId(), "processVariable", "value");
+    for (Execution execution : runtimeService.createExecutionQuery().activityId("task1").list()) {
+      runtimeService.setVariableLocal(execution.getId(), "localVariable", "task1");
+    }
+    for (Execution execution : runtimeService.createExecutionQuery().activityId("task2").list()) {
+      runtimeService.setVariableLocal(execution.getId(), "localVariable", "task2");
+    }
+
+    final String executionId = runtimeService.createExecutionQuery().activityId("task1").singleResult().getId();
+    final List<VariableInstance> variables = runtimeService.createVariableInstanceQuery()
+        .processInstanceIdIn(processInstance.getId())
+        .list();
+    assertEquals(3, variables.size());
+
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        ExecutionEntity execution = commandContext.getExecutionManager().findExecutionById(executionId);
+
+        // when the variables of one execution are accessed
+        assertEquals("task1", execution.getVariableLocal("localVariable"));
+
+        // then the variables of all executions are fetched
+        DbEntityManager dbEntityManager = commandContext.getDbEntityManager();
+        for (VariableInstance variable : variables) {
+          assertNotNull(dbEntityManager.getCachedEntity(VariableInstanceEntity.class, variable.getId()));
+        }
+
+        // and are distributed to their executions
+        assertEquals("value", execution.getVariable("processVariable"));
+        for (ExecutionEntity concurrentExecution : execution.getParent().getExecutions()) {
+          if ("task2".equals(concurrentExecution.getActivityId())) {
+            assertEquals("task2", concurrentExecution.getVariableLocal("localVariable"));
+          }
+        }
+
+        return null;
+      }
+    });
+  }
+
+  public void testDisableVariablePrefetch() {
+    deployment(PARALLEL_PROCESS);
+
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+    runtimeService.setVariable(processInstance.getId(), "processVariable", "value");
+
+    final String executionId = runtimeService.createExecutionQuery().activityId("task1").singleResult().getId();
+    final String variableId = runtimeService.createVariableInstanceQuery().singleResult().getId();
+
+    processEngineConfiguration.setVariablePrefetchEnabled(false);
+    try {
+      processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+        public Void execute(CommandContext commandContext) {
+          ExecutionEntity execution = commandContext.getExecutionManager().findExecutionById(executionId);
+
+          // when the variables of an execution are accessed
+          assertNull(execution.getVariableLocal("processVariable"));
+
+          // then the variables of the other executions are not fetched
+          assertNull(commandContext.getDbEntityManager().getCachedEntity(VariableInstanceEntity.class, variableId));
+
+          return null;
+        }
+      });
+    }
+    finally {
+      processEngineConfiguration.setVariablePrefetchEnabled(true);
+    }
+  }
+
+}
@@ -0,0 +1,38 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.steps;
+
+import org.camunda.bpm.engine.impl.cfg.IdGenerator;
+import org.camunda.bpm.qa.performance.engine.framework.PerfTestRunContext;
+import org.camunda.bpm.qa.performance.engine.framework.PerfTestStepBehavior;
+
+/**
+ * Takes a number of ids from an {@link IdGenerator}.
+ */
+public class GenerateIdsStep implements PerfTestStepBehavior {
+
+  protected IdGenerator idGenerator;
+  protected int numberOfIds;
+
+  public GenerateIdsStep(IdGenerator idGenerator, int numberOfIds) {
+    this.idGenerator = idGenerator;
+    this.numberOfIds = numberOfIds;
+  }
+
+  public void execute(PerfTestRunContext context) {
+    for (int i = 0; i < numberOfIds; i++) {
+      idGenerator.getNextId();
+    }
+  }
+
+}
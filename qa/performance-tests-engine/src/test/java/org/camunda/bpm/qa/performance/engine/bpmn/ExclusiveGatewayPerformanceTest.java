@@ -12,6 +12,9 @@
  */
 package org.camunda.bpm.qa.performance.engine.bpmn;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import org.camunda.bpm.engine.test.Deployment;
 import org.camunda.bpm.qa.performance.engine.junit.ProcessEnginePerformanceTestCase;
 import org.camunda.bpm.qa.performance.engine.steps.StartProcessInstanceStep;
@@ -47,4 +50,15 @@ public class ExclusiveGatewayPerformanceTest extends ProcessEnginePerformanceTes
     .run();
   }
 
+  @Test
+  @Deployment
+  public void sync5gatewaysMethodConditions() {
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("amount", 10);
+
+    performanceTest()
+      .step(new StartProcessInstanceStep(engine, "process", variables))
+    .run();
+  }
+
 }
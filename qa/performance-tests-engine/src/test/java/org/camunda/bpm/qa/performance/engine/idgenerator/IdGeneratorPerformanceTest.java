@@ -0,0 +1,67 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.idgenerator;
+
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.db.ConcurrentDbIdGenerator;
+import org.camunda.bpm.engine.impl.db.DbIdGenerator;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.qa.performance.engine.junit.ProcessEnginePerformanceTestCase;
+import org.camunda.bpm.qa.performance.engine.steps.GenerateIdsStep;
+import org.junit.Test;
+
+/**
+ * Compares the synchronized {@link DbIdGenerator} with the {@link ConcurrentDbIdGenerator}.
+ * Run the benchmark with <code>-DnumberOfThreads=64</code> to measure passes with 1 to 64 threads.
+ */
+public class IdGeneratorPerformanceTest extends ProcessEnginePerformanceTestCase {
+
+  protected static final int IDS_PER_RUN = 100;
+
+  @Test
+  public void dbIdGenerator() {
+    DbIdGenerator idGenerator = new DbIdGenerator();
+    idGenerator.setIdBlockSize(getConfiguration().getIdBlockSize());
+    idGenerator.setCommandExecutor(getCommandExecutor());
+
+    performanceTest()
+      .step(new GenerateIdsStep(idGenerator, IDS_PER_RUN))
+    .run();
+  }
+
+  @Test
+  public void concurrentDbIdGenerator() {
+    ConcurrentDbIdGenerator idGenerator = new ConcurrentDbIdGenerator();
+    idGenerator.setIdBlockSize(getConfiguration().getIdBlockSize());
+    idGenerator.setCommandExecutor(getCommandExecutor());
+
+    try {
+      performanceTest()
+        .step(new GenerateIdsStep(idGenerator, IDS_PER_RUN))
+      .run();
+
+    } finally {
+      idGenerator.close();
+    }
+  }
+
+  protected ProcessEngineConfigurationImpl getConfiguration() {
+    return ((ProcessEngineImpl) engine).getProcessEngineConfiguration();
+  }
+
+  protected CommandExecutor getCommandExecutor() {
+    return getConfiguration().getCommandExecutorTxRequiresNew();
+  }
+
+}